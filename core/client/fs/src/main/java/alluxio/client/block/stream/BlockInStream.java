@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -311,6 +312,53 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     return lenCopy - len;
   }
 
+  /**
+   * Reads up to the remaining bytes of a buffer from a given position within the block, with a
+   * single data reader. The position of the buffer is advanced by the number of bytes read. This
+   * does not change the current position of the stream.
+   *
+   * @param pos position within the block
+   * @param buf destination buffer
+   * @return actual number of bytes read; -1 means "EOF"
+   */
+  public int positionedRead(long pos, ByteBuffer buf) throws IOException {
+    int len = buf.remaining();
+    if (len == 0) {
+      return 0;
+    }
+    if (pos < 0 || pos >= mLength) {
+      return -1;
+    }
+
+    int lenCopy = len;
+    try (DataReader reader = mDataReaderFactory.create(pos, len)) {
+      while (len > 0) {
+        DataBuffer dataBuffer = null;
+        try {
+          dataBuffer = reader.readChunk();
+          if (dataBuffer == null) {
+            break;
+          }
+          Preconditions.checkState(dataBuffer.readableBytes() <= len);
+          int toRead = dataBuffer.readableBytes();
+          ByteBuffer dst = buf.duplicate();
+          dst.limit(dst.position() + toRead);
+          dataBuffer.readBytes(dst);
+          buf.position(buf.position() + toRead);
+          len -= toRead;
+        } finally {
+          if (dataBuffer != null) {
+            dataBuffer.release();
+          }
+        }
+      }
+    }
+    if (lenCopy == len) {
+      return -1;
+    }
+    return lenCopy - len;
+  }
+
   @Override
   public long remaining() {
     return mEOF ? 0 : mLength - mPos;
@@ -358,6 +406,17 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     mClosed = true;
   }
 
+  /**
+   * Starts reading the block from the current position, and waits for its first chunk. This lets
+   * the stream be opened ahead of its use; it must not be used concurrently with other methods.
+   */
+  public void prefetch() throws IOException {
+    checkIfClosed();
+    if (mPos < mLength) {
+      readChunk();
+    }
+  }
+
   /**
    * @return whether the reader is reading data directly from a local file
    */
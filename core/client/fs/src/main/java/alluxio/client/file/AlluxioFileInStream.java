@@ -27,6 +27,7 @@ import alluxio.grpc.AsyncCacheRequest;
 import alluxio.resource.CloseableResource;
 import alluxio.retry.CountingRetry;
 import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.WorkerNetAddress;
@@ -36,11 +37,27 @@ import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -60,6 +77,15 @@ import javax.annotation.concurrent.NotThreadSafe;
  * sync between the two until {@link #updateStream()} is called.
  * 3. {@link #updateStream()} is only called when followed by a read request. Thus, if a
  * {@link #mBlockInStream} is created, it is guaranteed we read at least one byte from it.
+ * 4. While blocks are read sequentially, {@link #updateStream()} opens the streams of the following
+ * blocks in the background, so that they are ready when the current block is exhausted. The
+ * number of blocks prefetched starts at one once the stream has read up to the boundary of a
+ * block and opens the next one, doubles at each block read sequentially after that, up to
+ * {@link #mMaxPrefetchBlocks}, and drops to zero when a block is opened at any other position.
+ *
+ * {@link #readVectored(List)} reads the blocks holding the ranges concurrently, independently
+ * of the bookkeeping above. The ranges close to each other in a block are read together, see
+ * {@link VectoredReadPlan}.
  */
 @PublicApi
 @NotThreadSafe
@@ -72,6 +98,10 @@ public class AlluxioFileInStream extends FileInStream {
   private final AlluxioBlockStore mBlockStore;
   private final FileSystemContext mContext;
   private final boolean mPassiveCachingEnabled;
+  private final int mMaxPrefetchBlocks;
+  private final long mVectoredReadMergeGap;
+  private final long mVectoredReadMaxMergeSize;
+  private final int mVectoredReadParallelism;
 
   /* Convenience values derived from mStatus, use these instead of querying mStatus. */
   /** Length of the file in bytes. */
@@ -93,6 +123,21 @@ public class AlluxioFileInStream extends FileInStream {
 
   /** A map of worker addresses to the most recent epoch time when client fails to read from it. */
   private Map<WorkerNetAddress, Long> mFailedWorkers = new HashMap<>();
+  /**
+   * The workers which failed to serve vectored reads, to merge into {@link #mFailedWorkers} from
+   * the thread reading the stream.
+   */
+  private final Map<WorkerNetAddress, Long> mVectoredReadFailedWorkers = new ConcurrentHashMap<>();
+
+  /** The blocks being prefetched, in order of block index. */
+  private final Deque<BlockPrefetch> mPrefetches = new ArrayDeque<>();
+  /** The number of blocks to prefetch ahead of the current block. */
+  private int mPrefetchWindow;
+  /**
+   * The position a block stream must be opened at for the read to count as sequential, or -1 before
+   * the first block stream is opened.
+   */
+  private long mSequentialPosition = -1;
 
   private Closer mCloser;
 
@@ -108,6 +153,12 @@ public class AlluxioFileInStream extends FileInStream {
       AlluxioConfiguration conf = mContext.getPathConf(new AlluxioURI(status.getPath()));
       mPassiveCachingEnabled = conf.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
       mBlockWorkerClientReadRetry = conf.getInt(PropertyKey.USER_BLOCK_WORKER_CLIENT_READ_RETRY);
+      mMaxPrefetchBlocks = conf.getInt(PropertyKey.USER_FILE_SEQUENTIAL_PREFETCH_BLOCKS);
+      mVectoredReadMergeGap = conf.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MERGE_GAP);
+      mVectoredReadMaxMergeSize = Math.min(Integer.MAX_VALUE,
+          conf.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MERGE_SIZE_MAX));
+      mVectoredReadParallelism =
+          Math.max(1, conf.getInt(PropertyKey.USER_FILE_VECTORED_READ_PARALLELISM));
       mStatus = status;
       mOptions = options;
       mBlockStore = AlluxioBlockStore.create(mContext);
@@ -211,6 +262,7 @@ public class AlluxioFileInStream extends FileInStream {
 
   @Override
   public void close() throws IOException {
+    cancelPrefetches();
     closeBlockInStream(mBlockInStream);
     closeBlockInStream(mCachedPositionedReadStream);
     mCloser.close();
@@ -234,6 +286,7 @@ public class AlluxioFileInStream extends FileInStream {
     }
 
     int lenCopy = len;
+    mergeVectoredReadFailedWorkers();
     CountingRetry retry = new CountingRetry(mBlockWorkerClientReadRetry);
     IOException lastException = null;
     while (len > 0 && retry.attempt()) {
@@ -274,6 +327,150 @@ public class AlluxioFileInStream extends FileInStream {
     return lenCopy - len;
   }
 
+  @Override
+  public List<CompletableFuture<ByteBuffer>> readVectored(List<FileRange> ranges) {
+    List<CompletableFuture<ByteBuffer>> results = new ArrayList<>(ranges.size());
+    RangeRead[] reads = new RangeRead[ranges.size()];
+    VectoredReadPlan plan = VectoredReadPlan.create(ranges, mLength, mBlockSize,
+        mVectoredReadMergeGap, mVectoredReadMaxMergeSize);
+    for (int i = 0; i < ranges.size(); i++) {
+      FileRange range = ranges.get(i);
+      reads[i] = new RangeRead(range.getLength(), plan.getPieceCount(i));
+      if (range.getEnd() > mLength) {
+        reads[i].mFuture.completeExceptionally(
+            new EOFException("Range " + range + " goes past the end of the file"));
+      } else if (range.getLength() == 0) {
+        reads[i].mFuture.complete(reads[i].mBuffer);
+      }
+      results.add(reads[i].mFuture);
+    }
+    Queue<Map.Entry<Integer, List<VectoredReadPlan.Segment>>> blocks =
+        new ConcurrentLinkedQueue<>(plan.getSegments().entrySet());
+    mergeVectoredReadFailedWorkers();
+    // The readers share the workers failing to serve reads, so that a failed worker is avoided by
+    // the blocks read after the failure.
+    Map<WorkerNetAddress, Long> failedWorkers = new ConcurrentHashMap<>(mFailedWorkers);
+    int readers = Math.min(mVectoredReadParallelism, blocks.size());
+    for (int i = 0; i < readers; i++) {
+      mContext.getBlockReadExecutor().submit(() -> {
+        Map.Entry<Integer, List<VectoredReadPlan.Segment>> block;
+        while ((block = blocks.poll()) != null) {
+          readSegments(block.getKey(), block.getValue(), reads, failedWorkers);
+        }
+        // Also pass on the workers which the block store failed to open streams from
+        mVectoredReadFailedWorkers.putAll(failedWorkers);
+      });
+    }
+    return results;
+  }
+
+  /**
+   * Reads the segments of a block for a vectored read, retrying on other workers when the worker
+   * serving the block fails. The ranges of the segments which cannot be read are failed.
+   *
+   * @param blockIndex the index of the block in the file
+   * @param segments the segments of the block to read
+   * @param reads the ranges of the vectored read
+   * @param failedWorkers the workers which recently failed to serve reads
+   */
+  private void readSegments(int blockIndex, List<VectoredReadPlan.Segment> segments,
+      RangeRead[] reads, Map<WorkerNetAddress, Long> failedWorkers) {
+    CountingRetry retry = new CountingRetry(mBlockWorkerClientReadRetry);
+    Throwable lastException = null;
+    BlockInStream stream = null;
+    int next = 0;
+    boolean cacheTriggered = false;
+    try {
+      while (next < segments.size() && retry.attempt()) {
+        try {
+          if (stream == null) {
+            stream = openBlockInStream(blockIndex, failedWorkers);
+          }
+          readSegment(stream, segments.get(next), reads);
+          next++;
+          retry.reset();
+          lastException = null;
+          if (!cacheTriggered) {
+            cacheTriggered = true;
+            try {
+              triggerAsyncCaching(stream, blockIndex);
+            } catch (IOException e) {
+              // Failing to cache the block must not fail the ranges read from it
+              LOG.warn("Failed to trigger async caching of block {}: {}", stream.getId(),
+                  e.getMessage());
+            }
+          }
+        } catch (UnavailableException | DeadlineExceededException | ConnectException e) {
+          lastException = e;
+          if (stream != null) {
+            LOG.warn("Failed to read block {} from worker {}, will retry: {}",
+                stream.getId(), stream.getAddress(), e.getMessage());
+            long failureTime = System.currentTimeMillis();
+            failedWorkers.put(stream.getAddress(), failureTime);
+            mVectoredReadFailedWorkers.put(stream.getAddress(), failureTime);
+            closeQuietly(stream);
+            stream = null;
+          }
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      lastException = e;
+    } finally {
+      closeQuietly(stream);
+    }
+    if (lastException != null) {
+      for (; next < segments.size(); next++) {
+        for (VectoredReadPlan.Piece piece : segments.get(next).getPieces()) {
+          reads[piece.getRangeIndex()].mFuture.completeExceptionally(lastException);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads a segment with a single request to the worker, and copies its pieces to the buffers of
+   * their ranges. A segment holding a single piece is read directly into the buffer of its range.
+   *
+   * @param stream the stream of the block of the segment
+   * @param segment the segment to read
+   * @param reads the ranges of the vectored read
+   */
+  private void readSegment(BlockInStream stream, VectoredReadPlan.Segment segment,
+      RangeRead[] reads) throws IOException {
+    List<VectoredReadPlan.Piece> pieces = segment.getPieces();
+    ByteBuffer buffer = pieces.size() == 1 ? reads[pieces.get(0).getRangeIndex()].slice(
+        pieces.get(0)) : ByteBuffer.allocate(segment.getLength());
+    long offset = segment.getOffset() % mBlockSize;
+    while (buffer.hasRemaining()) {
+      int bytesRead = stream.positionedRead(offset, buffer);
+      if (bytesRead == -1) {
+        throw new EOFException(
+            String.format("Block %d ended at offset %d", stream.getId(), offset));
+      }
+      offset += bytesRead;
+    }
+    if (pieces.size() > 1) {
+      for (VectoredReadPlan.Piece piece : pieces) {
+        reads[piece.getRangeIndex()].slice(piece).put(BufferUtils.sliceByteBuffer(buffer,
+            (int) (piece.getOffset() - segment.getOffset()), piece.getLength()));
+      }
+    }
+    for (VectoredReadPlan.Piece piece : pieces) {
+      reads[piece.getRangeIndex()].pieceRead();
+    }
+  }
+
+  /**
+   * Merges the workers which failed to serve vectored reads into {@link #mFailedWorkers}, so that
+   * the stream avoids them as well.
+   */
+  private void mergeVectoredReadFailedWorkers() {
+    for (Map.Entry<WorkerNetAddress, Long> entry : mVectoredReadFailedWorkers.entrySet()) {
+      mFailedWorkers.merge(entry.getKey(), entry.getValue(), Math::max);
+      mVectoredReadFailedWorkers.remove(entry.getKey(), entry.getValue());
+    }
+  }
+
   /* Seekable methods */
   @Override
   public long getPos() {
@@ -317,8 +514,37 @@ public class AlluxioFileInStream extends FileInStream {
     }
 
     /* Create a new stream to read from mPosition. */
+    int blockIndex = Math.toIntExact(mPosition / mBlockSize);
+    if (mPosition == mSequentialPosition) {
+      mPrefetchWindow = Math.min(Math.max(1, mPrefetchWindow * 2), mMaxPrefetchBlocks);
+    } else {
+      mPrefetchWindow = 0;
+      cancelPrefetches();
+    }
+    mSequentialPosition = Math.min((blockIndex + 1) * mBlockSize, mLength);
+    BlockInStream stream = takePrefetchedStream(blockIndex);
+    if (stream == null) {
+      mergeVectoredReadFailedWorkers();
+      stream = openBlockInStream(blockIndex, mFailedWorkers);
+    }
+    mBlockInStream = stream;
+    // Set the stream to the correct position.
+    long offset = mPosition % mBlockSize;
+    mBlockInStream.seek(offset);
+    prefetchBlocks(blockIndex);
+  }
+
+  /**
+   * Opens the stream of a block.
+   *
+   * @param blockIndex the index of the block in the file
+   * @param failedWorkers the workers which recently failed to serve reads
+   * @return the stream positioned at the start of the block
+   */
+  private BlockInStream openBlockInStream(int blockIndex,
+      Map<WorkerNetAddress, Long> failedWorkers) throws IOException {
     // Calculate block id.
-    long blockId = mStatus.getBlockIds().get(Math.toIntExact(mPosition / mBlockSize));
+    long blockId = mStatus.getBlockIds().get(blockIndex);
     BlockInfo blockInfo = mStatus.getBlockInfo(blockId);
     if (blockInfo == null) {
       throw new IOException("No BlockInfo for block(id=" + blockId + ") of file"
@@ -329,19 +555,71 @@ public class AlluxioFileInStream extends FileInStream {
     // blockInfo is "outdated" when all the locations in that blockInfo are failed workers,
     // if there is at least one location that is not a failed worker, then it's not outdated.
     for (BlockLocation location : blockInfo.getLocations()) {
-      if (!mFailedWorkers.containsKey(location.getWorkerAddress())) {
+      if (!failedWorkers.containsKey(location.getWorkerAddress())) {
         isBlockInfoOutdated = false;
         break;
       }
     }
     if (isBlockInfoOutdated) {
-      mBlockInStream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
+      return mBlockStore.getInStream(blockId, mOptions, failedWorkers);
     } else {
-      mBlockInStream = mBlockStore.getInStream(blockInfo, mOptions, mFailedWorkers);
+      return mBlockStore.getInStream(blockInfo, mOptions, failedWorkers);
+    }
+  }
+
+  /**
+   * Takes the prefetched stream of a block, discarding the prefetches of earlier blocks.
+   *
+   * @param blockIndex the index of the block in the file
+   * @return the stream, or null if the block was not prefetched or its prefetch failed
+   */
+  @Nullable
+  private BlockInStream takePrefetchedStream(int blockIndex) throws IOException {
+    while (!mPrefetches.isEmpty() && mPrefetches.peekFirst().mBlockIndex < blockIndex) {
+      mPrefetches.pollFirst().cancel();
+    }
+    BlockPrefetch prefetch = mPrefetches.peekFirst();
+    if (prefetch == null || prefetch.mBlockIndex != blockIndex) {
+      return null;
+    }
+    mPrefetches.pollFirst();
+    try {
+      return prefetch.get();
+    } catch (IOException e) {
+      // The block is opened again in the reading thread, which handles failed workers.
+      LOG.debug("Failed to prefetch block {} of file {}: {}", blockIndex, mStatus.getPath(),
+          e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Starts prefetching the blocks following a block, up to the prefetch window.
+   *
+   * @param blockIndex the index of the block being read
+   */
+  private void prefetchBlocks(int blockIndex) {
+    int numBlocks = mStatus.getBlockIds().size();
+    int next = mPrefetches.isEmpty() ? blockIndex + 1 : mPrefetches.peekLast().mBlockIndex + 1;
+    if (next >= numBlocks || mPrefetches.size() >= mPrefetchWindow) {
+      return;
+    }
+    // The prefetching threads must not share the map with the reading thread.
+    Map<WorkerNetAddress, Long> failedWorkers = new HashMap<>(mFailedWorkers);
+    for (; next < numBlocks && mPrefetches.size() < mPrefetchWindow; next++) {
+      BlockPrefetch prefetch = new BlockPrefetch(next);
+      prefetch.mFuture = mContext.getBlockReadExecutor().submit(() -> prefetch.run(failedWorkers));
+      mPrefetches.addLast(prefetch);
+    }
+  }
+
+  /**
+   * Cancels all prefetches, closing the streams they opened.
+   */
+  private void cancelPrefetches() {
+    while (!mPrefetches.isEmpty()) {
+      mPrefetches.pollFirst().cancel();
     }
-    // Set the stream to the correct position.
-    long offset = mPosition % mBlockSize;
-    mBlockInStream.seek(offset);
   }
 
   private void closeBlockInStream(BlockInStream stream) throws IOException {
@@ -361,15 +639,31 @@ public class AlluxioFileInStream extends FileInStream {
 
   // Send an async cache request to a worker based on read type and passive cache options.
   private void triggerAsyncCaching(BlockInStream stream) throws IOException {
+    if (mLastBlockIdCached != stream.getId()
+        && triggerAsyncCaching(stream, (int) (getPos() / mBlockSize))) {
+      mLastBlockIdCached = stream.getId();
+    }
+  }
+
+  /**
+   * Sends an async cache request for a block to a worker based on read type and passive cache
+   * options. It does not depend on the position of the stream, so that vectored readers can call
+   * it concurrently.
+   *
+   * @param stream the stream the block was read from
+   * @param blockIndex the index of the block in the file
+   * @return whether the request was sent
+   */
+  private boolean triggerAsyncCaching(BlockInStream stream, int blockIndex) throws IOException {
     boolean cache = ReadType.fromProto(mOptions.getOptions().getReadType()).isCache();
     boolean overReplicated = mStatus.getReplicationMax() > 0
-        && mStatus.getFileBlockInfos().get((int) (getPos() / mBlockSize))
+        && mStatus.getFileBlockInfos().get(blockIndex)
         .getBlockInfo().getLocations().size() >= mStatus.getReplicationMax();
     cache = cache && !overReplicated;
     // Get relevant information from the stream.
     WorkerNetAddress dataSource = stream.getAddress();
     long blockId = stream.getId();
-    if (cache && (mLastBlockIdCached != blockId)) {
+    if (cache) {
       WorkerNetAddress worker;
       if (mPassiveCachingEnabled && mContext.hasLocalWorker()) { // send request to local worker
         worker = mContext.getLocalWorker();
@@ -387,13 +681,131 @@ public class AlluxioFileInStream extends FileInStream {
         try (CloseableResource<BlockWorkerClient> blockWorker =
                  mContext.acquireBlockWorkerClient(worker)) {
           blockWorker.get().asyncCache(request);
-          mLastBlockIdCached = blockId;
+          return true;
         }
       } catch (Exception e) {
         LOG.warn("Failed to complete async cache request for block {} at worker {}: {}", blockId,
             worker, e.getMessage());
       }
     }
+    return false;
+  }
+
+  /**
+   * The stream of a block being opened in the background. If the prefetch is cancelled, the stream
+   * is closed by {@link #cancel()} if it has been opened, or otherwise by the prefetching task.
+   */
+  private final class BlockPrefetch {
+    private final int mBlockIndex;
+    private Future<?> mFuture;
+    @GuardedBy("this")
+    private BlockInStream mStream;
+    @GuardedBy("this")
+    private IOException mError;
+    @GuardedBy("this")
+    private boolean mCancelled;
+
+    private BlockPrefetch(int blockIndex) {
+      mBlockIndex = blockIndex;
+    }
+
+    private void run(Map<WorkerNetAddress, Long> failedWorkers) {
+      synchronized (this) {
+        if (mCancelled) {
+          return;
+        }
+      }
+      BlockInStream stream = null;
+      IOException error = null;
+      try {
+        stream = openBlockInStream(mBlockIndex, failedWorkers);
+        stream.prefetch();
+      } catch (IOException | RuntimeException e) {
+        error = e instanceof IOException ? (IOException) e : new IOException(e);
+      }
+      synchronized (this) {
+        if (!mCancelled) {
+          mStream = stream;
+          mError = error;
+          return;
+        }
+      }
+      closeQuietly(stream);
+    }
+
+    /**
+     * Waits for the block to be opened.
+     *
+     * @return the stream of the block
+     */
+    private BlockInStream get() throws IOException {
+      try {
+        mFuture.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cancel();
+        throw new InterruptedIOException("Interrupted while prefetching block");
+      } catch (ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+      synchronized (this) {
+        if (mError != null) {
+          closeQuietly(mStream);
+          throw mError;
+        }
+        return mStream;
+      }
+    }
+
+    private void cancel() {
+      BlockInStream stream;
+      synchronized (this) {
+        mCancelled = true;
+        stream = mStream;
+        mStream = null;
+      }
+      mFuture.cancel(false);
+      closeQuietly(stream);
+    }
+  }
+
+  /**
+   * A range of a vectored read, complete once all of its pieces are read.
+   */
+  private static final class RangeRead {
+    private final ByteBuffer mBuffer;
+    private final AtomicInteger mPendingPieces;
+    private final CompletableFuture<ByteBuffer> mFuture = new CompletableFuture<>();
+
+    private RangeRead(int length, int pieces) {
+      mBuffer = ByteBuffer.allocate(length);
+      mPendingPieces = new AtomicInteger(pieces);
+    }
+
+    /**
+     * @param piece a piece of the range
+     * @return the part of the buffer of the range holding the piece
+     */
+    private ByteBuffer slice(VectoredReadPlan.Piece piece) {
+      return BufferUtils.sliceByteBuffer(mBuffer, piece.getRangeOffset(), piece.getLength());
+    }
+
+    private void pieceRead() {
+      if (mPendingPieces.decrementAndGet() == 0) {
+        mFuture.complete(mBuffer);
+      }
+    }
+  }
+
+  private void closeQuietly(@Nullable BlockInStream stream) {
+    if (stream == null) {
+      return;
+    }
+    try {
+      stream.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close stream of block {}: {}", stream.getId(), e.getMessage());
+    }
   }
 
   private void handleRetryableException(BlockInStream stream, IOException e) {
@@ -46,6 +46,7 @@ import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.LoadMetadataPType;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.RenamePOptions;
@@ -274,6 +275,26 @@ public class BaseFileSystem implements FileSystem {
     });
   }
 
+  @Override
+  public ListStatusIterator listStatusIterator(AlluxioURI path, ListStatusPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    if (options.getRecursive()) {
+      // Recursive listings cannot be resumed by child name.
+      return FileSystem.super.listStatusIterator(path, options);
+    }
+    int batchSize = options.getBatchSize() > 0 ? options.getBatchSize()
+        : mFsContext.getPathConf(path).getInt(PropertyKey.USER_FILE_LIST_STATUS_BATCH_SIZE);
+    ListStatusPOptions firstOptions = options.toBuilder().setBatchSize(batchSize).build();
+    // The first batch loads or syncs metadata as requested; later batches do not need to.
+    ListStatusPOptions nextOptions = firstOptions.toBuilder()
+        .setLoadMetadataType(LoadMetadataPType.NEVER)
+        .setCommonOptions(firstOptions.getCommonOptions().toBuilder().setSyncIntervalMs(-1))
+        .build();
+    return ListStatusIterator.create(startAfter -> startAfter == null
+        ? listStatus(path, firstOptions)
+        : listStatus(path, nextOptions.toBuilder().setStartAfter(startAfter).build()), batchSize);
+  }
+
   @Override
   public void mount(AlluxioURI alluxioPath, AlluxioURI ufsPath, final MountPOptions options)
       throws IOException, AlluxioException {
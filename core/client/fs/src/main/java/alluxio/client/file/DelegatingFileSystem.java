@@ -117,6 +117,12 @@ public class DelegatingFileSystem implements FileSystem {
     return mDelegatedFileSystem.listStatus(path, options);
   }
 
+  @Override
+  public ListStatusIterator listStatusIterator(AlluxioURI path, ListStatusPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    return mDelegatedFileSystem.listStatusIterator(path, options);
+  }
+
   @Override
   public void mount(AlluxioURI alluxioPath, AlluxioURI ufsPath, MountPOptions options)
       throws IOException, AlluxioException {
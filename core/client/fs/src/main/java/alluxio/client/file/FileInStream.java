@@ -15,7 +15,13 @@ import alluxio.Seekable;
 import alluxio.client.BoundedStream;
 import alluxio.client.PositionedReadable;
 
+import java.io.EOFException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -24,4 +30,40 @@ import java.io.InputStream;
  */
 public abstract class FileInStream extends InputStream implements BoundedStream, PositionedReadable,
     Seekable {
+  /**
+   * Reads a list of ranges of the file. Each range is read into its own buffer, which is
+   * positioned at zero with the length of the range as limit, and the future of a range fails
+   * with an {@link EOFException} if the range goes past the end of the file. Like
+   * {@link #positionedRead}, this does not change the current offset of the stream. The stream
+   * must not be closed before the returned futures complete.
+   *
+   * This implementation reads the ranges one after the other before returning; implementations
+   * which can read ranges concurrently should override it.
+   *
+   * @param ranges the ranges to read
+   * @return the futures of the buffers of the ranges, in the order of the ranges
+   */
+  public List<CompletableFuture<ByteBuffer>> readVectored(List<FileRange> ranges) {
+    List<CompletableFuture<ByteBuffer>> results = new ArrayList<>(ranges.size());
+    for (FileRange range : ranges) {
+      CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+      try {
+        byte[] buffer = new byte[range.getLength()];
+        int read = 0;
+        while (read < buffer.length) {
+          int bytesRead =
+              positionedRead(range.getOffset() + read, buffer, read, buffer.length - read);
+          if (bytesRead == -1) {
+            throw new EOFException("Range " + range + " goes past the end of the file");
+          }
+          read += bytesRead;
+        }
+        result.complete(ByteBuffer.wrap(buffer));
+      } catch (IOException | RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+      results.add(result);
+    }
+    return results;
+  }
 }
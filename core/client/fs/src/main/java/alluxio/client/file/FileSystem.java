@@ -146,7 +146,7 @@ public interface FileSystem extends Closeable {
       FileSystem fs =
           (FileSystem) CommonUtils.createNewClassInstance(fsClass, ctorArgClasses, ctorArgs);
       if (context.getClusterConf().getBoolean(PropertyKey.USER_LOCAL_CACHE_ENABLED)) {
-        return new LocalCacheFileSystem(fs);
+        return new LocalCacheFileSystem(fs, context.getClusterConf());
       } else {
         return fs;
       }
@@ -357,6 +357,34 @@ public interface FileSystem extends Closeable {
   List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Convenience method for {@link #listStatusIterator(AlluxioURI, ListStatusPOptions)} with
+   * default options.
+   *
+   * @param path the path to list information about
+   * @return an iterator over the {@link URIStatus}s of the children of the given path
+   * @throws FileDoesNotExistException if the given path does not exist
+   */
+  default ListStatusIterator listStatusIterator(AlluxioURI path)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    return listStatusIterator(path, ListStatusPOptions.getDefaultInstance());
+  }
+
+  /**
+   * Like {@link #listStatus(AlluxioURI, ListStatusPOptions)}, but returns an iterator which may
+   * fetch the listing in batches, so that very large directories can be listed without holding
+   * the whole listing in memory. Entries of a directory are returned in name order.
+   *
+   * @param path the path to list information about
+   * @param options options to associate with this operation
+   * @return an iterator over the {@link URIStatus}s of the children of the given path
+   * @throws FileDoesNotExistException if the given path does not exist
+   */
+  default ListStatusIterator listStatusIterator(AlluxioURI path, ListStatusPOptions options)
+      throws FileDoesNotExistException, IOException, AlluxioException {
+    return ListStatusIterator.of(listStatus(path, options));
+  }
+
   /**
    * Convenience method for {@link #mount(AlluxioURI, AlluxioURI, MountPOptions)} with default
    * options.
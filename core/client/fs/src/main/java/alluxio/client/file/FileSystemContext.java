@@ -33,6 +33,7 @@ import alluxio.resource.CloseableResource;
 import alluxio.resource.DynamicResourcePool;
 import alluxio.security.authentication.AuthenticationUserUtils;
 import alluxio.util.IdUtils;
+import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.network.NettyUtils;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.WorkerInfo;
@@ -53,6 +54,7 @@ import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -129,6 +131,10 @@ public final class FileSystemContext implements Closeable {
    * Used in {@link #mBlockWorkerClientPool}.
    */
   private volatile EventLoopGroup mWorkerGroup;
+  /**
+   * Opens blocks ahead of sequential reads and serves vectored reads for the file streams.
+   */
+  private volatile ExecutorService mBlockReadExecutor;
   /**
    * Indicates whether the {@link #mLocalWorker} field has been lazily initialized yet.
    */
@@ -248,6 +254,9 @@ public final class FileSystemContext implements Closeable {
     mWorkerGroup = NettyUtils.createEventLoop(NettyUtils.getUserChannel(getClusterConf()),
         getClusterConf().getInt(PropertyKey.USER_NETWORK_NETTY_WORKER_THREADS),
         String.format("alluxio-client-nettyPool-%s-%%d", mId), true);
+    mBlockReadExecutor = ExecutorServiceFactories.fixedThreadPool(
+        String.format("alluxio-client-block-read-%s", mId),
+        getClusterConf().getInt(PropertyKey.USER_FILE_BLOCK_READ_THREADS)).create();
     mUriValidationEnabled = ctx.getUriValidationEnabled();
   }
 
@@ -281,6 +290,8 @@ public final class FileSystemContext implements Closeable {
       // Close worker group after block master clients in order to allow
       // clean termination for open streams.
       mWorkerGroup.shutdownGracefully(1L, 10L, TimeUnit.SECONDS);
+      mBlockReadExecutor.shutdownNow();
+      mBlockReadExecutor = null;
       mBlockWorkerClientPool.clear();
       mLocalWorkerInitialized = false;
       mLocalWorker = null;
@@ -379,6 +390,14 @@ public final class FileSystemContext implements Closeable {
     return mMasterClientContext;
   }
 
+  /**
+   * @return the executor opening blocks ahead of sequential reads and serving vectored reads for
+   *         the file input streams of this context
+   */
+  public ExecutorService getBlockReadExecutor() {
+    return mBlockReadExecutor;
+  }
+
   /**
    * @return the cluster level configuration backing this {@link FileSystemContext}
    */
@@ -0,0 +1,119 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.exception.AlluxioException;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Iterates over a directory listing which is fetched in batches. Each batch starts after the name
+ * of the last entry of the previous batch, so neither the client nor the master has to hold the
+ * whole listing of a large directory at once.
+ */
+@NotThreadSafe
+public final class ListStatusIterator {
+  private final BatchLister mLister;
+  private final int mBatchSize;
+
+  private Iterator<URIStatus> mBatch = Collections.emptyIterator();
+  /** The name of the last entry fetched, or null if nothing has been fetched yet. */
+  @Nullable
+  private String mLastName = null;
+  private boolean mLastBatch = false;
+
+  /**
+   * Fetches one batch of a directory listing.
+   */
+  @FunctionalInterface
+  public interface BatchLister {
+    /**
+     * @param startAfter the name of the last entry of the previous batch, or null for the first
+     *        batch
+     * @return the next batch of entries, ordered by name
+     */
+    List<URIStatus> list(@Nullable String startAfter) throws IOException, AlluxioException;
+  }
+
+  /**
+   * Creates an iterator and fetches its first batch, so that errors such as a missing path are
+   * reported here rather than on the first call to {@link #hasNext()}.
+   *
+   * @param lister the lister used to fetch batches
+   * @param batchSize the size of a full batch, or 0 if the first batch is the whole listing
+   * @return the iterator
+   */
+  public static ListStatusIterator create(BatchLister lister, int batchSize)
+      throws IOException, AlluxioException {
+    ListStatusIterator iterator = new ListStatusIterator(lister, batchSize);
+    iterator.fetchBatch();
+    return iterator;
+  }
+
+  /**
+   * Creates an iterator over a listing which has already been fetched in full.
+   *
+   * @param statuses the listing
+   * @return the iterator
+   */
+  public static ListStatusIterator of(List<URIStatus> statuses) {
+    ListStatusIterator iterator = new ListStatusIterator(startAfter -> statuses, 0);
+    iterator.mBatch = statuses.iterator();
+    iterator.mLastBatch = true;
+    return iterator;
+  }
+
+  private ListStatusIterator(BatchLister lister, int batchSize) {
+    Preconditions.checkArgument(batchSize >= 0, "batchSize must not be negative");
+    mLister = lister;
+    mBatchSize = batchSize;
+  }
+
+  /**
+   * @return whether there are more entries, fetching the next batch if necessary
+   */
+  public boolean hasNext() throws IOException, AlluxioException {
+    while (!mBatch.hasNext() && !mLastBatch) {
+      fetchBatch();
+    }
+    return mBatch.hasNext();
+  }
+
+  /**
+   * @return the next entry, fetching the next batch if necessary
+   * @throws NoSuchElementException if there are no more entries
+   */
+  public URIStatus next() throws IOException, AlluxioException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return mBatch.next();
+  }
+
+  private void fetchBatch() throws IOException, AlluxioException {
+    List<URIStatus> batch = mLister.list(mLastName);
+    mLastBatch = mBatchSize == 0 || batch.size() < mBatchSize;
+    if (!batch.isEmpty()) {
+      mLastName = batch.get(batch.size() - 1).getName();
+    }
+    mBatch = batch.iterator();
+  }
+}
@@ -12,29 +12,137 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.LocalCacheFileInStream;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.FileIncompleteException;
+import alluxio.exception.OpenDirectoryException;
 import alluxio.grpc.OpenFilePOptions;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.concurrent.GuardedBy;
+
 /**
- * A FileSystem implementation with a local cache.
+ * A FileSystem implementation with a local cache. File data is cached in fixed-size pages on
+ * local disk, shared by all {@link LocalCacheFileSystem} instances in the same JVM. The cache is
+ * released when the last instance using it is closed.
  */
 public class LocalCacheFileSystem extends DelegatingFileSystem {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalCacheFileSystem.class);
+
+  /** The cache manager shared by all instances, null until first created successfully. */
+  @GuardedBy("LocalCacheFileSystem.class")
+  private static CacheManager sCacheManager;
+  /** The size of the pages stored by the shared cache manager. */
+  @GuardedBy("LocalCacheFileSystem.class")
+  private static long sPageSize;
+  /** The number of open instances using the shared cache manager. */
+  @GuardedBy("LocalCacheFileSystem.class")
+  private static int sRefCount;
+
+  private final CacheManager mCacheManager;
+  private final long mPageSize;
+  private final AtomicBoolean mClosed = new AtomicBoolean(false);
 
   /**
    * @param fs a FileSystem instance to query on local cache miss
+   * @param conf the configuration, only respected when the shared cache manager is created
    */
-  public LocalCacheFileSystem(FileSystem fs) {
+  public LocalCacheFileSystem(FileSystem fs, AlluxioConfiguration conf) {
     super(fs);
+    synchronized (LocalCacheFileSystem.class) {
+      mCacheManager = acquireCacheManager(conf);
+      mPageSize = sPageSize;
+    }
+  }
+
+  /**
+   * @param conf the configuration
+   * @return the shared cache manager, or null if the local cache could not be initialized
+   */
+  @GuardedBy("LocalCacheFileSystem.class")
+  private static CacheManager acquireCacheManager(AlluxioConfiguration conf) {
+    long pageSize = conf.getBytes(PropertyKey.USER_LOCAL_CACHE_PAGE_SIZE);
+    if (sCacheManager == null) {
+      try {
+        sCacheManager = CacheManager.create(conf);
+        sPageSize = pageSize;
+      } catch (IOException e) {
+        LOG.warn("Failed to initialize the local cache, reading without it: {}", e.toString());
+        return null;
+      }
+    } else if (pageSize != sPageSize) {
+      // Pages are indexed by their position in the file, so they must all have the same size.
+      LOG.warn("Ignoring {}={} since the local cache already stores pages of {} bytes",
+          PropertyKey.Name.USER_LOCAL_CACHE_PAGE_SIZE, pageSize, sPageSize);
+    }
+    sRefCount++;
+    return sCacheManager;
+  }
+
+  /**
+   * Releases a reference to the shared cache manager, closing it if it is no longer used.
+   */
+  private static synchronized void releaseCacheManager() {
+    if (--sRefCount > 0) {
+      return;
+    }
+    try {
+      sCacheManager.close();
+    } catch (Exception e) {
+      LOG.warn("Failed to close the local cache: {}", e.toString());
+    }
+    sCacheManager = null;
+  }
+
+  @Override
+  public FileInStream openFile(AlluxioURI path, OpenFilePOptions options)
+      throws FileDoesNotExistException, OpenDirectoryException, FileIncompleteException,
+      IOException, AlluxioException {
+    if (mCacheManager == null) {
+      return mDelegatedFileSystem.openFile(path, options);
+    }
+    URIStatus status = mDelegatedFileSystem.getStatus(path);
+    return openFile(status, options);
   }
 
   @Override
-  public FileInStream openFile(AlluxioURI path, OpenFilePOptions options) {
-    // TODO(binfan): implement me
-    return null;
+  public FileInStream openFile(URIStatus status, OpenFilePOptions options)
+      throws FileDoesNotExistException, OpenDirectoryException, FileIncompleteException,
+      IOException, AlluxioException {
+    if (mCacheManager == null) {
+      return mDelegatedFileSystem.openFile(status, options);
+    }
+    AlluxioURI path = new AlluxioURI(status.getPath());
+    if (status.isFolder()) {
+      throw new OpenDirectoryException(path);
+    }
+    if (!status.isCompleted()) {
+      throw new FileIncompleteException(path);
+    }
+    return new LocalCacheFileInStream(status, options, mDelegatedFileSystem, mCacheManager,
+        mPageSize);
   }
 
   @Override
-  public FileInStream openFile(URIStatus status, OpenFilePOptions options) {
-    // TODO(binfan): implement me
-    return null;
+  public void close() throws IOException {
+    if (!mClosed.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      super.close();
+    } finally {
+      if (mCacheManager != null) {
+        releaseCacheManager();
+      }
+    }
   }
 }
@@ -95,6 +95,10 @@ public class MetadataCachingBaseFileSystem extends BaseFileSystem {
       // that might not worth the effort of caching.
       return super.listStatus(path, options);
     }
+    if (options.getBatchSize() > 0 || !options.getStartAfter().isEmpty()) {
+      // A single batch of a listing must not be cached as the whole listing.
+      return super.listStatus(path, options);
+    }
 
     List<URIStatus> statuses = mMetadataCache.listStatus(path);
     if (statuses == null) {
@@ -0,0 +1,206 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The plan of a vectored read of a file. The ranges to read are split at block boundaries into
+ * pieces, and the pieces of a block separated by at most the merge gap are merged into segments,
+ * each of which is read from the block with a single request to the worker.
+ */
+@ThreadSafe
+final class VectoredReadPlan {
+  /** The segments to read, by block index. */
+  private final SortedMap<Integer, List<Segment>> mSegments;
+  /** The number of pieces each range is split into. */
+  private final int[] mPieceCounts;
+
+  private VectoredReadPlan(SortedMap<Integer, List<Segment>> segments, int[] pieceCounts) {
+    mSegments = segments;
+    mPieceCounts = pieceCounts;
+  }
+
+  /**
+   * Plans a vectored read. Empty ranges and ranges going past the end of the file are left out of
+   * the plan.
+   *
+   * @param ranges the ranges to read
+   * @param length the length of the file
+   * @param blockSize the block size of the file
+   * @param mergeGap the largest gap between two pieces for them to be merged
+   * @param maxMergeSize the maximum length of a segment merging several pieces
+   * @return the plan
+   */
+  static VectoredReadPlan create(List<FileRange> ranges, long length, long blockSize,
+      long mergeGap, long maxMergeSize) {
+    Preconditions.checkArgument(blockSize > 0, "blockSize must be positive: %s", blockSize);
+    int[] pieceCounts = new int[ranges.size()];
+    List<Piece> pieces = new ArrayList<>(ranges.size());
+    for (int i = 0; i < ranges.size(); i++) {
+      FileRange range = ranges.get(i);
+      if (range.getLength() == 0 || range.getEnd() > length) {
+        continue;
+      }
+      long offset = range.getOffset();
+      while (offset < range.getEnd()) {
+        long blockEnd = (offset / blockSize + 1) * blockSize;
+        int pieceLength = (int) (Math.min(blockEnd, range.getEnd()) - offset);
+        pieces.add(new Piece(i, offset, pieceLength, (int) (offset - range.getOffset())));
+        pieceCounts[i]++;
+        offset += pieceLength;
+      }
+    }
+    pieces.sort(Comparator.comparingLong(Piece::getOffset));
+
+    SortedMap<Integer, List<Segment>> segments = new TreeMap<>();
+    Segment segment = null;
+    for (Piece piece : pieces) {
+      int blockIndex = Math.toIntExact(piece.getOffset() / blockSize);
+      if (segment != null && segment.getBlockIndex() == blockIndex
+          && piece.getOffset() - segment.getEnd() <= mergeGap
+          && Math.max(segment.getEnd(), piece.getEnd()) - segment.getOffset() <= maxMergeSize) {
+        segment.add(piece);
+        continue;
+      }
+      segment = new Segment(blockIndex, piece);
+      segments.computeIfAbsent(blockIndex, index -> new ArrayList<>()).add(segment);
+    }
+    return new VectoredReadPlan(Collections.unmodifiableSortedMap(segments), pieceCounts);
+  }
+
+  /**
+   * @return the segments to read by block index, in order of block index and offset
+   */
+  SortedMap<Integer, List<Segment>> getSegments() {
+    return mSegments;
+  }
+
+  /**
+   * @param rangeIndex the index of a range
+   * @return the number of pieces the range is split into, zero if it is left out of the plan
+   */
+  int getPieceCount(int rangeIndex) {
+    return mPieceCounts[rangeIndex];
+  }
+
+  /**
+   * The part of a range lying in a single block.
+   */
+  static final class Piece {
+    private final int mRangeIndex;
+    private final long mOffset;
+    private final int mLength;
+    private final int mRangeOffset;
+
+    private Piece(int rangeIndex, long offset, int length, int rangeOffset) {
+      mRangeIndex = rangeIndex;
+      mOffset = offset;
+      mLength = length;
+      mRangeOffset = rangeOffset;
+    }
+
+    /**
+     * @return the index of the range the piece belongs to
+     */
+    int getRangeIndex() {
+      return mRangeIndex;
+    }
+
+    /**
+     * @return the offset of the piece in the file
+     */
+    long getOffset() {
+      return mOffset;
+    }
+
+    /**
+     * @return the length of the piece in bytes
+     */
+    int getLength() {
+      return mLength;
+    }
+
+    /**
+     * @return the offset of the piece in its range
+     */
+    int getRangeOffset() {
+      return mRangeOffset;
+    }
+
+    private long getEnd() {
+      return mOffset + mLength;
+    }
+  }
+
+  /**
+   * A contiguous part of a block covering one or more pieces.
+   */
+  static final class Segment {
+    private final int mBlockIndex;
+    private final long mOffset;
+    private long mEnd;
+    private final List<Piece> mPieces = new ArrayList<>();
+
+    private Segment(int blockIndex, Piece piece) {
+      mBlockIndex = blockIndex;
+      mOffset = piece.getOffset();
+      add(piece);
+    }
+
+    private void add(Piece piece) {
+      mEnd = Math.max(mEnd, piece.getEnd());
+      mPieces.add(piece);
+    }
+
+    /**
+     * @return the index of the block of the segment
+     */
+    int getBlockIndex() {
+      return mBlockIndex;
+    }
+
+    /**
+     * @return the offset of the segment in the file
+     */
+    long getOffset() {
+      return mOffset;
+    }
+
+    /**
+     * @return the length of the segment in bytes
+     */
+    int getLength() {
+      return (int) (mEnd - mOffset);
+    }
+
+    /**
+     * @return the pieces covered by the segment, in order of offset
+     */
+    List<Piece> getPieces() {
+      return mPieces;
+    }
+
+    private long getEnd() {
+      return mEnd;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.CommonUtils;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Interface for client-side cache eviction policy. Implementations are notified of every page
+ * access and decide which page to evict next when the cache runs out of space.
+ */
+@ThreadSafe
+public interface CacheEvictor {
+
+  /**
+   * @param conf the Alluxio configuration
+   * @return a new {@link CacheEvictor} of the type set by
+   *         {@link PropertyKey#USER_LOCAL_CACHE_EVICTOR_CLASS}
+   */
+  static CacheEvictor create(AlluxioConfiguration conf) {
+    return CommonUtils.createNewClassInstance(
+        conf.<CacheEvictor>getClass(PropertyKey.USER_LOCAL_CACHE_EVICTOR_CLASS), null, null);
+  }
+
+  /**
+   * Updates evictor after a get operation.
+   *
+   * @param pageId page identifier
+   */
+  void updateOnGet(PageId pageId);
+
+  /**
+   * Updates evictor after a put operation.
+   *
+   * @param pageId page identifier
+   */
+  void updateOnPut(PageId pageId);
+
+  /**
+   * Updates evictor after a delete operation.
+   *
+   * @param pageId page identifier
+   */
+  void updateOnDelete(PageId pageId);
+
+  /**
+   * @return a page to evict, or null if there is no page tracked by this evictor
+   */
+  @Nullable
+  PageId evict();
+}
@@ -0,0 +1,61 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.conf.AlluxioConfiguration;
+
+import java.io.IOException;
+
+/**
+ * Interface for managing the pages of the client-side local cache. Failures of the cache are not
+ * propagated to callers; a failed operation is reported as a miss or a rejected page, so that
+ * callers can always fall back to reading from Alluxio.
+ */
+public interface CacheManager extends AutoCloseable {
+
+  /**
+   * @param conf the Alluxio configuration
+   * @return an instance of {@link CacheManager}
+   */
+  static CacheManager create(AlluxioConfiguration conf) throws IOException {
+    return LocalCacheManager.create(conf);
+  }
+
+  /**
+   * Puts a page into the cache, evicting other pages if there is not enough space.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @return true if the page is cached after this call
+   */
+  boolean put(PageId pageId, byte[] page);
+
+  /**
+   * Reads part of a page from the cache into the given buffer.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset within the page
+   * @param bytesToRead maximum number of bytes to read
+   * @param buffer destination buffer
+   * @param offsetInBuffer offset in the destination buffer
+   * @return the number of bytes read, or -1 if the page is not cached
+   */
+  int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int offsetInBuffer);
+
+  /**
+   * Deletes a page from the cache.
+   *
+   * @param pageId page identifier
+   * @return true if the page was cached and is now deleted
+   */
+  boolean delete(PageId pageId);
+}
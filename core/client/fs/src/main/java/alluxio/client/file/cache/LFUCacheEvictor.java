@@ -0,0 +1,90 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * LFU client-side cache eviction policy. Pages are grouped into buckets by access count; the
+ * least recently accessed page of the lowest non-empty bucket is evicted first.
+ */
+@ThreadSafe
+public class LFUCacheEvictor implements CacheEvictor {
+  /** A map from page id to its access count. */
+  private final Map<PageId, Integer> mPageToFrequency = new HashMap<>();
+  /** A map from access count to the pages with that count, in least-recently-accessed order. */
+  private final TreeMap<Integer, LinkedHashSet<PageId>> mFrequencyToPages = new TreeMap<>();
+
+  /**
+   * Creates a new instance of {@link LFUCacheEvictor}.
+   */
+  public LFUCacheEvictor() {}
+
+  @Override
+  public synchronized void updateOnGet(PageId pageId) {
+    Integer frequency = mPageToFrequency.get(pageId);
+    if (frequency == null) {
+      addPage(pageId, 1);
+      return;
+    }
+    removeFromBucket(pageId, frequency);
+    // Saturate instead of overflowing so that very hot pages stay in the top bucket.
+    addPage(pageId, frequency == Integer.MAX_VALUE ? frequency : frequency + 1);
+  }
+
+  @Override
+  public synchronized void updateOnPut(PageId pageId) {
+    Integer frequency = mPageToFrequency.get(pageId);
+    if (frequency != null) {
+      removeFromBucket(pageId, frequency);
+    }
+    addPage(pageId, 1);
+  }
+
+  @Override
+  public synchronized void updateOnDelete(PageId pageId) {
+    Integer frequency = mPageToFrequency.remove(pageId);
+    if (frequency != null) {
+      removeFromBucket(pageId, frequency);
+    }
+  }
+
+  @Nullable
+  @Override
+  public synchronized PageId evict() {
+    if (mFrequencyToPages.isEmpty()) {
+      return null;
+    }
+    return mFrequencyToPages.firstEntry().getValue().iterator().next();
+  }
+
+  private void addPage(PageId pageId, int frequency) {
+    mPageToFrequency.put(pageId, frequency);
+    mFrequencyToPages.computeIfAbsent(frequency, k -> new LinkedHashSet<>()).add(pageId);
+  }
+
+  private void removeFromBucket(PageId pageId, int frequency) {
+    LinkedHashSet<PageId> pages = mFrequencyToPages.get(frequency);
+    if (pages != null) {
+      pages.remove(pageId);
+      if (pages.isEmpty()) {
+        mFrequencyToPages.remove(frequency);
+      }
+    }
+  }
+}
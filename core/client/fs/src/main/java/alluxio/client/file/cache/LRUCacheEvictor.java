@@ -0,0 +1,65 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * LRU client-side cache eviction policy.
+ */
+@ThreadSafe
+public class LRUCacheEvictor implements CacheEvictor {
+  private static final int LINKED_HASH_MAP_INIT_CAPACITY = 200;
+  private static final float LINKED_HASH_MAP_INIT_LOAD_FACTOR = 0.75f;
+  private static final boolean LINKED_HASH_MAP_ACCESS_ORDERED = true;
+  private static final boolean UNUSED_MAP_VALUE = true;
+
+  /** A map from page id to a dummy value, kept in least-recently-accessed order. */
+  private final Map<PageId, Boolean> mLRUCache =
+      new LinkedHashMap<>(LINKED_HASH_MAP_INIT_CAPACITY, LINKED_HASH_MAP_INIT_LOAD_FACTOR,
+          LINKED_HASH_MAP_ACCESS_ORDERED);
+
+  /**
+   * Creates a new instance of {@link LRUCacheEvictor}.
+   */
+  public LRUCacheEvictor() {}
+
+  @Override
+  public synchronized void updateOnGet(PageId pageId) {
+    mLRUCache.put(pageId, UNUSED_MAP_VALUE);
+  }
+
+  @Override
+  public synchronized void updateOnPut(PageId pageId) {
+    mLRUCache.put(pageId, UNUSED_MAP_VALUE);
+  }
+
+  @Override
+  public synchronized void updateOnDelete(PageId pageId) {
+    mLRUCache.remove(pageId);
+  }
+
+  @Nullable
+  @Override
+  public synchronized PageId evict() {
+    Iterator<PageId> it = mLRUCache.keySet().iterator();
+    if (!it.hasNext()) {
+      return null;
+    }
+    return it.next();
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.PreconditionMessage;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link FileInStream} which serves reads from the pages of a {@link CacheManager}. On a cache
+ * miss, the whole page is read from the external file system, added to the cache and then
+ * served. The external stream is only opened on the first miss.
+ */
+@NotThreadSafe
+public class LocalCacheFileInStream extends FileInStream {
+  /** Page size in bytes. */
+  private final long mPageSize;
+  /** Local store to store pages. */
+  private final CacheManager mCacheManager;
+  /** External file system to read from on cache misses. */
+  private final FileSystem mExternalFs;
+  /** Status of the file being read. */
+  private final URIStatus mStatus;
+  /** Options used to open the external stream. */
+  private final OpenFilePOptions mOpenOptions;
+
+  /** Stream reading from the external file system, opened on the first cache miss. */
+  private FileInStream mExternalFileInStream;
+  /** Current position of the stream, relative to the start of the file. */
+  private long mPosition = 0;
+  private boolean mClosed = false;
+
+  /**
+   * @param status file status
+   * @param options open file options
+   * @param externalFs the external file system to read from on cache misses
+   * @param cacheManager the cache manager
+   * @param pageSize the page size in bytes
+   */
+  public LocalCacheFileInStream(URIStatus status, OpenFilePOptions options,
+      FileSystem externalFs, CacheManager cacheManager, long pageSize) {
+    mStatus = status;
+    mOpenOptions = options;
+    mExternalFs = externalFs;
+    mCacheManager = cacheManager;
+    mPageSize = pageSize;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    int bytesRead = read(buffer, 0, 1);
+    return bytesRead == -1 ? -1 : buffer[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b) throws IOException {
+    return read(b, 0, b.length);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    checkIfClosed();
+    Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    int bytesRead = readInternal(mPosition, b, off, len);
+    if (bytesRead > 0) {
+      mPosition += bytesRead;
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
+    checkIfClosed();
+    Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    if (pos < 0) {
+      return -1;
+    }
+    return readInternal(pos, b, off, len);
+  }
+
+  /**
+   * Reads from the given position of the file without moving the stream position.
+   *
+   * @param pos position in the file to read from
+   * @param b destination buffer
+   * @param off offset in the destination buffer
+   * @param len maximum number of bytes to read
+   * @return the number of bytes read, or -1 if the position is at the end of the file
+   */
+  private int readInternal(long pos, byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    long fileLength = mStatus.getLength();
+    if (pos >= fileLength) {
+      return -1;
+    }
+    int totalBytesRead = 0;
+    long lengthToRead = Math.min(len, fileLength - pos);
+    while (totalBytesRead < lengthToRead) {
+      long currentPos = pos + totalBytesRead;
+      long pageIndex = currentPos / mPageSize;
+      int pageOffset = (int) (currentPos % mPageSize);
+      int bytesLeftInPage =
+          (int) Math.min(mPageSize - pageOffset, lengthToRead - totalBytesRead);
+      PageId pageId = new PageId(mStatus.getFileId(), pageIndex);
+      int bytesRead = mCacheManager.get(pageId, pageOffset, bytesLeftInPage, b,
+          off + totalBytesRead);
+      if (bytesRead <= 0) {
+        // cache miss
+        byte[] page = readExternalPage(pageIndex);
+        if (page.length <= pageOffset) {
+          // The file is shorter than its status says, e.g. it was truncated externally.
+          break;
+        }
+        mCacheManager.put(pageId, page);
+        bytesRead = Math.min(bytesLeftInPage, page.length - pageOffset);
+        System.arraycopy(page, pageOffset, b, off + totalBytesRead, bytesRead);
+      }
+      totalBytesRead += bytesRead;
+    }
+    return totalBytesRead == 0 ? -1 : totalBytesRead;
+  }
+
+  /**
+   * Reads a whole page from the external file system.
+   *
+   * @param pageIndex index of the page in the file
+   * @return the page data, which is shorter than the page size for the last page of the file
+   */
+  private byte[] readExternalPage(long pageIndex) throws IOException {
+    long pageStart = pageIndex * mPageSize;
+    int pageLength = (int) Math.min(mPageSize, mStatus.getLength() - pageStart);
+    byte[] page = new byte[pageLength];
+    FileInStream stream = getExternalFileInStream();
+    int totalBytesRead = 0;
+    while (totalBytesRead < pageLength) {
+      int bytesRead = stream.positionedRead(pageStart + totalBytesRead, page, totalBytesRead,
+          pageLength - totalBytesRead);
+      if (bytesRead <= 0) {
+        break;
+      }
+      totalBytesRead += bytesRead;
+    }
+    MetricsSystem.counter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName())
+        .inc(totalBytesRead);
+    if (totalBytesRead != pageLength) {
+      byte[] partialPage = new byte[totalBytesRead];
+      System.arraycopy(page, 0, partialPage, 0, totalBytesRead);
+      return partialPage;
+    }
+    return page;
+  }
+
+  private FileInStream getExternalFileInStream() throws IOException {
+    if (mExternalFileInStream == null) {
+      try {
+        mExternalFileInStream = mExternalFs.openFile(mStatus, mOpenOptions);
+      } catch (AlluxioException e) {
+        throw new IOException(e);
+      }
+    }
+    return mExternalFileInStream;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    checkIfClosed();
+    if (n <= 0) {
+      return 0;
+    }
+    long toSkip = Math.min(remaining(), n);
+    mPosition += toSkip;
+    return toSkip;
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    checkIfClosed();
+    Preconditions.checkArgument(pos >= 0, PreconditionMessage.ERR_SEEK_NEGATIVE.toString(), pos);
+    Preconditions.checkArgument(pos <= mStatus.getLength(),
+        PreconditionMessage.ERR_SEEK_PAST_END_OF_FILE.toString(), pos);
+    mPosition = pos;
+  }
+
+  @Override
+  public long getPos() {
+    return mPosition;
+  }
+
+  @Override
+  public long remaining() {
+    return mStatus.getLength() - mPosition;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mExternalFileInStream != null) {
+      mExternalFileInStream.close();
+    }
+  }
+
+  private void checkIfClosed() {
+    Preconditions.checkState(!mClosed,
+        "Cannot do operations on a closed LocalCacheFileInStream");
+  }
+}
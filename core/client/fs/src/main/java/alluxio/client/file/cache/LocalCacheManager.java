@@ -0,0 +1,279 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link CacheManager} storing pages in a {@link PageStore} on local disk, under a fixed byte
+ * budget.
+ *
+ * Locking is done at two levels:
+ * <ul>
+ *   <li>a striped set of page locks, which serializes reads and writes of the same page and
+ *   is held while page data is read from or written to the {@link PageStore};</li>
+ *   <li>a meta lock guarding the {@link MetaStore} and the space accounting, which is only
+ *   held for in-memory updates.</li>
+ * </ul>
+ * A thread never holds more than one page lock at a time, so there is no lock ordering between
+ * page locks. The page lock, when needed, is always acquired before the meta lock.
+ */
+@ThreadSafe
+public class LocalCacheManager implements CacheManager {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalCacheManager.class);
+
+  private static final int LOCK_SIZE = 1024;
+  /** Maximum number of pages evicted to make room for a single page before giving up. */
+  private static final int MAX_EVICTIONS_PER_PUT = 16;
+
+  private final long mCacheSize;
+  private final CacheEvictor mEvictor;
+  private final PageStore mPageStore;
+  /** A readwrite lock pool to guard individual pages based on striping. */
+  private final ReadWriteLock[] mPageLocks = new ReentrantReadWriteLock[LOCK_SIZE];
+  /** A readwrite lock to guard metadata operations. */
+  private final ReadWriteLock mMetaLock = new ReentrantReadWriteLock();
+  @GuardedBy("mMetaLock")
+  private final MetaStore mMetaStore;
+
+  /**
+   * @param conf the Alluxio configuration
+   * @return an instance of {@link LocalCacheManager}
+   */
+  public static LocalCacheManager create(AlluxioConfiguration conf) throws IOException {
+    PageStore pageStore = new LocalPageStore(conf.get(PropertyKey.USER_LOCAL_CACHE_DIR),
+        conf.getBytes(PropertyKey.USER_LOCAL_CACHE_PAGE_SIZE),
+        conf.getInt(PropertyKey.USER_LOCAL_CACHE_RESTORE_THREADS));
+    LocalCacheManager cacheManager =
+        new LocalCacheManager(conf.getBytes(PropertyKey.USER_LOCAL_CACHE_SIZE), new MetaStore(),
+            pageStore, CacheEvictor.create(conf));
+    cacheManager.restore(conf.getBoolean(PropertyKey.USER_LOCAL_CACHE_RESTORE_ENABLED));
+    return cacheManager;
+  }
+
+  /**
+   * @param cacheSize the maximum number of bytes to cache
+   * @param metaStore the meta store to track the cached pages
+   * @param pageStore the page store to keep the page data
+   * @param evictor the eviction policy
+   */
+  @VisibleForTesting
+  LocalCacheManager(long cacheSize, MetaStore metaStore, PageStore pageStore,
+      CacheEvictor evictor) {
+    mCacheSize = cacheSize;
+    mMetaStore = metaStore;
+    mPageStore = pageStore;
+    mEvictor = evictor;
+    for (int i = 0; i < LOCK_SIZE; i++) {
+      mPageLocks[i] = new ReentrantReadWriteLock();
+    }
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the page lock id
+   */
+  private int getPageLockId(PageId pageId) {
+    return Math.floorMod(pageId.hashCode(), LOCK_SIZE);
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the corresponding page lock
+   */
+  private ReadWriteLock getPageLock(PageId pageId) {
+    return mPageLocks[getPageLockId(pageId)];
+  }
+
+  /**
+   * Rebuilds the page index and eviction state from the pages left in the page store by a
+   * previous client. Pages beyond the cache size are dropped. This must be called before the
+   * cache manager is used.
+   *
+   * @param enabled whether to restore the pages, or to drop all of them
+   */
+  @VisibleForTesting
+  void restore(boolean enabled) throws IOException {
+    long startMs = System.currentTimeMillis();
+    mPageStore.restore(pageInfo -> enabled && restorePage(pageInfo));
+    try (LockResource r = new LockResource(mMetaLock.readLock())) {
+      LOG.info("Restored {} pages ({} bytes) into local cache in {}ms", mMetaStore.pages(),
+          mMetaStore.bytes(), System.currentTimeMillis() - startMs);
+    }
+  }
+
+  /**
+   * @param pageInfo a page found in the page store
+   * @return whether the page is added to the cache
+   */
+  private boolean restorePage(PageInfo pageInfo) {
+    try (LockResource r = new LockResource(mMetaLock.writeLock())) {
+      if (mMetaStore.bytes() + pageInfo.getPageSize() > mCacheSize) {
+        return false;
+      }
+      mMetaStore.addPage(pageInfo.getPageId(), pageInfo.getPageSize());
+      mEvictor.updateOnPut(pageInfo.getPageId());
+      return true;
+    }
+  }
+
+  @Override
+  public boolean put(PageId pageId, byte[] page) {
+    if (page.length > mCacheSize) {
+      return false;
+    }
+    for (int evictions = 0; evictions <= MAX_EVICTIONS_PER_PUT; evictions++) {
+      PageId victim;
+      try (LockResource r = new LockResource(getPageLock(pageId).writeLock())) {
+        try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
+          if (mMetaStore.hasPage(pageId)) {
+            return true;
+          }
+          if (mMetaStore.bytes() + page.length <= mCacheSize) {
+            // Reserve the space before writing the page so that concurrent puts do not
+            // overcommit the cache.
+            mMetaStore.addPage(pageId, page.length);
+            mEvictor.updateOnPut(pageId);
+            victim = null;
+          } else {
+            victim = mEvictor.evict();
+            if (victim == null) {
+              return false;
+            }
+          }
+        }
+        if (victim == null) {
+          try {
+            mPageStore.put(pageId, page);
+            return true;
+          } catch (IOException e) {
+            LOG.warn("Failed to add page {} to the local cache: {}", pageId, e.toString());
+            undoAddPage(pageId);
+            return false;
+          }
+        }
+      }
+      // The page lock is released before evicting so that at most one page lock is held.
+      evict(victim);
+    }
+    LOG.debug("Unable to make room for page {} after {} evictions", pageId,
+        MAX_EVICTIONS_PER_PUT);
+    return false;
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
+      int offsetInBuffer) {
+    boolean corrupted = false;
+    try (LockResource r = new LockResource(getPageLock(pageId).readLock())) {
+      try (LockResource r2 = new LockResource(mMetaLock.readLock())) {
+        if (!mMetaStore.hasPage(pageId)) {
+          return -1;
+        }
+      }
+      mEvictor.updateOnGet(pageId);
+      try {
+        int bytesRead =
+            mPageStore.get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer);
+        if (bytesRead > 0) {
+          MetricsSystem.counter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName())
+              .inc(bytesRead);
+        }
+        return bytesRead;
+      } catch (IOException | PageNotFoundException e) {
+        LOG.warn("Failed to read page {} from the local cache: {}", pageId, e.toString());
+        corrupted = true;
+      }
+    }
+    // Drops the unreadable page outside of the read lock since deleting needs the write lock.
+    if (corrupted) {
+      delete(pageId);
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean delete(PageId pageId) {
+    try (LockResource r = new LockResource(getPageLock(pageId).writeLock())) {
+      try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
+        if (mMetaStore.removePage(pageId) < 0) {
+          return false;
+        }
+        mEvictor.updateOnDelete(pageId);
+      }
+      deleteFromPageStore(pageId);
+      return true;
+    }
+  }
+
+  /**
+   * Evicts a page chosen by the evictor. The page may have been deleted or evicted by another
+   * thread in the meantime, in which case this is a no-op.
+   *
+   * @param victim the page to evict
+   */
+  private void evict(PageId victim) {
+    try (LockResource r = new LockResource(getPageLock(victim).writeLock())) {
+      int pageSize;
+      try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
+        pageSize = mMetaStore.removePage(victim);
+        // Always clear the evictor so it does not keep returning an untracked page.
+        mEvictor.updateOnDelete(victim);
+      }
+      if (pageSize >= 0) {
+        deleteFromPageStore(victim);
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_BYTES_EVICTED.getName()).inc(pageSize);
+      }
+    }
+  }
+
+  /**
+   * Rolls back the index update of a page which could not be written to the page store.
+   *
+   * @param pageId page identifier
+   */
+  private void undoAddPage(PageId pageId) {
+    try (LockResource r = new LockResource(mMetaLock.writeLock())) {
+      mMetaStore.removePage(pageId);
+      mEvictor.updateOnDelete(pageId);
+    }
+  }
+
+  private void deleteFromPageStore(PageId pageId) {
+    try {
+      mPageStore.delete(pageId);
+    } catch (IOException | PageNotFoundException e) {
+      LOG.warn("Failed to delete page {} from the local cache: {}", pageId, e.toString());
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    mPageStore.close();
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.exception.PageNotFoundException;
+import alluxio.util.executor.ExecutorServiceFactories;
+import alluxio.util.io.FileUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link PageStore} which keeps every page as a file on the local file system, at
+ * {@code <cache dir>/v<layout version>/<page size>/<file id>/<page index>}. Pages are first
+ * written to {@code <cache dir>/v<layout version>/tmp} and then atomically moved in place, so a
+ * page file in the layout is always complete. Callers are responsible for serializing operations
+ * on the same page.
+ */
+@ThreadSafe
+public class LocalPageStore implements PageStore {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalPageStore.class);
+  /** Version of the on-disk layout, to be bumped on any incompatible layout change. */
+  private static final int LAYOUT_VERSION = 1;
+  private static final String TMP_DIR = "tmp";
+  /** Names of the directories written by this or previous layouts in the cache directory. */
+  private static final Pattern LAYOUT_DIR_PATTERN = Pattern.compile("pages|v[0-9]+");
+
+  private final Path mCacheDir;
+  private final Path mVersionDir;
+  private final Path mRoot;
+  private final Path mTmpDir;
+  private final long mPageSize;
+  private final int mRestoreThreads;
+
+  /**
+   * Creates a page store in the given cache directory. Pages written with a different layout
+   * version or page size, and pages which were not completely written, are removed.
+   *
+   * @param cacheDir the local cache directory
+   * @param pageSize the page size in bytes
+   * @param restoreThreads the number of threads to scan the directory with on restore
+   */
+  public LocalPageStore(String cacheDir, long pageSize, int restoreThreads) throws IOException {
+    mCacheDir = Paths.get(cacheDir);
+    mVersionDir = mCacheDir.resolve("v" + LAYOUT_VERSION);
+    mRoot = mVersionDir.resolve(Long.toString(pageSize));
+    mTmpDir = mVersionDir.resolve(TMP_DIR);
+    mPageSize = pageSize;
+    mRestoreThreads = restoreThreads;
+    deleteStaleLayouts();
+    Files.createDirectories(mRoot);
+    Files.createDirectories(mTmpDir);
+  }
+
+  /**
+   * Deletes the directories of other layout versions and page sizes, and any temporary pages.
+   */
+  private void deleteStaleLayouts() throws IOException {
+    if (Files.isDirectory(mCacheDir)) {
+      for (Path dir : listChildren(mCacheDir)) {
+        if (LAYOUT_DIR_PATTERN.matcher(dir.getFileName().toString()).matches()
+            && !dir.equals(mVersionDir)) {
+          LOG.info("Deleting local cache directory {} with a stale layout", dir);
+          FileUtils.deletePathRecursively(dir.toString());
+        }
+      }
+    }
+    if (Files.isDirectory(mVersionDir)) {
+      for (Path dir : listChildren(mVersionDir)) {
+        if (!dir.equals(mRoot)) {
+          LOG.info("Deleting local cache directory {} with a stale layout", dir);
+          FileUtils.deletePathRecursively(dir.toString());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws IOException {
+    Path pagePath = getFilePath(pageId);
+    Path tmpPath = mTmpDir.resolve(pageId.getFileId() + "_" + pageId.getPageIndex());
+    Files.write(tmpPath, page);
+    Files.createDirectories(pagePath.getParent());
+    Files.move(tmpPath, pagePath, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Preconditions.checkArgument(buffer.length - bufferOffset >= bytesToRead,
+        "buffer does not have enough space");
+    Path pagePath = getFilePath(pageId);
+    File pageFile = pagePath.toFile();
+    if (!pageFile.exists()) {
+      throw new PageNotFoundException(pagePath.toString());
+    }
+    try (RandomAccessFile localFile = new RandomAccessFile(pageFile, "r")) {
+      if (pageOffset >= localFile.length()) {
+        return -1;
+      }
+      localFile.seek(pageOffset);
+      int bytesRead = 0;
+      while (bytesRead < bytesToRead) {
+        int read = localFile.read(buffer, bufferOffset + bytesRead, bytesToRead - bytesRead);
+        if (read == -1) {
+          break;
+        }
+        bytesRead += read;
+      }
+      return bytesRead;
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    Path pagePath = getFilePath(pageId);
+    try {
+      Files.delete(pagePath);
+    } catch (NoSuchFileException e) {
+      throw new PageNotFoundException(pagePath.toString(), e);
+    }
+    // Empty file directories are left in place to not race with concurrent puts of other
+    // pages of the same file, and are removed on the next restore.
+  }
+
+  @Override
+  public void restore(Predicate<PageInfo> filter) throws IOException {
+    List<Path> fileDirs = listChildren(mRoot);
+    if (fileDirs.isEmpty()) {
+      return;
+    }
+    ExecutorService executor = ExecutorServiceFactories.fixedThreadPool("local-cache-restore",
+        Math.max(1, Math.min(mRestoreThreads, fileDirs.size()))).create();
+    try {
+      List<Future<?>> futures = new ArrayList<>(fileDirs.size());
+      for (Path fileDir : fileDirs) {
+        futures.add(executor.submit(() -> {
+          restoreFileDir(fileDir, filter);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while restoring local cache", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to restore local cache", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Restores the pages of a single file.
+   *
+   * @param fileDir the directory of the file
+   * @param filter called for every valid page, returning whether to keep it
+   */
+  private void restoreFileDir(Path fileDir, Predicate<PageInfo> filter) throws IOException {
+    Long fileId = parseId(fileDir);
+    if (fileId == null || !Files.isDirectory(fileDir)) {
+      LOG.warn("Deleting unexpected path {} in local cache", fileDir);
+      FileUtils.deletePathRecursively(fileDir.toString());
+      return;
+    }
+    int pagesKept = 0;
+    for (Path pagePath : listChildren(fileDir)) {
+      Long pageIndex = parseId(pagePath);
+      long pageSize = Files.isRegularFile(pagePath) ? Files.size(pagePath) : -1;
+      if (pageIndex == null || pageSize <= 0 || pageSize > mPageSize) {
+        LOG.warn("Deleting invalid page {} in local cache", pagePath);
+        FileUtils.deletePathRecursively(pagePath.toString());
+        continue;
+      }
+      if (filter.test(new PageInfo(new PageId(fileId, pageIndex), (int) pageSize))) {
+        pagesKept++;
+      } else {
+        Files.delete(pagePath);
+      }
+    }
+    if (pagesKept == 0) {
+      Files.delete(fileDir);
+    }
+  }
+
+  /**
+   * @param path a file or page path
+   * @return the id encoded in the file name, or null if the name is not a valid id
+   */
+  private static Long parseId(Path path) {
+    try {
+      return Long.parseLong(path.getFileName().toString());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static List<Path> listChildren(Path dir) throws IOException {
+    try (Stream<Path> children = Files.list(dir)) {
+      return children.collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * @param pageId page identifier
+   * @return the local file path of the page
+   */
+  private Path getFilePath(PageId pageId) {
+    return mRoot.resolve(Long.toString(pageId.getFileId()))
+        .resolve(Long.toString(pageId.getPageIndex()));
+  }
+
+  @Override
+  public void close() {
+    // no-op
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The in-memory index of the pages in the client-side local cache, tracking the size of each
+ * page and the total number of bytes cached.
+ */
+@NotThreadSafe
+public class MetaStore {
+  private final Map<PageId, Integer> mPageSizes = new HashMap<>();
+  private long mBytes = 0;
+
+  /**
+   * Creates a new instance of {@link MetaStore}.
+   */
+  public MetaStore() {}
+
+  /**
+   * @param pageId page identifier
+   * @return whether the page is in the index
+   */
+  public boolean hasPage(PageId pageId) {
+    return mPageSizes.containsKey(pageId);
+  }
+
+  /**
+   * Adds a page to the index.
+   *
+   * @param pageId page identifier
+   * @param pageSize size of the page in bytes
+   */
+  public void addPage(PageId pageId, int pageSize) {
+    Integer previous = mPageSizes.put(pageId, pageSize);
+    mBytes += pageSize - (previous == null ? 0 : previous);
+  }
+
+  /**
+   * Removes a page from the index.
+   *
+   * @param pageId page identifier
+   * @return the size of the removed page, or -1 if the page was not in the index
+   */
+  public int removePage(PageId pageId) {
+    Integer pageSize = mPageSizes.remove(pageId);
+    if (pageSize == null) {
+      return -1;
+    }
+    mBytes -= pageSize;
+    return pageSize;
+  }
+
+  /**
+   * @return the total number of bytes of the pages in the index
+   */
+  public long bytes() {
+    return mBytes;
+  }
+
+  /**
+   * @return the number of pages in the index
+   */
+  public int pages() {
+    return mPageSizes.size();
+  }
+}
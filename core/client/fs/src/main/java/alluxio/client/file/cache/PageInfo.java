@@ -0,0 +1,74 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A class with information of a cached page.
+ */
+@ThreadSafe
+public final class PageInfo {
+  private final PageId mPageId;
+  private final int mPageSize;
+
+  /**
+   * @param pageId page identifier
+   * @param pageSize size of the page in bytes
+   */
+  public PageInfo(PageId pageId, int pageSize) {
+    mPageId = pageId;
+    mPageSize = pageSize;
+  }
+
+  /**
+   * @return page identifier
+   */
+  public PageId getPageId() {
+    return mPageId;
+  }
+
+  /**
+   * @return size of the page in bytes
+   */
+  public int getPageSize() {
+    return mPageSize;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PageInfo)) {
+      return false;
+    }
+    PageInfo that = (PageInfo) o;
+    return mPageId.equals(that.mPageId) && mPageSize == that.mPageSize;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mPageId, mPageSize);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("PageId", mPageId)
+        .add("PageSize", mPageSize)
+        .toString();
+  }
+}
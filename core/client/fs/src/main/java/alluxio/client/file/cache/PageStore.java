@@ -0,0 +1,63 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.exception.PageNotFoundException;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+/**
+ * A storage for the pages of the client-side local cache. Implementations only store and
+ * retrieve bytes; bookkeeping and eviction are done by the {@link CacheManager}.
+ */
+public interface PageStore extends AutoCloseable {
+
+  /**
+   * Writes a new page to the store, replacing any existing page with the same id.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   */
+  void put(PageId pageId, byte[] page) throws IOException;
+
+  /**
+   * Reads part of a page from the store into the given buffer.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset within the page to start reading from
+   * @param bytesToRead maximum number of bytes to read
+   * @param buffer destination buffer
+   * @param bufferOffset offset in the destination buffer
+   * @return the number of bytes read, or -1 if the offset is at or beyond the end of the page
+   * @throws PageNotFoundException if the page is not in the store
+   */
+  int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException;
+
+  /**
+   * Deletes a page from the store.
+   *
+   * @param pageId page identifier
+   * @throws PageNotFoundException if the page is not in the store
+   */
+  void delete(PageId pageId) throws IOException, PageNotFoundException;
+
+  /**
+   * Scans the pages left in the store by a previous client. Pages which are invalid, or which
+   * the given filter rejects, are deleted from the store. The filter may be called concurrently
+   * from multiple threads.
+   *
+   * @param filter called for every valid page, returning whether to keep it
+   */
+  void restore(Predicate<PageInfo> filter) throws IOException;
+}
@@ -14,6 +14,7 @@ package alluxio.client.block.stream;
 import alluxio.wire.WorkerNetAddress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A {@link BlockInStream} which reads from the given byte array. The stream is able to track how
@@ -50,6 +51,16 @@ public class TestBlockInStream extends BlockInStream {
     return bytesRead;
   }
 
+  @Override
+  public int positionedRead(long pos, ByteBuffer buf) throws IOException {
+    int bytesRead = super.positionedRead(pos, buf);
+    if (bytesRead <= 0) {
+      return bytesRead;
+    }
+    mBytesRead += bytesRead;
+    return bytesRead;
+  }
+
   public boolean isClosed() {
     return mClosed;
   }
@@ -13,13 +13,17 @@ package alluxio.client.file;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,12 +35,15 @@ import alluxio.client.block.AlluxioBlockStore;
 import alluxio.client.block.BlockWorkerInfo;
 import alluxio.client.block.stream.BlockInStream;
 import alluxio.client.block.stream.BlockInStream.BlockInStreamSource;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.block.stream.NoopClosableResource;
 import alluxio.client.block.stream.TestBlockInStream;
 import alluxio.client.file.options.InStreamOptions;
 import alluxio.client.util.ClientTestUtils;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.status.UnavailableException;
+import alluxio.grpc.AsyncCacheRequest;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.ReadPType;
 import alluxio.util.io.BufferUtils;
@@ -45,11 +52,13 @@ import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.collect.Sets;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
@@ -57,11 +66,19 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * Tests for the {@link AlluxioFileInStream} class.
@@ -80,6 +97,7 @@ public final class AlluxioFileInStreamTest {
   private AlluxioBlockStore mBlockStore;
   private BlockInStreamSource mBlockSource;
   private FileSystemContext mContext;
+  private ExecutorService mBlockReadExecutor;
   private FileInfo mInfo;
   private URIStatus mStatus;
 
@@ -127,6 +145,8 @@ public final class AlluxioFileInStreamTest {
     when(mContext.getClusterConf()).thenReturn(sConf);
     when(mContext.getPathConf(any(AlluxioURI.class))).thenReturn(sConf);
     PowerMockito.when(mContext.getLocalWorker()).thenReturn(new WorkerNetAddress());
+    mBlockReadExecutor = Executors.newCachedThreadPool();
+    when(mContext.getBlockReadExecutor()).thenReturn(mBlockReadExecutor);
     mBlockStore = mock(AlluxioBlockStore.class);
     PowerMockito.mockStatic(AlluxioBlockStore.class);
     PowerMockito.when(AlluxioBlockStore.create(mContext)).thenReturn(mBlockStore);
@@ -170,6 +190,7 @@ public final class AlluxioFileInStreamTest {
 
   @After
   public void after() {
+    mBlockReadExecutor.shutdownNow();
     ClientTestUtils.resetClient(sConf);
   }
 
@@ -216,6 +237,42 @@ public final class AlluxioFileInStreamTest {
     testReadBuffer((int) FILE_LENGTH);
   }
 
+  /**
+   * Tests that once a file has been read sequentially across a block boundary, the next block is
+   * opened in the background, and that the prefetched stream is used to read it.
+   */
+  @Test
+  public void sequentialReadPrefetchesBlocks() throws Exception {
+    // Nothing is prefetched before a block has been read sequentially.
+    byte[] buffer = new byte[(int) BLOCK_LENGTH];
+    assertEquals(BLOCK_LENGTH, mTestStream.read(buffer));
+    verify(mBlockStore, never()).getInStream(eq(1L), any(InStreamOptions.class), any());
+    assertEquals(BLOCK_LENGTH, mTestStream.read());
+    verify(mBlockStore, timeout(10000)).getInStream(eq(2L), any(InStreamOptions.class), any());
+    buffer = new byte[(int) (FILE_LENGTH - BLOCK_LENGTH - 1)];
+    assertEquals(buffer.length, mTestStream.read(buffer));
+    assertArrayEquals(
+        BufferUtils.getIncreasingByteArray((int) BLOCK_LENGTH + 1, buffer.length), buffer);
+    mTestStream.close();
+    for (int i = 0; i < NUM_STREAMS; i++) {
+      verify(mBlockStore).getInStream(eq((long) i), any(InStreamOptions.class), any());
+    }
+  }
+
+  /**
+   * Tests that no blocks are prefetched after a seek out of the current block.
+   */
+  @Test
+  public void seekStopsPrefetchingBlocks() throws Exception {
+    mTestStream.seek(BLOCK_LENGTH + BLOCK_LENGTH / 2);
+    byte[] buffer = new byte[(int) BLOCK_LENGTH / 2];
+    assertEquals(BLOCK_LENGTH / 2, mTestStream.read(buffer));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray((int) (BLOCK_LENGTH * 3 / 2),
+        (int) BLOCK_LENGTH / 2), buffer);
+    mTestStream.close();
+    verify(mBlockStore, never()).getInStream(eq(2L), any(InStreamOptions.class), any());
+  }
+
   /**
    * Tests that reading a buffer at an offset writes the bytes to the correct places.
    */
@@ -704,6 +761,86 @@ public final class AlluxioFileInStreamTest {
         BLOCK_LENGTH * 2), b);
   }
 
+  @Test
+  public void readVectored() throws Exception {
+    List<FileRange> ranges = Arrays.asList(
+        new FileRange(BLOCK_LENGTH + 10, 20),
+        new FileRange(BLOCK_LENGTH + 35, 5),
+        new FileRange(BLOCK_LENGTH / 2, (int) BLOCK_LENGTH),
+        new FileRange(FILE_LENGTH - 10, 10),
+        new FileRange(0, 0));
+    List<CompletableFuture<ByteBuffer>> results = mTestStream.readVectored(ranges);
+    assertEquals(ranges.size(), results.size());
+    for (int i = 0; i < ranges.size(); i++) {
+      FileRange range = ranges.get(i);
+      assertTrue(BufferUtils.equalIncreasingByteBuffer((int) range.getOffset(),
+          range.getLength(), results.get(i).get()));
+    }
+    assertEquals(0, mTestStream.getPos());
+  }
+
+  @Test
+  public void readVectoredPastEnd() throws Exception {
+    List<CompletableFuture<ByteBuffer>> results = mTestStream.readVectored(Arrays.asList(
+        new FileRange(0, 10), new FileRange(FILE_LENGTH - 10, 20)));
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(0, 10, results.get(0).get()));
+    try {
+      results.get(1).get();
+      fail("Reading a range past the end of the file should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof EOFException);
+    }
+  }
+
+  @Test
+  public void readVectoredRetry() throws Exception {
+    TestBlockInStream workingStream = mInStreams.get(0);
+    TestBlockInStream brokenStream = mock(TestBlockInStream.class);
+    when(mBlockStore
+        .getInStream(eq(0L), any(InStreamOptions.class), any()))
+        .thenReturn(brokenStream).thenReturn(workingStream);
+    when(brokenStream.getAddress()).thenReturn(new WorkerNetAddress().setHost("broken"));
+    when(brokenStream.positionedRead(anyLong(), any(ByteBuffer.class)))
+        .thenThrow(new UnavailableException("test exception"));
+
+    List<CompletableFuture<ByteBuffer>> results = mTestStream.readVectored(
+        Arrays.asList(new FileRange(10, 20), new FileRange(BLOCK_LENGTH / 2, (int) BLOCK_LENGTH)));
+
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(10, 20, results.get(0).get()));
+    assertTrue(BufferUtils.equalIncreasingByteBuffer((int) BLOCK_LENGTH / 2, (int) BLOCK_LENGTH,
+        results.get(1).get()));
+    verify(brokenStream, times(1)).positionedRead(anyLong(), any(ByteBuffer.class));
+
+    // The worker which failed the vectored read is avoided by the stream afterwards
+    ArgumentCaptor<Map> failedWorkers = ArgumentCaptor.forClass(Map.class);
+    mTestStream.seek(BLOCK_LENGTH);
+    assertEquals(BLOCK_LENGTH, mTestStream.read());
+    verify(mBlockStore, atLeastOnce())
+        .getInStream(eq(1L), any(InStreamOptions.class), failedWorkers.capture());
+    assertTrue(failedWorkers.getValue()
+        .containsKey(new WorkerNetAddress().setHost("broken")));
+  }
+
+  @Test
+  public void readVectoredTriggersAsyncCaching() throws Exception {
+    BlockWorkerClient workerClient = mock(BlockWorkerClient.class);
+    when(mContext.acquireBlockWorkerClient(any(WorkerNetAddress.class)))
+        .thenReturn(new NoopClosableResource<>(workerClient));
+
+    List<CompletableFuture<ByteBuffer>> results = mTestStream.readVectored(Arrays.asList(
+        new FileRange(10, 20), new FileRange(BLOCK_LENGTH + 10, 5),
+        new FileRange(BLOCK_LENGTH + 80, 5)));
+    for (CompletableFuture<ByteBuffer> result : results) {
+      result.get();
+    }
+
+    // One request per block read
+    ArgumentCaptor<AsyncCacheRequest> requests = ArgumentCaptor.forClass(AsyncCacheRequest.class);
+    verify(workerClient, timeout(10000).times(2)).asyncCache(requests.capture());
+    assertEquals(Sets.newHashSet(0L, 1L), requests.getAllValues().stream()
+        .map(AsyncCacheRequest::getBlockId).collect(Collectors.toSet()));
+  }
+
   /**
    * Tests that when the underlying blocks are inconsistent with the metadata in terms of block
    * length, an exception is thrown rather than client hanging indefinitely. This case may happen if
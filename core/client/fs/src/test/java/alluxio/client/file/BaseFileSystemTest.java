@@ -12,6 +12,7 @@
 package alluxio.client.file;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
@@ -20,6 +21,8 @@ import static org.junit.Assert.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +39,7 @@ import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.FreePOptions;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.LoadMetadataPType;
 import alluxio.grpc.MountPOptions;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.RenamePOptions;
@@ -50,11 +54,13 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -273,6 +279,37 @@ public final class BaseFileSystemTest {
     verifyFilesystemContextAcquiredAndReleased();
   }
 
+  /**
+   * Tests that {@link BaseFileSystem#listStatusIterator(AlluxioURI, ListStatusPOptions)} fetches
+   * the listing in batches which each start after the last entry of the previous batch.
+   */
+  @Test
+  public void listStatusIterator() throws Exception {
+    AlluxioURI dir = new AlluxioURI("/dir");
+    List<URIStatus> firstBatch = new ArrayList<>();
+    firstBatch.add(new URIStatus(new FileInfo().setName("a").setPath("/dir/a")));
+    firstBatch.add(new URIStatus(new FileInfo().setName("b").setPath("/dir/b")));
+    List<URIStatus> secondBatch = new ArrayList<>();
+    secondBatch.add(new URIStatus(new FileInfo().setName("c").setPath("/dir/c")));
+    when(mFileSystemMasterClient.listStatus(eq(dir), any(ListStatusPOptions.class)))
+        .thenReturn(firstBatch, secondBatch);
+
+    ListStatusIterator iterator = mFileSystem.listStatusIterator(dir,
+        ListStatusPOptions.newBuilder().setBatchSize(2).build());
+    List<String> names = new ArrayList<>();
+    while (iterator.hasNext()) {
+      names.add(iterator.next().getName());
+    }
+    assertEquals(Arrays.asList("a", "b", "c"), names);
+
+    ArgumentCaptor<ListStatusPOptions> options = ArgumentCaptor.forClass(ListStatusPOptions.class);
+    verify(mFileSystemMasterClient, times(2)).listStatus(eq(dir), options.capture());
+    assertEquals("", options.getAllValues().get(0).getStartAfter());
+    assertEquals("b", options.getAllValues().get(1).getStartAfter());
+    assertEquals(2, options.getAllValues().get(1).getBatchSize());
+    assertEquals(LoadMetadataPType.NEVER, options.getAllValues().get(1).getLoadMetadataType());
+  }
+
   /**
    * Ensures that an exception is propagated correctly when listing the status.
    */
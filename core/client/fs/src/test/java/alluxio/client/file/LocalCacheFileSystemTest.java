@@ -0,0 +1,96 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.FileInfo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link LocalCacheFileSystem} class.
+ */
+public final class LocalCacheFileSystemTest {
+  private static final int PAGE_SIZE = 16;
+  private static final int FILE_LENGTH = PAGE_SIZE * 3 + 5;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(FILE_LENGTH);
+
+  private final URIStatus mStatus = new URIStatus(
+      new FileInfo().setPath("/file").setFileId(1L).setLength(FILE_LENGTH).setCompleted(true));
+  private FileSystem mExternalFs;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    mExternalFs = mock(FileSystem.class);
+    when(mExternalFs.openFile(any(URIStatus.class), any(OpenFilePOptions.class)))
+        .thenAnswer(invocation -> new MockFileInStream(DATA));
+  }
+
+  private InstancedConfiguration createConf(long pageSize) {
+    InstancedConfiguration conf = ConfigurationTestUtils.defaults();
+    conf.set(PropertyKey.USER_LOCAL_CACHE_DIR, mTemp.getRoot().getAbsolutePath());
+    conf.set(PropertyKey.USER_LOCAL_CACHE_PAGE_SIZE, pageSize);
+    conf.set(PropertyKey.USER_LOCAL_CACHE_SIZE, FILE_LENGTH * 2);
+    return conf;
+  }
+
+  private byte[] readFully(FileSystem fs) throws Exception {
+    byte[] buf = new byte[FILE_LENGTH];
+    try (FileInStream stream = fs.openFile(mStatus, OpenFilePOptions.getDefaultInstance())) {
+      int totalRead = 0;
+      while (totalRead < FILE_LENGTH) {
+        totalRead += stream.read(buf, totalRead, FILE_LENGTH - totalRead);
+      }
+    }
+    return buf;
+  }
+
+  @Test
+  public void sharedCacheKeepsItsPageSize() throws Exception {
+    try (FileSystem fs = new LocalCacheFileSystem(mExternalFs, createConf(PAGE_SIZE));
+         FileSystem other = new LocalCacheFileSystem(mExternalFs, createConf(PAGE_SIZE * 2))) {
+      assertArrayEquals(DATA, readFully(fs));
+      // Served from the pages cached by the first file system.
+      assertArrayEquals(DATA, readFully(other));
+    }
+  }
+
+  @Test
+  public void closeReleasesSharedCache() throws Exception {
+    FileSystem fs = new LocalCacheFileSystem(mExternalFs, createConf(PAGE_SIZE));
+    assertArrayEquals(DATA, readFully(fs));
+    fs.close();
+    fs.close();
+    // A new cache is created with the new page size once the previous one is released.
+    try (FileSystem other = new LocalCacheFileSystem(mExternalFs, createConf(PAGE_SIZE * 2))) {
+      assertArrayEquals(DATA, readFully(other));
+    }
+    verify(mExternalFs, times(2)).close();
+  }
+}
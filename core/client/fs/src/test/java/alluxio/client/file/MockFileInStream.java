@@ -18,6 +18,7 @@ import java.io.IOException;
  * Mock implementation of {@link FileInStream} which delegates to a {@link ByteArrayInputStream}.
  */
 public final class MockFileInStream extends FileInStream {
+  private final byte[] mBytes;
   private final ByteArrayInputStream mStream;
   private final long mLength;
 
@@ -27,6 +28,7 @@ public final class MockFileInStream extends FileInStream {
    * @param bytes the bytes to supply
    */
   public MockFileInStream(byte[] bytes) {
+    mBytes = bytes;
     mStream = new ByteArrayInputStream(bytes);
     mLength = bytes.length;
   }
@@ -67,7 +69,12 @@ public final class MockFileInStream extends FileInStream {
 
   @Override public int positionedRead(long position, byte[] buffer, int offset, int length)
       throws IOException {
-    throw new UnsupportedOperationException("positionedRead not implemented for mock FileInStream");
+    if (position >= mLength) {
+      return -1;
+    }
+    int bytesToRead = (int) Math.min(length, mLength - position);
+    System.arraycopy(mBytes, (int) position, buffer, offset, bytesToRead);
+    return bytesToRead;
   }
 
   @Override
@@ -0,0 +1,95 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the {@link VectoredReadPlan} class.
+ */
+public final class VectoredReadPlanTest {
+  private static final long BLOCK_SIZE = 100;
+  private static final long FILE_LENGTH = 350;
+
+  @Test
+  public void mergeCloseRanges() {
+    VectoredReadPlan plan = VectoredReadPlan.create(Arrays.asList(
+        new FileRange(40, 10), new FileRange(10, 10), new FileRange(25, 5)),
+        FILE_LENGTH, BLOCK_SIZE, 5, 1000);
+    List<VectoredReadPlan.Segment> segments = plan.getSegments().get(0);
+    assertEquals(1, plan.getSegments().size());
+    assertEquals(2, segments.size());
+    assertSegment(segments.get(0), 0, 10, 20, 1, 2);
+    assertSegment(segments.get(1), 0, 40, 10, 0);
+  }
+
+  @Test
+  public void splitRangesAtBlockBoundaries() {
+    VectoredReadPlan plan = VectoredReadPlan.create(Arrays.asList(
+        new FileRange(90, 120), new FileRange(205, 10)), FILE_LENGTH, BLOCK_SIZE, 5, 1000);
+    assertEquals(3, plan.getPieceCount(0));
+    assertEquals(1, plan.getPieceCount(1));
+    assertEquals(3, plan.getSegments().size());
+    assertSegment(plan.getSegments().get(0).get(0), 0, 90, 10, 0);
+    assertSegment(plan.getSegments().get(1).get(0), 1, 100, 100, 0);
+    assertSegment(plan.getSegments().get(2).get(0), 2, 200, 15, 0, 1);
+    VectoredReadPlan.Piece piece = plan.getSegments().get(2).get(0).getPieces().get(0);
+    assertEquals(110, piece.getRangeOffset());
+    assertEquals(10, piece.getLength());
+  }
+
+  @Test
+  public void limitMergedSize() {
+    VectoredReadPlan plan = VectoredReadPlan.create(Arrays.asList(
+        new FileRange(0, 10), new FileRange(10, 10), new FileRange(20, 10)),
+        FILE_LENGTH, BLOCK_SIZE, 5, 20);
+    List<VectoredReadPlan.Segment> segments = plan.getSegments().get(0);
+    assertEquals(2, segments.size());
+    assertSegment(segments.get(0), 0, 0, 20, 0, 1);
+    assertSegment(segments.get(1), 0, 20, 10, 2);
+  }
+
+  @Test
+  public void mergeOverlappingRanges() {
+    VectoredReadPlan plan = VectoredReadPlan.create(Arrays.asList(
+        new FileRange(0, 30), new FileRange(10, 5)), FILE_LENGTH, BLOCK_SIZE, 0, 1000);
+    assertSegment(plan.getSegments().get(0).get(0), 0, 0, 30, 0, 1);
+  }
+
+  @Test
+  public void skipEmptyRangesAndRangesPastEnd() {
+    VectoredReadPlan plan = VectoredReadPlan.create(Arrays.asList(
+        new FileRange(10, 0), new FileRange(340, 20), new FileRange(340, 10)),
+        FILE_LENGTH, BLOCK_SIZE, 5, 1000);
+    assertEquals(0, plan.getPieceCount(0));
+    assertEquals(0, plan.getPieceCount(1));
+    assertEquals(1, plan.getPieceCount(2));
+    assertEquals(1, plan.getSegments().size());
+    assertSegment(plan.getSegments().get(3).get(0), 3, 340, 10, 2);
+  }
+
+  private static void assertSegment(VectoredReadPlan.Segment segment, int blockIndex,
+      long offset, int length, int... rangeIndexes) {
+    assertEquals(blockIndex, segment.getBlockIndex());
+    assertEquals(offset, segment.getOffset());
+    assertEquals(length, segment.getLength());
+    assertEquals(rangeIndexes.length, segment.getPieces().size());
+    for (int i = 0; i < rangeIndexes.length; i++) {
+      assertEquals(rangeIndexes[i], segment.getPieces().get(i).getRangeIndex());
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link LFUCacheEvictor} class.
+ */
+public final class LFUCacheEvictorTest {
+  private final LFUCacheEvictor mEvictor = new LFUCacheEvictor();
+  private final PageId mOne = new PageId(0L, 0L);
+  private final PageId mTwo = new PageId(0L, 1L);
+  private final PageId mThree = new PageId(0L, 2L);
+
+  @Test
+  public void evictEmpty() {
+    assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictLeastFrequentlyUsed() {
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnPut(mTwo);
+    mEvictor.updateOnPut(mThree);
+    mEvictor.updateOnGet(mOne);
+    mEvictor.updateOnGet(mThree);
+    assertEquals(mTwo, mEvictor.evict());
+    mEvictor.updateOnGet(mTwo);
+    mEvictor.updateOnGet(mTwo);
+    assertEquals(mOne, mEvictor.evict());
+  }
+
+  @Test
+  public void evictAfterDelete() {
+    mEvictor.updateOnPut(mOne);
+    mEvictor.updateOnPut(mTwo);
+    mEvictor.updateOnDelete(mOne);
+    assertEquals(mTwo, mEvictor.evict());
+    mEvictor.updateOnDelete(mTwo);
+    assertNull(mEvictor.evict());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.MockFileInStream;
+import alluxio.client.file.URIStatus;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.FileInfo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+
+/**
+ * Tests for the {@link LocalCacheFileInStream} class.
+ */
+public final class LocalCacheFileInStreamTest {
+  private static final int PAGE_SIZE = 16;
+  private static final int FILE_LENGTH = PAGE_SIZE * 3 + 5;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(FILE_LENGTH);
+
+  private final URIStatus mStatus = new URIStatus(
+      new FileInfo().setPath("/file").setFileId(1L).setLength(FILE_LENGTH).setCompleted(true));
+  private FileSystem mExternalFs;
+  private CacheManager mCacheManager;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    mExternalFs = mock(FileSystem.class);
+    when(mExternalFs.openFile(any(URIStatus.class), any(OpenFilePOptions.class)))
+        .thenAnswer(invocation -> new MockFileInStream(DATA));
+    mCacheManager = new LocalCacheManager(FILE_LENGTH * 2, new MetaStore(),
+        new LocalPageStore(mTemp.getRoot().getAbsolutePath(), PAGE_SIZE, 1), new LRUCacheEvictor());
+  }
+
+  private LocalCacheFileInStream createStream() {
+    return new LocalCacheFileInStream(mStatus, OpenFilePOptions.getDefaultInstance(),
+        mExternalFs, mCacheManager, PAGE_SIZE);
+  }
+
+  @Test
+  public void readFullFile() throws Exception {
+    try (LocalCacheFileInStream stream = createStream()) {
+      byte[] buf = new byte[FILE_LENGTH];
+      int totalRead = 0;
+      while (totalRead < FILE_LENGTH) {
+        totalRead += stream.read(buf, totalRead, FILE_LENGTH - totalRead);
+      }
+      assertArrayEquals(DATA, buf);
+      assertEquals(-1, stream.read());
+      assertEquals(0, stream.remaining());
+    }
+  }
+
+  @Test
+  public void readFromCacheAfterMiss() throws Exception {
+    try (LocalCacheFileInStream stream = createStream()) {
+      byte[] buf = new byte[FILE_LENGTH];
+      stream.read(buf);
+    }
+    try (LocalCacheFileInStream stream = createStream()) {
+      byte[] buf = new byte[FILE_LENGTH];
+      assertEquals(FILE_LENGTH, stream.read(buf));
+      assertArrayEquals(DATA, buf);
+    }
+    // the second stream is served entirely from the cache
+    verify(mExternalFs, times(1)).openFile(any(URIStatus.class), any(OpenFilePOptions.class));
+  }
+
+  @Test
+  public void positionedReadAcrossPages() throws Exception {
+    try (LocalCacheFileInStream stream = createStream()) {
+      int pos = PAGE_SIZE - 3;
+      int len = PAGE_SIZE + 6;
+      byte[] buf = new byte[len];
+      assertEquals(len, stream.positionedRead(pos, buf, 0, len));
+      assertArrayEquals(Arrays.copyOfRange(DATA, pos, pos + len), buf);
+      assertEquals(0, stream.getPos());
+    }
+  }
+
+  @Test
+  public void seekAndRead() throws Exception {
+    try (LocalCacheFileInStream stream = createStream()) {
+      stream.seek(PAGE_SIZE * 3 + 2);
+      assertEquals(DATA[PAGE_SIZE * 3 + 2], (byte) stream.read());
+      byte[] buf = new byte[PAGE_SIZE];
+      assertEquals(2, stream.read(buf));
+      assertEquals(-1, stream.read(buf));
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link LocalCacheManager} class.
+ */
+public final class LocalCacheManagerTest {
+  private static final int PAGE_SIZE = 8;
+  private static final int CACHE_SIZE = PAGE_SIZE * 2;
+  private static final PageId PAGE_ID1 = new PageId(0L, 0L);
+  private static final PageId PAGE_ID2 = new PageId(0L, 1L);
+  private static final PageId PAGE_ID3 = new PageId(1L, 0L);
+  private static final byte[] PAGE1 = BufferUtils.getIncreasingByteArray(PAGE_SIZE);
+  private static final byte[] PAGE2 = BufferUtils.getIncreasingByteArray(1, PAGE_SIZE);
+  private static final byte[] PAGE3 = BufferUtils.getIncreasingByteArray(2, PAGE_SIZE);
+
+  private LocalCacheManager mCacheManager;
+  private byte[] mBuf = new byte[PAGE_SIZE];
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    mCacheManager = createCacheManager();
+  }
+
+  private LocalCacheManager createCacheManager() throws Exception {
+    return new LocalCacheManager(CACHE_SIZE, new MetaStore(),
+        new LocalPageStore(mTemp.getRoot().getAbsolutePath(), PAGE_SIZE, 2),
+        new LRUCacheEvictor());
+  }
+
+  @Test
+  public void putAndGet() {
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertEquals(PAGE_SIZE, mCacheManager.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void getNotExist() {
+    assertEquals(-1, mCacheManager.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+  }
+
+  @Test
+  public void getPartialPage() {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    assertEquals(2, mCacheManager.get(PAGE_ID1, 3, 2, mBuf, 1));
+    assertEquals(PAGE1[3], mBuf[1]);
+    assertEquals(PAGE1[4], mBuf[2]);
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    mCacheManager.put(PAGE_ID2, PAGE2);
+    // access page 1 so that page 2 is the least recently used
+    mCacheManager.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0);
+    assertTrue(mCacheManager.put(PAGE_ID3, PAGE3));
+    assertEquals(-1, mCacheManager.get(PAGE_ID2, 0, PAGE_SIZE, mBuf, 0));
+    assertEquals(PAGE_SIZE, mCacheManager.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(PAGE_SIZE, mCacheManager.get(PAGE_ID3, 0, PAGE_SIZE, mBuf, 0));
+    assertArrayEquals(PAGE3, mBuf);
+  }
+
+  @Test
+  public void putPageLargerThanCache() {
+    assertFalse(mCacheManager.put(PAGE_ID1, new byte[CACHE_SIZE + 1]));
+    assertEquals(-1, mCacheManager.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+  }
+
+  @Test
+  public void delete() {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    assertTrue(mCacheManager.delete(PAGE_ID1));
+    assertEquals(-1, mCacheManager.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+    assertFalse(mCacheManager.delete(PAGE_ID1));
+  }
+
+  @Test
+  public void restore() throws Exception {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    mCacheManager.put(PAGE_ID3, PAGE3);
+    LocalCacheManager restored = createCacheManager();
+    restored.restore(true);
+    assertEquals(PAGE_SIZE, restored.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(PAGE_SIZE, restored.get(PAGE_ID3, 0, PAGE_SIZE, mBuf, 0));
+    assertArrayEquals(PAGE3, mBuf);
+  }
+
+  @Test
+  public void restoreDisabled() throws Exception {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    LocalCacheManager restored = createCacheManager();
+    restored.restore(false);
+    assertEquals(-1, restored.get(PAGE_ID1, 0, PAGE_SIZE, mBuf, 0));
+  }
+
+  @Test
+  public void restoreRespectsCacheSize() throws Exception {
+    mCacheManager.put(PAGE_ID1, PAGE1);
+    mCacheManager.put(PAGE_ID2, PAGE2);
+    LocalCacheManager restored = new LocalCacheManager(PAGE_SIZE, new MetaStore(),
+        new LocalPageStore(mTemp.getRoot().getAbsolutePath(), PAGE_SIZE, 2),
+        new LRUCacheEvictor());
+    restored.restore(true);
+    int cachedPages = 0;
+    for (PageId pageId : new PageId[] {PAGE_ID1, PAGE_ID2}) {
+      if (restored.get(pageId, 0, PAGE_SIZE, mBuf, 0) == PAGE_SIZE) {
+        cachedPages++;
+      }
+    }
+    assertEquals(1, cachedPages);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for the {@link LocalPageStore} class.
+ */
+public final class LocalPageStoreTest {
+  private static final int PAGE_SIZE = 8;
+  private static final PageId PAGE_ID = new PageId(1L, 2L);
+  private static final byte[] PAGE = BufferUtils.getIncreasingByteArray(PAGE_SIZE);
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private LocalPageStore createPageStore(long pageSize) throws Exception {
+    return new LocalPageStore(mTemp.getRoot().getAbsolutePath(), pageSize, 2);
+  }
+
+  private Set<PageInfo> restore(LocalPageStore pageStore) throws Exception {
+    Set<PageInfo> pages = new HashSet<>();
+    pageStore.restore(pageInfo -> {
+      synchronized (pages) {
+        pages.add(pageInfo);
+      }
+      return true;
+    });
+    return pages;
+  }
+
+  @Test
+  public void putGetDelete() throws Exception {
+    LocalPageStore pageStore = createPageStore(PAGE_SIZE);
+    pageStore.put(PAGE_ID, PAGE);
+    byte[] buf = new byte[PAGE_SIZE];
+    assertEquals(PAGE_SIZE, pageStore.get(PAGE_ID, 0, PAGE_SIZE, buf, 0));
+    assertArrayEquals(PAGE, buf);
+    pageStore.delete(PAGE_ID);
+    assertTrue(restore(createPageStore(PAGE_SIZE)).isEmpty());
+  }
+
+  @Test
+  public void restorePages() throws Exception {
+    LocalPageStore pageStore = createPageStore(PAGE_SIZE);
+    pageStore.put(PAGE_ID, PAGE);
+    pageStore.put(new PageId(3L, 0L), new byte[3]);
+    Set<PageInfo> pages = restore(createPageStore(PAGE_SIZE));
+    assertEquals(2, pages.size());
+    assertTrue(pages.contains(new PageInfo(PAGE_ID, PAGE_SIZE)));
+    assertTrue(pages.contains(new PageInfo(new PageId(3L, 0L), 3)));
+  }
+
+  @Test
+  public void restoreWithoutRestoreThreads() throws Exception {
+    createPageStore(PAGE_SIZE).put(PAGE_ID, PAGE);
+    Set<PageInfo> pages =
+        restore(new LocalPageStore(mTemp.getRoot().getAbsolutePath(), PAGE_SIZE, 0));
+    assertEquals(1, pages.size());
+    assertTrue(pages.contains(new PageInfo(PAGE_ID, PAGE_SIZE)));
+  }
+
+  @Test
+  public void restoreDropsRejectedPages() throws Exception {
+    createPageStore(PAGE_SIZE).put(PAGE_ID, PAGE);
+    createPageStore(PAGE_SIZE).restore(pageInfo -> false);
+    assertTrue(restore(createPageStore(PAGE_SIZE)).isEmpty());
+  }
+
+  @Test
+  public void restoreDropsInvalidPages() throws Exception {
+    LocalPageStore pageStore = createPageStore(PAGE_SIZE);
+    pageStore.put(PAGE_ID, PAGE);
+    Path root = Paths.get(mTemp.getRoot().getAbsolutePath(), "v1", Integer.toString(PAGE_SIZE));
+    // an oversized page, an empty page and a page with an invalid name
+    Files.write(root.resolve("1").resolve("3"), new byte[PAGE_SIZE + 1]);
+    Files.write(root.resolve("1").resolve("4"), new byte[0]);
+    Files.write(root.resolve("1").resolve("page"), PAGE);
+    Set<PageInfo> pages = restore(createPageStore(PAGE_SIZE));
+    assertEquals(1, pages.size());
+    assertTrue(pages.contains(new PageInfo(PAGE_ID, PAGE_SIZE)));
+    assertFalse(Files.exists(root.resolve("1").resolve("3")));
+  }
+
+  @Test
+  public void dropStaleLayouts() throws Exception {
+    createPageStore(PAGE_SIZE).put(PAGE_ID, PAGE);
+    File legacyDir = mTemp.newFolder("pages");
+    File oldVersionDir = mTemp.newFolder("v0");
+    File tmpPage = new File(Paths.get(mTemp.getRoot().getAbsolutePath(), "v1", "tmp").toFile(),
+        "1_5");
+    Files.write(tmpPage.toPath(), PAGE);
+    // pages written with another page size are not restored
+    assertTrue(restore(createPageStore(PAGE_SIZE * 2)).isEmpty());
+    assertFalse(legacyDir.exists());
+    assertFalse(oldVersionDir.exists());
+    assertFalse(tmpPage.exists());
+  }
+}
@@ -18,6 +18,7 @@ import alluxio.ClientContext;
 import alluxio.Constants;
 import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystem;
+import alluxio.client.file.ListStatusIterator;
 import alluxio.client.file.URIStatus;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.AlluxioProperties;
@@ -46,6 +47,7 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.util.Progressable;
@@ -581,16 +583,63 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
 
     FileStatus[] ret = new FileStatus[statuses.size()];
     for (int k = 0; k < statuses.size(); k++) {
-      URIStatus status = statuses.get(k);
-
-      ret[k] = new FileStatus(status.getLength(), status.isFolder(), getReplica(status),
-          status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
-          status.getLastAccessTimeMs(), new FsPermission((short) status.getMode()),
-          status.getOwner(), status.getGroup(), getFsPath(mAlluxioHeader, status));
+      ret[k] = toFileStatus(statuses.get(k));
     }
     return ret;
   }
 
+  /**
+   * Lists the entries of a directory like {@link #listStatus(Path)}, but fetches them from Alluxio
+   * in batches as the iterator advances, so that very large directories can be listed without
+   * holding the whole listing in memory. This overrides the Hadoop 2.7+ listing iterator.
+   *
+   * @param path the path to list
+   * @return an iterator over the statuses of the entries of the path
+   */
+  public RemoteIterator<FileStatus> listStatusIterator(Path path) throws IOException {
+    LOG.debug("listStatusIterator({})", path);
+
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
+    }
+
+    AlluxioURI uri = getAlluxioPath(path);
+    ListStatusIterator statuses;
+    try {
+      statuses = mFileSystem.listStatusIterator(uri);
+    } catch (FileDoesNotExistException e) {
+      throw new FileNotFoundException(uri.toString());
+    } catch (AlluxioException e) {
+      throw new IOException(e);
+    }
+    return new RemoteIterator<FileStatus>() {
+      @Override
+      public boolean hasNext() throws IOException {
+        try {
+          return statuses.hasNext();
+        } catch (AlluxioException e) {
+          throw new IOException(e);
+        }
+      }
+
+      @Override
+      public FileStatus next() throws IOException {
+        try {
+          return toFileStatus(statuses.next());
+        } catch (AlluxioException e) {
+          throw new IOException(e);
+        }
+      }
+    };
+  }
+
+  private FileStatus toFileStatus(URIStatus status) {
+    return new FileStatus(status.getLength(), status.isFolder(), getReplica(status),
+        status.getBlockSizeBytes(), status.getLastModificationTimeMs(),
+        status.getLastAccessTimeMs(), new FsPermission((short) status.getMode()),
+        status.getOwner(), status.getGroup(), getFsPath(mAlluxioHeader, status));
+  }
+
   /**
    * Attempts to create a folder with the specified path. Parent directories will be created.
    *
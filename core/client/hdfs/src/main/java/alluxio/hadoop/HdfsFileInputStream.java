@@ -13,6 +13,7 @@ package alluxio.hadoop;
 
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileRange;
 import alluxio.client.file.FileSystem;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
@@ -28,6 +29,9 @@ import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -150,6 +154,28 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
     }
   }
 
+  /**
+   * Reads a list of ranges of the file concurrently, see {@link FileInStream#readVectored}.
+   * The stream must not be closed before the returned futures complete.
+   *
+   * @param ranges the ranges to read
+   * @return the futures of the buffers of the ranges, in the order of the ranges
+   */
+  public List<CompletableFuture<ByteBuffer>> readVectored(List<FileRange> ranges)
+      throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+
+    List<CompletableFuture<ByteBuffer>> results = mInputStream.readVectored(ranges);
+    if (mStatistics != null) {
+      for (CompletableFuture<ByteBuffer> result : results) {
+        result.thenAccept(buffer -> mStatistics.incrementBytesRead(buffer.remaining()));
+      }
+    }
+    return results;
+  }
+
   @Override
   public void seek(long pos) throws IOException {
     try {
@@ -691,6 +691,42 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_AHEAD_BUFFER_SIZE =
+      new Builder(Name.UNDERFS_OBJECT_STORE_READ_AHEAD_BUFFER_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The maximum number of bytes of object ranges read ahead and not yet "
+              + "consumed, across all input streams of an object store UFS. Ranges are not read "
+              + "ahead while this limit is reached.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_AHEAD_RANGE_SIZE =
+      new Builder(Name.UNDERFS_OBJECT_STORE_READ_AHEAD_RANGE_SIZE)
+          .setDefaultValue("8MB")
+          .setDescription("The size of the ranges object store input streams read ahead of "
+              + "their position. Ranges which were not read ahead are still read in chunks of "
+              + Name.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_AHEAD_RANGES =
+      new Builder(Name.UNDERFS_OBJECT_STORE_READ_AHEAD_RANGES)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of ranges an object store input stream reads "
+              + "ahead of its position with concurrent ranged GETs. A stream starts reading one "
+              + "range ahead, and doubles the number each time it reads a range which was read "
+              + "ahead. Reading ahead is disabled when set to 0.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_AHEAD_THREADS =
+      new Builder(Name.UNDERFS_OBJECT_STORE_READ_AHEAD_THREADS)
+          .setDefaultValue(32)
+          .setDescription("The number of threads of an object store UFS reading ranges ahead "
+              + "for its input streams.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_OBJECT_STORE_SERVICE_THREADS =
       new Builder(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS)
           .setDefaultValue(20)
@@ -1342,6 +1378,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_APPLY_PARALLEL_ENABLED =
+      new Builder(Name.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLEL_ENABLED)
+          .setDescription("Whether to apply embedded journal entries for different masters "
+              + "concurrently, with one apply thread per master. Entries for a single master are "
+              + "always applied in order. This speeds up replay on startup and catching up "
+              + "after a failover.")
+          .setDefaultValue(true)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_APPLY_QUEUE_SIZE =
+      new Builder(Name.MASTER_EMBEDDED_JOURNAL_APPLY_QUEUE_SIZE)
+          .setDescription("When applying embedded journal entries in parallel, the maximum "
+              + "number of entries queued for a single master before reading more entries from "
+              + "the journal blocks.")
+          .setDefaultValue(10000)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_EMBEDDED_JOURNAL_PORT =
       new Builder(Name.MASTER_EMBEDDED_JOURNAL_PORT)
           .setDescription("The port to use for embedded journal communication with other masters.")
@@ -1463,6 +1516,42 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_EXECUTOR_POOL_SIZE =
+      new Builder(Name.MASTER_METADATA_SYNC_EXECUTOR_POOL_SIZE)
+          .setDefaultSupplier(() -> Runtime.getRuntime().availableProcessors(),
+              "Use {CPU core count} for the sync pool")
+          .setDescription("The number of threads used to sync the metadata of the descendants "
+              + "of a directory in parallel. When all threads are busy, descendants are synced on "
+              + "the thread which found them. Set this to 0 to sync on the calling thread only.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_UFS_PREFETCH_LIMIT =
+      new Builder(Name.MASTER_METADATA_SYNC_UFS_PREFETCH_LIMIT)
+          .setDefaultValue(64)
+          .setDescription("The maximum number of UFS directory listings a single metadata sync "
+              + "runs at a time ahead of the directories it is syncing.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_UFS_PREFETCH_MAX_LISTINGS =
+      new Builder(Name.MASTER_METADATA_SYNC_UFS_PREFETCH_MAX_LISTINGS)
+          .setDefaultValue(256)
+          .setDescription("The maximum number of prefetched UFS directory listings a single "
+              + "metadata sync holds before it gets to the directories they belong to. "
+              + "Directories beyond this limit are listed when the sync gets to them.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE =
+      new Builder(Name.MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE)
+          .setDefaultSupplier(() -> Runtime.getRuntime().availableProcessors(),
+              "Use {CPU core count} for the prefetch pool")
+          .setDescription("The number of threads used to fetch UFS directory listings ahead of "
+              + "the metadata sync. Set this to 0 to disable prefetching.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE =
       new Builder(Name.MASTER_METASTORE)
           .setDefaultValue("HEAP")
@@ -1490,6 +1579,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_EVICTION_POLICY =
+      new Builder(Name.MASTER_METASTORE_INODE_CACHE_EVICTION_POLICY)
+          .setDefaultValue("CLOCK")
+          .setDescription("The policy used to choose which entries the inode and edge caches "
+              + "evict. Valid options are CLOCK and TINY_LFU. CLOCK evicts entries which have not "
+              + "been accessed since the eviction thread last passed them. TINY_LFU additionally "
+              + "tracks approximate access frequencies, prefers to evict infrequently accessed "
+              + "entries, and does not let entries loaded once by a large scan displace the "
+              + "working set.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO =
       new Builder(Name.MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO)
           .setDefaultValue("0.85")
@@ -1500,6 +1601,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_LISTING_MAX_SIZE =
+      new Builder(Name.MASTER_METASTORE_INODE_CACHE_LISTING_MAX_SIZE)
+          .setDefaultValue("512MB")
+          .setDescription("The maximum amount of heap memory used to cache directory listings. "
+              + "The inode cache high and low water mark ratios also apply to this cache. "
+              + "This only applies to off-heap metastores, e.g. ROCKS.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_CACHE_LOW_WATER_MARK_RATIO =
       new Builder(Name.MASTER_METASTORE_INODE_CACHE_LOW_WATER_MARK_RATIO)
           .setDefaultValue("0.8")
@@ -1519,6 +1629,24 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE =
+      new Builder(Name.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE)
+          .setDefaultValue("0")
+          .setDescription("The amount of direct memory used to cache serialized inodes between "
+              + "the on-heap inode cache and the backing metastore. This only applies to "
+              + "off-heap metastores, e.g. ROCKS. Set this to 0 to disable the off-heap inode "
+              + "cache. The JVM must be allowed to allocate this much direct memory, see "
+              + "-XX:MaxDirectMemorySize.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE =
+      new Builder(Name.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The size of the segments the off-heap inode cache allocates and "
+              + "evicts as a unit.")
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
       new Builder(Name.MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT)
           .setDefaultSupplier(() -> Runtime.getRuntime().availableProcessors(),
@@ -1542,6 +1670,52 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE =
+      new Builder(Name.MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The size of the block cache shared by all column families of the "
+              + "rocks metastore. Set this to 0 to disable the block cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY =
+      new Builder(Name.MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY)
+          .setDefaultValue(10)
+          .setDescription("The number of bits per key used by the bloom filters of the rocks "
+              + "metastore. The filters cover both whole keys and the id prefix of each key, so "
+              + "lookups of missing inodes and edges can skip reading data blocks. Set this to 0 "
+              + "to disable bloom filters.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_CACHE_INDEX_AND_FILTER_BLOCKS =
+      new Builder(Name.MASTER_METASTORE_ROCKS_CACHE_INDEX_AND_FILTER_BLOCKS)
+          .setDefaultValue(true)
+          .setDescription("Whether the rocks metastore keeps index and filter blocks in the "
+              + "block cache, with those of level 0 files pinned, instead of holding them outside "
+              + "of any memory limit.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL =
+      new Builder(Name.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL)
+          .setDefaultValue(-1)
+          .setDescription("The gzip compression level used when archiving the rocks metastore "
+              + "for a journal checkpoint, from 0 (no compression) to 9 (best compression), or "
+              + "-1 for the default gzip level. Lower levels take less time to write but "
+              + "produce larger checkpoints.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_STATISTICS_ENABLED =
+      new Builder(Name.MASTER_METASTORE_ROCKS_STATISTICS_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to collect RocksDB statistics for the rocks metastore and "
+              + "report them as master metrics. Collecting statistics adds overhead to every "
+              + "metastore operation.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METRICS_TIME_SERIES_INTERVAL =
       new Builder(Name.MASTER_METRICS_TIME_SERIES_INTERVAL)
           .setDefaultValue("5min")
@@ -1600,6 +1774,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("Maximum concurrency level for the lock pool")
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_JOURNAL_BATCH_FRAMING_ENABLED =
+      new Builder(Name.MASTER_JOURNAL_BATCH_FRAMING_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to write the journal entries of each flush as a single "
+              + "checksummed batch frame instead of one record per entry. Masters older than "
+              + "this feature cannot read framed journals, so only enable it once every master "
+              + "has been upgraded.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_JOURNAL_BATCH_COMPRESSION_ENABLED =
+      new Builder(Name.MASTER_JOURNAL_BATCH_COMPRESSION_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether to deflate journal batch frames. Only takes effect when "
+              + Name.MASTER_JOURNAL_BATCH_FRAMING_ENABLED + " is true.")
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_JOURNAL_FLUSH_BATCH_TIME_MS =
       new Builder(Name.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS)
           .setAlias("alluxio.master.journal.flush.batch.time.ms")
@@ -1608,6 +1799,21 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_JOURNAL_FLUSH_BATCH_ADAPTIVE_ENABLED =
+      new Builder(Name.MASTER_JOURNAL_FLUSH_BATCH_ADAPTIVE_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether to size journal flush batches from the observed flush "
+              + "latency and queue depth. When disabled, batches are only bounded by "
+              + Name.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS + ".")
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_JOURNAL_FLUSH_BATCH_SIZE_MAX =
+      new Builder(Name.MASTER_JOURNAL_FLUSH_BATCH_SIZE_MAX)
+          .setDefaultValue(10000)
+          .setDescription("The maximum number of journal entries written per flush when "
+              + "adaptive journal flush batching is enabled.")
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_JOURNAL_FLUSH_TIMEOUT_MS =
       new Builder(Name.MASTER_JOURNAL_FLUSH_TIMEOUT_MS)
           .setAlias("alluxio.master.journal.flush.timeout.ms")
@@ -1697,6 +1903,19 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_JOURNAL_CHECKPOINT_LOG_SIZE_RATIO =
+      new Builder(Name.MASTER_JOURNAL_CHECKPOINT_LOG_SIZE_RATIO)
+          .setDefaultValue(0.0)
+          .setDescription(String.format("When using the UFS journal, the minimum size of the "
+              + "journal logs written since the latest checkpoint, as a ratio of the size of that "
+              + "checkpoint, before a new checkpoint is written. This is checked in addition to "
+              + "%s, and delays rewriting the full state of a large, mostly unchanged namespace. "
+              + "Checkpoints are still full copies of the state. Set to 0 to checkpoint purely "
+              + "by entry count.",
+              Name.MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_JOURNAL_GC_PERIOD_MS =
       new Builder(Name.MASTER_JOURNAL_GC_PERIOD_MS)
           .setAlias("alluxio.master.journal.gc.period.ms")
@@ -2425,6 +2644,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_MMAP_ENABLED =
+      new Builder(Name.WORKER_NETWORK_READER_MMAP_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("When a client reads a block stored on this worker remotely, whether "
+              + "to serve the data from memory-mapped slices of the block file instead of "
+              + "copying it into a buffer first. This saves a copy of every byte read when "
+              + "zero copy is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_NETWORK_SHUTDOWN_TIMEOUT =
       new Builder(Name.WORKER_NETWORK_SHUTDOWN_TIMEOUT)
           .setDefaultValue("15sec")
@@ -2479,6 +2708,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_ACCESS_BUFFER_SIZE =
+      new Builder(Name.WORKER_TIERED_STORE_ACCESS_BUFFER_SIZE)
+          .setDefaultValue(64)
+          .setDescription("The number of block access events each stripe of the tiered "
+              + "store access buffer holds before they are delivered to the evictor and the "
+              + "block metrics in one batch. Events are dropped when a stripe is full.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_TIERED_STORE_BLOCK_LOCK_READERS =
       new Builder(Name.WORKER_TIERED_STORE_BLOCK_LOCK_READERS)
           .setDefaultValue(1000)
@@ -2684,6 +2922,60 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_CACHE_WRITE_ASYNC_ENABLED =
+      new Builder(Name.WORKER_UFS_BLOCK_CACHE_WRITE_ASYNC_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether data read from the UFS is written to local storage by a "
+              + "background stage instead of in the reading thread. When the background stage "
+              + "falls behind, caching of the affected blocks is abandoned rather than slowing "
+              + "down reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_CACHE_WRITE_MAX_PENDING_BYTES =
+      new Builder(Name.WORKER_UFS_BLOCK_CACHE_WRITE_MAX_PENDING_BYTES)
+          .setDefaultValue("64MB")
+          .setDescription("The maximum number of bytes read from the UFS which may be waiting to "
+              + "be written to local storage by the background stage. Blocks whose data would "
+              + "exceed this limit are not cached.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_CACHE_WRITE_THREADS =
+      new Builder(Name.WORKER_UFS_BLOCK_CACHE_WRITE_THREADS)
+          .setDefaultValue(4)
+          .setDescription("The number of threads writing data read from the UFS to local "
+              + "storage when " + Name.WORKER_UFS_BLOCK_CACHE_WRITE_ASYNC_ENABLED + " is set.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_PARTIAL_CACHE_DIR =
+      new Builder(Name.WORKER_UFS_BLOCK_PARTIAL_CACHE_DIR)
+          .setDefaultValue(String.format("${%s}/partial_blocks", Name.WORK_DIR))
+          .setDescription("The local directory to store ranges of UFS blocks cached by "
+              + "positioned reads in. Pages cached by a previous run are discarded when the "
+              + "worker starts, and the worker fails to start if the directory contains other "
+              + "files.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE =
+      new Builder(Name.WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE)
+          .setDefaultValue("1MB")
+          .setDescription("The granularity at which ranges of UFS blocks are cached.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_PARTIAL_CACHE_SIZE =
+      new Builder(Name.WORKER_UFS_BLOCK_PARTIAL_CACHE_SIZE)
+          .setDefaultValue("1GB")
+          .setDescription("The maximum number of bytes of UFS block ranges to cache for reads "
+              + "which do not read a whole block from its start, such as reads of file footers. "
+              + "Blocks are evicted from this cache in least recently used order. Set to 0 to "
+              + "disable caching block ranges.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_UFS_INSTREAM_CACHE_ENABLED =
       new Builder(Name.WORKER_UFS_INSTREAM_CACHE_ENABLED)
           .setDefaultValue("true")
@@ -2967,6 +3259,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "format pattern.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_BLOCK_READ_THREADS =
+      new Builder(Name.USER_FILE_BLOCK_READ_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The number of threads of a client opening the blocks of files ahead "
+              + "of sequential reads and serving vectored reads, shared by the file input "
+              + "streams of the client.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_BUFFER_BYTES =
       new Builder(Name.USER_FILE_BUFFER_BYTES)
           .setDefaultValue("8MB")
@@ -2988,6 +3289,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "before attempting to delete persisted directories recursively.")
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_LIST_STATUS_BATCH_SIZE =
+      new Builder(Name.USER_FILE_LIST_STATUS_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The number of directory entries fetched from the master per request "
+              + "when iterating over a directory listing. Iterating lets clients list very large "
+              + "directories without holding the whole listing in memory.")
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN =
       new Builder(Name.USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN)
           .setDefaultValue(0)
@@ -3058,6 +3367,43 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_SEQUENTIAL_PREFETCH_BLOCKS =
+      new Builder(Name.USER_FILE_SEQUENTIAL_PREFETCH_BLOCKS)
+          .setDefaultValue(2)
+          .setDescription("The maximum number of blocks a file input stream opens and starts "
+              + "reading ahead of its position while the file is read sequentially. Blocks are "
+              + "prefetched once the stream has read a block up to its end, starting at one and "
+              + "doubling at each block read sequentially, and are not prefetched after a seek "
+              + "out of the current block. Set to 0 to disable prefetching blocks.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_MERGE_GAP =
+      new Builder(Name.USER_FILE_VECTORED_READ_MERGE_GAP)
+          .setDefaultValue("64KB")
+          .setDescription("The largest gap between two ranges of a vectored read of a file for "
+              + "the ranges to be read by a single request to the worker. The bytes in the gap "
+              + "are read and discarded.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_MERGE_SIZE_MAX =
+      new Builder(Name.USER_FILE_VECTORED_READ_MERGE_SIZE_MAX)
+          .setDefaultValue("4MB")
+          .setDescription("The maximum number of bytes read by a single request to the worker "
+              + "when merging the ranges of a vectored read of a file. Ranges are never merged "
+              + "across blocks.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_VECTORED_READ_PARALLELISM =
+      new Builder(Name.USER_FILE_VECTORED_READ_PARALLELISM)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of blocks read concurrently by a vectored read of "
+              + "a file.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_READ_TYPE_DEFAULT =
       new Builder(Name.USER_FILE_READ_TYPE_DEFAULT)
           .setDefaultValue("CACHE_PROMOTE")
@@ -3180,6 +3526,55 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_LOCAL_CACHE_DIR =
+      new Builder(Name.USER_LOCAL_CACHE_DIR)
+          .setDefaultValue("/tmp/alluxio_cache")
+          .setDescription("The directory where the client-side local cache stores its pages.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_LOCAL_CACHE_EVICTOR_CLASS =
+      new Builder(Name.USER_LOCAL_CACHE_EVICTOR_CLASS)
+          .setDefaultValue("alluxio.client.file.cache.LRUCacheEvictor")
+          .setDescription("The strategy that the client-side local cache uses to evict pages "
+              + "when it runs out of space. Valid options include "
+              + "`alluxio.client.file.cache.LRUCacheEvictor`, "
+              + "`alluxio.client.file.cache.LFUCacheEvictor`.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_LOCAL_CACHE_PAGE_SIZE =
+      new Builder(Name.USER_LOCAL_CACHE_PAGE_SIZE)
+          .setDefaultValue("1MB")
+          .setDescription("Size of each page in the client-side local cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_LOCAL_CACHE_RESTORE_ENABLED =
+      new Builder(Name.USER_LOCAL_CACHE_RESTORE_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("If this is enabled, pages left in ${alluxio.user.local.cache.dir} "
+              + "by a previous client are restored into the client-side local cache on start. "
+              + "Otherwise they are deleted.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_LOCAL_CACHE_RESTORE_THREADS =
+      new Builder(Name.USER_LOCAL_CACHE_RESTORE_THREADS)
+          .setDefaultValue(8)
+          .setDescription("The number of threads used to scan ${alluxio.user.local.cache.dir} "
+              + "when restoring the client-side local cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_LOCAL_CACHE_SIZE =
+      new Builder(Name.USER_LOCAL_CACHE_SIZE)
+          .setDefaultValue("512MB")
+          .setDescription("The maximum number of bytes the client-side local cache stores in "
+              + "${alluxio.user.local.cache.dir}.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_LOCAL_READER_CHUNK_SIZE_BYTES =
       new Builder(Name.USER_LOCAL_READER_CHUNK_SIZE_BYTES)
           .setDefaultValue("8MB")
@@ -4041,6 +4436,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String UNDERFS_VERSION = "alluxio.underfs.version";
     public static final String UNDERFS_OBJECT_STORE_BREADCRUMBS_ENABLED =
         "alluxio.underfs.object.store.breadcrumbs.enabled";
+    public static final String UNDERFS_OBJECT_STORE_READ_AHEAD_BUFFER_SIZE =
+        "alluxio.underfs.object.store.read.ahead.buffer.size";
+    public static final String UNDERFS_OBJECT_STORE_READ_AHEAD_RANGE_SIZE =
+        "alluxio.underfs.object.store.read.ahead.range.size";
+    public static final String UNDERFS_OBJECT_STORE_READ_AHEAD_RANGES =
+        "alluxio.underfs.object.store.read.ahead.ranges";
+    public static final String UNDERFS_OBJECT_STORE_READ_AHEAD_THREADS =
+        "alluxio.underfs.object.store.read.ahead.threads";
     public static final String UNDERFS_OBJECT_STORE_SERVICE_THREADS =
         "alluxio.underfs.object.store.service.threads";
     public static final String UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY =
@@ -4179,8 +4582,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.lock.pool.high.watermark";
     public static final String MASTER_LOCK_POOL_CONCURRENCY_LEVEL =
         "alluxio.master.lock.pool.concurrency.level";
+    public static final String MASTER_JOURNAL_BATCH_FRAMING_ENABLED =
+        "alluxio.master.journal.batch.framing.enabled";
+    public static final String MASTER_JOURNAL_BATCH_COMPRESSION_ENABLED =
+        "alluxio.master.journal.batch.compression.enabled";
     public static final String MASTER_JOURNAL_FLUSH_BATCH_TIME_MS =
         "alluxio.master.journal.flush.batch.time";
+    public static final String MASTER_JOURNAL_FLUSH_BATCH_ADAPTIVE_ENABLED =
+        "alluxio.master.journal.flush.batch.adaptive.enabled";
+    public static final String MASTER_JOURNAL_FLUSH_BATCH_SIZE_MAX =
+        "alluxio.master.journal.flush.batch.size.max";
     public static final String MASTER_JOURNAL_FLUSH_TIMEOUT_MS =
         "alluxio.master.journal.flush.timeout";
     public static final String MASTER_JOURNAL_FLUSH_RETRY_INTERVAL =
@@ -4208,6 +4619,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.embedded.journal.appender.batch.size";
     public static final String MASTER_EMBEDDED_JOURNAL_HEARTBEAT_INTERVAL =
         "alluxio.master.embedded.journal.heartbeat.interval";
+    public static final String MASTER_EMBEDDED_JOURNAL_APPLY_PARALLEL_ENABLED =
+        "alluxio.master.embedded.journal.apply.parallel.enabled";
+    public static final String MASTER_EMBEDDED_JOURNAL_APPLY_QUEUE_SIZE =
+        "alluxio.master.embedded.journal.apply.queue.size";
     public static final String MASTER_EMBEDDED_JOURNAL_PORT =
         "alluxio.master.embedded.journal.port";
     public static final String MASTER_EMBEDDED_JOURNAL_STORAGE_LEVEL =
@@ -4223,22 +4638,48 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String MASTER_EMBEDDED_JOURNAL_TRANSPORT_MAX_INBOUND_MESSAGE_SIZE =
         "alluxio.master.embedded.journal.transport.max.inbound.message.size";
     public static final String MASTER_KEYTAB_KEY_FILE = "alluxio.master.keytab.file";
+    public static final String MASTER_METADATA_SYNC_EXECUTOR_POOL_SIZE =
+        "alluxio.master.metadata.sync.executor.pool.size";
+    public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_LIMIT =
+        "alluxio.master.metadata.sync.ufs.prefetch.limit";
+    public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_MAX_LISTINGS =
+        "alluxio.master.metadata.sync.ufs.prefetch.max.listings";
+    public static final String MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE =
+        "alluxio.master.metadata.sync.ufs.prefetch.pool.size";
     public static final String MASTER_METASTORE = "alluxio.master.metastore";
     public static final String MASTER_METASTORE_DIR = "alluxio.master.metastore.dir";
     public static final String MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE =
         "alluxio.master.metastore.inode.cache.evict.batch.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_EVICTION_POLICY =
+        "alluxio.master.metastore.inode.cache.eviction.policy";
     public static final String MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO =
         "alluxio.master.metastore.inode.cache.high.water.mark.ratio";
+    public static final String MASTER_METASTORE_INODE_CACHE_LISTING_MAX_SIZE =
+        "alluxio.master.metastore.inode.cache.listing.max.size";
     public static final String MASTER_METASTORE_INODE_CACHE_LOW_WATER_MARK_RATIO =
         "alluxio.master.metastore.inode.cache.low.water.mark.ratio";
     public static final String MASTER_METASTORE_INODE_CACHE_MAX_SIZE =
         "alluxio.master.metastore.inode.cache.max.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE =
+        "alluxio.master.metastore.inode.cache.offheap.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE =
+        "alluxio.master.metastore.inode.cache.offheap.segment.size";
     public static final String MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
         "alluxio.master.metastore.inode.iteration.crawler.count";
     public static final String MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT =
         "alluxio.master.metastore.inode.enumerator.buffer.count";
     public static final String MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP =
         "alluxio.master.metastore.inode.inherit.owner.and.group";
+    public static final String MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE =
+        "alluxio.master.metastore.rocks.block.cache.size";
+    public static final String MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY =
+        "alluxio.master.metastore.rocks.bloom.filter.bits.per.key";
+    public static final String MASTER_METASTORE_ROCKS_CACHE_INDEX_AND_FILTER_BLOCKS =
+        "alluxio.master.metastore.rocks.cache.index.and.filter.blocks";
+    public static final String MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL =
+        "alluxio.master.metastore.rocks.checkpoint.compression.level";
+    public static final String MASTER_METASTORE_ROCKS_STATISTICS_ENABLED =
+        "alluxio.master.metastore.rocks.statistics.enabled";
     public static final String MASTER_PERSISTENCE_CHECKER_INTERVAL_MS =
         "alluxio.master.persistence.checker.interval";
     public static final String MASTER_METRICS_TIME_SERIES_INTERVAL =
@@ -4328,6 +4769,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String MASTER_WORKER_TIMEOUT_MS = "alluxio.master.worker.timeout";
     public static final String MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES =
         "alluxio.master.journal.checkpoint.period.entries";
+    public static final String MASTER_JOURNAL_CHECKPOINT_LOG_SIZE_RATIO =
+        "alluxio.master.journal.checkpoint.log.size.ratio";
     public static final String MASTER_JOURNAL_GC_PERIOD_MS = "alluxio.master.journal.gc.period";
     public static final String MASTER_JOURNAL_GC_THRESHOLD_MS =
         "alluxio.master.journal.gc.threshold";
@@ -4409,6 +4852,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.reader.buffer.size";
     public static final String WORKER_NETWORK_READER_MAX_CHUNK_SIZE_BYTES =
         "alluxio.worker.network.reader.max.chunk.size.bytes";
+    public static final String WORKER_NETWORK_READER_MMAP_ENABLED =
+        "alluxio.worker.network.reader.mmap.enabled";
     public static final String WORKER_NETWORK_SHUTDOWN_TIMEOUT =
         "alluxio.worker.network.shutdown.timeout";
     public static final String WORKER_NETWORK_ZEROCOPY_ENABLED =
@@ -4420,6 +4865,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_SESSION_TIMEOUT_MS = "alluxio.worker.session.timeout";
     public static final String WORKER_STORAGE_CHECKER_ENABLED =
         "alluxio.worker.storage.checker.enabled";
+    public static final String WORKER_TIERED_STORE_ACCESS_BUFFER_SIZE =
+        "alluxio.worker.tieredstore.access.buffer.size";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCK_READERS =
         "alluxio.worker.tieredstore.block.lock.readers";
     public static final String WORKER_TIERED_STORE_BLOCK_LOCKS =
@@ -4432,6 +4879,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
     public static final String WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS =
         "alluxio.worker.ufs.block.open.timeout";
+    public static final String WORKER_UFS_BLOCK_CACHE_WRITE_ASYNC_ENABLED =
+        "alluxio.worker.ufs.block.cache.write.async.enabled";
+    public static final String WORKER_UFS_BLOCK_CACHE_WRITE_MAX_PENDING_BYTES =
+        "alluxio.worker.ufs.block.cache.write.max.pending.bytes";
+    public static final String WORKER_UFS_BLOCK_CACHE_WRITE_THREADS =
+        "alluxio.worker.ufs.block.cache.write.threads";
+    public static final String WORKER_UFS_BLOCK_PARTIAL_CACHE_DIR =
+        "alluxio.worker.ufs.block.partial.cache.dir";
+    public static final String WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE =
+        "alluxio.worker.ufs.block.partial.cache.page.size";
+    public static final String WORKER_UFS_BLOCK_PARTIAL_CACHE_SIZE =
+        "alluxio.worker.ufs.block.partial.cache.size";
     public static final String WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME =
         "alluxio.worker.ufs.instream.cache.expiration.time";
     public static final String WORKER_UFS_INSTREAM_CACHE_ENABLED =
@@ -4497,11 +4956,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.conf.cluster.default.enabled";
     public static final String USER_CONF_SYNC_INTERVAL = "alluxio.user.conf.sync.interval";
     public static final String USER_DATE_FORMAT_PATTERN = "alluxio.user.date.format.pattern";
+    public static final String USER_FILE_BLOCK_READ_THREADS =
+        "alluxio.user.file.block.read.threads";
     public static final String USER_FILE_BUFFER_BYTES = "alluxio.user.file.buffer.bytes";
     public static final String USER_FILE_COPYFROMLOCAL_BLOCK_LOCATION_POLICY =
         "alluxio.user.file.copyfromlocal.block.location.policy.class";
     public static final String USER_FILE_DELETE_UNCHECKED =
         "alluxio.user.file.delete.unchecked";
+    public static final String USER_FILE_LIST_STATUS_BATCH_SIZE =
+        "alluxio.user.file.list.status.batch.size";
     public static final String USER_FILE_MASTER_CLIENT_POOL_SIZE_MIN =
         "alluxio.user.file.master.client.pool.size.min";
     public static final String USER_FILE_MASTER_CLIENT_POOL_SIZE_MAX =
@@ -4517,6 +4980,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILE_PASSIVE_CACHE_ENABLED =
         "alluxio.user.file.passive.cache.enabled";
     public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
+    public static final String USER_FILE_SEQUENTIAL_PREFETCH_BLOCKS =
+        "alluxio.user.file.sequential.prefetch.blocks";
+    public static final String USER_FILE_VECTORED_READ_MERGE_GAP =
+        "alluxio.user.file.vectored.read.merge.gap";
+    public static final String USER_FILE_VECTORED_READ_MERGE_SIZE_MAX =
+        "alluxio.user.file.vectored.read.merge.size.max";
+    public static final String USER_FILE_VECTORED_READ_PARALLELISM =
+        "alluxio.user.file.vectored.read.parallelism";
     public static final String USER_FILE_PERSIST_ON_RENAME = "alluxio.user.file.persist.on.rename";
     public static final String USER_FILE_PERSISTENCE_INITIAL_WAIT_TIME =
         "alluxio.user.file.persistence.initial.wait.time";
@@ -4537,6 +5008,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_FILESYSTEM_CLASS = "alluxio.user.filesystem.class";
     public static final String USER_HOSTNAME = "alluxio.user.hostname";
     public static final String USER_LOCAL_CACHE_ENABLED = "alluxio.user.local.cache.enabled";
+    public static final String USER_LOCAL_CACHE_DIR = "alluxio.user.local.cache.dir";
+    public static final String USER_LOCAL_CACHE_EVICTOR_CLASS =
+        "alluxio.user.local.cache.evictor.class";
+    public static final String USER_LOCAL_CACHE_PAGE_SIZE = "alluxio.user.local.cache.page.size";
+    public static final String USER_LOCAL_CACHE_RESTORE_ENABLED =
+        "alluxio.user.local.cache.restore.enabled";
+    public static final String USER_LOCAL_CACHE_RESTORE_THREADS =
+        "alluxio.user.local.cache.restore.threads";
+    public static final String USER_LOCAL_CACHE_SIZE = "alluxio.user.local.cache.size";
     public static final String USER_LOCAL_READER_CHUNK_SIZE_BYTES =
         "alluxio.user.local.reader.chunk.size.bytes";
     public static final String USER_LOCAL_WRITER_CHUNK_SIZE_BYTES =
@@ -247,6 +247,57 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of inodes (inode metadata) cached")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_INODE_OFFHEAP_CACHE_SIZE =
+      new Builder(Name.MASTER_INODE_OFFHEAP_CACHE_SIZE)
+          .setDescription("Total number of serialized inodes cached in direct memory")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_METASTORE_CACHE_HITS =
+      new Builder(Name.MASTER_METASTORE_CACHE_HITS)
+          .setDescription("Total number of metastore cache lookups served from the cache, tagged "
+              + "by cache name and eviction policy")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_METASTORE_CACHE_MISSES =
+      new Builder(Name.MASTER_METASTORE_CACHE_MISSES)
+          .setDescription("Total number of metastore cache lookups which went to the backing "
+              + "store, tagged by cache name and eviction policy")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_ROCKS_BLOCK_CACHE_HITS =
+      new Builder(Name.MASTER_ROCKS_BLOCK_CACHE_HITS)
+          .setDescription("Total number of RocksDB block cache hits, tagged by metastore")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_ROCKS_BLOCK_CACHE_MISSES =
+      new Builder(Name.MASTER_ROCKS_BLOCK_CACHE_MISSES)
+          .setDescription("Total number of RocksDB block cache misses, tagged by metastore")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_ROCKS_BLOOM_FILTER_USEFUL =
+      new Builder(Name.MASTER_ROCKS_BLOOM_FILTER_USEFUL)
+          .setDescription("Total number of RocksDB point lookups which bloom filters answered "
+              + "without reading data blocks, tagged by metastore")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_ROCKS_BLOOM_FILTER_PREFIX_USEFUL =
+      new Builder(Name.MASTER_ROCKS_BLOOM_FILTER_PREFIX_USEFUL)
+          .setDescription("Total number of RocksDB prefix seeks which bloom filters answered "
+              + "without reading data blocks, tagged by metastore")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_ROCKS_MEMTABLE_HITS =
+      new Builder(Name.MASTER_ROCKS_MEMTABLE_HITS)
+          .setDescription("Total number of RocksDB point lookups served from memtables, tagged "
+              + "by metastore")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_ROCKS_BYTES_READ =
+      new Builder(Name.MASTER_ROCKS_BYTES_READ)
+          .setDescription("Total number of bytes RocksDB point lookups returned, tagged by "
+              + "metastore")
+          .setMetricType(MetricType.GAUGE)
+          .build();
   public static final MetricKey MASTER_TOTAL_PATHS =
       new Builder(Name.MASTER_TOTAL_PATHS)
           .setDescription("Total number of files and directory in Alluxio namespace")
@@ -378,7 +429,7 @@ public final class MetricKey implements Comparable<MetricKey> {
           .build();
   public static final MetricKey MASTER_LISTING_CACHE_SIZE =
       new Builder(Name.MASTER_LISTING_CACHE_SIZE)
-          .setDescription("The size of master listing cache")
+          .setDescription("The approximate heap bytes used by the master listing cache")
           .setMetricType(MetricType.GAUGE)
           .build();
   public static final MetricKey MASTER_MOUNT_OPS =
@@ -407,6 +458,18 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .build();
   // Journal metrics
+  public static final MetricKey MASTER_JOURNAL_BATCH_TIMER =
+      new Builder(Name.MASTER_JOURNAL_BATCH_TIMER)
+          .setDescription("The timer statistics of journal flush batches, from when the first "
+              + "entry of a batch is written until the batch is flushed")
+          .setMetricType(MetricType.TIMER)
+          .build();
+  public static final MetricKey MASTER_JOURNAL_ENTRIES_FLUSHED =
+      new Builder(Name.MASTER_JOURNAL_ENTRIES_FLUSHED)
+          .setDescription("Total number of flushed journal entries. Divided by the count of "
+              + Name.MASTER_JOURNAL_BATCH_TIMER + ", this gives the average batch size")
+          .setMetricType(MetricType.COUNTER)
+          .build();
   public static final MetricKey MASTER_JOURNAL_FLUSH_FAILURE =
       new Builder(Name.MASTER_JOURNAL_FLUSH_FAILURE)
           .setDescription("Total number of failed journal flush")
@@ -721,6 +784,54 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(true)
           .build();
+  public static final MetricKey WORKER_UFS_PARTIAL_CACHE_BYTES_READ =
+      new Builder(Name.WORKER_UFS_PARTIAL_CACHE_BYTES_READ)
+          .setDescription("Total number of bytes of UFS blocks which were served from cached "
+              + "block ranges instead of the UFS by this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_PARTIAL_CACHE_BYTES_WRITTEN =
+      new Builder(Name.WORKER_UFS_PARTIAL_CACHE_BYTES_WRITTEN)
+          .setDescription("Total number of bytes of UFS block ranges cached by this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_PARTIAL_CACHE_SIZE =
+      new Builder(Name.WORKER_UFS_PARTIAL_CACHE_SIZE)
+          .setDescription("The number of bytes of UFS block ranges currently cached by this "
+              + "worker")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_CACHE_WRITE_BYTES =
+      new Builder(Name.WORKER_UFS_CACHE_WRITE_BYTES)
+          .setDescription("Total number of bytes read from the UFS which were written to local "
+              + "storage in the background by this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_CACHE_WRITE_DROPPED_BLOCKS =
+      new Builder(Name.WORKER_UFS_CACHE_WRITE_DROPPED_BLOCKS)
+          .setDescription("Total number of blocks read from the UFS which were not cached because "
+              + "the background cache writes fell behind")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_CACHE_WRITE_FAILED_BLOCKS =
+      new Builder(Name.WORKER_UFS_CACHE_WRITE_FAILED_BLOCKS)
+          .setDescription("Total number of blocks read from the UFS which were not cached because "
+              + "a background cache write failed")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_CACHE_WRITE_PENDING_BYTES =
+      new Builder(Name.WORKER_UFS_CACHE_WRITE_PENDING_BYTES)
+          .setDescription("The number of bytes read from the UFS which are waiting to be written "
+              + "to local storage in the background")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_CAPACITY_TOTAL =
       new Builder(Name.WORKER_CAPACITY_TOTAL)
           .setDescription("Total capacity (in bytes) on all tiers of a specific Alluxio worker")
@@ -773,6 +884,25 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(true)
           .build();
+  public static final MetricKey CLIENT_CACHE_BYTES_READ_CACHE =
+      new Builder(Name.CLIENT_CACHE_BYTES_READ_CACHE)
+          .setDescription("Total number of bytes read from the client-side local cache")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_BYTES_READ_EXTERNAL =
+      new Builder(Name.CLIENT_CACHE_BYTES_READ_EXTERNAL)
+          .setDescription("Total number of bytes read from Alluxio to fill the client-side "
+              + "local cache on cache misses")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_BYTES_EVICTED =
+      new Builder(Name.CLIENT_CACHE_BYTES_EVICTED)
+          .setDescription("Total number of bytes evicted from the client-side local cache")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
 
   /**
    * Registers the given key to the global key map.
@@ -838,6 +968,16 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String MASTER_EDGE_CACHE_SIZE = "Master.EdgeCacheSize";
     public static final String MASTER_FILES_PINNED = "Master.FilesPinned";
     public static final String MASTER_INODE_CACHE_SIZE = "Master.InodeCacheSize";
+    public static final String MASTER_INODE_OFFHEAP_CACHE_SIZE = "Master.InodeOffHeapCacheSize";
+    public static final String MASTER_METASTORE_CACHE_HITS = "Master.MetastoreCacheHits";
+    public static final String MASTER_METASTORE_CACHE_MISSES = "Master.MetastoreCacheMisses";
+    public static final String MASTER_ROCKS_BLOCK_CACHE_HITS = "Master.RocksBlockCacheHits";
+    public static final String MASTER_ROCKS_BLOCK_CACHE_MISSES = "Master.RocksBlockCacheMisses";
+    public static final String MASTER_ROCKS_BLOOM_FILTER_USEFUL = "Master.RocksBloomFilterUseful";
+    public static final String MASTER_ROCKS_BLOOM_FILTER_PREFIX_USEFUL =
+        "Master.RocksBloomFilterPrefixUseful";
+    public static final String MASTER_ROCKS_MEMTABLE_HITS = "Master.RocksMemtableHits";
+    public static final String MASTER_ROCKS_BYTES_READ = "Master.RocksBytesRead";
     public static final String MASTER_TOTAL_PATHS = "Master.TotalPaths";
 
     // metrics names for BackupManager
@@ -877,6 +1017,8 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String MASTER_UNMOUNT_OPS = "Master.UnmountOps";
 
     // metrics names for journal
+    public static final String MASTER_JOURNAL_BATCH_TIMER = "Master.JournalBatchTimer";
+    public static final String MASTER_JOURNAL_ENTRIES_FLUSHED = "Master.JournalEntriesFlushed";
     public static final String MASTER_JOURNAL_FLUSH_FAILURE = "Master.JournalFlushFailure";
     public static final String MASTER_JOURNAL_FLUSH_TIMER = "Master.JournalFlushTimer";
     public static final String MASTER_JOURNAL_GAIN_PRIMACY_TIMER = "Master.JournalGainPrimacyTimer";
@@ -953,6 +1095,18 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String WORKER_BYTES_WRITTEN_UFS = "Worker.BytesWrittenPerUfs";
     public static final String WORKER_BYTES_WRITTEN_UFS_THROUGHPUT
         = "Worker.BytesWrittenUfsThroughput";
+    public static final String WORKER_UFS_PARTIAL_CACHE_BYTES_READ
+        = "Worker.UfsPartialCacheBytesRead";
+    public static final String WORKER_UFS_PARTIAL_CACHE_BYTES_WRITTEN
+        = "Worker.UfsPartialCacheBytesWritten";
+    public static final String WORKER_UFS_PARTIAL_CACHE_SIZE = "Worker.UfsPartialCacheSize";
+    public static final String WORKER_UFS_CACHE_WRITE_BYTES = "Worker.UfsCacheWriteBytes";
+    public static final String WORKER_UFS_CACHE_WRITE_DROPPED_BLOCKS
+        = "Worker.UfsCacheWriteDroppedBlocks";
+    public static final String WORKER_UFS_CACHE_WRITE_FAILED_BLOCKS
+        = "Worker.UfsCacheWriteFailedBlocks";
+    public static final String WORKER_UFS_CACHE_WRITE_PENDING_BYTES
+        = "Worker.UfsCacheWritePendingBytes";
     public static final String WORKER_CAPACITY_TOTAL = "Worker.CapacityTotal";
     public static final String WORKER_CAPACITY_USED = "Worker.CapacityUsed";
     public static final String WORKER_CAPACITY_FREE = "Worker.CapacityFree";
@@ -965,6 +1119,9 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String CLIENT_BYTES_WRITTEN_LOCAL_THROUGHPUT
         = "Client.BytesWrittenLocalThroughput";
     public static final String CLIENT_BYTES_WRITTEN_UFS = "Client.BytesWrittenUfs";
+    public static final String CLIENT_CACHE_BYTES_READ_CACHE = "Client.CacheBytesReadCache";
+    public static final String CLIENT_CACHE_BYTES_READ_EXTERNAL = "Client.CacheBytesReadExternal";
+    public static final String CLIENT_CACHE_BYTES_EVICTED = "Client.CacheBytesEvicted";
 
     private Name() {} // prevent instantiation
   }
@@ -0,0 +1,48 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol.databuffer;
+
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.MappedByteBuffer;
+
+/**
+ * A netty {@link io.netty.buffer.ByteBuf} backed by a memory-mapped region of a file. The region
+ * is unmapped as soon as the reference count of the buffer drops to zero, rather than when the
+ * mapping is garbage collected. This lets a file region be handed to netty without copying while
+ * keeping the number of live mappings bounded by the number of in-flight buffers.
+ *
+ * A composite buffer with a single component is used because netty only wraps read-only
+ * {@link java.nio.ByteBuffer}s with package-private buffer types.
+ */
+public final class MappedByteBuf extends CompositeByteBuf {
+  private final MappedByteBuffer mMappedBuffer;
+
+  /**
+   * @param mappedBuffer the mapped region of the file, which must not be used by the caller
+   *        afterwards
+   */
+  public MappedByteBuf(MappedByteBuffer mappedBuffer) {
+    super(ByteBufAllocator.DEFAULT, true, 1, Unpooled.wrappedBuffer(mappedBuffer));
+    mMappedBuffer = mappedBuffer;
+  }
+
+  @Override
+  protected void deallocate() {
+    super.deallocate();
+    BufferUtils.cleanDirectBuffer(mMappedBuffer);
+  }
+}
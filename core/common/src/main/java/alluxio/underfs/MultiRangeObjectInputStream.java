@@ -13,16 +13,34 @@ package alluxio.underfs;
 
 import alluxio.exception.ExceptionMessage;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * A stream for reading data using range queries.
+ *
+ * If created with an {@link ObjectReadAhead}, the stream reads the ranges following the one being
+ * read in parallel. The number of ranges read ahead starts at one, doubles each time a range which
+ * was read ahead is consumed, and drops back to one when the stream moves to a range which was not
+ * read ahead. Ranges read ahead are discarded when the stream skips past them or is closed.
  */
 @NotThreadSafe
 public abstract class MultiRangeObjectInputStream extends InputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(MultiRangeObjectInputStream.class);
 
   /** Has the stream been closed. */
   protected boolean mClosed;
@@ -36,6 +54,17 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
   /** The chunk size to perform reads with. */
   private final long mMultiRangeChunkSize;
 
+  /** The resources to read ranges ahead with, or null if ranges are only read when needed. */
+  @Nullable
+  private final ObjectReadAhead mReadAhead;
+  /** The ranges being read ahead, in order of position. */
+  private final Deque<RangeRead> mRangeReads = new ArrayDeque<>();
+  /** The number of ranges to read ahead of the range being read. */
+  private int mReadAheadWindow = 1;
+  /** The read ahead buffer backing mStream, to release when the stream is closed. */
+  @Nullable
+  private byte[] mStreamBuffer;
+
   /**
    * Creates the input stream that will perform reads with a specified chunk size. Reading in
    * chunks allows us to read in smaller portions so that we don't need to read all the way to
@@ -44,6 +73,20 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
    * @param multiRangeChunkSize the chunk size in bytes to read with
    */
   protected MultiRangeObjectInputStream(long multiRangeChunkSize) {
+    this(multiRangeChunkSize, null);
+  }
+
+  /**
+   * Creates the input stream that will perform reads with a specified chunk size, and read the
+   * following ranges ahead if the read-ahead resources are given. Ranges read ahead have the range
+   * size of the read-ahead, while ranges which were not read ahead are read in chunks.
+   *
+   * @param multiRangeChunkSize the chunk size in bytes to read ranges not read ahead with
+   * @param readAhead the resources to read ahead with, or null to not read ahead
+   */
+  protected MultiRangeObjectInputStream(long multiRangeChunkSize,
+      @Nullable ObjectReadAhead readAhead) {
+    mReadAhead = readAhead;
     mMultiRangeChunkSize = multiRangeChunkSize;
   }
 
@@ -51,6 +94,7 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
   public void close() throws IOException {
     if (!mClosed) {
       closeStream();
+      cancelRangeReads();
     }
     mClosed = true;
   }
@@ -114,6 +158,10 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
     }
     mStream.close();
     mStream = null;
+    if (mStreamBuffer != null) {
+      mReadAhead.releaseBuffer(mStreamBuffer);
+      mStreamBuffer = null;
+    }
   }
 
   /**
@@ -128,6 +176,19 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
   protected abstract InputStream createStream(long startPos, long endPos)
       throws IOException;
 
+  /**
+   * Gets the length of the object, which is needed to read ahead since ranges past the end of the
+   * object can't be read. Ranges are read ahead from threads other than the one reading the stream,
+   * so {@link #createStream(long, long)} must be safe to call concurrently for streams which
+   * return a length.
+   *
+   * @return the length of the object in bytes, or -1 if it is not known yet and ranges are not
+   *         read ahead
+   */
+  protected long getContentLength() {
+    return -1;
+  }
+
   /**
    * Opens a new stream at mPos if the wrapped stream mStream is null.
    */
@@ -142,8 +203,159 @@ public abstract class MultiRangeObjectInputStream extends InputStream {
     if (mStream != null) { // stream is already open
       return;
     }
-    final long endPos = mPos + mMultiRangeChunkSize - (mPos % mMultiRangeChunkSize);
-    mEndPos = endPos;
-    mStream = createStream(mPos, endPos);
+    if (mReadAhead != null && getContentLength() >= 0) {
+      mStream = openReadAheadStream();
+    }
+    if (mStream == null) {
+      final long endPos = mPos + mMultiRangeChunkSize - (mPos % mMultiRangeChunkSize);
+      mEndPos = endPos;
+      mStream = createStream(mPos, endPos);
+    }
+    // The length may only be known once the first range has been opened
+    if (mReadAhead != null && getContentLength() >= 0) {
+      readAhead(mEndPos);
+    }
+  }
+
+  /**
+   * Opens a stream at mPos from the range read ahead which contains it, if there is one.
+   *
+   * @return the stream, or null if mPos was not read ahead
+   */
+  @Nullable
+  private InputStream openReadAheadStream() throws IOException {
+    while (!mRangeReads.isEmpty() && mRangeReads.peekFirst().mEndPos <= mPos) {
+      mRangeReads.pollFirst().cancel();
+    }
+    RangeRead read = mRangeReads.peekFirst();
+    if (read == null || read.mStartPos > mPos) {
+      cancelRangeReads();
+      mReadAheadWindow = 1;
+      return null;
+    }
+    mRangeReads.pollFirst();
+    int length;
+    try {
+      length = read.mFuture.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      read.cancel();
+      throw new InterruptedIOException("Interrupted while reading ahead");
+    } catch (ExecutionException e) {
+      LOG.debug("Failed to read ahead range {}-{}, reading it again", read.mStartPos,
+          read.mEndPos, e.getCause());
+      read.cancel();
+      cancelRangeReads();
+      mReadAheadWindow = 1;
+      return null;
+    }
+    mStreamBuffer = read.mBuffer;
+    mEndPos = read.mEndPos;
+    mReadAheadWindow = Math.min(mReadAheadWindow * 2, mReadAhead.getMaxRanges());
+    int offset = (int) (mPos - read.mStartPos);
+    return new ByteArrayInputStream(read.mBuffer, offset, Math.max(0, length - offset));
+  }
+
+  /**
+   * Starts reading ahead the ranges following a position, up to the read-ahead window.
+   *
+   * @param endPos the end position of the range being read
+   */
+  private void readAhead(long endPos) {
+    long contentLength = getContentLength();
+    long startPos = mRangeReads.isEmpty() ? endPos : mRangeReads.peekLast().mEndPos;
+    while (mRangeReads.size() < mReadAheadWindow && startPos < contentLength) {
+      byte[] buffer = mReadAhead.acquireBuffer();
+      if (buffer == null) {
+        return;
+      }
+      RangeRead read = new RangeRead(startPos,
+          Math.min(startPos + mReadAhead.getRangeSize(), contentLength), buffer);
+      try {
+        read.mFuture = mReadAhead.getExecutor().submit(read::read);
+      } catch (RejectedExecutionException e) {
+        mReadAhead.releaseBuffer(buffer);
+        return;
+      }
+      mRangeReads.addLast(read);
+      startPos = read.mEndPos;
+    }
+  }
+
+  /**
+   * Cancels all ranges being read ahead.
+   */
+  private void cancelRangeReads() {
+    while (!mRangeReads.isEmpty()) {
+      mRangeReads.pollFirst().cancel();
+    }
+  }
+
+  /**
+   * A range being read ahead into a buffer. If the read is cancelled, the buffer is released by
+   * {@link #cancel()} unless the reading task is running, in which case the task releases it.
+   */
+  private final class RangeRead {
+    private final long mStartPos;
+    private final long mEndPos;
+    private final byte[] mBuffer;
+    private Future<Integer> mFuture;
+    @GuardedBy("this")
+    private boolean mCancelled;
+    @GuardedBy("this")
+    private boolean mStarted;
+    @GuardedBy("this")
+    private boolean mDone;
+
+    private RangeRead(long startPos, long endPos, byte[] buffer) {
+      mStartPos = startPos;
+      mEndPos = endPos;
+      mBuffer = buffer;
+    }
+
+    /**
+     * @return the number of bytes read into the buffer
+     */
+    private int read() throws IOException {
+      synchronized (this) {
+        if (mCancelled) {
+          return 0;
+        }
+        mStarted = true;
+      }
+      int length = (int) (mEndPos - mStartPos);
+      int read = 0;
+      try (InputStream in = createStream(mStartPos, mEndPos)) {
+        while (read < length && !isCancelled()) {
+          int n = in.read(mBuffer, read, length - read);
+          if (n == -1) {
+            break;
+          }
+          read += n;
+        }
+      } finally {
+        synchronized (this) {
+          mDone = true;
+          if (mCancelled) {
+            mReadAhead.releaseBuffer(mBuffer);
+          }
+        }
+      }
+      return read;
+    }
+
+    private synchronized boolean isCancelled() {
+      return mCancelled;
+    }
+
+    private void cancel() {
+      synchronized (this) {
+        mCancelled = true;
+        if (!mStarted || mDone) {
+          mReadAhead.releaseBuffer(mBuffer);
+        }
+      }
+      mFuture.cancel(false);
+    }
   }
 }
@@ -0,0 +1,121 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The resources shared by the input streams of an object store UFS to read ranges of objects ahead
+ * of their position: the threads reading the ranges, and a pool of buffers to read them into
+ * which bounds the memory used by ranges read ahead and not yet consumed.
+ */
+@ThreadSafe
+public final class ObjectReadAhead implements Closeable {
+  private final ExecutorService mExecutor;
+  private final int mMaxRanges;
+  private final int mRangeSize;
+  private final int mMaxBuffers;
+  private final Queue<byte[]> mFreeBuffers = new ConcurrentLinkedQueue<>();
+  /** The number of buffers allocated, whether free or in use. */
+  private final AtomicInteger mAllocatedBuffers = new AtomicInteger();
+  /** Whether the resources have been closed, after which buffers are no longer pooled. */
+  private volatile boolean mClosed;
+
+  /**
+   * @param executor the executor to read ranges with
+   * @param maxRanges the maximum number of ranges a stream reads ahead
+   * @param rangeSize the size of the ranges
+   * @param bufferSize the maximum number of bytes of buffers to allocate
+   */
+  public ObjectReadAhead(ExecutorService executor, int maxRanges, int rangeSize,
+      long bufferSize) {
+    Preconditions.checkArgument(maxRanges > 0, "maxRanges must be positive");
+    Preconditions.checkArgument(rangeSize > 0, "rangeSize must be positive");
+    mExecutor = executor;
+    mMaxRanges = maxRanges;
+    mRangeSize = rangeSize;
+    mMaxBuffers = (int) Math.min(Integer.MAX_VALUE, bufferSize / rangeSize);
+  }
+
+  /**
+   * @return the executor to read ranges with
+   */
+  public ExecutorService getExecutor() {
+    return mExecutor;
+  }
+
+  /**
+   * @return the maximum number of ranges a stream reads ahead
+   */
+  public int getMaxRanges() {
+    return mMaxRanges;
+  }
+
+  /**
+   * @return the size of the ranges
+   */
+  public int getRangeSize() {
+    return mRangeSize;
+  }
+
+  /**
+   * Acquires a buffer to read a range into. It must be released after use.
+   *
+   * @return a buffer of the range size, or null if the maximum number of buffers are in use or
+   *         the resources are closed
+   */
+  @Nullable
+  public byte[] acquireBuffer() {
+    if (mClosed) {
+      return null;
+    }
+    byte[] buffer = mFreeBuffers.poll();
+    if (buffer != null) {
+      return buffer;
+    }
+    if (mAllocatedBuffers.incrementAndGet() > mMaxBuffers) {
+      mAllocatedBuffers.decrementAndGet();
+      return null;
+    }
+    return new byte[mRangeSize];
+  }
+
+  /**
+   * @param buffer a buffer acquired by {@link #acquireBuffer()} which is no longer used
+   */
+  public void releaseBuffer(byte[] buffer) {
+    if (mClosed) {
+      return;
+    }
+    mFreeBuffers.offer(buffer);
+  }
+
+  /**
+   * Stops the threads reading ranges and frees the pooled buffers. Buffers in use when closed are
+   * dropped when released.
+   */
+  @Override
+  public void close() {
+    mClosed = true;
+    mExecutor.shutdownNow();
+    mFreeBuffers.clear();
+  }
+}
@@ -50,6 +50,7 @@ import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -80,6 +81,11 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   protected final Supplier<String> mRootKeySupplier =
       CommonUtils.memoize(this::getRootKey);
 
+  /** The resources to read object ranges ahead with, created on first use. */
+  @GuardedBy("this")
+  @Nullable
+  private ObjectReadAhead mReadAhead;
+
   /**
    * Constructs an {@link ObjectUnderFileSystem}.
    *
@@ -93,6 +99,33 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
         "alluxio-underfs-object-service-worker", numThreads).create();
   }
 
+  /**
+   * Gets the resources for input streams to read object ranges ahead with. Object stores which
+   * open streams reading ranges should pass them to their {@link MultiRangeObjectInputStream}.
+   *
+   * @return the read-ahead resources, or null if reading ahead is disabled
+   */
+  @Nullable
+  protected synchronized ObjectReadAhead getReadAhead() {
+    if (mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_READ_AHEAD_RANGES) <= 0) {
+      return null;
+    }
+    if (mReadAhead == null) {
+      mReadAhead = createReadAhead();
+    }
+    return mReadAhead;
+  }
+
+  private ObjectReadAhead createReadAhead() {
+    ExecutorService executor = ExecutorServiceFactories.fixedThreadPool(
+        "alluxio-underfs-object-read-ahead",
+        mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_READ_AHEAD_THREADS)).create();
+    return new ObjectReadAhead(executor,
+        mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_READ_AHEAD_RANGES),
+        (int) mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_READ_AHEAD_RANGE_SIZE),
+        mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_READ_AHEAD_BUFFER_SIZE));
+  }
+
   /**
    * Information about a single object in object UFS.
    */
@@ -357,7 +390,11 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   }
 
   @Override
-  public void close() throws IOException {
+  public synchronized void close() throws IOException {
+    if (mReadAhead != null) {
+      mReadAhead.close();
+      mReadAhead = null;
+    }
   }
 
   @Override
@@ -17,7 +17,7 @@ import io.netty.buffer.ByteBuf;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 
@@ -88,7 +88,7 @@ public final class LocalFileBlockReader implements BlockReader {
   }
 
   @Override
-  public ByteBuffer read(long offset, long length) throws IOException {
+  public MappedByteBuffer read(long offset, long length) throws IOException {
     Preconditions.checkArgument(offset + length <= mFileSize,
         "offset=%s, length=%s, exceeding fileSize=%s", offset, length, mFileSize);
     // TODO(calvin): May need to make sure length is an int.
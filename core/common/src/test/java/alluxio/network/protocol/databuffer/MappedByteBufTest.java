@@ -0,0 +1,74 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network.protocol.databuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+/**
+ * Tests for the {@link MappedByteBuf} class.
+ */
+public final class MappedByteBufTest {
+  private static final int LENGTH = 64;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Test
+  public void readMappedRegion() throws Exception {
+    File file = mTemp.newFile();
+    byte[] data = BufferUtils.getIncreasingByteArray(LENGTH);
+    Files.write(file.toPath(), data);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      MappedByteBuf buf = new MappedByteBuf(
+          raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 16, 32));
+      assertEquals(32, buf.readableBytes());
+      byte[] read = new byte[32];
+      buf.getBytes(0, read);
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(16, 32), read);
+
+      NettyDataBuffer dataBuffer = new NettyDataBuffer(buf);
+      assertEquals(32, dataBuffer.getLength());
+      dataBuffer.release();
+      assertEquals(0, buf.refCnt());
+    }
+  }
+
+  @Test
+  public void retainedByConsumer() throws Exception {
+    File file = mTemp.newFile();
+    Files.write(file.toPath(), BufferUtils.getIncreasingByteArray(LENGTH));
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      MappedByteBuf buf = new MappedByteBuf(
+          raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, LENGTH));
+      // a consumer such as the gRPC transport keeps its own reference
+      buf.retain();
+      buf.release();
+      assertTrue(buf.refCnt() > 0);
+      assertEquals(LENGTH - 1, buf.getByte(LENGTH - 1));
+      buf.release();
+      assertEquals(0, buf.refCnt());
+    }
+  }
+}
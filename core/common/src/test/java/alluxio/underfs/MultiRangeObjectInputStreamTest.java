@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link MultiRangeObjectInputStream}.
+ */
+public final class MultiRangeObjectInputStreamTest {
+  private static final int RANGE_SIZE = 16;
+  private static final int CONTENT_LENGTH = RANGE_SIZE * 10 + RANGE_SIZE / 2;
+  private static final byte[] CONTENT = BufferUtils.getIncreasingByteArray(CONTENT_LENGTH);
+
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mExecutor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void readWithoutReadAhead() throws IOException {
+    TestInputStream stream = new TestInputStream(RANGE_SIZE, null);
+    assertArrayEquals(CONTENT, readFully(stream));
+    assertEquals(11, stream.mOpenedRanges.size());
+  }
+
+  @Test
+  public void readAheadSequentially() throws IOException {
+    TestInputStream stream =
+        new TestInputStream(RANGE_SIZE, new ObjectReadAhead(mExecutor, 4, RANGE_SIZE, 1024));
+    assertArrayEquals(CONTENT, readFully(stream));
+    // Every range is opened exactly once, whether it was read ahead or not.
+    assertEquals(11, stream.mOpenedRanges.size());
+    assertEquals(11, stream.mOpenedRanges.stream().distinct().count());
+  }
+
+  @Test
+  public void skipPastReadAhead() throws IOException {
+    TestInputStream stream =
+        new TestInputStream(RANGE_SIZE, new ObjectReadAhead(mExecutor, 4, RANGE_SIZE, 1024));
+    for (int i = 0; i < RANGE_SIZE * 3; i++) {
+      assertEquals(i, stream.read());
+    }
+    assertEquals(RANGE_SIZE * 5 + 3, stream.skip(RANGE_SIZE * 5 + 3));
+    assertEquals(RANGE_SIZE * 8 + 3, stream.read());
+    byte[] rest = readFully(stream);
+    assertEquals(CONTENT_LENGTH - RANGE_SIZE * 8 - 4, rest.length);
+    assertEquals((byte) (RANGE_SIZE * 8 + 4), rest[0]);
+    stream.close();
+  }
+
+  @Test
+  public void readAheadLimitedByBuffers() throws IOException {
+    // Buffers for a single range, which is in use while it is being read.
+    ObjectReadAhead readAhead = new ObjectReadAhead(mExecutor, 4, RANGE_SIZE, RANGE_SIZE);
+    TestInputStream stream = new TestInputStream(RANGE_SIZE, readAhead);
+    assertArrayEquals(CONTENT, readFully(stream));
+    assertEquals(11, stream.mOpenedRanges.size());
+    stream.close();
+    assertTrue(readAhead.acquireBuffer() != null);
+  }
+
+  @Test
+  public void readChunksNotReadAhead() throws IOException {
+    TestInputStream stream = new TestInputStream(RANGE_SIZE * 4,
+        new ObjectReadAhead(mExecutor, 4, RANGE_SIZE, 1024));
+    assertArrayEquals(CONTENT, readFully(stream));
+    // The first range is read in a chunk, and the ranges following it are read ahead.
+    assertEquals(0L, (long) stream.mOpenedRanges.get(0));
+    assertEquals(8, stream.mOpenedRanges.size());
+    assertEquals(8, stream.mOpenedRanges.stream().distinct().count());
+  }
+
+  @Test
+  public void readAheadOnceLengthIsKnown() throws IOException {
+    TestInputStream stream =
+        new TestInputStream(RANGE_SIZE, new ObjectReadAhead(mExecutor, 4, RANGE_SIZE, 1024));
+    stream.mLengthKnown = false;
+    assertEquals(0, stream.read());
+    assertEquals(1, stream.mOpenedRanges.size());
+    stream.mLengthKnown = true;
+    byte[] rest = readFully(stream);
+    assertEquals(CONTENT_LENGTH - 1, rest.length);
+    // Reading past the end opens one more range after the content.
+    assertEquals(11,
+        stream.mOpenedRanges.stream().filter(pos -> pos < CONTENT_LENGTH).distinct().count());
+  }
+
+  @Test
+  public void closeReadAhead() {
+    ObjectReadAhead readAhead = new ObjectReadAhead(mExecutor, 4, RANGE_SIZE, 1024);
+    byte[] buffer = readAhead.acquireBuffer();
+    readAhead.close();
+    assertTrue(mExecutor.isShutdown());
+    readAhead.releaseBuffer(buffer);
+    assertNull(readAhead.acquireBuffer());
+  }
+
+  private static byte[] readFully(InputStream stream) throws IOException {
+    byte[] data = new byte[CONTENT_LENGTH];
+    int read = 0;
+    while (true) {
+      int n = stream.read(data, read, Math.min(7, data.length - read));
+      if (n <= 0) {
+        break;
+      }
+      read += n;
+    }
+    byte[] result = new byte[read];
+    System.arraycopy(data, 0, result, 0, read);
+    return result;
+  }
+
+  private static final class TestInputStream extends MultiRangeObjectInputStream {
+    private final List<Long> mOpenedRanges = new CopyOnWriteArrayList<>();
+    private volatile boolean mLengthKnown = true;
+
+    TestInputStream(long multiRangeChunkSize, ObjectReadAhead readAhead) {
+      super(multiRangeChunkSize, readAhead);
+    }
+
+    @Override
+    protected long getContentLength() {
+      return mLengthKnown ? CONTENT_LENGTH : -1;
+    }
+
+    @Override
+    protected InputStream createStream(long startPos, long endPos) {
+      mOpenedRanges.add(startPos);
+      int end = (int) Math.min(endPos, CONTENT_LENGTH);
+      return new ByteArrayInputStream(CONTENT, (int) startPos, end - (int) startPos);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Sizes the batches of the {@link AsyncJournalWriter} group commit from the observed flush
+ * latency and queue depth.
+ *
+ * While the writer keeps up with its producers, the limit decays towards the number of entries
+ * that can be written in the time of one flush, so that the first waiters of a batch are not held
+ * back by a long write phase. When entries are left queued after a flush, the limit doubles so
+ * that each flush is amortized over more entries until the backlog is drained.
+ */
+@NotThreadSafe
+final class AdaptiveBatchSizer {
+  /** Weight of the newest sample in the moving averages. */
+  private static final double SMOOTHING = 0.2;
+
+  private final long mMinBatchSize;
+  private final long mMaxBatchSize;
+
+  private long mBatchLimit;
+  /** Moving average of the flush latency in nanoseconds. */
+  private double mAvgFlushNs;
+  /** Moving average of the time to write a single entry in nanoseconds. */
+  private double mAvgWriteNsPerEntry;
+
+  /**
+   * @param minBatchSize the lower bound for the batch limit
+   * @param maxBatchSize the upper bound for the batch limit
+   */
+  AdaptiveBatchSizer(long minBatchSize, long maxBatchSize) {
+    Preconditions.checkArgument(minBatchSize > 0 && minBatchSize <= maxBatchSize,
+        "Invalid batch size bounds [%s, %s]", minBatchSize, maxBatchSize);
+    mMinBatchSize = minBatchSize;
+    mMaxBatchSize = maxBatchSize;
+    mBatchLimit = minBatchSize;
+  }
+
+  /**
+   * @return the maximum number of entries to write before the next flush
+   */
+  long getBatchLimit() {
+    return mBatchLimit;
+  }
+
+  /**
+   * Updates the batch limit with the statistics of a completed batch.
+   *
+   * @param entries the number of entries written in the batch
+   * @param writeNs the time spent writing the entries
+   * @param flushNs the time spent flushing the entries
+   * @param backlog the number of entries still queued after the flush
+   */
+  void update(long entries, long writeNs, long flushNs, long backlog) {
+    mAvgFlushNs = average(mAvgFlushNs, flushNs);
+    if (entries > 0) {
+      mAvgWriteNsPerEntry = average(mAvgWriteNsPerEntry, (double) writeNs / entries);
+    }
+    if (backlog > 0) {
+      mBatchLimit = Math.min(mMaxBatchSize, mBatchLimit * 2);
+      return;
+    }
+    long floor = mMinBatchSize;
+    if (mAvgWriteNsPerEntry > 0) {
+      floor = Math.max(floor, Math.min(mMaxBatchSize, (long) (mAvgFlushNs / mAvgWriteNsPerEntry)));
+    }
+    mBatchLimit = Math.max(floor, mBatchLimit - mBatchLimit / 4);
+  }
+
+  private static double average(double average, double sample) {
+    return average == 0 ? sample : average + SMOOTHING * (sample - average);
+  }
+}
@@ -11,7 +11,6 @@
 
 package alluxio.master.journal;
 
-import alluxio.collections.ConcurrentHashSet;
 import alluxio.concurrent.ForkJoinPoolHelper;
 import alluxio.concurrent.jsr.ForkJoinPool;
 import alluxio.conf.PropertyKey;
@@ -32,23 +31,32 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.Status;
 
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This enables async journal writing, as well as some batched journal flushing.
+ *
+ * Entries are group committed by a dedicated thread. Unless adaptive batching is disabled, the
+ * size of each batch is chosen by an {@link AdaptiveBatchSizer} from the observed flush latency
+ * and queue depth.
  */
 @ThreadSafe
 @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED")
 public final class AsyncJournalWriter {
+  /** The lower bound for the adaptive batch limit. */
+  private static final long MIN_BATCH_SIZE = 16;
+
   /**
    * Used to manage and keep track of pending callers of ::flush.
    */
@@ -121,15 +129,20 @@ public final class AsyncJournalWriter {
   private Long mWriteCounter;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTimeNs;
+  /** Sizes the write batches, or null if batches are only bounded by time. */
+  @Nullable
+  private final AdaptiveBatchSizer mBatchSizer;
 
   /**
-   * Set of flush tickets submitted by ::flush() method.
+   * Flush tickets submitted by ::flush() method, ordered by their target counter so that only the
+   * tickets served by a flush need to be visited.
    */
-  private final Set<FlushTicket> mTicketSet = new ConcurrentHashSet<>();
+  private final PriorityBlockingQueue<FlushTicket> mTickets = new PriorityBlockingQueue<>(
+      16, Comparator.comparingLong(FlushTicket::getTargetCounter));
 
   /**
    * Dedicated thread for writing and flushing entries in journal queue.
-   * It goes over the {@code mTicketList} after every flush session and releases waiters.
+   * It goes over the {@code mTickets} after every flush session and releases waiters.
    */
   private Thread mFlushThread = new Thread(this::doFlush, "AsyncJournalWriterThread");
 
@@ -161,6 +174,13 @@ public final class AsyncJournalWriter {
     mFlushBatchTimeNs = TimeUnit.NANOSECONDS.convert(
         ServerConfiguration.getMs(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS),
         TimeUnit.MILLISECONDS);
+    if (ServerConfiguration.getBoolean(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_ADAPTIVE_ENABLED)) {
+      long maxBatchSize =
+          ServerConfiguration.getLong(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_SIZE_MAX);
+      mBatchSizer = new AdaptiveBatchSizer(Math.min(MIN_BATCH_SIZE, maxBatchSize), maxBatchSize);
+    } else {
+      mBatchSizer = null;
+    }
     mJournalSinks = journalSinks;
     mFlushThread.start();
   }
@@ -266,9 +286,16 @@ public final class AsyncJournalWriter {
 
       try {
         long startTime = System.nanoTime();
+        // Only drain the entries queued when the batch started, so that entries appended while
+        // the batch is written do not hold back the flush of earlier ones.
+        long batchLimit = Math.max(1, mCounter.get() - mWriteCounter);
+        if (mBatchSizer != null) {
+          batchLimit = Math.min(batchLimit, mBatchSizer.getBatchLimit());
+        }
+        long written = 0;
 
         // Write pending entries to journal.
-        while (!mQueue.isEmpty()) {
+        while (written < batchLimit) {
           // Get, but do not remove, the head entry.
           JournalEntry entry = mQueue.peek();
           if (entry == null) {
@@ -280,6 +307,7 @@ public final class AsyncJournalWriter {
           // Remove the head entry, after the entry was successfully written.
           mQueue.poll();
           mWriteCounter++;
+          written++;
 
           if (((System.nanoTime() - startTime) >= mFlushBatchTimeNs) && !mStopFlushing) {
             // This thread has been writing to the journal for enough time. Break out of the
@@ -290,30 +318,34 @@ public final class AsyncJournalWriter {
 
         // Either written new entries or previous flush had been failed.
         if (mFlushCounter.get() < mWriteCounter) {
+          long flushStartTime = System.nanoTime();
           try (Timer.Context ctx = MetricsSystem
               .timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName()).time()) {
             mJournalWriter.flush();
           }
           JournalUtils.sinkFlush(mJournalSinks);
+          long endTime = System.nanoTime();
+          Metrics.JOURNAL_ENTRIES_FLUSHED.inc(mWriteCounter - mFlushCounter.get());
+          Metrics.JOURNAL_BATCH_TIMER.update(endTime - startTime, TimeUnit.NANOSECONDS);
           mFlushCounter.set(mWriteCounter);
+          if (mBatchSizer != null) {
+            mBatchSizer.update(written, flushStartTime - startTime, endTime - flushStartTime,
+                mCounter.get() - mWriteCounter);
+          }
         }
 
         // Notify tickets that have been served to wake up.
-        Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
-        while (ticketIterator.hasNext()) {
-          FlushTicket ticket = ticketIterator.next();
-          if (ticket.getTargetCounter() <= mFlushCounter.get()) {
-            ticket.setCompleted();
-            ticketIterator.remove();
-          }
+        long flushed = mFlushCounter.get();
+        FlushTicket ticket;
+        while ((ticket = mTickets.peek()) != null && ticket.getTargetCounter() <= flushed) {
+          // A concurrently added ticket may have taken the head, but it is served as well.
+          mTickets.poll().setCompleted();
         }
       } catch (IOException | JournalClosedException exc) {
         Metrics.JOURNAL_FLUSH_FAILURE.inc();
         // Release only tickets that have been flushed. Fail the rest.
-        Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
-        while (ticketIterator.hasNext()) {
-          FlushTicket ticket = ticketIterator.next();
-          ticketIterator.remove();
+        FlushTicket ticket;
+        while ((ticket = mTickets.poll()) != null) {
           if (ticket.getTargetCounter() <= mFlushCounter.get()) {
             ticket.setCompleted();
           } else {
@@ -339,7 +371,7 @@ public final class AsyncJournalWriter {
 
     // Submit the ticket for flush thread to process.
     FlushTicket ticket = new FlushTicket(targetCounter);
-    mTicketSet.add(ticket);
+    mTickets.add(ticket);
 
     try {
       // Give a permit for flush thread to run.
@@ -376,6 +408,10 @@ public final class AsyncJournalWriter {
   private static final class Metrics {
     private static final Counter JOURNAL_FLUSH_FAILURE =
         MetricsSystem.counter(MetricKey.MASTER_JOURNAL_FLUSH_FAILURE.getName());
+    private static final Counter JOURNAL_ENTRIES_FLUSHED =
+        MetricsSystem.counter(MetricKey.MASTER_JOURNAL_ENTRIES_FLUSHED.getName());
+    private static final Timer JOURNAL_BATCH_TIMER =
+        MetricsSystem.timer(MetricKey.MASTER_JOURNAL_BATCH_TIMER.getName());
 
     private Metrics() {} // prevent instantiation
   }
@@ -20,15 +20,21 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
 
 /**
- * Class for reading journal entries from an input stream.
+ * Class for reading journal entries from an input stream. Batch frames written by
+ * {@link JournalEntryBatchCodec} are expanded transparently, so callers only ever see the
+ * individual entries.
  */
 public class JournalEntryStreamReader implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(JournalEntryStreamReader.class);
 
   private final InputStream mStream;
   private byte[] mBuffer = new byte[4096];
+  /** Entries decoded from the last batch frame which have not been returned yet. */
+  private final Queue<JournalEntry> mBatchedEntries = new ArrayDeque<>();
 
   /**
    * @param stream the stream to read from
@@ -43,6 +49,17 @@ public class JournalEntryStreamReader implements Closeable {
    * @return the journal entry, null if no journal entry is found
    */
   public JournalEntry readEntry() throws IOException {
+    while (mBatchedEntries.isEmpty()) {
+      JournalEntry entry = readFramedEntry();
+      if (entry == null || !entry.hasBatch()) {
+        return entry;
+      }
+      mBatchedEntries.addAll(JournalEntryBatchCodec.decode(entry.getBatch()));
+    }
+    return mBatchedEntries.poll();
+  }
+
+  private JournalEntry readFramedEntry() throws IOException {
     int firstByte = mStream.read();
     if (firstByte == -1) {
       return null;
@@ -25,13 +25,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * Context for storing master journal information.
+ * Context for storing master journal information. Entries may be appended concurrently, e.g. by
+ * the parallel metadata sync, and closing the context waits for all of them to be flushed.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class MasterJournalContext implements JournalContext {
   private static final Logger LOG = LoggerFactory.getLogger(MasterJournalContext.class);
   private static final long INVALID_FLUSH_COUNTER = -1;
@@ -41,7 +43,8 @@ public final class MasterJournalContext implements JournalContext {
       (int) ServerConfiguration.getMs(PropertyKey.MASTER_JOURNAL_FLUSH_RETRY_INTERVAL);
 
   private final AsyncJournalWriter mAsyncJournalWriter;
-  private long mFlushCounter;
+  /** The highest flush counter of the entries appended to this context. */
+  private final AtomicLong mFlushCounter;
 
   /**
    * Constructs a {@link MasterJournalContext}.
@@ -51,12 +54,13 @@ public final class MasterJournalContext implements JournalContext {
   public MasterJournalContext(AsyncJournalWriter asyncJournalWriter) {
     Preconditions.checkNotNull(asyncJournalWriter, "asyncJournalWriter");
     mAsyncJournalWriter = asyncJournalWriter;
-    mFlushCounter = INVALID_FLUSH_COUNTER;
+    mFlushCounter = new AtomicLong(INVALID_FLUSH_COUNTER);
   }
 
   @Override
   public void append(JournalEntry entry) {
-    mFlushCounter = mAsyncJournalWriter.appendEntry(entry);
+    long flushCounter = mAsyncJournalWriter.appendEntry(entry);
+    mFlushCounter.accumulateAndGet(flushCounter, Math::max);
   }
 
   /**
@@ -64,7 +68,8 @@ public final class MasterJournalContext implements JournalContext {
    * {@link #INVALID_FLUSH_COUNTER}, this is a noop.
    */
   private void waitForJournalFlush() throws UnavailableException {
-    if (mFlushCounter == INVALID_FLUSH_COUNTER) {
+    long flushCounter = mFlushCounter.get();
+    if (flushCounter == INVALID_FLUSH_COUNTER) {
       // Check this before the precondition.
       return;
     }
@@ -72,7 +77,7 @@ public final class MasterJournalContext implements JournalContext {
     RetryPolicy retry = new TimeoutRetry(FLUSH_RETRY_TIMEOUT_MS, FLUSH_RETRY_INTERVAL_MS);
     while (retry.attempt()) {
       try {
-        mAsyncJournalWriter.flush(mFlushCounter);
+        mAsyncJournalWriter.flush(flushCounter);
         return;
       } catch (IOException e) {
         LOG.warn("Journal flush failed. retrying...", e);
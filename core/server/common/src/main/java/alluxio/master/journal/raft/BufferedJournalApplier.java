@@ -12,6 +12,8 @@
 package alluxio.master.journal.raft;
 
 import alluxio.ProcessUtils;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.master.journal.AbstractCatchupThread;
 import alluxio.master.journal.CatchupFuture;
 import alluxio.master.journal.JournalEntryAssociation;
@@ -25,6 +27,7 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.IOException;
@@ -43,6 +46,11 @@ import java.util.function.Supplier;
  * when it wants new entries to be processed. These buffered entries will be applied to masters
  * when this applier is resumed.
  *
+ * When parallel apply is enabled, entries are handed to a {@link ParallelJournalApplier} which
+ * applies the entries of different masters concurrently. The applier waits for those entries to
+ * be applied whenever it is suspended, resumed or finishes catching up, so callers observe the
+ * same state as with serial application at those points.
+ *
  * TODO(ggezer): Extend with on-disk buffering.
  */
 @ThreadSafe
@@ -59,9 +67,16 @@ public class BufferedJournalApplier {
   private final Map<String, RaftJournal> mJournals;
   /** A supplier of journal sinks for this applier. */
   private final Supplier<Set<JournalSink>> mJournalSinks;
+  /** Applies entries for different masters concurrently, or null if entries are applied inline. */
+  @Nullable
+  private final ParallelJournalApplier mParallelApplier;
 
-  /** The last sequence applied. */
-  private long mLastAppliedSequence = -1;
+  /**
+   * The last sequence handed to masters. It has also been applied, unless entries are applied
+   * in parallel, in which case {@link #getLastAppliedSequence()} tracks how far they have been
+   * applied.
+   */
+  private volatile long mLastSubmittedSequence = -1;
 
   /** Whether this state machine is suspended. */
   @GuardedBy("mStateLock")
@@ -90,6 +105,13 @@ public class BufferedJournalApplier {
       Supplier<Set<JournalSink>> journalSinks) {
     mJournals = journals;
     mJournalSinks = journalSinks;
+    if (ServerConfiguration
+        .getBoolean(PropertyKey.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLEL_ENABLED)) {
+      mParallelApplier = new ParallelJournalApplier(journals, journalSinks,
+          ServerConfiguration.getInt(PropertyKey.MASTER_EMBEDDED_JOURNAL_APPLY_QUEUE_SIZE));
+    } else {
+      mParallelApplier = null;
+    }
   }
 
   /**
@@ -133,7 +155,8 @@ public class BufferedJournalApplier {
     try (LockResource stateLock = new LockResource(mStateLock)) {
       Preconditions.checkState(!mSuspended, "Already suspended");
       mSuspended = true;
-      LOG.info("Suspended state machine at sequence: {}", mLastAppliedSequence);
+      awaitApplied();
+      LOG.info("Suspended state machine at sequence: {}", getLastAppliedSequence());
     }
   }
 
@@ -147,7 +170,7 @@ public class BufferedJournalApplier {
       Preconditions.checkState(mSuspended, "Not suspended");
       Preconditions.checkState(!mResumeInProgress, "Resume in progress");
       mResumeInProgress = true;
-      LOG.info("Resuming state machine from sequence: {}", mLastAppliedSequence);
+      LOG.info("Resuming state machine from sequence: {}", getLastAppliedSequence());
     }
 
     // Cancel catching up thread if active.
@@ -183,6 +206,7 @@ public class BufferedJournalApplier {
           mStateLock.lock();
         }
       }
+      awaitApplied();
     } finally {
       mSuspended = false;
       mResumeInProgress = false;
@@ -205,12 +229,13 @@ public class BufferedJournalApplier {
       Preconditions.checkState(mCatchupThread == null || !mCatchupThread.isAlive(),
           "Catch-up task in progress.");
       Preconditions.checkState(sequence >= 0, "Invalid negative sequence: %d", sequence);
-      Preconditions.checkState(mLastAppliedSequence <= sequence,
-          "Can't catchup to past. Current: %d, Requested: %d", mLastAppliedSequence, sequence);
+      long lastAppliedSequence = getLastAppliedSequence();
+      Preconditions.checkState(lastAppliedSequence <= sequence,
+          "Can't catchup to past. Current: %d, Requested: %d", lastAppliedSequence, sequence);
       LOG.info("Catching up state machine to sequence: {}", sequence);
 
       // Complete the request if already at target sequence.
-      if (mLastAppliedSequence == sequence) {
+      if (lastAppliedSequence == sequence) {
         return CatchupFuture.completed();
       }
 
@@ -222,8 +247,36 @@ public class BufferedJournalApplier {
   }
 
   /**
-   * Applies the entry to master and updates last applied sequence.
-   * Calls to it should be serialized.
+   * Waits until all entries handed to masters have been applied.
+   */
+  public void awaitApplied() {
+    if (mParallelApplier != null) {
+      mParallelApplier.awaitApplied();
+    }
+  }
+
+  /**
+   * @return the last sequence which has been applied to masters, along with all earlier sequences
+   */
+  private long getLastAppliedSequence() {
+    if (mParallelApplier != null) {
+      return mParallelApplier.getLastAppliedSequence();
+    }
+    return mLastSubmittedSequence;
+  }
+
+  /**
+   * Stops applying entries to masters.
+   */
+  public void close() {
+    if (mParallelApplier != null) {
+      mParallelApplier.close();
+    }
+  }
+
+  /**
+   * Applies the entry to master, or hands it to the parallel applier, and updates the last
+   * submitted sequence. Calls to it should be serialized.
    */
   private void applyToMaster(Journal.JournalEntry entry) {
     String masterName;
@@ -233,6 +286,11 @@ public class BufferedJournalApplier {
       ProcessUtils.fatalError(LOG, t, "Unrecognized journal entry: %s", entry);
       throw new IllegalStateException();
     }
+    if (mParallelApplier != null) {
+      mParallelApplier.submit(masterName, entry);
+      mLastSubmittedSequence = entry.getSequenceNumber();
+      return;
+    }
     try {
       Journaled master = mJournals.get(masterName).getStateMachine();
       LOG.trace("Applying entry to master {}: {} ", masterName, entry);
@@ -243,7 +301,7 @@ public class BufferedJournalApplier {
           "Failed to apply journal entry to master %s. Entry: %s", masterName, entry);
     }
     // Store last applied sequence.
-    mLastAppliedSequence = entry.getSequenceNumber();
+    mLastSubmittedSequence = entry.getSequenceNumber();
   }
 
   /**
@@ -276,7 +334,7 @@ public class BufferedJournalApplier {
 
     protected void runCatchup() {
       // Spin for catching up until cancelled.
-      while (!mStopCatchingUp && mLastAppliedSequence < mCatchUpEndSequence) {
+      while (!mStopCatchingUp && mLastSubmittedSequence < mCatchUpEndSequence) {
         // Wait until notified for cancellation or more entries.
         synchronized (mSuspendBuffer) {
           while (!mStopCatchingUp && mSuspendBuffer.size() == 0) {
@@ -289,11 +347,12 @@ public class BufferedJournalApplier {
           }
 
           // Catch up as much as possible.
-          while (!mSuspendBuffer.isEmpty() && mLastAppliedSequence < mCatchUpEndSequence) {
+          while (!mSuspendBuffer.isEmpty() && mLastSubmittedSequence < mCatchUpEndSequence) {
             applyToMaster(mSuspendBuffer.remove());
           }
         }
       }
+      awaitApplied();
     }
   }
 }
@@ -15,6 +15,7 @@ import alluxio.ProcessUtils;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.master.journal.CatchupFuture;
+import alluxio.master.journal.JournalEntryBatchCodec;
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.JournalUtils;
 import alluxio.master.journal.Journaled;
@@ -99,6 +100,10 @@ public class JournalStateMachine extends StateMachine implements Snapshottable {
     JournalEntry entry;
     try {
       entry = JournalEntry.parseFrom(commit.command().getSerializedJournalEntry());
+      if (entry.hasBatch()) {
+        entry = JournalEntry.newBuilder()
+            .addAllJournalEntries(JournalEntryBatchCodec.decode(entry.getBatch())).build();
+      }
     } catch (Exception e) {
       ProcessUtils.fatalError(LOG, e,
           "Encountered invalid journal entry in commit: %s.", commit);
@@ -182,6 +187,7 @@ public class JournalStateMachine extends StateMachine implements Snapshottable {
     mSnapshotting = true;
     mLastSnapshotStartTime = System.currentTimeMillis();
     long snapshotId = mNextSequenceNumberToRead - 1;
+    mJournalApplier.awaitApplied();
     try (SnapshotWriterStream sws = new SnapshotWriterStream(writer)) {
       writer.writeLong(snapshotId);
       JournalUtils.writeToCheckpoint(sws, getStateMachines());
@@ -205,6 +211,7 @@ public class JournalStateMachine extends StateMachine implements Snapshottable {
     }
 
     long snapshotId = 0L;
+    mJournalApplier.awaitApplied();
     try (InputStream srs = new SnapshotReaderStream(snapshotReader)) {
       snapshotId = snapshotReader.readLong();
       JournalUtils.restoreFromCheckpoint(new CheckpointInputStream(srs), getStateMachines());
@@ -282,6 +289,7 @@ public class JournalStateMachine extends StateMachine implements Snapshottable {
         ProcessUtils.fatalError(LOG, e, "State-machine failed to catch up after suspension.");
       }
     }
+    mJournalApplier.awaitApplied();
     mIgnoreApplys = true;
     return mNextSequenceNumberToRead - 1;
   }
@@ -319,5 +327,6 @@ public class JournalStateMachine extends StateMachine implements Snapshottable {
    */
   public void close() {
     mClosed = true;
+    mJournalApplier.close();
   }
 }
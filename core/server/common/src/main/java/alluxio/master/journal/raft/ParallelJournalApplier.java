@@ -0,0 +1,283 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import alluxio.master.journal.JournalUtils;
+import alluxio.master.journal.Journaled;
+import alluxio.master.journal.sink.JournalSink;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Applies journal entries to masters with one apply lane per master.
+ *
+ * The state of each master is only modified by its own journal entries, so entries for different
+ * masters can be applied concurrently as long as the entries for a single master are applied in
+ * the order they were submitted. This is the same guarantee the UFS journal provides, where each
+ * master replays its own journal on its own thread.
+ *
+ * Applied entries are appended to the journal sinks by a single thread in submission order, and
+ * the last applied sequence only advances once every earlier entry has been applied. After the
+ * first entry which fails to apply, no more entries are applied or appended to the sinks, and the
+ * failure is thrown to the submitting thread.
+ *
+ * Callers which need a consistent view across all masters (e.g. before taking a snapshot or
+ * becoming primary) must call {@link #awaitApplied()} first.
+ */
+@ThreadSafe
+public final class ParallelJournalApplier implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelJournalApplier.class);
+
+  /** Journals managed by this applier. */
+  private final Map<String, RaftJournal> mJournals;
+  /** A supplier of journal sinks for this applier. */
+  private final Supplier<Set<JournalSink>> mJournalSinks;
+  /** Number of entries that may be queued for a single master before submissions block. */
+  private final int mLaneCapacity;
+  /** Apply lanes, keyed by master name. */
+  private final Map<String, Lane> mLanes = new ConcurrentHashMap<>();
+  /** Submitted entries in submission order, until they are appended to the sinks. */
+  private final BlockingQueue<PendingEntry> mOrdered;
+  /** The thread appending applied entries to the sinks. */
+  private final Thread mSinkThread;
+  /** Number of entries submitted but not yet applied and appended to the sinks. */
+  private final AtomicLong mPending = new AtomicLong();
+
+  /** The sequence of the last entry which has been applied together with all earlier entries. */
+  private volatile long mLastAppliedSequence = -1;
+  /** The first failure to apply an entry, if any. */
+  private volatile RuntimeException mFailure;
+  private volatile boolean mClosed = false;
+
+  /**
+   * @param journals journals to apply entries to
+   * @param journalSinks journal sinks to append applied entries to
+   * @param laneCapacity number of entries that may be queued for a single master
+   */
+  public ParallelJournalApplier(Map<String, RaftJournal> journals,
+      Supplier<Set<JournalSink>> journalSinks, int laneCapacity) {
+    Preconditions.checkArgument(laneCapacity > 0, "laneCapacity must be positive");
+    mJournals = journals;
+    mJournalSinks = journalSinks;
+    mLaneCapacity = laneCapacity;
+    mOrdered = new LinkedBlockingQueue<>(laneCapacity * Math.max(1, journals.size()));
+    mSinkThread = new Thread(this::appendApplied, "journal-apply-sink");
+    mSinkThread.setDaemon(true);
+    mSinkThread.start();
+  }
+
+  /**
+   * Submits an entry to be applied to a master. Entries submitted for the same master are applied
+   * in submission order. This blocks when the master's lane is full. Calls to it should be
+   * serialized.
+   *
+   * @param masterName the name of the master to apply the entry to
+   * @param entry the entry to apply
+   */
+  public void submit(String masterName, JournalEntry entry) {
+    Preconditions.checkState(!mClosed, "Journal applier is closed");
+    checkFailure();
+    PendingEntry pending = new PendingEntry(entry);
+    mPending.incrementAndGet();
+    // The entry is queued for the sinks first, so that they see entries in submission order.
+    put(mOrdered, pending);
+    mLanes.computeIfAbsent(masterName, Lane::new).submit(pending);
+  }
+
+  /**
+   * Waits until all submitted entries have been applied.
+   */
+  public synchronized void awaitApplied() {
+    while (mPending.get() > 0 && !mClosed && mFailure == null) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for journal entries to apply", e);
+      }
+    }
+    checkFailure();
+  }
+
+  /**
+   * @return the sequence of the last entry which has been applied, after all earlier entries
+   */
+  public long getLastAppliedSequence() {
+    return mLastAppliedSequence;
+  }
+
+  /**
+   * Stops all apply lanes. Entries which have not been applied yet are dropped.
+   */
+  @Override
+  public void close() {
+    mClosed = true;
+    for (Lane lane : mLanes.values()) {
+      lane.interrupt();
+    }
+    mSinkThread.interrupt();
+    synchronized (this) {
+      notifyAll();
+    }
+  }
+
+  private void checkFailure() {
+    RuntimeException failure = mFailure;
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private synchronized void fail(RuntimeException e) {
+    if (mFailure == null) {
+      mFailure = e;
+    }
+    notifyAll();
+  }
+
+  private static <T> void put(BlockingQueue<T> queue, T item) {
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while submitting journal entry", e);
+    }
+  }
+
+  /**
+   * Appends entries to the sinks in submission order, as soon as each has been applied.
+   */
+  private void appendApplied() {
+    boolean stopped = false;
+    while (!mClosed) {
+      PendingEntry pending;
+      try {
+        pending = mOrdered.take();
+      } catch (InterruptedException e) {
+        break;
+      }
+      while (!pending.mApplied && !mClosed) {
+        LockSupport.park(this);
+      }
+      if (!pending.mApplied) {
+        break;
+      }
+      // Entries following the first failed entry are not appended, even if they were applied.
+      stopped |= pending.mFailed;
+      if (!stopped) {
+        try {
+          JournalUtils.sinkAppend(mJournalSinks, pending.mEntry);
+          mLastAppliedSequence = pending.mEntry.getSequenceNumber();
+        } catch (RuntimeException e) {
+          LOG.error("Failed to append journal entry to sinks: {}", pending.mEntry, e);
+          stopped = true;
+          fail(e);
+        }
+      }
+      if (mPending.decrementAndGet() == 0) {
+        synchronized (this) {
+          notifyAll();
+        }
+      }
+    }
+    synchronized (this) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * A submitted entry, marked once its lane is done with it.
+   */
+  private static final class PendingEntry {
+    private final JournalEntry mEntry;
+    /** Whether the entry failed to apply or was dropped after a failure, set before mApplied. */
+    private boolean mFailed;
+    private volatile boolean mApplied;
+
+    PendingEntry(JournalEntry entry) {
+      mEntry = entry;
+    }
+  }
+
+  /**
+   * A thread applying the entries of a single master in order.
+   */
+  private final class Lane extends Thread {
+    private final String mMasterName;
+    private final BlockingQueue<PendingEntry> mQueue;
+
+    Lane(String masterName) {
+      super("journal-apply-" + masterName);
+      mMasterName = masterName;
+      mQueue = new ArrayBlockingQueue<>(mLaneCapacity);
+      setDaemon(true);
+      start();
+    }
+
+    void submit(PendingEntry entry) {
+      put(mQueue, entry);
+    }
+
+    private void apply(JournalEntry entry) {
+      try {
+        Journaled master = mJournals.get(mMasterName).getStateMachine();
+        LOG.trace("Applying entry to master {}: {} ", mMasterName, entry);
+        master.processJournalEntry(entry);
+      } catch (Exception t) {
+        JournalUtils.handleJournalReplayFailure(LOG, t,
+            "Failed to apply journal entry to master %s. Entry: %s", mMasterName, entry);
+      }
+    }
+
+    @Override
+    public void run() {
+      while (!mClosed) {
+        PendingEntry pending;
+        try {
+          pending = mQueue.take();
+        } catch (InterruptedException e) {
+          break;
+        }
+        // Once any entry has failed, the remaining entries are dropped.
+        if (mFailure == null) {
+          try {
+            apply(pending.mEntry);
+          } catch (RuntimeException e) {
+            // Failures which are not tolerated are surfaced to the submitting thread.
+            pending.mFailed = true;
+            fail(e);
+          }
+        } else {
+          pending.mFailed = true;
+        }
+        pending.mApplied = true;
+        LockSupport.unpark(mSinkThread);
+      }
+    }
+  }
+}
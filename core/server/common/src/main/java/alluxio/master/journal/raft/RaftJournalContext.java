@@ -27,7 +27,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Wrapper context around {@link MasterJournalContext} for holding the raft journal lock over the
- * lifetime of the journal context.
+ * lifetime of the journal context. Entries may be appended from several threads, but the context
+ * must be closed by the thread which created it, as that thread holds the lock.
  */
 @NotThreadSafe
 public final class RaftJournalContext implements JournalContext {
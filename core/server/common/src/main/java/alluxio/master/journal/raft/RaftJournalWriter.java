@@ -14,6 +14,7 @@ package alluxio.master.journal.raft;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.JournalClosedException;
+import alluxio.master.journal.JournalEntryBatchCodec;
 import alluxio.master.journal.JournalWriter;
 import alluxio.proto.journal.Journal.JournalEntry;
 
@@ -39,6 +40,9 @@ public class RaftJournalWriter implements JournalWriter {
   private static final Logger LOG = LoggerFactory.getLogger(RaftJournalWriter.class);
   // How long to wait for a response from the cluster before giving up and trying again.
   private final long mWriteTimeoutMs;
+  /** Whether flushed entries are submitted as a checksummed batch frame. */
+  private final boolean mBatchFraming;
+  private final boolean mBatchCompression;
 
   private final AtomicLong mNextSequenceNumberToWrite;
   private final AtomicLong mLastSubmittedSequenceNumber;
@@ -62,6 +66,10 @@ public class RaftJournalWriter implements JournalWriter {
     mClosed = false;
     mWriteTimeoutMs =
         ServerConfiguration.getMs(PropertyKey.MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT);
+    mBatchFraming =
+        ServerConfiguration.getBoolean(PropertyKey.MASTER_JOURNAL_BATCH_FRAMING_ENABLED);
+    mBatchCompression =
+        ServerConfiguration.getBoolean(PropertyKey.MASTER_JOURNAL_BATCH_COMPRESSION_ENABLED);
   }
 
   @Override
@@ -90,7 +98,11 @@ public class RaftJournalWriter implements JournalWriter {
         // number when applying them. This could happen if submit fails and we re-submit the same
         // entry on retry.
         mLastSubmittedSequenceNumber.set(flushSN);
-        mClient.submit(new JournalEntryCommand(mJournalEntryBuilder.build())).get(mWriteTimeoutMs,
+        JournalEntry entry = mJournalEntryBuilder.build();
+        if (mBatchFraming) {
+          entry = JournalEntryBatchCodec.encode(entry.getJournalEntriesList(), mBatchCompression);
+        }
+        mClient.submit(new JournalEntryCommand(entry)).get(mWriteTimeoutMs,
             TimeUnit.MILLISECONDS);
         mLastCommittedSequenceNumber.set(flushSN);
       } catch (InterruptedException e) {
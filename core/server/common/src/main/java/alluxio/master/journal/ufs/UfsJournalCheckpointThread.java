@@ -27,6 +27,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -57,6 +60,11 @@ public final class UfsJournalCheckpointThread extends Thread {
   private final int mJournalCheckpointSleepTimeMs;
   /** Writes a new checkpoint after processing this many journal entries. */
   private final long mCheckpointPeriodEntries;
+  /**
+   * Minimum size of the logs after the latest checkpoint, relative to the size of the checkpoint,
+   * before writing a new checkpoint.
+   */
+  private final double mCheckpointLogSizeRatio;
   /** Object for sycnhronizing accesses to mCheckpointing. */
   private final Object mCheckpointingLock = new Object();
   /** Whether we are currently creating a checkpoint. */
@@ -79,6 +87,15 @@ public final class UfsJournalCheckpointThread extends Thread {
    */
   private long mNextSequenceNumberToCheckpoint;
 
+  /**
+   * The sequence number to read up to before comparing the log and checkpoint sizes again, after
+   * the logs were found too small to checkpoint.
+   */
+  private long mNextLogSizeCheckSequenceNumber;
+
+  /** The sizes of the checkpoint and completed log files, which no longer change, by location. */
+  private final Map<String, Long> mJournalFileSizes = new HashMap<>();
+
   /** A supplier of journal sinks for this journal. */
   private final Supplier<Set<JournalSink>> mJournalSinks;
 
@@ -112,6 +129,8 @@ public final class UfsJournalCheckpointThread extends Thread {
     mJournalReader = new UfsJournalReader(mJournal, startSequence, false);
     mCheckpointPeriodEntries =
         ServerConfiguration.getLong(PropertyKey.MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES);
+    mCheckpointLogSizeRatio =
+        ServerConfiguration.getDouble(PropertyKey.MASTER_JOURNAL_CHECKPOINT_LOG_SIZE_RATIO);
     mJournalSinks = journalSinks;
   }
 
@@ -261,7 +280,8 @@ public final class UfsJournalCheckpointThread extends Thread {
       return;
     }
     long nextSequenceNumber = mJournalReader.getNextSequenceNumber();
-    if (nextSequenceNumber - mNextSequenceNumberToCheckpoint < mCheckpointPeriodEntries) {
+    if (nextSequenceNumber - mNextSequenceNumberToCheckpoint < mCheckpointPeriodEntries
+        || nextSequenceNumber < mNextLogSizeCheckSequenceNumber) {
       return;
     }
     try {
@@ -274,10 +294,74 @@ public final class UfsJournalCheckpointThread extends Thread {
     if (nextSequenceNumber - mNextSequenceNumberToCheckpoint < mCheckpointPeriodEntries) {
       return;
     }
+    try {
+      if (!logsOutgrewCheckpoint()) {
+        // Listing the journal is expensive, so check again after another checkpoint period
+        mNextLogSizeCheckSequenceNumber = nextSequenceNumber + mCheckpointPeriodEntries;
+        return;
+      }
+    } catch (IOException e) {
+      LOG.warn("{}: Failed to compare the journal log and checkpoint sizes with error {}.",
+          mMaster.getName(), e.getMessage());
+      return;
+    }
 
     writeCheckpoint(nextSequenceNumber);
   }
 
+  /**
+   * Checks whether the logs written after the latest checkpoint have grown large enough, relative
+   * to the checkpoint, to write a new full checkpoint. This only delays checkpoints, so a large
+   * namespace with few changes doesn't have its full state rewritten every checkpoint period.
+   *
+   * @return whether a new checkpoint should be written
+   */
+  private boolean logsOutgrewCheckpoint() throws IOException {
+    if (mCheckpointLogSizeRatio <= 0) {
+      return true;
+    }
+    UfsJournalSnapshot snapshot = UfsJournalSnapshot.getSnapshot(mJournal);
+    UfsJournalFile checkpoint = snapshot.getLatestCheckpoint();
+    if (checkpoint == null) {
+      return true;
+    }
+    Set<String> files = new HashSet<>();
+    files.add(checkpoint.getLocation().toString());
+    long checkpointBytes = getFileSize(checkpoint);
+    long logBytes = 0;
+    for (UfsJournalFile log : snapshot.getLogs()) {
+      if (log.getEnd() > checkpoint.getEnd()) {
+        files.add(log.getLocation().toString());
+        logBytes += getFileSize(log);
+      }
+    }
+    // Forget the files which have been garbage collected or are before the latest checkpoint
+    mJournalFileSizes.keySet().retainAll(files);
+    if (logBytes < checkpointBytes * mCheckpointLogSizeRatio) {
+      LOG.debug("{}: Skipping checkpoint, {} bytes of logs since the latest checkpoint of {} bytes",
+          mMaster.getName(), logBytes, checkpointBytes);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param file a checkpoint or log file
+   * @return the size of the file, looked up only once unless the log is incomplete
+   */
+  private long getFileSize(UfsJournalFile file) throws IOException {
+    String location = file.getLocation().toString();
+    Long size = mJournalFileSizes.get(location);
+    if (size != null) {
+      return size;
+    }
+    size = mJournal.getUfs().getFileStatus(location).getContentLength();
+    if (!file.isIncompleteLog()) {
+      mJournalFileSizes.put(location, size);
+    }
+    return size;
+  }
+
   private void writeCheckpoint(long nextSequenceNumber) {
     LOG.info("{}: Writing checkpoint [sequence number {}].", mMaster.getName(), nextSequenceNumber);
     try {
@@ -17,6 +17,7 @@ import alluxio.conf.ServerConfiguration;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.JournalClosedException;
 import alluxio.exception.JournalClosedException.IOJournalClosedException;
+import alluxio.master.journal.JournalEntryBatchCodec;
 import alluxio.master.journal.JournalEntryStreamReader;
 import alluxio.master.journal.JournalWriter;
 import alluxio.metrics.MetricKey;
@@ -39,6 +40,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 
@@ -62,6 +64,10 @@ final class UfsJournalLogWriter implements JournalWriter {
 
   /** The maximum size in bytes of a log file. */
   private final long mMaxLogSize;
+  /** Whether the entries of each flush are written as a single batch frame. */
+  private final boolean mBatchFraming;
+  /** Whether batch frames are compressed. */
+  private final boolean mBatchCompression;
 
   /** The next sequence number to use. */
   private long mNextSequenceNumber;
@@ -90,6 +96,12 @@ final class UfsJournalLogWriter implements JournalWriter {
    * journal entries.
    */
   private Queue<JournalEntry> mEntriesToFlush;
+  /**
+   * Journal entries which have not been written to the underlying {@link DataOutputStream} yet
+   * because they are waiting to be written as a batch frame on the next flush. This is only used
+   * when batch framing is enabled, and is always a suffix of {@link #mEntriesToFlush}.
+   */
+  private List<JournalEntry> mEntriesToFrame;
 
   /**
    * Creates a new instance of {@link UfsJournalLogWriter}.
@@ -102,6 +114,10 @@ final class UfsJournalLogWriter implements JournalWriter {
     mUfs = mJournal.getUfs();
     mNextSequenceNumber = nextSequenceNumber;
     mMaxLogSize = ServerConfiguration.getBytes(PropertyKey.MASTER_JOURNAL_LOG_SIZE_BYTES_MAX);
+    mBatchFraming =
+        ServerConfiguration.getBoolean(PropertyKey.MASTER_JOURNAL_BATCH_FRAMING_ENABLED);
+    mBatchCompression =
+        ServerConfiguration.getBoolean(PropertyKey.MASTER_JOURNAL_BATCH_COMPRESSION_ENABLED);
 
     mRotateLogForNextWrite = true;
     UfsJournalFile currentLog = UfsJournalSnapshot.getCurrentLog(mJournal);
@@ -110,6 +126,7 @@ final class UfsJournalLogWriter implements JournalWriter {
     }
     mGarbageCollector = new UfsJournalGarbageCollector(mJournal);
     mEntriesToFlush = new ArrayDeque<>();
+    mEntriesToFrame = new ArrayList<>();
   }
 
   public synchronized void write(JournalEntry entry) throws IOException, JournalClosedException {
@@ -123,7 +140,11 @@ final class UfsJournalLogWriter implements JournalWriter {
     try {
       JournalEntry entryToWrite =
           entry.toBuilder().setSequenceNumber(mNextSequenceNumber).build();
-      entryToWrite.writeDelimitedTo(mJournalOutputStream);
+      if (mBatchFraming) {
+        mEntriesToFrame.add(entryToWrite);
+      } else {
+        entryToWrite.writeDelimitedTo(mJournalOutputStream);
+      }
       LOG.debug("Adding journal entry (seq={}) to retryList with {} entries.",
           entryToWrite.getSequenceNumber(), mEntriesToFlush.size());
       mEntriesToFlush.add(entryToWrite);
@@ -154,7 +175,8 @@ final class UfsJournalLogWriter implements JournalWriter {
    *    entry in mEntriesToFlush, say Z. If Z > Y, then it means journal entries in [Y, Z) are
    *    missing, and Alluxio cannot recover. Otherwise, for each journal entry in
    *    {@link #mEntriesToFlush}, if its sequence number is larger than or equal to Y, retry
-   *    writing it to UFS by calling the {@code UfsJournalLogWriter#write} method.
+   *    writing it to UFS by calling the {@code UfsJournalLogWriter#write} method. When batch
+   *    framing is enabled, these entries are rewritten as a single frame instead.
    */
   private void maybeRecoverFromUfsFailures() throws IOException, JournalClosedException {
     if (!mNeedsRecovery) {
@@ -178,19 +200,32 @@ final class UfsJournalLogWriter implements JournalWriter {
         }
         long retryEndSeq = lastPersistSeq;
         LOG.info("Retry writing unwritten journal entries from seq {}", lastPersistSeq + 1);
+        List<JournalEntry> retryEntries = new ArrayList<>();
         for (JournalEntry entry : mEntriesToFlush) {
           if (entry.getSequenceNumber() > lastPersistSeq) {
-            try {
+            retryEntries.add(entry);
+          }
+        }
+        try {
+          if (mBatchFraming) {
+            if (!retryEntries.isEmpty()) {
+              writeBatchFrame(retryEntries);
+            }
+            mEntriesToFrame.clear();
+          } else {
+            for (JournalEntry entry : retryEntries) {
               entry.toBuilder().build().writeDelimitedTo(mJournalOutputStream);
-              retryEndSeq = entry.getSequenceNumber();
-            } catch (IOJournalClosedException e) {
-              throw e.toJournalClosedException();
-            } catch (IOException e) {
-              throw new IOException(ExceptionMessage.JOURNAL_WRITE_FAILURE
-                  .getMessageWithUrl(RuntimeConstants.ALLUXIO_DEBUG_DOCS_URL,
-                      mJournalOutputStream.currentLog(), e.getMessage()), e);
             }
           }
+          if (!retryEntries.isEmpty()) {
+            retryEndSeq = retryEntries.get(retryEntries.size() - 1).getSequenceNumber();
+          }
+        } catch (IOJournalClosedException e) {
+          throw e.toJournalClosedException();
+        } catch (IOException e) {
+          throw new IOException(ExceptionMessage.JOURNAL_WRITE_FAILURE
+              .getMessageWithUrl(RuntimeConstants.ALLUXIO_DEBUG_DOCS_URL,
+                  mJournalOutputStream.currentLog(), e.getMessage()), e);
         }
         LOG.info("Finished writing unwritten journal entries from {} to {}.",
             lastPersistSeq + 1, retryEndSeq);
@@ -334,9 +369,33 @@ final class UfsJournalLogWriter implements JournalWriter {
     }
   }
 
+  /**
+   * Writes the given entries to the current log as a single batch frame.
+   *
+   * @param entries the entries to write
+   */
+  private void writeBatchFrame(List<JournalEntry> entries) throws IOException {
+    JournalEntryBatchCodec.encode(entries, mBatchCompression)
+        .writeDelimitedTo(mJournalOutputStream);
+  }
+
   public synchronized void flush() throws IOException, JournalClosedException {
     maybeRecoverFromUfsFailures();
 
+    if (!mEntriesToFrame.isEmpty()) {
+      try {
+        writeBatchFrame(mEntriesToFrame);
+        mEntriesToFrame.clear();
+      } catch (IOJournalClosedException e) {
+        throw e.toJournalClosedException();
+      } catch (IOException e) {
+        mNeedsRecovery = true;
+        throw new IOException(ExceptionMessage.JOURNAL_WRITE_FAILURE
+            .getMessageWithUrl(RuntimeConstants.ALLUXIO_DEBUG_DOCS_URL,
+                mJournalOutputStream.currentLog(), e.getMessage()), e);
+      }
+    }
+
     if (mJournalOutputStream == null || mJournalOutputStream.bytesWritten() == 0) {
       // There is nothing to flush.
       return;
@@ -371,6 +430,18 @@ final class UfsJournalLogWriter implements JournalWriter {
 
   @Override
   public synchronized void close() throws IOException {
+    if (mJournalOutputStream != null && !mNeedsRecovery && !mEntriesToFrame.isEmpty()) {
+      // Entries waiting for their frame must reach the log before it is completed. If this fails,
+      // the log is left incomplete so that it is recovered the same way as after a crash.
+      try {
+        writeBatchFrame(mEntriesToFrame);
+        mEntriesToFrame.clear();
+      } catch (IOException e) {
+        mGarbageCollector.close();
+        mClosed = true;
+        throw e;
+      }
+    }
     Closer closer = Closer.create();
     if (mJournalOutputStream != null) {
       closer.register(mJournalOutputStream);
@@ -18,6 +18,7 @@ import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
 import org.apache.commons.io.IOUtils;
 
 import java.io.File;
@@ -27,6 +28,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.zip.Deflater;
 
 /**
  * Utility methods for working with tar archives.
@@ -41,7 +43,23 @@ public final class TarUtils {
    */
   public static void writeTarGz(Path dirPath, OutputStream output)
       throws IOException, InterruptedException {
-    GzipCompressorOutputStream zipStream = new GzipCompressorOutputStream(output);
+    writeTarGz(dirPath, output, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Creates a gzipped tar archive from the given path with the given compression level, streaming
+   * the data to the give output stream.
+   *
+   * @param dirPath the path to archive
+   * @param output the output stream to write the data to
+   * @param compressionLevel the gzip compression level, from 0 (no compression) to 9 (best
+   *        compression), or -1 for the default level
+   */
+  public static void writeTarGz(Path dirPath, OutputStream output, int compressionLevel)
+      throws IOException, InterruptedException {
+    GzipParameters params = new GzipParameters();
+    params.setCompressionLevel(compressionLevel);
+    GzipCompressorOutputStream zipStream = new GzipCompressorOutputStream(output, params);
     TarArchiveOutputStream archiveStream = new TarArchiveOutputStream(zipStream);
     for (Path subPath : Files.walk(dirPath).collect(toList())) {
       if (Thread.interrupted()) {
@@ -0,0 +1,55 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AdaptiveBatchSizer}.
+ */
+public final class AdaptiveBatchSizerTest {
+  @Test
+  public void growsWithBacklog() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 100);
+    assertEquals(16, sizer.getBatchLimit());
+    sizer.update(16, 16_000, 1_000_000, 500);
+    assertEquals(32, sizer.getBatchLimit());
+    sizer.update(32, 32_000, 1_000_000, 500);
+    sizer.update(64, 64_000, 1_000_000, 500);
+    assertEquals(100, sizer.getBatchLimit());
+  }
+
+  @Test
+  public void decaysToFlushLatencyWithoutBacklog() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 10_000);
+    for (int i = 0; i < 10; i++) {
+      sizer.update(1000, 1_000_000, 1_000_000, 1000);
+    }
+    assertEquals(10_000, sizer.getBatchLimit());
+    // Writing an entry takes 1us and flushing 100us, so the limit settles at 100 entries.
+    for (int i = 0; i < 50; i++) {
+      sizer.update(100, 100_000, 100_000, 0);
+    }
+    assertEquals(100, sizer.getBatchLimit());
+  }
+
+  @Test
+  public void neverBelowMinimum() {
+    AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(16, 10_000);
+    for (int i = 0; i < 10; i++) {
+      sizer.update(1, 1_000_000, 1_000, 0);
+    }
+    assertEquals(16, sizer.getBatchLimit());
+  }
+}
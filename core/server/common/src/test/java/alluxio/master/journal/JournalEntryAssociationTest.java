@@ -121,6 +121,8 @@ public class JournalEntryAssociationTest {
     expectedNumFields--;
     // subtract 1 for journal_entries
     expectedNumFields--;
+    // subtract 1 for batch
+    expectedNumFields--;
     assertEquals(expectedNumFields, ENTRIES.size());
   }
 }
@@ -0,0 +1,115 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.proto.journal.File.AddMountPointEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.proto.journal.Journal.JournalEntryBatch;
+
+import com.google.protobuf.ByteString;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link JournalEntryBatchCodec}.
+ */
+public final class JournalEntryBatchCodecTest {
+  @Rule
+  public ExpectedException mThrown = ExpectedException.none();
+
+  @Test
+  public void encodeDecode() throws IOException {
+    List<JournalEntry> entries = entries(0, 100);
+    for (boolean compress : new boolean[] {false, true}) {
+      JournalEntry frame = JournalEntryBatchCodec.encode(entries, compress);
+      assertTrue(frame.hasBatch());
+      assertEquals(compress, frame.getBatch().getCompressed());
+      assertEquals(entries, JournalEntryBatchCodec.decode(frame.getBatch()));
+    }
+  }
+
+  @Test
+  public void compressionShrinksFrame() {
+    List<JournalEntry> entries = entries(0, 100);
+    assertTrue(JournalEntryBatchCodec.encode(entries, true).getSerializedSize()
+        < JournalEntryBatchCodec.encode(entries, false).getSerializedSize());
+  }
+
+  @Test
+  public void corruptFrame() throws IOException {
+    JournalEntryBatch batch = JournalEntryBatchCodec.encode(entries(0, 10), true).getBatch();
+    byte[] bytes = batch.getEntries().toByteArray();
+    bytes[bytes.length / 2] ^= 0x1;
+    mThrown.expect(IOException.class);
+    mThrown.expectMessage("checksum");
+    JournalEntryBatchCodec.decode(batch.toBuilder().setEntries(ByteString.copyFrom(bytes)).build());
+  }
+
+  @Test
+  public void streamReaderExpandsFrames() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    entry(0).writeDelimitedTo(out);
+    JournalEntryBatchCodec.encode(entries(1, 5), true).writeDelimitedTo(out);
+    JournalEntryBatchCodec.encode(entries(6, 3), false).writeDelimitedTo(out);
+    entry(9).writeDelimitedTo(out);
+
+    List<JournalEntry> read = new ArrayList<>();
+    try (JournalEntryStreamReader reader =
+        new JournalEntryStreamReader(new ByteArrayInputStream(out.toByteArray()))) {
+      JournalEntry entry;
+      while ((entry = reader.readEntry()) != null) {
+        read.add(entry);
+      }
+    }
+    assertEquals(entries(0, 10), read);
+  }
+
+  @Test
+  public void streamReaderIgnoresTruncatedFrame() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    entry(0).writeDelimitedTo(out);
+    JournalEntryBatchCodec.encode(entries(1, 5), true).writeDelimitedTo(out);
+    byte[] bytes = out.toByteArray();
+
+    try (JournalEntryStreamReader reader =
+        new JournalEntryStreamReader(new ByteArrayInputStream(bytes, 0, bytes.length - 1))) {
+      assertEquals(entry(0), reader.readEntry());
+      assertNull(reader.readEntry());
+    }
+  }
+
+  private static List<JournalEntry> entries(long startSN, int count) {
+    List<JournalEntry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      entries.add(entry(startSN + i));
+    }
+    return entries;
+  }
+
+  private static JournalEntry entry(long sequenceNumber) {
+    return JournalEntry.newBuilder().setSequenceNumber(sequenceNumber)
+        .setAddMountPoint(AddMountPointEntry.newBuilder().setAlluxioPath("/mnt/" + sequenceNumber)
+            .setUfsPath("hdfs://localhost:9000/data/" + sequenceNumber))
+        .build();
+  }
+}
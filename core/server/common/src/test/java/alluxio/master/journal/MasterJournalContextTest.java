@@ -0,0 +1,80 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.proto.journal.Journal.JournalEntry;
+
+import org.junit.After;
+import org.junit.Test;
+import org.powermock.api.mockito.PowerMockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link MasterJournalContext}.
+ */
+public class MasterJournalContextTest {
+  private static final int THREADS = 8;
+  private static final int ENTRIES_PER_THREAD = 100;
+
+  @After
+  public void after() throws Exception {
+    ServerConfiguration.reset();
+  }
+
+  /**
+   * Tests that closing the context flushes the entries appended from every thread.
+   */
+  @Test
+  public void concurrentAppends() throws Exception {
+    ServerConfiguration.set(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS, "0ms");
+    JournalWriter journalWriter = PowerMockito.mock(JournalWriter.class);
+    doNothing().when(journalWriter).write(any(JournalEntry.class));
+    doNothing().when(journalWriter).flush();
+    AsyncJournalWriter asyncWriter =
+        new AsyncJournalWriter(journalWriter, Collections::emptySet);
+    MasterJournalContext context = new MasterJournalContext(asyncWriter);
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < ENTRIES_PER_THREAD; j++) {
+            context.append(JournalEntry.getDefaultInstance());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    context.close();
+
+    verify(journalWriter, times(THREADS * ENTRIES_PER_THREAD)).write(any(JournalEntry.class));
+    asyncWriter.close();
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import alluxio.master.NoopMaster;
+import alluxio.master.journal.sink.JournalSink;
+import alluxio.proto.journal.File;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.CommonUtils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Unit tests for {@link ParallelJournalApplier}.
+ */
+public final class ParallelJournalApplierTest {
+  private ParallelJournalApplier mApplier;
+
+  @After
+  public void after() {
+    if (mApplier != null) {
+      mApplier.close();
+    }
+  }
+
+  @Test
+  public void appliesEntriesInOrderPerMaster() throws Exception {
+    RecordingMaster fast = new RecordingMaster(0);
+    RecordingMaster slow = new RecordingMaster(1);
+    Map<String, RaftJournal> journals = new HashMap<>();
+    journals.put("fast", journal(fast));
+    journals.put("slow", journal(slow));
+    mApplier = new ParallelJournalApplier(journals, Collections::emptySet, 4);
+
+    int entryCount = 50;
+    for (int i = 0; i < entryCount; i++) {
+      mApplier.submit("fast", entry(i));
+      mApplier.submit("slow", entry(i));
+    }
+    mApplier.awaitApplied();
+
+    List<Long> expected = new ArrayList<>();
+    for (long i = 0; i < entryCount; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, fast.getApplied());
+    assertEquals(expected, slow.getApplied());
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void surfacesApplyFailures() throws Exception {
+    RecordingMaster failing = new RecordingMaster(0) {
+      @Override
+      public boolean processJournalEntry(JournalEntry entry) {
+        throw new IllegalStateException("failed to apply");
+      }
+    };
+    mApplier = new ParallelJournalApplier(Collections.singletonMap("failing", journal(failing)),
+        Collections::emptySet, 4);
+    mApplier.submit("failing", entry(0));
+    mApplier.awaitApplied();
+  }
+
+  @Test
+  public void appendsToSinksInSequenceOrder() throws Exception {
+    Map<String, RaftJournal> journals = new HashMap<>();
+    journals.put("fast", journal(new RecordingMaster(0)));
+    journals.put("slow", journal(new RecordingMaster(1)));
+    List<Long> sunk = Collections.synchronizedList(new ArrayList<>());
+    JournalSink sink = new JournalSink() {
+      @Override
+      public void append(JournalEntry entry) {
+        sunk.add(entry.getSequenceNumber());
+      }
+    };
+    mApplier = new ParallelJournalApplier(journals, () -> Collections.singleton(sink), 4);
+
+    int entryCount = 50;
+    List<Long> expected = new ArrayList<>();
+    for (int i = 0; i < entryCount; i++) {
+      mApplier.submit(i % 2 == 0 ? "slow" : "fast", entry(i));
+      expected.add((long) i);
+    }
+    mApplier.awaitApplied();
+    assertEquals(expected, sunk);
+    assertEquals(entryCount - 1, mApplier.getLastAppliedSequence());
+  }
+
+  @Test
+  public void lastAppliedSequenceWaitsForEarlierEntries() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    RecordingMaster blocked = new RecordingMaster(0) {
+      @Override
+      public boolean processJournalEntry(JournalEntry entry) {
+        try {
+          latch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.processJournalEntry(entry);
+      }
+    };
+    RecordingMaster fast = new RecordingMaster(0);
+    Map<String, RaftJournal> journals = new HashMap<>();
+    journals.put("blocked", journal(blocked));
+    journals.put("fast", journal(fast));
+    mApplier = new ParallelJournalApplier(journals, Collections::emptySet, 4);
+
+    mApplier.submit("blocked", entry(0));
+    mApplier.submit("fast", entry(1));
+    CommonUtils.waitFor("entry to be applied", () -> fast.getApplied().size() == 1);
+    // Entry 1 is applied, but entry 0 is not yet.
+    assertEquals(-1, mApplier.getLastAppliedSequence());
+
+    latch.countDown();
+    mApplier.awaitApplied();
+    assertEquals(1, mApplier.getLastAppliedSequence());
+  }
+
+  @Test
+  public void stopsAfterFirstFailure() throws Exception {
+    RecordingMaster failing = new RecordingMaster(0) {
+      @Override
+      public boolean processJournalEntry(JournalEntry entry) {
+        if (entry.getSequenceNumber() == 1) {
+          throw new IllegalStateException("failed to apply");
+        }
+        return super.processJournalEntry(entry);
+      }
+    };
+    List<Long> sunk = Collections.synchronizedList(new ArrayList<>());
+    JournalSink sink = new JournalSink() {
+      @Override
+      public void append(JournalEntry entry) {
+        sunk.add(entry.getSequenceNumber());
+      }
+    };
+    mApplier = new ParallelJournalApplier(Collections.singletonMap("failing", journal(failing)),
+        () -> Collections.singleton(sink), 8);
+    try {
+      // Submissions fail too once the failure has been seen.
+      for (int i = 0; i < 5; i++) {
+        mApplier.submit("failing", entry(i));
+      }
+      mApplier.awaitApplied();
+      fail("Expected the apply failure to be thrown");
+    } catch (RuntimeException e) {
+      // expected
+    }
+    assertEquals(Collections.singletonList(0L), failing.getApplied());
+    // Entries applied before the failure are still appended to the sinks.
+    CommonUtils.waitFor("sink to catch up", () -> !sunk.isEmpty());
+    assertEquals(Collections.singletonList(0L), sunk);
+    assertEquals(0, mApplier.getLastAppliedSequence());
+  }
+
+  private static RaftJournal journal(NoopMaster master) {
+    return new RaftJournal(master, URI.create("/"), new AtomicReference<>(),
+        new ReentrantLock());
+  }
+
+  private static JournalEntry entry(long id) {
+    return JournalEntry.newBuilder().setSequenceNumber(id).setInodeLastModificationTime(
+        File.InodeLastModificationTimeEntry.newBuilder().setId(id).build()).build();
+  }
+
+  private static class RecordingMaster extends NoopMaster {
+    private final long mApplyDelayMs;
+    private final List<Long> mApplied = Collections.synchronizedList(new ArrayList<>());
+
+    RecordingMaster(long applyDelayMs) {
+      mApplyDelayMs = applyDelayMs;
+    }
+
+    @Override
+    public boolean processJournalEntry(JournalEntry entry) {
+      if (mApplyDelayMs > 0) {
+        try {
+          Thread.sleep(mApplyDelayMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      mApplied.add(entry.getInodeLastModificationTime().getId());
+      return true;
+    }
+
+    List<Long> getApplied() {
+      return new ArrayList<>(mApplied);
+    }
+  }
+}
@@ -42,6 +42,7 @@ import alluxio.heartbeat.HeartbeatExecutor;
 import alluxio.heartbeat.HeartbeatThread;
 import alluxio.master.CoreMaster;
 import alluxio.master.CoreMasterContext;
+import alluxio.master.block.meta.ClusterCapacity;
 import alluxio.master.block.meta.MasterWorkerInfo;
 import alluxio.master.journal.JournalContext;
 import alluxio.master.journal.checkpoint.CheckpointName;
@@ -76,6 +77,11 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.Striped;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -201,6 +207,8 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
   /** Worker is not visualable until registration completes. */
   private final IndexedSet<MasterWorkerInfo> mTempWorkers =
       new IndexedSet<>(ID_INDEX, ADDRESS_INDEX);
+  /** Storage capacity and usage summed over the workers in {@link #mWorkers}. */
+  private final ClusterCapacity mClusterCapacity = new ClusterCapacity();
 
   /** Listeners to call when lost workers are found. */
   private final List<Consumer<Address>> mLostWorkerFoundListeners
@@ -377,13 +385,7 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
 
   @Override
   public long getCapacityBytes() {
-    long ret = 0;
-    for (MasterWorkerInfo worker : mWorkers) {
-      synchronized (worker) {
-        ret += worker.getCapacityBytes();
-      }
-    }
-    return ret;
+    return mClusterCapacity.getCapacityBytes();
   }
 
   @Override
@@ -393,13 +395,7 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
 
   @Override
   public long getUsedBytes() {
-    long ret = 0;
-    for (MasterWorkerInfo worker : mWorkers) {
-      synchronized (worker) {
-        ret += worker.getUsedBytes();
-      }
-    }
-    return ret;
+    return mClusterCapacity.getUsedBytes();
   }
 
   @Override
@@ -700,30 +696,12 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
 
   @Override
   public Map<String, Long> getTotalBytesOnTiers() {
-    Map<String, Long> ret = new HashMap<>();
-    for (MasterWorkerInfo worker : mWorkers) {
-      synchronized (worker) {
-        for (Map.Entry<String, Long> entry : worker.getTotalBytesOnTiers().entrySet()) {
-          Long total = ret.get(entry.getKey());
-          ret.put(entry.getKey(), (total == null ? 0L : total) + entry.getValue());
-        }
-      }
-    }
-    return ret;
+    return mClusterCapacity.getTotalBytesOnTiers();
   }
 
   @Override
   public Map<String, Long> getUsedBytesOnTiers() {
-    Map<String, Long> ret = new HashMap<>();
-    for (MasterWorkerInfo worker : mWorkers) {
-      synchronized (worker) {
-        for (Map.Entry<String, Long> entry : worker.getUsedBytesOnTiers().entrySet()) {
-          Long used = ret.get(entry.getKey());
-          ret.put(entry.getKey(), (used == null ? 0L : used) + entry.getValue());
-        }
-      }
-    }
-    return ret;
+    return mClusterCapacity.getUsedBytesOnTiers();
   }
 
   /**
@@ -777,6 +755,7 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
         worker.updateLastUpdatedTimeMs();
         mWorkers.add(worker);
         workers.remove(worker);
+        worker.setClusterCapacity(mClusterCapacity);
         if (workers == mLostWorkers) {
           for (Consumer<Address> function : mLostWorkerFoundListeners) {
             function.accept(new Address(worker.getWorkerAddress().getHost(),
@@ -835,15 +814,17 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
     }
 
     // Gather all blocks on this worker.
-    HashSet<Long> blocks = new HashSet<>();
+    LongOpenHashSet blocks = new LongOpenHashSet();
     for (List<Long> blockIds : currentBlocksOnLocation.values()) {
-      blocks.addAll(blockIds);
+      for (long blockId : blockIds) {
+        blocks.add(blockId);
+      }
     }
 
     synchronized (worker) {
       worker.updateLastUpdatedTimeMs();
       // Detect any lost blocks on this worker.
-      Set<Long> removedBlocks = worker.register(mGlobalStorageTierAssoc, storageTiers,
+      LongSet removedBlocks = worker.register(mGlobalStorageTierAssoc, storageTiers,
           totalBytesOnTiers, usedBytesOnTiers, blocks);
       processWorkerRemovedBlocks(worker, removedBlocks);
       processWorkerAddedBlocks(worker, currentBlocksOnLocation);
@@ -891,7 +872,7 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
       worker.updateUsedBytes(usedBytesOnTiers);
       worker.updateLastUpdatedTimeMs();
 
-      List<Long> toRemoveBlocks = worker.getToRemoveBlocks();
+      LongList toRemoveBlocks = worker.getToRemoveBlocks();
       if (toRemoveBlocks.isEmpty()) {
         return Command.newBuilder().setCommandType(CommandType.Nothing).build();
       }
@@ -917,18 +898,39 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
   private void processWorkerRemovedBlocks(MasterWorkerInfo workerInfo,
       Collection<Long> removedBlockIds) {
     for (long removedBlockId : removedBlockIds) {
-      try (LockResource lr = lockBlock(removedBlockId)) {
-        Optional<BlockMeta> block = mBlockStore.getBlock(removedBlockId);
-        if (block.isPresent()) {
-          LOG.debug("Block {} is removed on worker {}.", removedBlockId, workerInfo.getId());
-          mBlockStore.removeLocation(removedBlockId, workerInfo.getId());
-          if (mBlockStore.getLocations(removedBlockId).size() == 0) {
-            mLostBlocks.add(removedBlockId);
-          }
+      processWorkerRemovedBlock(workerInfo, removedBlockId);
+    }
+  }
+
+  /**
+   * Updates the worker and block metadata for blocks removed from a worker, without boxing the
+   * block ids.
+   *
+   * @param workerInfo The worker metadata object
+   * @param removedBlockIds A collection of block ids removed from the worker
+   */
+  @GuardedBy("workerInfo")
+  private void processWorkerRemovedBlocks(MasterWorkerInfo workerInfo,
+      LongCollection removedBlockIds) {
+    LongIterator it = removedBlockIds.iterator();
+    while (it.hasNext()) {
+      processWorkerRemovedBlock(workerInfo, it.nextLong());
+    }
+  }
+
+  @GuardedBy("workerInfo")
+  private void processWorkerRemovedBlock(MasterWorkerInfo workerInfo, long removedBlockId) {
+    try (LockResource lr = lockBlock(removedBlockId)) {
+      Optional<BlockMeta> block = mBlockStore.getBlock(removedBlockId);
+      if (block.isPresent()) {
+        LOG.debug("Block {} is removed on worker {}.", removedBlockId, workerInfo.getId());
+        mBlockStore.removeLocation(removedBlockId, workerInfo.getId());
+        if (mBlockStore.getLocations(removedBlockId).size() == 0) {
+          mLostBlocks.add(removedBlockId);
         }
-        // Remove the block even if its metadata has been deleted already.
-        workerInfo.removeBlock(removedBlockId);
       }
+      // Remove the block even if its metadata has been deleted already.
+      workerInfo.removeBlock(removedBlockId);
     }
   }
 
@@ -964,7 +966,9 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
 
   @GuardedBy("workerInfo")
   private void processWorkerOrphanedBlocks(MasterWorkerInfo workerInfo) {
-    for (long block : workerInfo.getBlocks()) {
+    LongIterator it = workerInfo.getBlocks().iterator();
+    while (it.hasNext()) {
+      long block = it.nextLong();
       if (!mBlockStore.getBlock(block).isPresent()) {
         LOG.info("Requesting delete for orphaned block: {} from worker {}.", block,
             workerInfo.getWorkerAddress().getHost());
@@ -1053,6 +1057,7 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
                 worker.getWorkerAddress(), lastUpdate);
             mLostWorkers.add(worker);
             mWorkers.remove(worker);
+            worker.setClusterCapacity(null);
             WorkerNetAddress workerAddress = worker.getWorkerAddress();
             for (Consumer<Address> function : mWorkerLostListeners) {
               function.accept(new Address(workerAddress.getHost(), workerAddress.getRpcPort()));
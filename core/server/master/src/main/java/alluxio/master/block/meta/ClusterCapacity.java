@@ -0,0 +1,156 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block.meta;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Storage capacity and usage summed over a set of workers, typically all live workers. Workers
+ * report changes to their storage as deltas (see
+ * {@link MasterWorkerInfo#setClusterCapacity(ClusterCapacity)}), so the totals can be read in
+ * constant time without locking any worker.
+ */
+@ThreadSafe
+public final class ClusterCapacity {
+  private final AtomicLong mCapacityBytes = new AtomicLong();
+  private final AtomicLong mUsedBytes = new AtomicLong();
+  /** Totals for each tier alias. Entries are never removed; the set of tiers is small. */
+  private final Map<String, TierTotals> mTiers = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@link ClusterCapacity} with no workers counted.
+   */
+  public ClusterCapacity() {}
+
+  /**
+   * @return the total capacity in bytes
+   */
+  public long getCapacityBytes() {
+    return mCapacityBytes.get();
+  }
+
+  /**
+   * @return the total used bytes
+   */
+  public long getUsedBytes() {
+    return mUsedBytes.get();
+  }
+
+  /**
+   * @return a mapping from each tier alias reported by some counted worker to its total capacity
+   */
+  public Map<String, Long> getTotalBytesOnTiers() {
+    return snapshot(tier -> tier.mTotalBytes.get());
+  }
+
+  /**
+   * @return a mapping from each tier alias reported by some counted worker to its used bytes
+   */
+  public Map<String, Long> getUsedBytesOnTiers() {
+    return snapshot(tier -> tier.mUsedBytes.get());
+  }
+
+  private Map<String, Long> snapshot(Function<TierTotals, Long> value) {
+    Map<String, Long> ret = new HashMap<>();
+    for (Map.Entry<String, TierTotals> entry : mTiers.entrySet()) {
+      if (entry.getValue().mWorkers.get() > 0) {
+        ret.put(entry.getKey(), value.apply(entry.getValue()));
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Applies the change of one worker's storage. A worker which starts being counted changes from
+   * empty maps, and one which stops being counted changes to empty maps.
+   *
+   * @param oldTotalBytesOnTiers the worker's previous mapping from tier alias to total bytes
+   * @param oldUsedBytesOnTiers the worker's previous mapping from tier alias to used bytes
+   * @param newTotalBytesOnTiers the worker's new mapping from tier alias to total bytes
+   * @param newUsedBytesOnTiers the worker's new mapping from tier alias to used bytes
+   */
+  void update(Map<String, Long> oldTotalBytesOnTiers, Map<String, Long> oldUsedBytesOnTiers,
+      Map<String, Long> newTotalBytesOnTiers, Map<String, Long> newUsedBytesOnTiers) {
+    if (oldTotalBytesOnTiers != newTotalBytesOnTiers) {
+      long delta = 0;
+      for (Map.Entry<String, Long> entry : newTotalBytesOnTiers.entrySet()) {
+        Long old = oldTotalBytesOnTiers.get(entry.getKey());
+        TierTotals tier = tier(entry.getKey());
+        if (old == null) {
+          tier.mWorkers.incrementAndGet();
+        }
+        delta += addTo(tier.mTotalBytes, entry.getValue() - (old == null ? 0L : old));
+      }
+      for (Map.Entry<String, Long> entry : oldTotalBytesOnTiers.entrySet()) {
+        if (!newTotalBytesOnTiers.containsKey(entry.getKey())) {
+          TierTotals tier = tier(entry.getKey());
+          tier.mWorkers.decrementAndGet();
+          delta += addTo(tier.mTotalBytes, -entry.getValue());
+        }
+      }
+      addTo(mCapacityBytes, delta);
+    }
+    if (oldUsedBytesOnTiers != newUsedBytesOnTiers) {
+      long delta = 0;
+      for (Map.Entry<String, Long> entry : newUsedBytesOnTiers.entrySet()) {
+        Long old = oldUsedBytesOnTiers.get(entry.getKey());
+        delta += addTo(tier(entry.getKey()).mUsedBytes,
+            entry.getValue() - (old == null ? 0L : old));
+      }
+      for (Map.Entry<String, Long> entry : oldUsedBytesOnTiers.entrySet()) {
+        if (!newUsedBytesOnTiers.containsKey(entry.getKey())) {
+          delta += addTo(tier(entry.getKey()).mUsedBytes, -entry.getValue());
+        }
+      }
+      addTo(mUsedBytes, delta);
+    }
+  }
+
+  /**
+   * Applies the change of one worker's used bytes on a single tier.
+   *
+   * @param tierAlias the tier alias
+   * @param delta the change in used bytes
+   */
+  void updateUsedBytes(String tierAlias, long delta) {
+    addTo(tier(tierAlias).mUsedBytes, delta);
+    addTo(mUsedBytes, delta);
+  }
+
+  private TierTotals tier(String tierAlias) {
+    return mTiers.computeIfAbsent(tierAlias, alias -> new TierTotals());
+  }
+
+  /**
+   * Adds a delta to a counter, skipping the write when nothing changes so that unchanged
+   * heartbeats do not contend on the shared counters.
+   */
+  private static long addTo(AtomicLong counter, long delta) {
+    if (delta != 0) {
+      counter.addAndGet(delta);
+    }
+    return delta;
+  }
+
+  private static final class TierTotals {
+    private final AtomicLong mTotalBytes = new AtomicLong();
+    private final AtomicLong mUsedBytes = new AtomicLong();
+    /** The number of counted workers which report this tier. */
+    private final AtomicLong mWorkers = new AtomicLong();
+  }
+}
@@ -22,7 +22,13 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -67,12 +74,18 @@ public final class MasterWorkerInfo {
   /** Mapping from storage tier alias to used bytes. */
   private Map<String, Long> mUsedBytesOnTiers;
 
-  /** ids of blocks the worker contains. */
-  private Set<Long> mBlocks;
+  /**
+   * ids of blocks the worker contains. Kept as a primitive set since a worker may hold millions of
+   * blocks, and boxed entries would cost several times the space of the ids themselves.
+   */
+  private LongOpenHashSet mBlocks;
   /** ids of blocks the worker should remove. */
-  private Set<Long> mToRemoveBlocks;
+  private LongOpenHashSet mToRemoveBlocks;
   /** Mapping from tier alias to lost storage paths. */
   private Map<String, List<String>> mLostStorage;
+  /** The cluster totals this worker's storage is counted in, or null if it is not counted. */
+  @Nullable
+  private ClusterCapacity mClusterCapacity;
 
   /**
    * Creates a new instance of {@link MasterWorkerInfo}.
@@ -89,8 +102,8 @@ public final class MasterWorkerInfo {
     mStorageTierAssoc = null;
     mTotalBytesOnTiers = new HashMap<>();
     mUsedBytesOnTiers = new HashMap<>();
-    mBlocks = new HashSet<>();
-    mToRemoveBlocks = new HashSet<>();
+    mBlocks = new LongOpenHashSet();
+    mToRemoveBlocks = new LongOpenHashSet();
     mLostStorage = new HashMap<>();
   }
 
@@ -105,7 +118,7 @@ public final class MasterWorkerInfo {
    * @param blocks set of block ids on this worker
    * @return A Set of blocks removed (or lost) from this worker
    */
-  public Set<Long> register(final StorageTierAssoc globalStorageTierAssoc,
+  public LongSet register(final StorageTierAssoc globalStorageTierAssoc,
       final List<String> storageTierAliases, final Map<String, Long> totalBytesOnTiers,
       final Map<String, Long> usedBytesOnTiers, final Set<Long> blocks) {
     // If the storage aliases do not have strictly increasing ordinal value based on the total
@@ -130,8 +143,7 @@ public final class MasterWorkerInfo {
     }
 
     // defensive copy
-    mTotalBytesOnTiers = new HashMap<>(totalBytesOnTiers);
-    mUsedBytesOnTiers = new HashMap<>(usedBytesOnTiers);
+    setBytesOnTiers(new HashMap<>(totalBytesOnTiers), new HashMap<>(usedBytesOnTiers));
     mCapacityBytes = 0;
     for (long bytes : mTotalBytesOnTiers.values()) {
       mCapacityBytes += bytes;
@@ -141,20 +153,30 @@ public final class MasterWorkerInfo {
       mUsedBytes += bytes;
     }
 
-    Set<Long> removedBlocks;
+    // defensive copy, avoiding boxing when the caller already has a primitive set
+    LongOpenHashSet newBlocks = blocks instanceof LongCollection
+        ? new LongOpenHashSet((LongCollection) blocks) : new LongOpenHashSet(blocks);
+    LongSet removedBlocks;
     if (mIsRegistered) {
       // This is a re-register of an existing worker. Assume the new block ownership data is more
       // up-to-date and update the existing block information.
       LOG.info("re-registering an existing workerId: {}", mId);
 
       // Compute the difference between the existing block data, and the new data.
-      removedBlocks = Sets.difference(mBlocks, blocks);
+      removedBlocks = new LongOpenHashSet();
+      LongIterator it = mBlocks.iterator();
+      while (it.hasNext()) {
+        long blockId = it.nextLong();
+        if (!newBlocks.contains(blockId)) {
+          removedBlocks.add(blockId);
+        }
+      }
     } else {
-      removedBlocks = Collections.emptySet();
+      removedBlocks = LongSets.EMPTY_SET;
     }
 
     // Set the new block information.
-    mBlocks = new HashSet<>(blocks);
+    mBlocks = newBlocks;
 
     mIsRegistered = true;
     return removedBlocks;
@@ -273,8 +295,8 @@ public final class MasterWorkerInfo {
   /**
    * @return ids of all blocks the worker contains
    */
-  public Set<Long> getBlocks() {
-    return new HashSet<>(mBlocks);
+  public LongSet getBlocks() {
+    return new LongOpenHashSet(mBlocks);
   }
 
   /**
@@ -301,8 +323,8 @@ public final class MasterWorkerInfo {
   /**
    * @return ids of blocks the worker should remove
    */
-  public List<Long> getToRemoveBlocks() {
-    return new ArrayList<>(mToRemoveBlocks);
+  public LongList getToRemoveBlocks() {
+    return new LongArrayList(mToRemoveBlocks);
   }
 
   /**
@@ -411,7 +433,7 @@ public final class MasterWorkerInfo {
    */
   public void updateCapacityBytes(Map<String, Long> capacityBytesOnTiers) {
     mCapacityBytes = 0;
-    mTotalBytesOnTiers = capacityBytesOnTiers;
+    setBytesOnTiers(capacityBytesOnTiers, mUsedBytesOnTiers);
     for (long t : mTotalBytesOnTiers.values()) {
       mCapacityBytes += t;
     }
@@ -424,7 +446,7 @@ public final class MasterWorkerInfo {
    */
   public void updateUsedBytes(Map<String, Long> usedBytesOnTiers) {
     mUsedBytes = 0;
-    mUsedBytesOnTiers = new HashMap<>(usedBytesOnTiers);
+    setBytesOnTiers(mTotalBytesOnTiers, new HashMap<>(usedBytesOnTiers));
     for (long t : mUsedBytesOnTiers.values()) {
       mUsedBytes += t;
     }
@@ -437,7 +459,43 @@ public final class MasterWorkerInfo {
    * @param usedBytesOnTier used bytes on certain storage tier
    */
   public void updateUsedBytes(String tierAlias, long usedBytesOnTier) {
-    mUsedBytes += usedBytesOnTier - mUsedBytesOnTiers.get(tierAlias);
+    long delta = usedBytesOnTier - mUsedBytesOnTiers.get(tierAlias);
+    mUsedBytes += delta;
     mUsedBytesOnTiers.put(tierAlias, usedBytesOnTier);
+    if (mClusterCapacity != null) {
+      mClusterCapacity.updateUsedBytes(tierAlias, delta);
+    }
+  }
+
+  /**
+   * Sets the cluster totals this worker's storage is counted in. The worker's current storage is
+   * moved from the previous totals, if any, to the new ones, and later changes to its storage are
+   * applied to the new totals.
+   *
+   * @param clusterCapacity the cluster totals to count this worker in, or null to stop counting it
+   */
+  public void setClusterCapacity(@Nullable ClusterCapacity clusterCapacity) {
+    if (clusterCapacity == mClusterCapacity) {
+      return;
+    }
+    if (mClusterCapacity != null) {
+      mClusterCapacity.update(mTotalBytesOnTiers, mUsedBytesOnTiers, Collections.emptyMap(),
+          Collections.emptyMap());
+    }
+    mClusterCapacity = clusterCapacity;
+    if (mClusterCapacity != null) {
+      mClusterCapacity.update(Collections.emptyMap(), Collections.emptyMap(), mTotalBytesOnTiers,
+          mUsedBytesOnTiers);
+    }
+  }
+
+  private void setBytesOnTiers(Map<String, Long> totalBytesOnTiers,
+      Map<String, Long> usedBytesOnTiers) {
+    if (mClusterCapacity != null) {
+      mClusterCapacity.update(mTotalBytesOnTiers, mUsedBytesOnTiers, totalBytesOnTiers,
+          usedBytesOnTiers);
+    }
+    mTotalBytesOnTiers = totalBytesOnTiers;
+    mUsedBytesOnTiers = usedBytesOnTiers;
   }
 }
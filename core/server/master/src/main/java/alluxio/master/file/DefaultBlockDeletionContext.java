@@ -18,11 +18,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import javax.annotation.concurrent.ThreadSafe;
+
 /**
- * Class for tracking which blocks need to be deleted, and deleting them on close.
+ * Class for tracking which blocks need to be deleted, and deleting them on close. Blocks may be
+ * registered concurrently, e.g. by the parallel metadata sync.
  */
+@ThreadSafe
 public final class DefaultBlockDeletionContext implements BlockDeletionContext {
   private final List<BlockDeletionListener> mListeners;
   private final List<Long> mBlocks;
@@ -32,7 +37,7 @@ public final class DefaultBlockDeletionContext implements BlockDeletionContext {
    */
   public DefaultBlockDeletionContext(BlockDeletionListener... listeners) {
     mListeners = Arrays.asList(listeners);
-    mBlocks = new ArrayList<>();
+    mBlocks = Collections.synchronizedList(new ArrayList<>());
   }
 
   @Override
@@ -49,7 +54,10 @@ public final class DefaultBlockDeletionContext implements BlockDeletionContext {
   public void close() throws IOException {
     // Make sure every listener gets called, even if some throw exceptions.
     Throwable thrown = null;
-    List<Long> blocksCopy = ImmutableList.copyOf(mBlocks);
+    List<Long> blocksCopy;
+    synchronized (mBlocks) {
+      blocksCopy = ImmutableList.copyOf(mBlocks);
+    }
     for (BlockDeletionListener listener : mListeners) {
       try {
         listener.process(blocksCopy);
@@ -100,6 +100,7 @@ import alluxio.master.file.meta.MountTable;
 import alluxio.master.file.meta.PersistenceState;
 import alluxio.master.file.meta.UfsAbsentPathCache;
 import alluxio.master.file.meta.UfsBlockLocationCache;
+import alluxio.master.file.meta.UfsListingPrefetcher;
 import alluxio.master.file.meta.UfsSyncPathCache;
 import alluxio.master.file.meta.UfsSyncUtils;
 import alluxio.master.file.meta.options.MountInfo;
@@ -111,6 +112,7 @@ import alluxio.master.journal.checkpoint.CheckpointName;
 import alluxio.master.metastore.DelegatingReadOnlyInodeStore;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOnlyInodeStore;
+import alluxio.master.metastore.ReadOption;
 import alluxio.master.metrics.TimeSeriesStore;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
@@ -151,6 +153,7 @@ import alluxio.util.CommonUtils;
 import alluxio.util.IdUtils;
 import alluxio.util.ModeUtils;
 import alluxio.util.SecurityUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.UnderFileSystemUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.executor.ExecutorServiceFactory;
@@ -180,6 +183,7 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.grpc.ServerInterceptors;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -202,8 +206,14 @@ import java.util.SortedMap;
 import java.util.Stack;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -387,6 +397,20 @@ public final class DefaultFileSystemMaster extends CoreMaster
 
   private AccessTimeUpdater mAccessTimeUpdater;
 
+  /** Thread pool which syncs the metadata of descendants in parallel, or null if disabled. */
+  @Nullable
+  private final ThreadPoolExecutor mSyncMetadataExecutor;
+
+  /**
+   * Permits for submitting to {@link #mSyncMetadataExecutor}. There are as many permits as
+   * threads, so a submitted sync never waits for a thread held by a sync waiting on it.
+   */
+  private final Semaphore mSyncMetadataPermits;
+
+  /** Thread pool which fetches UFS listings ahead of the sync, or null if disabled. */
+  @Nullable
+  private final ThreadPoolExecutor mSyncPrefetchExecutor;
+
   /**
    * Creates a new instance of {@link DefaultFileSystemMaster}.
    *
@@ -437,6 +461,13 @@ public final class DefaultFileSystemMaster extends CoreMaster
     mSyncManager = new ActiveSyncManager(mMountTable, this);
     mTimeSeriesStore = new TimeSeriesStore();
     mAccessTimeUpdater = new AccessTimeUpdater(this, mInodeTree, masterContext.getJournalSystem());
+    int syncThreads =
+        ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_SYNC_EXECUTOR_POOL_SIZE);
+    mSyncMetadataExecutor = createSyncExecutor(syncThreads, "metadata-sync-%d");
+    mSyncMetadataPermits = new Semaphore(Math.max(syncThreads, 0));
+    mSyncPrefetchExecutor = createSyncExecutor(
+        ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_SYNC_UFS_PREFETCH_POOL_SIZE),
+        "metadata-sync-prefetch-%d");
     // The mount table should come after the inode tree because restoring the mount table requires
     // that the inode tree is already restored.
     ArrayList<Journaled> journaledComponents = new ArrayList<Journaled>() {
@@ -454,6 +485,17 @@ public final class DefaultFileSystemMaster extends CoreMaster
     Metrics.registerGauges(this, mUfsManager);
   }
 
+  @Nullable
+  private static ThreadPoolExecutor createSyncExecutor(int threads, String nameFormat) {
+    if (threads <= 0) {
+      return null;
+    }
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+        new LinkedBlockingQueue<>(), ThreadFactoryUtils.build(nameFormat, true));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   private static MountInfo getRootMountInfo(MasterUfsManager ufsManager) {
     try (CloseableResource<UnderFileSystem> resource = ufsManager.getRoot().acquireUfsResource()) {
       String rootUfsUri = ServerConfiguration.get(PropertyKey.MASTER_MOUNT_TABLE_ROOT_UFS);
@@ -660,6 +702,12 @@ public final class DefaultFileSystemMaster extends CoreMaster
   @Override
   public void close() throws IOException {
     super.close();
+    if (mSyncMetadataExecutor != null) {
+      mSyncMetadataExecutor.shutdownNow();
+    }
+    if (mSyncPrefetchExecutor != null) {
+      mSyncPrefetchExecutor.shutdownNow();
+    }
     mInodeTree.close();
   }
 
@@ -813,6 +861,14 @@ public final class DefaultFileSystemMaster extends CoreMaster
       ResultStream<FileInfo> resultStream)
       throws AccessControlException, FileDoesNotExistException, InvalidPathException, IOException {
     Metrics.GET_FILE_INFO_OPS.inc();
+    if (context.getOptions().getBatchSize() < 0) {
+      throw new InvalidArgumentException(String.format("listStatus batch size must not be "
+          + "negative, got %d", context.getOptions().getBatchSize()));
+    }
+    if (context.getOptions().getRecursive() && (context.getOptions().getBatchSize() > 0
+        || !context.getOptions().getStartAfter().isEmpty())) {
+      throw new InvalidArgumentException("Paged listStatus does not support recursive listing");
+    }
     LockingScheme lockingScheme =
         createLockingScheme(path, context.getOptions().getCommonOptions(), LockPattern.READ);
     try (RpcContext rpcContext = createRpcContext();
@@ -894,7 +950,8 @@ public final class DefaultFileSystemMaster extends CoreMaster
   /**
    * Lists the status of the path in {@link LockedInodePath}, possibly recursively depending on the
    * descendantType. The result is returned via a list specified by statusList, in postorder
-   * traversal order.
+   * traversal order. Children are visited in name order; the direct children of the listed path
+   * are limited by the start-after name and batch size of the listing options.
    *
    * @param context call context
    * @param rpcContext the context for the RPC call
@@ -930,9 +987,22 @@ public final class DefaultFileSystemMaster extends CoreMaster
           CommonUtils.getCurrentMs());
       DescendantType nextDescendantType = (descendantType == DescendantType.ALL)
           ? DescendantType.ALL : DescendantType.NONE;
+      ReadOption readOption = ReadOption.defaults();
+      int batchSize = 0;
+      if (depth == 0) {
+        String startAfter = context.getOptions().getStartAfter();
+        if (!startAfter.isEmpty()) {
+          readOption = ReadOption.newBuilder().setStartAfter(startAfter).build();
+        }
+        batchSize = context.getOptions().getBatchSize();
+      }
+      int listed = 0;
       // This is to generate a parsed child path components to be passed to lockChildPath
       String [] childComponentsHint = null;
-      for (Inode child : mInodeStore.getChildren(inode.asDirectory())) {
+      for (Inode child : mInodeStore.getChildren(inode.asDirectory(), readOption)) {
+        if (batchSize > 0 && listed >= batchSize) {
+          break;
+        }
         if (childComponentsHint == null) {
           String[] parentComponents = PathUtils.getPathComponents(currInodePath.getUri().getPath());
           childComponentsHint = new String[parentComponents.length + 1];
@@ -945,14 +1015,16 @@ public final class DefaultFileSystemMaster extends CoreMaster
             currInodePath.lockChild(child, LockPattern.READ, childComponentsHint)) {
           listStatusInternal(context, rpcContext, childInodePath, auditContext, nextDescendantType,
               resultStream, depth + 1);
+          listed++;
         } catch (InvalidPathException | FileDoesNotExistException e) {
           LOG.debug("Path \"{}\" is invalid, has been ignored.",
               PathUtils.concatPath("/", childComponentsHint));
         }
       }
     }
-    // Listing a directory should not emit item for the directory itself.
-    if (depth != 0 || inode.isFile()) {
+    // Listing a directory should not emit item for the directory itself. Listing a file emits the
+    // file, unless it is a later page of the listing.
+    if (depth != 0 || (inode.isFile() && context.getOptions().getStartAfter().isEmpty())) {
       resultStream.submit(getFileInfoInternal(currInodePath));
     }
   }
@@ -3372,13 +3444,17 @@ public final class DefaultFileSystemMaster extends CoreMaster
 
     Set<String> pathsToLoad = new HashSet<>();
 
-    try {
+    try (UfsListingPrefetcher prefetcher = new UfsListingPrefetcher(mMountTable,
+        mSyncPrefetchExecutor,
+        ServerConfiguration.getInt(PropertyKey.MASTER_METADATA_SYNC_UFS_PREFETCH_LIMIT),
+        ServerConfiguration.getInt(
+            PropertyKey.MASTER_METADATA_SYNC_UFS_PREFETCH_MAX_LISTINGS))) {
       if (!inodePath.fullPathExists()) {
         // The requested path does not exist in Alluxio, so just load metadata.
         pathsToLoad.add(inodePath.getUri().getPath());
       } else {
-        SyncResult result =
-            syncInodeMetadata(rpcContext, inodePath, syncDescendantType, statusCache);
+        SyncResult result = syncInodeMetadata(rpcContext, inodePath, syncDescendantType,
+            statusCache, prefetcher, new Object());
         if (result.getDeletedInode()) {
           // If the inode was deleted, then the inode path should reflect the delete.
           inodePath.removeLastInode();
@@ -3484,11 +3560,15 @@ public final class DefaultFileSystemMaster extends CoreMaster
    * @param syncDescendantType how to sync descendants
    * @param statusCache a pre-populated cache of ufs statuses that can be used to construct
    *                    fingerprint
+   * @param prefetcher the prefetcher of UFS directory listings for this sync
+   * @param parentLock the monitor held while updating or deleting the inode, shared by the syncs
+   *                   of its siblings since these updates also write to the parent inode
    * @return the result of the sync, including if the inode was deleted, and if further load
    *         metadata is required
    */
   private SyncResult syncInodeMetadata(RpcContext rpcContext, LockedInodePath inodePath,
-      DescendantType syncDescendantType, Map<AlluxioURI, UfsStatus> statusCache)
+      DescendantType syncDescendantType, Map<AlluxioURI, UfsStatus> statusCache,
+      UfsListingPrefetcher prefetcher, Object parentLock)
       throws FileDoesNotExistException, InvalidPathException, IOException, AccessControlException {
     Preconditions.checkState(inodePath.getLockPattern() == LockPattern.WRITE_EDGE);
 
@@ -3552,15 +3632,20 @@ public final class DefaultFileSystemMaster extends CoreMaster
         if (ufsFpParsed.isValid()) {
           short mode = Short.parseShort(ufsFpParsed.getTag(Tag.MODE));
           long opTimeMs = System.currentTimeMillis();
-          setAttributeSingleFile(rpcContext, inodePath, false, opTimeMs, SetAttributeContext
-              .mergeFrom(SetAttributePOptions.newBuilder().setOwner(ufsFpParsed.getTag(Tag.OWNER))
-                  .setGroup(ufsFpParsed.getTag(Tag.GROUP)).setMode(new Mode(mode).toProto()))
-              .setUfsFingerprint(ufsFingerprint));
+          synchronized (parentLock) {
+            setAttributeSingleFile(rpcContext, inodePath, false, opTimeMs, SetAttributeContext
+                .mergeFrom(SetAttributePOptions.newBuilder()
+                    .setOwner(ufsFpParsed.getTag(Tag.OWNER))
+                    .setGroup(ufsFpParsed.getTag(Tag.GROUP)).setMode(new Mode(mode).toProto()))
+                .setUfsFingerprint(ufsFingerprint));
+          }
         }
       }
       if (syncPlan.toDelete()) {
         try {
-          deleteInternal(rpcContext, inodePath, syncDeleteContext);
+          synchronized (parentLock) {
+            deleteInternal(rpcContext, inodePath, syncDeleteContext);
+          }
 
           deletedInode = true;
         } catch (DirectoryNotEmptyException | IOException e) {
@@ -3580,8 +3665,7 @@ public final class DefaultFileSystemMaster extends CoreMaster
           inodeChildren.put(child.getName(), child);
         }
 
-        UfsStatus[] listStatus = ufs.listStatus(ufsUri.toString(),
-            ListOptions.defaults());
+        UfsStatus[] listStatus = prefetcher.listStatus(inodePath.getUri(), ufs, ufsUri);
         // Iterate over UFS listings and process UFS children.
         if (listStatus != null) {
           for (UfsStatus ufsChildStatus : listStatus) {
@@ -3596,30 +3680,116 @@ public final class DefaultFileSystemMaster extends CoreMaster
         }
 
         // Iterate over Alluxio children and process persisted children.
+        List<AlluxioURI> childrenToSync = new ArrayList<>();
         for (Map.Entry<String, Inode> inodeEntry : inodeChildren.entrySet()) {
           if (!inodeEntry.getValue().isPersisted()) {
             // Ignore non-persisted inodes.
             continue;
           }
-
-          // Technically we don't need to lock here since inodePath is already write-locked. We can
-          // improve this by implementing a way to traverse an inode path without locking.
-          try (LockedInodePath descendant = inodePath.lockDescendant(
-              inodePath.getUri().joinUnsafe(inodeEntry.getKey()), LockPattern.WRITE_EDGE)) {
-            // Recursively sync children
-            if (syncDescendantType != DescendantType.ALL) {
-              syncDescendantType = DescendantType.NONE;
-            }
-            SyncResult syncResult =
-                syncInodeMetadata(rpcContext, descendant, syncDescendantType, statusCache);
-            pathsToLoad.addAll(syncResult.getPathsToLoad());
+          AlluxioURI childUri = inodePath.getUri().joinUnsafe(inodeEntry.getKey());
+          if (syncDescendantType == DescendantType.ALL
+              && inodeEntry.getValue().isDirectory()) {
+            prefetcher.prefetch(childUri);
           }
+          childrenToSync.add(childUri);
         }
+        // Recursively sync children
+        DescendantType childDescendantType = syncDescendantType == DescendantType.ALL
+            ? DescendantType.ALL : DescendantType.NONE;
+        pathsToLoad.addAll(syncChildrenMetadata(rpcContext, inodePath, childrenToSync,
+            childDescendantType, statusCache, prefetcher));
       }
     }
     return new SyncResult(deletedInode, pathsToLoad);
   }
 
+  /**
+   * Syncs the children of a directory. Each child is synced on {@link #mSyncMetadataExecutor} if a
+   * permit is available, and on the calling thread otherwise, so the number of concurrent syncs is
+   * bounded by the pool size. This method returns only after every child sync has finished, so the
+   * locks held on the parent path outlive the syncs of its children. The child syncs share the
+   * journal context of {@code rpcContext}, which waits on close for the entries appended from any
+   * thread to be flushed. The children are all covered by the write lock on {@code inodePath}, so
+   * the updates and deletes of the children, which also write to the parent inode, are serialized
+   * on a monitor shared by the child syncs.
+   *
+   * @param rpcContext the rpc context
+   * @param inodePath the write-locked path of the directory
+   * @param children the Alluxio paths of the children to sync
+   * @param syncDescendantType how to sync the descendants of the children
+   * @param statusCache a pre-populated cache of ufs statuses
+   * @param prefetcher the prefetcher of UFS directory listings for this sync
+   * @return the paths that need to be loaded from UFS
+   */
+  private Set<String> syncChildrenMetadata(RpcContext rpcContext, LockedInodePath inodePath,
+      List<AlluxioURI> children, DescendantType syncDescendantType,
+      Map<AlluxioURI, UfsStatus> statusCache, UfsListingPrefetcher prefetcher)
+      throws FileDoesNotExistException, InvalidPathException, IOException, AccessControlException {
+    Set<String> pathsToLoad = new HashSet<>();
+    List<Future<Set<String>>> futures = new ArrayList<>();
+    Object parentLock = new Object();
+    Throwable thrown = null;
+    try {
+      for (AlluxioURI child : children) {
+        Future<Set<String>> future = null;
+        if (mSyncMetadataExecutor != null && children.size() > 1
+            && mSyncMetadataPermits.tryAcquire()) {
+          try {
+            future = mSyncMetadataExecutor.submit(() -> {
+              try {
+                return syncChildMetadata(rpcContext, inodePath, child, syncDescendantType,
+                    statusCache, prefetcher, parentLock);
+              } finally {
+                mSyncMetadataPermits.release();
+              }
+            });
+          } catch (RejectedExecutionException e) {
+            mSyncMetadataPermits.release();
+          }
+        }
+        if (future != null) {
+          futures.add(future);
+        } else {
+          pathsToLoad.addAll(syncChildMetadata(rpcContext, inodePath, child, syncDescendantType,
+              statusCache, prefetcher, parentLock));
+        }
+      }
+    } catch (Throwable t) {
+      thrown = t;
+    }
+    // Wait for every child even if one of them failed, they rely on the locks of inodePath
+    for (Future<Set<String>> future : futures) {
+      try {
+        pathsToLoad.addAll(Uninterruptibles.getUninterruptibly(future));
+      } catch (ExecutionException e) {
+        if (thrown == null) {
+          thrown = e.getCause();
+        } else {
+          thrown.addSuppressed(e.getCause());
+        }
+      }
+    }
+    if (thrown != null) {
+      Throwables.propagateIfPossible(thrown, FileDoesNotExistException.class,
+          InvalidPathException.class);
+      Throwables.propagateIfPossible(thrown, IOException.class, AccessControlException.class);
+      throw new RuntimeException(thrown);
+    }
+    return pathsToLoad;
+  }
+
+  private Set<String> syncChildMetadata(RpcContext rpcContext, LockedInodePath inodePath,
+      AlluxioURI child, DescendantType syncDescendantType,
+      Map<AlluxioURI, UfsStatus> statusCache, UfsListingPrefetcher prefetcher, Object parentLock)
+      throws FileDoesNotExistException, InvalidPathException, IOException, AccessControlException {
+    // Technically we don't need to lock here since inodePath is already write-locked. We can
+    // improve this by implementing a way to traverse an inode path without locking.
+    try (LockedInodePath descendant = inodePath.lockDescendant(child, LockPattern.WRITE_EDGE)) {
+      return syncInodeMetadata(rpcContext, descendant, syncDescendantType, statusCache,
+          prefetcher, parentLock).getPathsToLoad();
+    }
+  }
+
   @Override
   public FileSystemCommand workerHeartbeat(long workerId, List<Long> persistedFiles,
       WorkerHeartbeatContext context) throws IOException {
@@ -23,6 +23,7 @@ import alluxio.util.io.PathUtils;
 import com.google.common.base.Preconditions;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +55,9 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 public class LockedInodePath implements Closeable {
+  /** Paths with fewer untraversed components than this are not worth resolving in a batch. */
+  private static final int MIN_PREFETCH_COMPONENTS = 2;
+
   /**
    * The root inode of the inode tree. This is needed to bootstrap the inode path.
    */
@@ -414,6 +418,7 @@ public class LockedInodePath implements Closeable {
   public void traverse() throws InvalidPathException {
     // This locks the root edge and inode.
     bootstrapTraversal();
+    prefetch();
 
     // Each iteration either locks a new inode/edge or hits a missing inode and returns.
     while (!fullPathExists()) {
@@ -467,6 +472,24 @@ public class LockedInodePath implements Closeable {
     }
   }
 
+  /**
+   * Lets the inode store load the untraversed part of the path in one batch so that the
+   * per-component lookups of the locked traversal are served from its caches. The locked lookups
+   * remain authoritative; prefetching is only a hint.
+   */
+  private void prefetch() {
+    int numInodes = mLockList.numInodes();
+    if (mPathComponents.length - numInodes < MIN_PREFETCH_COMPONENTS) {
+      return;
+    }
+    Inode lastInode = mLockList.get(numInodes - 1);
+    if (!lastInode.isDirectory()) {
+      return;
+    }
+    mInodeStore.prefetchPath(lastInode.getId(),
+        Arrays.asList(mPathComponents).subList(numInodes, mPathComponents.length));
+  }
+
   private void bootstrapTraversal() {
     if (!mLockList.isEmpty()) {
       return;
@@ -0,0 +1,158 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import alluxio.AlluxioURI;
+import alluxio.resource.CloseableResource;
+import alluxio.underfs.UfsStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.ListOptions;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Fetches UFS directory listings ahead of a metadata sync, so that the sync of a directory does
+ * not wait for the UFS round trip once it gets to that directory. At most a bounded number of
+ * listings run at a time, and at most a bounded number of listings are held until the sync takes
+ * them; directories beyond either limit are listed by the sync itself.
+ *
+ * An instance is scoped to a single sync and must be closed when the sync ends.
+ */
+@ThreadSafe
+public final class UfsListingPrefetcher implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsListingPrefetcher.class);
+
+  private final MountTable mMountTable;
+  @Nullable
+  private final ExecutorService mExecutor;
+  /** Bounds the number of listings which are running or waiting to run. */
+  private final Semaphore mPermits;
+  /** Bounds the number of listings in {@link #mListings}. */
+  private final Semaphore mSlots;
+  private final ConcurrentMap<AlluxioURI, Future<UfsStatus[]>> mListings =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance of {@link UfsListingPrefetcher}.
+   *
+   * @param mountTable the mount table used to resolve Alluxio paths
+   * @param executor the executor to list directories on, or null to disable prefetching
+   * @param limit the maximum number of listings running at a time
+   * @param maxListings the maximum number of listings held until they are taken
+   */
+  public UfsListingPrefetcher(MountTable mountTable, @Nullable ExecutorService executor,
+      int limit, int maxListings) {
+    mMountTable = mountTable;
+    mExecutor = executor;
+    mPermits = new Semaphore(limit);
+    mSlots = new Semaphore(maxListings);
+  }
+
+  /**
+   * Starts listing the UFS directory of the given Alluxio path, if the limit allows.
+   *
+   * @param path the Alluxio path of the directory
+   */
+  public void prefetch(AlluxioURI path) {
+    if (mExecutor == null || !mSlots.tryAcquire()) {
+      return;
+    }
+    if (!mPermits.tryAcquire()) {
+      mSlots.release();
+      return;
+    }
+    FutureTask<UfsStatus[]> listing = new FutureTask<UfsStatus[]>(() -> {
+      MountTable.Resolution resolution = mMountTable.resolve(path);
+      try (CloseableResource<UnderFileSystem> ufsResource = resolution.acquireUfsResource()) {
+        return ufsResource.get().listStatus(resolution.getUri().toString(),
+            ListOptions.defaults());
+      }
+    }) {
+      @Override
+      protected void done() {
+        // Called exactly once, when the listing completes or is cancelled
+        mPermits.release();
+      }
+    };
+    if (mListings.putIfAbsent(path, listing) != null) {
+      mPermits.release();
+      mSlots.release();
+      return;
+    }
+    try {
+      mExecutor.execute(listing);
+    } catch (RejectedExecutionException e) {
+      // The executor is shutting down, the directory will be listed by the sync
+      listing.cancel(false);
+      if (mListings.remove(path, listing)) {
+        mSlots.release();
+      }
+    }
+  }
+
+  /**
+   * Lists the UFS directory of the given Alluxio path, using the prefetched listing if there is
+   * one.
+   *
+   * @param path the Alluxio path of the directory
+   * @param ufs the UFS the path resolves to
+   * @param ufsUri the UFS path of the directory
+   * @return the statuses of the children, or null if the directory does not exist
+   */
+  @Nullable
+  public UfsStatus[] listStatus(AlluxioURI path, UnderFileSystem ufs, AlluxioURI ufsUri)
+      throws IOException {
+    Future<UfsStatus[]> listing = mListings.remove(path);
+    if (listing != null) {
+      mSlots.release();
+      try {
+        return Uninterruptibles.getUninterruptibly(listing);
+      } catch (ExecutionException e) {
+        LOG.debug("Failed to prefetch the UFS listing of {}, listing it again", path,
+            e.getCause());
+      } catch (CancellationException e) {
+        // Fall back to listing the directory
+      }
+    }
+    return ufs.listStatus(ufsUri.toString(), ListOptions.defaults());
+  }
+
+  /**
+   * Cancels the listings which have not been taken.
+   */
+  @Override
+  public void close() {
+    for (AlluxioURI path : mListings.keySet()) {
+      Future<UfsStatus[]> listing = mListings.remove(path);
+      if (listing != null) {
+        listing.cancel(false);
+        mSlots.release();
+      }
+    }
+  }
+}
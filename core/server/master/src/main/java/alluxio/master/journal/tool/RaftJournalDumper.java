@@ -12,6 +12,7 @@
 package alluxio.master.journal.tool;
 
 import alluxio.master.journal.JournalEntryAssociation;
+import alluxio.master.journal.JournalEntryBatchCodec;
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.raft.JournalEntryCommand;
 import alluxio.master.journal.raft.RaftJournalSystem;
@@ -115,7 +116,15 @@ public class RaftJournalDumper extends AbstractJournalDumper {
           if (command instanceof JournalEntryCommand) {
             byte[] entryBytes = ((JournalEntryCommand) command).getSerializedJournalEntry();
             try {
-              writeSelected(out, Journal.JournalEntry.parseFrom(entryBytes));
+              Journal.JournalEntry journalEntry = Journal.JournalEntry.parseFrom(entryBytes);
+              if (journalEntry.hasBatch()) {
+                for (Journal.JournalEntry e
+                    : JournalEntryBatchCodec.decode(journalEntry.getBatch())) {
+                  writeSelected(out, e);
+                }
+              } else {
+                writeSelected(out, journalEntry);
+              }
             } catch (Exception e) {
               throw new RuntimeException(e);
             }
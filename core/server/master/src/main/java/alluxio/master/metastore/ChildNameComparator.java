@@ -0,0 +1,64 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Orders child names by their UTF-8 encoding, compared as unsigned bytes. This is the order of the
+ * edge keys of {@link alluxio.master.metastore.rocks.RocksInodeStore}, so that every inode store
+ * lists children in the same order and a start-after cursor means the same thing for all of them.
+ *
+ * Unlike {@link String#compareTo}, which compares UTF-16 code units, this is code point order.
+ * The two orders differ when a supplementary character is compared with a character between
+ * U+E000 and U+FFFF.
+ */
+@ThreadSafe
+public final class ChildNameComparator implements Comparator<String>, Serializable {
+  private static final long serialVersionUID = 0L;
+
+  /** The comparator instance. */
+  public static final ChildNameComparator INSTANCE = new ChildNameComparator();
+
+  private ChildNameComparator() {} // use INSTANCE
+
+  @Override
+  public int compare(String a, String b) {
+    int length = Math.min(a.length(), b.length());
+    for (int i = 0; i < length; i++) {
+      char ca = a.charAt(i);
+      char cb = b.charAt(i);
+      if (ca != cb) {
+        return codePointOrder(ca) - codePointOrder(cb);
+      }
+    }
+    return a.length() - b.length();
+  }
+
+  /**
+   * Maps a UTF-16 code unit to a value which orders surrogates after all other code units, so that
+   * the first differing code units of two strings compare like their code points.
+   */
+  private static int codePointOrder(char c) {
+    if (c >= Character.MIN_SURROGATE) {
+      return c <= Character.MAX_SURROGATE ? c + 0x2000 : c - 0x800;
+    }
+    return c;
+  }
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+}
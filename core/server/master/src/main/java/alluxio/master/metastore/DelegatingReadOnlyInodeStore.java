@@ -19,6 +19,7 @@ import alluxio.master.file.meta.MutableInode;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -80,6 +81,21 @@ public class DelegatingReadOnlyInodeStore implements ReadOnlyInodeStore {
     return mDelegate.getChild(inode, name, option);
   }
 
+  @Override
+  public List<Inode> resolvePath(long inodeId, List<String> names, ReadOption option) {
+    return mDelegate.resolvePath(inodeId, names, option);
+  }
+
+  @Override
+  public boolean supportsBatchPathResolution() {
+    return mDelegate.supportsBatchPathResolution();
+  }
+
+  @Override
+  public void prefetchPath(long inodeId, List<String> names) {
+    mDelegate.prefetchPath(inodeId, names);
+  }
+
   @Override
   public boolean hasChildren(InodeDirectoryView inode, ReadOption option) {
     return mDelegate.hasChildren(inode, option);
@@ -18,8 +18,14 @@ import alluxio.master.file.meta.MutableInode;
 import alluxio.master.journal.checkpoint.Checkpointed;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -58,11 +64,56 @@ public interface InodeStore extends ReadOnlyInodeStore, Checkpointed, Closeable
     return getMutable(id, ReadOption.defaults());
   }
 
+  /**
+   * Gets mutable representations of several inodes.
+   *
+   * @param ids the inode ids
+   * @return the inodes which exist, keyed by id
+   */
+  default Map<Long, MutableInode<?>> getMutables(Collection<Long> ids) {
+    Map<Long, MutableInode<?>> inodes = new HashMap<>();
+    for (Long id : ids) {
+      getMutable(id).ifPresent(inode -> inodes.put(id, inode));
+    }
+    return inodes;
+  }
+
   @Override
   default Optional<Inode> get(long id, ReadOption option) {
     return getMutable(id, option).map(Inode::wrap);
   }
 
+  /**
+   * Gets mutable representations of the inodes along a path. See
+   * {@link #resolvePath(long, List, ReadOption)} for the semantics of the result.
+   *
+   * @param inodeId the id of the directory to start from
+   * @param names the path components to resolve
+   * @param option the options
+   * @return the inodes for the longest existing prefix of the given components
+   */
+  default List<MutableInode<?>> resolvePathMutable(long inodeId, List<String> names,
+      ReadOption option) {
+    List<MutableInode<?>> inodes = new ArrayList<>(names.size());
+    long parentId = inodeId;
+    for (String name : names) {
+      Optional<MutableInode<?>> child =
+          getChildId(parentId, name, option).flatMap(id -> getMutable(id, option));
+      if (!child.isPresent()) {
+        break;
+      }
+      inodes.add(child.get());
+      parentId = child.get().getId();
+    }
+    return inodes;
+  }
+
+  @Override
+  default List<Inode> resolvePath(long inodeId, List<String> names, ReadOption option) {
+    return resolvePathMutable(inodeId, names, option).stream().map(Inode::wrap)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Removes an inode from the inode store. This does *not* remove the edge leading to the inode.
    *
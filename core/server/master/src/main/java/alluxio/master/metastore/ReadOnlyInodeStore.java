@@ -19,7 +19,9 @@ import alluxio.master.file.meta.MutableInode;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
@@ -44,7 +46,9 @@ public interface ReadOnlyInodeStore extends Closeable {
   }
 
   /**
-   * Returns an iterable for the ids of the children of the given directory.
+   * Returns an iterable for the ids of the children of the given directory. Children are ordered
+   * by name as defined by {@link ChildNameComparator}, and only children named after
+   * {@link ReadOption#getStartAfter()} are returned.
    *
    * @param inodeId an inode id to list child ids for
    * @param option the options
@@ -226,6 +230,52 @@ public interface ReadOnlyInodeStore extends Closeable {
     return getChild(inode.getId(), name, ReadOption.defaults());
   }
 
+  /**
+   * Resolves a sequence of path components starting from the given directory. The i-th returned
+   * inode is the child named names[i] of the (i-1)-th returned inode, or of the starting directory
+   * for i = 0. Resolution stops at the first component which doesn't exist, so the result may be
+   * shorter than the given names.
+   *
+   * The result is not atomic with respect to concurrent modifications, so callers which need an
+   * exact answer must hold the appropriate inode and edge locks or re-validate each step.
+   *
+   * @param inodeId the id of the directory to start from
+   * @param names the path components to resolve
+   * @param option the options
+   * @return the inodes for the longest existing prefix of the given components
+   */
+  default List<Inode> resolvePath(long inodeId, List<String> names, ReadOption option) {
+    List<Inode> inodes = new ArrayList<>(names.size());
+    long parentId = inodeId;
+    for (String name : names) {
+      Optional<Inode> child = getChild(parentId, name, option);
+      if (!child.isPresent()) {
+        break;
+      }
+      inodes.add(child.get());
+      parentId = child.get().getId();
+    }
+    return inodes;
+  }
+
+  /**
+   * @return whether {@link #resolvePath(long, List, ReadOption)} resolves paths in fewer round
+   *         trips than resolving each component with {@link #getChild(Long, String, ReadOption)}
+   */
+  default boolean supportsBatchPathResolution() {
+    return false;
+  }
+
+  /**
+   * Hints that the given path components are about to be looked up one at a time, so that a
+   * caching store can load what it doesn't already cache in one batch. The default implementation
+   * does nothing.
+   *
+   * @param inodeId the id of the directory to start from
+   * @param names the path components which will be looked up
+   */
+  default void prefetchPath(long inodeId, List<String> names) {}
+
   /**
    * @param inode an inode directory
    * @param option the options
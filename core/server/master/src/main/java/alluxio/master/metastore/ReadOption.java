@@ -11,16 +11,21 @@
 
 package alluxio.master.metastore;
 
+import javax.annotation.Nullable;
+
 /**
  * Options for reading from the inode store.
  */
 public class ReadOption {
-  private static final ReadOption DEFAULT = new ReadOption(false);
+  private static final ReadOption DEFAULT = new ReadOption(false, null);
 
   private final boolean mSkipCache;
+  @Nullable
+  private final String mStartAfter;
 
-  private ReadOption(boolean skipCache) {
+  private ReadOption(boolean skipCache, @Nullable String startAfter) {
     mSkipCache = skipCache;
+    mStartAfter = startAfter;
   }
 
   /**
@@ -30,6 +35,15 @@ public class ReadOption {
     return mSkipCache;
   }
 
+  /**
+   * @return the child name after which children listings should start, or null to list from the
+   *         first child
+   */
+  @Nullable
+  public String getStartAfter() {
+    return mStartAfter;
+  }
+
   /**
    * @return a new builder
    */
@@ -49,6 +63,7 @@ public class ReadOption {
    */
   public static class Builder {
     private boolean mSkipCache = false;
+    private String mStartAfter = null;
 
     /**
      * Sets whether to skip caching.
@@ -61,11 +76,23 @@ public class ReadOption {
       return this;
     }
 
+    /**
+     * Sets the child name after which children listings should start. Listings are ordered by
+     * child name, so this can be used to resume a listing from where a previous one left off.
+     *
+     * @param startAfter the name of the last child already listed, or null to list from the start
+     * @return the builder
+     */
+    public Builder setStartAfter(@Nullable String startAfter) {
+      mStartAfter = startAfter;
+      return this;
+    }
+
     /**
      * @return the built option
      */
     public ReadOption build() {
-      return new ReadOption(mSkipCache);
+      return new ReadOption(mSkipCache, mStartAfter);
     }
   }
 }
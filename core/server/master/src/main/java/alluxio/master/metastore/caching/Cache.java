@@ -17,6 +17,7 @@ import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.util.logging.SamplingLogger;
 
+import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -45,6 +47,8 @@ import javax.annotation.concurrent.ThreadSafe;
  * best performance, maximum capacity should never be reached. This requires that the eviction
  * thread can keep up cache writes.
  *
+ * Which unreferenced entries are evicted is decided by the cache's {@link EvictionPolicy}.
+ *
  * Cache hit reads are served without any locking. Writes and cache miss reads take locks on their
  * cache key.
  *
@@ -57,6 +61,10 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public abstract class Cache<K, V> implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(Cache.class);
+  /** Unreferenced entries accessed at most this many times recently are always evictable. */
+  private static final int MIN_FREQUENCY_THRESHOLD = 1;
+  /** The number of stripes used to track key versions. Must be a power of two. */
+  private static final int VERSION_STRIPES = 256;
 
   private final int mMaxSize;
   private final int mHighWaterMark;
@@ -64,7 +72,16 @@ public abstract class Cache<K, V> implements Closeable {
   private final int mEvictBatchSize;
   private final String mName;
   @VisibleForTesting
+  final EvictionPolicy<K> mEvictionPolicy;
+  private final Counter mHits;
+  private final Counter mMisses;
+  @VisibleForTesting
   final ConcurrentHashMap<K, Entry> mMap;
+  // Striped counters which are bumped whenever a key's value in the backing store may change
+  // without the cache holding the key: write-through at full capacity, eviction, and clearing.
+  // Values read from the backing store outside of the cache are only cached if their stripe has
+  // not changed since before the read.
+  private final AtomicLongArray mVersions = new AtomicLongArray(VERSION_STRIPES);
   // TODO(andrew): Support using multiple threads to speed up backing store writes.
   // Thread for performing eviction to the backing store.
   @VisibleForTesting
@@ -81,6 +98,14 @@ public abstract class Cache<K, V> implements Closeable {
     mLowWaterMark = conf.getLowWaterMark();
     mEvictBatchSize = conf.getEvictBatchSize();
     mName = name;
+    mEvictionPolicy = EvictionPolicy.create(conf.getEvictionPolicy(), mMaxSize);
+    String policy = mEvictionPolicy.getType().name();
+    mHits = MetricsSystem.counterWithTags(MetricKey.MASTER_METASTORE_CACHE_HITS.getName(),
+        MetricKey.MASTER_METASTORE_CACHE_HITS.isClusterAggregated(), "Cache", name,
+        "Policy", policy);
+    mMisses = MetricsSystem.counterWithTags(MetricKey.MASTER_METASTORE_CACHE_MISSES.getName(),
+        MetricKey.MASTER_METASTORE_CACHE_MISSES.isClusterAggregated(), "Cache", name,
+        "Policy", policy);
     mMap = new ConcurrentHashMap<>(mMaxSize);
     mEvictionThread = new EvictionThread();
     mEvictionThread.setDaemon(true);
@@ -103,19 +128,23 @@ public abstract class Cache<K, V> implements Closeable {
    * @return the value, or empty if the key doesn't exist in the cache or in the backing store
    */
   public Optional<V> get(K key, ReadOption option) {
+    mEvictionPolicy.recordAccess(key);
     if (option.shouldSkipCache() || cacheIsFull()) {
       return getSkipCache(key);
     }
     Entry result = mMap.compute(key, (k, entry) -> {
       if (entry != null) {
+        mHits.inc();
         entry.mReferenced = true;
         return entry;
       }
+      mMisses.inc();
       Optional<V> value = load(key);
       if (value.isPresent()) {
         onCacheUpdate(key, value.get());
         Entry newEntry = new Entry(key, value.get());
         newEntry.mDirty = false;
+        newEntry.mReferenced = mEvictionPolicy.referenceOnLoad(key);
         return newEntry;
       }
       return null;
@@ -145,11 +174,76 @@ public abstract class Cache<K, V> implements Closeable {
   private Optional<V> getSkipCache(K key) {
     Entry entry = mMap.get(key);
     if (entry == null) {
+      mMisses.inc();
       return load(key);
     }
+    mHits.inc();
     return Optional.ofNullable(entry.mValue);
   }
 
+  /**
+   * @param key a key
+   * @return whether the key currently has an entry in the cache, which may record a removal
+   */
+  public boolean isCached(K key) {
+    return mMap.containsKey(key);
+  }
+
+  /**
+   * Retrieves a cached value without loading it from the backing store. This does not count as an
+   * access to the key.
+   *
+   * @param key the key to get the value for
+   * @return the cached value, or empty if the key is not cached or its entry records a removal
+   */
+  public Optional<V> peek(K key) {
+    Entry entry = mMap.get(key);
+    return entry == null ? Optional.empty() : Optional.ofNullable(entry.mValue);
+  }
+
+  /**
+   * Captures the current version of a key. The result should be taken before reading the key's
+   * value from the backing store, and later passed to
+   * {@link #cacheIfAbsent(Object, Optional, long)}.
+   *
+   * @param key the key
+   * @return the current version of the key
+   */
+  public long getVersion(K key) {
+    return mVersions.get(stripe(key));
+  }
+
+  /**
+   * Caches a value that the caller read from the backing store. Nothing is cached if the key is
+   * already cached, the value is absent, the cache is full, or a write could have reached the
+   * backing store for the key since the given version was captured. This does not count as an
+   * access to the key, so that the later lookup which the value was loaded for is only recorded
+   * once.
+   *
+   * @param key the key to cache the value for
+   * @param loaded the value read from the backing store
+   * @param version the key version captured before reading the backing store
+   */
+  public void cacheIfAbsent(K key, Optional<V> loaded, long version) {
+    int stripe = stripe(key);
+    if (!loaded.isPresent() || cacheIsFull() || version != mVersions.get(stripe)) {
+      return;
+    }
+    Entry result = mMap.computeIfAbsent(key, k -> {
+      if (version != mVersions.get(stripe)) {
+        return null;
+      }
+      onCacheUpdate(key, loaded.get());
+      Entry newEntry = new Entry(key, loaded.get());
+      newEntry.mDirty = false;
+      newEntry.mReferenced = mEvictionPolicy.referenceOnLoad(key);
+      return newEntry;
+    });
+    if (result != null) {
+      wakeEvictionThreadIfNecessary();
+    }
+  }
+
   /**
    * Writes a key/value pair to the cache.
    *
@@ -157,10 +251,12 @@ public abstract class Cache<K, V> implements Closeable {
    * @param value the value
    */
   public void put(K key, V value) {
+    mEvictionPolicy.recordAccess(key);
     mMap.compute(key, (k, entry) -> {
       onPut(key, value);
       if (entry == null && cacheIsFull()) {
         writeToBackingStore(key, value);
+        bumpVersion(key);
         return null;
       }
       if (entry == null || entry.mValue == null) {
@@ -192,6 +288,7 @@ public abstract class Cache<K, V> implements Closeable {
       onRemove(key);
       if (entry == null && cacheIsFull()) {
         removeFromBackingStore(k);
+        bumpVersion(key);
         return null;
       }
       onCacheUpdate(key, null);
@@ -238,6 +335,18 @@ public abstract class Cache<K, V> implements Closeable {
       onRemove(key);
     });
     mMap.clear();
+    for (int i = 0; i < VERSION_STRIPES; i++) {
+      mVersions.incrementAndGet(i);
+    }
+  }
+
+  private int stripe(K key) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+  }
+
+  private void bumpVersion(K key) {
+    mVersions.incrementAndGet(stripe(key));
   }
 
   private boolean overHighWaterMark() {
@@ -286,6 +395,11 @@ public abstract class Cache<K, V> implements Closeable {
     // to keep re-allocating the list.
     private final List<Entry> mEvictionCandidates = new ArrayList<>(mEvictBatchSize);
     private final List<Entry> mDirtyEvictionCandidates = new ArrayList<>(mEvictBatchSize);
+    // Unreferenced entries whose estimated access frequency exceeds the threshold are skipped. The
+    // threshold starts low for every eviction round and rises whenever a full pass over the cache
+    // evicts nothing because of it, so eviction always makes progress.
+    private int mFrequencyThreshold;
+    private boolean mSkippedByFrequency;
     private final Logger mCacheFullLogger = new SamplingLogger(LOG, 10 * Constants.SECOND_MS);
 
     private Iterator<Entry> mEvictionHead = Collections.emptyIterator();
@@ -325,12 +439,22 @@ public abstract class Cache<K, V> implements Closeable {
       long evictionStart = System.nanoTime();
       int toEvict = mMap.size() - mLowWaterMark;
       int evictionCount = 0;
+      int passEvictionCount = 0;
+      mFrequencyThreshold = MIN_FREQUENCY_THRESHOLD;
+      mSkippedByFrequency = false;
       while (evictionCount < toEvict) {
         if (!mEvictionHead.hasNext()) {
+          if (passEvictionCount == 0 && mSkippedByFrequency) {
+            mFrequencyThreshold++;
+          }
+          passEvictionCount = 0;
+          mSkippedByFrequency = false;
           mEvictionHead = mMap.values().iterator();
         }
         fillBatch(toEvict - evictionCount);
-        evictionCount += evictBatch();
+        int evicted = evictBatch();
+        evictionCount += evicted;
+        passEvictionCount += evicted;
       }
       if (evictionCount > 0) {
         LOG.debug("{}: Evicted {} entries in {}ms", mName, evictionCount,
@@ -352,6 +476,10 @@ public abstract class Cache<K, V> implements Closeable {
           candidate.mReferenced = false;
           continue;
         }
+        if (mEvictionPolicy.frequency(candidate.mKey) > mFrequencyThreshold) {
+          mSkippedByFrequency = true;
+          continue;
+        }
         mEvictionCandidates.add(candidate);
         if (candidate.mDirty) {
           mDirtyEvictionCandidates.add(candidate);
@@ -389,6 +517,8 @@ public abstract class Cache<K, V> implements Closeable {
         if (entry.mDirty) {
           return entry; // entry must have been written since we evicted.
         }
+        bumpVersion(entry.mKey);
+        onEvict(entry.mKey, entry.mValue);
         onCacheRemove(entry.mKey);
         return null;
       });
@@ -423,6 +553,14 @@ public abstract class Cache<K, V> implements Closeable {
    */
   protected void onCacheRemove(K key) {}
 
+  /**
+   * Callback triggered when a clean entry is evicted from the cache, before onCacheRemove.
+   *
+   * @param key the evicted key
+   * @param value the evicted value, or null if the entry records a flushed removal
+   */
+  protected void onEvict(K key, @Nullable V value) {}
+
   /**
    * Callback triggered whenever a new key/value pair is added by put(key, value).
    *
@@ -19,12 +19,15 @@ public class CacheConfiguration {
   private final int mHighWaterMark;
   private final int mLowWaterMark;
   private final int mEvictBatchSize;
+  private final EvictionPolicyType mEvictionPolicy;
 
-  private CacheConfiguration(int maxSize, int highWaterMark, int lowWaterMark, int evictBatchSize) {
+  private CacheConfiguration(int maxSize, int highWaterMark, int lowWaterMark, int evictBatchSize,
+      EvictionPolicyType evictionPolicy) {
     mMaxSize = maxSize;
     mHighWaterMark = highWaterMark;
     mLowWaterMark = lowWaterMark;
     mEvictBatchSize = evictBatchSize;
+    mEvictionPolicy = evictionPolicy;
   }
 
   /**
@@ -55,6 +58,13 @@ public class CacheConfiguration {
     return mEvictBatchSize;
   }
 
+  /**
+   * @return the eviction policy type
+   */
+  public EvictionPolicyType getEvictionPolicy() {
+    return mEvictionPolicy;
+  }
+
   /**
    * @return a cache configuration builder
    */
@@ -70,6 +80,7 @@ public class CacheConfiguration {
     private int mHighWaterMark;
     private int mLowWaterMark;
     private int mEvictBatchSize;
+    private EvictionPolicyType mEvictionPolicy = EvictionPolicyType.CLOCK;
 
     /**
      * @param maxSize the target max cache size
@@ -107,11 +118,21 @@ public class CacheConfiguration {
       return this;
     }
 
+    /**
+     * @param evictionPolicy the policy for choosing which entries to evict
+     * @return the builder
+     */
+    public Builder setEvictionPolicy(EvictionPolicyType evictionPolicy) {
+      mEvictionPolicy = evictionPolicy;
+      return this;
+    }
+
     /**
      * @return a cache configuration based on the values passed to the builder
      */
     public CacheConfiguration build() {
-      return new CacheConfiguration(mMaxSize, mHighWaterMark, mLowWaterMark, mEvictBatchSize);
+      return new CacheConfiguration(mMaxSize, mHighWaterMark, mLowWaterMark, mEvictBatchSize,
+          mEvictionPolicy);
     }
   }
 }
@@ -26,6 +26,7 @@ import alluxio.master.file.meta.InodeLockManager;
 import alluxio.master.file.meta.MutableInode;
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.checkpoint.CheckpointName;
+import alluxio.master.metastore.ChildNameComparator;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOption;
 import alluxio.master.metastore.heap.HeapInodeStore;
@@ -36,6 +37,10 @@ import alluxio.util.ConfigurationUtils;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
@@ -44,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -52,11 +58,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -83,6 +91,10 @@ import javax.annotation.concurrent.ThreadSafe;
  * stores edge metadata, i.e. which inodes are children of which other inodes. The listing cache
  * caches the results of calling getChildren.
  *
+ * Optionally, an {@link OffHeapInodeCache} sits between the inode cache and the backing store. It
+ * holds serialized copies of inodes which were evicted from, written back by, or loaded into the
+ * inode cache, so that warm inodes can be reloaded without reading the backing store.
+ *
  * See the javadoc for {@link InodeCache}, {@link EdgeCache}, and {@link ListingCache} for details
  * about their inner workings.
  */
@@ -104,6 +116,12 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   @VisibleForTesting
   final ListingCache mListingCache;
 
+  // Second tier of serialized inodes in direct memory, or null if disabled. It is kept consistent
+  // with the backing store by updating it whenever the inode cache writes to the backing store.
+  @Nullable
+  @VisibleForTesting
+  final OffHeapInodeCache mOffHeapInodeCache;
+
   // Starts true, but becomes permanently false if we ever need to spill metadata to the backing
   // store. When true, we can optimize lookups for non-existent inodes because we don't need to
   // check the backing store. We can also optimize getChildren by skipping the range query on the
@@ -137,10 +155,28 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     CacheConfiguration cacheConf = CacheConfiguration.newBuilder().setMaxSize(maxSize)
         .setHighWaterMark(highWaterMark).setLowWaterMark(lowWaterMark)
         .setEvictBatchSize(conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE))
+        .setEvictionPolicy(conf.getEnum(PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICTION_POLICY,
+            EvictionPolicyType.class))
         .build();
     mInodeCache = new InodeCache(cacheConf);
     mEdgeCache = new EdgeCache(cacheConf);
-    mListingCache = new ListingCache(cacheConf);
+    long listingMaxSize =
+        conf.getBytes(PropertyKey.MASTER_METASTORE_INODE_CACHE_LISTING_MAX_SIZE);
+    mListingCache = new ListingCache(listingMaxSize, (long) (listingMaxSize * highWaterMarkRatio),
+        (long) (listingMaxSize * lowWaterMarkRatio));
+    long offHeapSize = conf.getBytes(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE);
+    if (offHeapSize > 0) {
+      long segmentSize =
+          conf.getBytes(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE);
+      Preconditions.checkArgument(segmentSize <= Integer.MAX_VALUE, "%s must be at most %s bytes",
+          PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE.getName(),
+          Integer.MAX_VALUE);
+      mOffHeapInodeCache = new OffHeapInodeCache(offHeapSize, (int) segmentSize);
+      MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_OFFHEAP_CACHE_SIZE.getName(),
+          mOffHeapInodeCache::size);
+    } else {
+      mOffHeapInodeCache = null;
+    }
   }
 
   @Override
@@ -170,6 +206,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   public void clear() {
     mInodeCache.clear();
     mEdgeCache.clear();
+    if (mOffHeapInodeCache != null) {
+      mOffHeapInodeCache.clear();
+    }
     mBackingStore.clear();
   }
 
@@ -185,7 +224,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
 
   @Override
   public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
-    return () -> mListingCache.getChildIds(inodeId, option).iterator();
+    return () -> mListingCache.getChildIds(inodeId, option);
   }
 
   @Override
@@ -198,13 +237,82 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     return mEdgeCache.get(new Edge(inodeId, name), option).flatMap(this::get);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Unless the cache is skipped, the path is prefetched first so that the per-component lookups
+   * are served from the caches.
+   */
+  @Override
+  public List<MutableInode<?>> resolvePathMutable(long inodeId, List<String> names,
+      ReadOption option) {
+    if (!option.shouldSkipCache()) {
+      prefetchPath(inodeId, names);
+    }
+    return InodeStore.super.resolvePathMutable(inodeId, names, option);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Cached edges and inodes are not read again, and prefetching does not count as an access to
+   * them. Uncached edges are read from the backing store one at a time, since each edge key
+   * depends on the previous child id, and the uncached inodes on the path are then read in one
+   * batch. Loaded values are only cached if no write could have reached the backing store for them
+   * since before the read.
+   */
+  @Override
+  public void prefetchPath(long inodeId, List<String> names) {
+    if (mBackingStoreEmpty || !mBackingStore.supportsBatchPathResolution()) {
+      return;
+    }
+    List<Long> uncachedIds = new ArrayList<>(names.size());
+    long parentId = inodeId;
+    for (String name : names) {
+      Edge edge = new Edge(parentId, name);
+      Optional<Long> childId;
+      if (mEdgeCache.isCached(edge)) {
+        childId = mEdgeCache.peek(edge);
+      } else {
+        // Capture the version before reading the backing store so that racing writes are detected.
+        long version = mEdgeCache.getVersion(edge);
+        childId = mBackingStore.getChildId(parentId, name);
+        mEdgeCache.cacheIfAbsent(edge, childId, version);
+      }
+      if (!childId.isPresent()) {
+        break;
+      }
+      if (!mInodeCache.isCached(childId.get())) {
+        uncachedIds.add(childId.get());
+      }
+      parentId = childId.get();
+    }
+    if (uncachedIds.isEmpty()) {
+      return;
+    }
+    long[] versions = new long[uncachedIds.size()];
+    for (int i = 0; i < versions.length; i++) {
+      versions[i] = mInodeCache.getVersion(uncachedIds.get(i));
+    }
+    Map<Long, MutableInode<?>> loaded = mBackingStore.getMutables(uncachedIds);
+    for (int i = 0; i < versions.length; i++) {
+      Long id = uncachedIds.get(i);
+      mInodeCache.cacheIfAbsent(id, Optional.ofNullable(loaded.get(id)), versions[i]);
+    }
+  }
+
+  @Override
+  public boolean supportsBatchPathResolution() {
+    return mBackingStore.supportsBatchPathResolution();
+  }
+
   @Override
   public boolean hasChildren(InodeDirectoryView inode, ReadOption option) {
     Optional<Collection<Long>> cached = mListingCache.getCachedChildIds(inode.getId());
     if (cached.isPresent()) {
       return !cached.get().isEmpty();
     }
-    return !mEdgeCache.getChildIds(inode.getId(), option).isEmpty()
+    return mEdgeCache.getChildren(inode.getId(), option).hasNext()
         || mBackingStore.hasChildren(inode);
   }
 
@@ -225,6 +333,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     Closer closer = Closer.create();
     // Close the backing store last so that cache eviction threads don't hit errors.
     closer.register(mBackingStore);
+    if (mOffHeapInodeCache != null) {
+      closer.register(mOffHeapInodeCache);
+    }
     closer.register(mInodeCache);
     closer.register(mEdgeCache);
     try {
@@ -253,6 +364,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     mInodeCache.clear();
     mEdgeCache.clear();
     mListingCache.clear();
+    if (mOffHeapInodeCache != null) {
+      mOffHeapInodeCache.clear();
+    }
     mBackingStore.restoreFromCheckpoint(input);
     mBackingStoreEmpty = false;
   }
@@ -276,26 +390,51 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       if (mBackingStoreEmpty) {
         return Optional.empty();
       }
-      return mBackingStore.getMutable(id, ReadOption.defaults());
+      if (mOffHeapInodeCache == null) {
+        return mBackingStore.getMutable(id, ReadOption.defaults());
+      }
+      Optional<MutableInode<?>> inode = mOffHeapInodeCache.get(id);
+      if (!inode.isPresent()) {
+        inode = mBackingStore.getMutable(id, ReadOption.defaults());
+        inode.ifPresent(mOffHeapInodeCache::put);
+      }
+      return inode;
     }
 
     @Override
     protected void writeToBackingStore(Long key, MutableInode<?> value) {
       mBackingStoreEmpty = false;
       mBackingStore.writeInode(value);
+      if (mOffHeapInodeCache != null) {
+        mOffHeapInodeCache.put(value);
+      }
     }
 
     @Override
     protected void removeFromBackingStore(Long key) {
+      if (mOffHeapInodeCache != null) {
+        mOffHeapInodeCache.remove(key);
+      }
       if (!mBackingStoreEmpty) {
         mBackingStore.remove(key);
       }
     }
 
+    @Override
+    protected void onEvict(Long key, @Nullable MutableInode<?> value) {
+      // Clean inodes match the backing store, so the off-heap copy is current if there is one.
+      if (mOffHeapInodeCache != null && value != null && !mOffHeapInodeCache.contains(key)) {
+        mOffHeapInodeCache.put(value);
+      }
+    }
+
     @Override
     protected void flushEntries(List<Entry> entries) {
       mBackingStoreEmpty = false;
       boolean useBatch = entries.size() > 0 && mBackingStore.supportsBatchWrite();
+      // Batched writes only reach the backing store on commit, so the off-heap cache is updated
+      // afterwards to keep it from serving values the backing store doesn't have yet.
+      Map<Long, MutableInode<?>> batched = new HashMap<>();
       try (WriteBatch batch = useBatch ? mBackingStore.createWriteBatch() : null) {
         for (Entry entry : entries) {
           Long inodeId = entry.mKey;
@@ -304,28 +443,42 @@ public final class CachingInodeStore implements InodeStore, Closeable {
             continue;
           }
           try (LockResource lr = lockOpt.get()) {
-            if (entry.mValue == null) {
-              if (useBatch) {
+            if (useBatch) {
+              if (entry.mValue == null) {
                 batch.removeInode(inodeId);
               } else {
-                mBackingStore.remove(inodeId);
+                batch.writeInode(entry.mValue);
               }
+              batched.put(inodeId, entry.mValue);
             } else {
-              if (useBatch) {
-                batch.writeInode(entry.mValue);
+              if (entry.mValue == null) {
+                mBackingStore.remove(inodeId);
               } else {
                 mBackingStore.writeInode(entry.mValue);
               }
+              updateOffHeapCache(inodeId, entry.mValue);
             }
             entry.mDirty = false;
           }
         }
         if (useBatch) {
           batch.commit();
+          batched.forEach(this::updateOffHeapCache);
         }
       }
     }
 
+    private void updateOffHeapCache(Long inodeId, @Nullable MutableInode<?> value) {
+      if (mOffHeapInodeCache == null) {
+        return;
+      }
+      if (value == null) {
+        mOffHeapInodeCache.remove(inodeId);
+      } else {
+        mOffHeapInodeCache.put(value);
+      }
+    }
+
     private Set<MutableInode<?>> allInodes() {
       Set<MutableInode<?>> cached = mInodeCache.getCacheMap().values().stream()
           .filter(entry -> entry.mValue != null).map(entry -> entry.mValue).collect(toSet());
@@ -352,8 +505,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   class EdgeCache extends Cache<Edge, Long> {
     // Indexes non-removed cache entries by parent id. The inner map is from child name to child id
     @VisibleForTesting
-    TwoKeyConcurrentMap<Long, String, Long, Map<String, Long>>
-        mIdToChildMap = new TwoKeyConcurrentMap<>(() -> new ConcurrentHashMap<>(4));
+    TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>>
+        mIdToChildMap = new TwoKeyConcurrentMap<>(
+            () -> new ConcurrentSkipListMap<>(ChildNameComparator.INSTANCE));
     // Indexes removed cache entries by parent id. The inner set contains the names of deleted
     // children.
     @VisibleForTesting
@@ -364,8 +518,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     }
 
     /**
-     * Gets the child ids for an inode. This searches the on-heap cache as well as the backing
-     * store.
+     * Gets the children of an inode. This searches the on-heap cache as well as the backing
+     * store. The cached children are copied up front, while the backing store is read lazily from
+     * the start-after name of the option, so that reading the first children of a page does not
+     * read the rest of the directory from the backing store.
      *
      * Consistency guarantees
      *
@@ -377,34 +533,64 @@ public final class CachingInodeStore implements InodeStore, Closeable {
      *
      * @param inodeId the inode to get the children for
      * @param option the read options
-     * @return the children
+     * @return the children named after the start-after name of the option, mapping child names
+     *         to child ids in {@link ChildNameComparator} order
      */
-    public Map<String, Long> getChildIds(Long inodeId, ReadOption option) {
+    public Iterator<Map.Entry<String, Long>> getChildren(Long inodeId, ReadOption option) {
+      NavigableMap<String, Long> cached =
+          mIdToChildMap.getOrDefault(inodeId, Collections.emptyNavigableMap());
+      if (option.getStartAfter() != null) {
+        cached = cached.tailMap(option.getStartAfter(), false);
+      }
       if (mBackingStoreEmpty) {
-        return mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap());
+        return cached.entrySet().iterator();
       }
       // This implementation must be careful because edges can be asynchronously evicted from the
       // cache to the backing store. To account for this, we read from the cache before consulting
       // the backing store.
-      Map<String, Long> childIds = new HashMap<>();
-      mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap()).forEach((name, id) -> {
-        childIds.put(name, id);
-      });
+      PeekingIterator<Map.Entry<String, Long>> cachedChildren =
+          Iterators.peekingIterator(new TreeMap<>(cached).entrySet().iterator());
       // Copy the list of unflushed deletes before reading the backing store to prevent racing async
       // deletion.
       Set<String> unflushedDeletes =
           new HashSet<>(mUnflushedDeletes.getOrDefault(inodeId, Collections.EMPTY_SET));
       // Cannot use mBackingStore.getChildren because it only returns inodes cached in the backing
       // store, causing us to lose inodes stored only in the cache.
-      mBackingStore.getChildIds(inodeId).forEach(childId -> {
-        CachingInodeStore.this.get(childId, option).map(inode -> {
-          if (!unflushedDeletes.contains(inode.getName())) {
-            childIds.put(inode.getName(), inode.getId());
+      Iterator<Long> backingIds = mBackingStore.getChildIds(inodeId, option).iterator();
+      PeekingIterator<Map.Entry<String, Long>> backingChildren =
+          Iterators.peekingIterator(new AbstractIterator<Map.Entry<String, Long>>() {
+            @Override
+            protected Map.Entry<String, Long> computeNext() {
+              while (backingIds.hasNext()) {
+                Optional<Inode> inode = CachingInodeStore.this.get(backingIds.next(), option);
+                if (inode.isPresent() && !unflushedDeletes.contains(inode.get().getName())) {
+                  return Maps.immutableEntry(inode.get().getName(), inode.get().getId());
+                }
+              }
+              return endOfData();
+            }
+          });
+      // Merge the two sorted sequences, preferring the cache which holds the latest edges.
+      return new AbstractIterator<Map.Entry<String, Long>>() {
+        @Override
+        protected Map.Entry<String, Long> computeNext() {
+          if (!cachedChildren.hasNext()) {
+            return backingChildren.hasNext() ? backingChildren.next() : endOfData();
           }
-          return null;
-        });
-      });
-      return childIds;
+          if (!backingChildren.hasNext()) {
+            return cachedChildren.next();
+          }
+          int cmp = ChildNameComparator.INSTANCE.compare(cachedChildren.peek().getKey(),
+              backingChildren.peek().getKey());
+          if (cmp > 0) {
+            return backingChildren.next();
+          }
+          if (cmp == 0) {
+            backingChildren.next();
+          }
+          return cachedChildren.next();
+        }
+      };
     }
 
     @Override
@@ -575,25 +761,38 @@ public final class CachingInodeStore implements InodeStore, Closeable {
    * record whether any modifications are made to the directory while we are listing it. If any
    * modifications are detected, we cannot safely cache, so we skip caching.
    *
-   * The listing cache tracks its size by weight. The weight for each entry is one plus the size of
-   * the listing. Once the weight reaches the high water mark, the first thread to acquire the
+   * Listings are held as {@link CompactChildListing}s, which front-code child names and keep child
+   * ids in primitive arrays, so that directories with hundreds of thousands of children can be
+   * cached.
+   *
+   * The listing cache tracks its size by weight, the approximate number of heap bytes used by each
+   * entry. A newly loaded listing is only admitted if it fits without pushing the cache over its
+   * maximum weight. Once the weight reaches the high water mark, the first thread to acquire the
    * eviction lock will evict down to the low watermark before computing and caching its result.
    */
   @VisibleForTesting
   class ListingCache {
-    private final int mMaxSize;
-    private final int mHighWaterMark;
-    private final int mLowWaterMark;
+    /** The approximate heap usage of a cache entry, excluding its listing. */
+    private static final long ENTRY_BYTES = 64;
+
+    private final long mMaxSize;
+    private final long mHighWaterMark;
+    private final long mLowWaterMark;
     private AtomicLong mWeight = new AtomicLong(0);
     private Lock mEvictionLock = new ReentrantLock();
 
     private Map<Long, ListingCacheEntry> mMap = new ConcurrentHashMap<>();
     private Iterator<Map.Entry<Long, ListingCacheEntry>> mEvictionHead = mMap.entrySet().iterator();
 
-    private ListingCache(CacheConfiguration conf) {
-      mMaxSize = conf.getMaxSize();
-      mHighWaterMark = conf.getHighWaterMark();
-      mLowWaterMark = conf.getLowWaterMark();
+    /**
+     * @param maxSize the maximum weight of the cache in bytes
+     * @param highWaterMark the weight at which the cache starts evicting
+     * @param lowWaterMark the weight the cache evicts down to
+     */
+    private ListingCache(long maxSize, long highWaterMark, long lowWaterMark) {
+      mMaxSize = maxSize;
+      mHighWaterMark = highWaterMark;
+      mLowWaterMark = lowWaterMark;
       MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_LISTING_CACHE_SIZE.getName(),
           () -> mWeight.get());
     }
@@ -608,9 +807,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     public void addEmptyDirectory(long inodeId) {
       evictIfNecessary();
       mMap.computeIfAbsent(inodeId, x -> {
-        mWeight.incrementAndGet();
         ListingCacheEntry entry = new ListingCacheEntry();
-        entry.mChildren = new ConcurrentHashMap<>(4);
+        entry.mChildren = new CompactChildListing();
+        mWeight.addAndGet(weight(entry));
         return entry;
       });
     }
@@ -654,7 +853,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       ListingCacheEntry entry = mMap.get(inodeId);
       if (entry != null && entry.mChildren != null) {
         entry.mReferenced = true;
-        return Optional.of(entry.mChildren.values());
+        return Optional.of(entry.mChildren.childIds(null));
       }
       return Optional.empty();
     }
@@ -662,12 +861,27 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     /**
      * Gets all children of an inode, falling back on the edge cache if the listing isn't cached.
      *
+     * A listing is only loaded into the cache when listing from the first child. Later pages of a
+     * listing are served from the cached listing if there is one, and otherwise from the edge
+     * cache starting at the start-after name, so that paging through a directory does not read the
+     * whole directory for each page.
+     *
      * @param inodeId the inode directory id
      * @param option the read options
-     * @return the ids of all children of the directory
+     * @return the ids of the children of the directory named after the option's start-after
+     *         name, in name order
      */
-    public Collection<Long> getChildIds(Long inodeId, ReadOption option) {
+    public Iterator<Long> getChildIds(Long inodeId, ReadOption option) {
       evictIfNecessary();
+      if (option.getStartAfter() != null) {
+        ListingCacheEntry entry = mMap.get(inodeId);
+        CompactChildListing children = entry == null ? null : entry.mChildren;
+        if (children != null) {
+          entry.mReferenced = true;
+          return children.childIds(option.getStartAfter()).iterator();
+        }
+        return Iterators.transform(mEdgeCache.getChildren(inodeId, option), Map.Entry::getValue);
+      }
       AtomicBoolean createdNewEntry = new AtomicBoolean(false);
       ListingCacheEntry entry = mMap.compute(inodeId, (key, value) -> {
         if (value == null) {
@@ -680,14 +894,15 @@ public final class CachingInodeStore implements InodeStore, Closeable {
         value.mReferenced = true;
         return value;
       });
-      if (entry != null && entry.mChildren != null) {
-        return entry.mChildren.values();
+      CompactChildListing children = entry == null ? null : entry.mChildren;
+      if (children != null) {
+        return children.childIds(null).iterator();
       }
       if (entry == null || !createdNewEntry.get() || option.shouldSkipCache()) {
         // Skip caching if the cache is full or someone else is already caching.
-        return mEdgeCache.getChildIds(inodeId, option).values();
+        return Iterators.transform(mEdgeCache.getChildren(inodeId, option), Map.Entry::getValue);
       }
-      return loadChildren(inodeId, entry, option).values();
+      return loadChildren(inodeId, entry, option).values().iterator();
     }
 
     public void clear() {
@@ -696,20 +911,27 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       mEvictionHead = mMap.entrySet().iterator();
     }
 
-    private Map<String, Long> loadChildren(Long inodeId, ListingCacheEntry entry,
+    private NavigableMap<String, Long> loadChildren(Long inodeId, ListingCacheEntry entry,
         ReadOption option) {
       evictIfNecessary();
       entry.mModified = false;
-      Map<String, Long> listing = mEdgeCache.getChildIds(inodeId, option);
+      NavigableMap<String, Long> listing = new TreeMap<>(ChildNameComparator.INSTANCE);
+      mEdgeCache.getChildren(inodeId, option)
+          .forEachRemaining(child -> listing.put(child.getKey(), child.getValue()));
       mMap.computeIfPresent(inodeId, (key, value) -> {
         // Perform the update inside computeIfPresent to prevent concurrent modification to the
         // cache entry.
-        if (!entry.mModified) {
-          entry.mChildren = new ConcurrentHashMap<>(listing);
-          mWeight.addAndGet(weight(entry));
-          return entry;
+        if (entry.mModified) {
+          return null;
         }
-        return null;
+        CompactChildListing children = new CompactChildListing(listing);
+        // Only admit listings which fit in the cache without pushing it over its maximum weight.
+        if (mWeight.get() + ENTRY_BYTES + children.getWeight() > mMaxSize) {
+          return null;
+        }
+        entry.mChildren = children;
+        mWeight.addAndGet(weight(entry));
+        return entry;
       });
       return listing;
     }
@@ -730,7 +952,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     private void evict() {
       long startTime = System.currentTimeMillis();
       long evictTarget = mWeight.get() - mLowWaterMark;
-      AtomicInteger evicted = new AtomicInteger(0);
+      AtomicLong evicted = new AtomicLong(0);
       while (evicted.get() < evictTarget) {
         if (!mEvictionHead.hasNext()) {
           mEvictionHead = mMap.entrySet().iterator();
@@ -756,11 +978,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
           mWeight.get(), System.currentTimeMillis() - startTime);
     }
 
-    private int weight(ListingCacheEntry entry) {
+    private long weight(ListingCacheEntry entry) {
       Preconditions.checkNotNull(entry);
       Preconditions.checkNotNull(entry.mChildren);
-      // Add 1 to take the key into account.
-      return entry.mChildren.size() + 1;
+      return ENTRY_BYTES + entry.mChildren.getWeight();
     }
 
     private class ListingCacheEntry {
@@ -768,17 +989,23 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       private volatile boolean mReferenced = true;
       // null indicates that we are in the process of loading the children.
       @Nullable
-      private volatile Map<String, Long> mChildren = null;
+      private volatile CompactChildListing mChildren = null;
 
       public void addChild(String name, Long id) {
-        if (mChildren != null && mChildren.put(name, id) == null) {
-          mWeight.incrementAndGet();
+        CompactChildListing children = mChildren;
+        if (children != null) {
+          long weight = children.getWeight();
+          children.put(name, id);
+          mWeight.addAndGet(children.getWeight() - weight);
         }
       }
 
       public void removeChild(String name) {
-        if (mChildren != null && mChildren.remove(name) != null) {
-          mWeight.decrementAndGet();
+        CompactChildListing children = mChildren;
+        if (children != null) {
+          long weight = children.getWeight();
+          children.remove(name);
+          mWeight.addAndGet(children.getWeight() - weight);
         }
       }
     }
@@ -0,0 +1,41 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Plain CLOCK eviction. Every loaded entry starts out referenced, and every unreferenced entry the
+ * eviction thread passes is evicted.
+ *
+ * @param <K> the cache key type
+ */
+@ThreadSafe
+public final class ClockEvictionPolicy<K> implements EvictionPolicy<K> {
+  @Override
+  public void recordAccess(K key) {}
+
+  @Override
+  public boolean referenceOnLoad(K key) {
+    return true;
+  }
+
+  @Override
+  public int frequency(K key) {
+    return 0;
+  }
+
+  @Override
+  public EvictionPolicyType getType() {
+    return EvictionPolicyType.CLOCK;
+  }
+}
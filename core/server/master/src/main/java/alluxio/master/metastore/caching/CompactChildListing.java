@@ -0,0 +1,527 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import alluxio.master.metastore.ChildNameComparator;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The children of a directory sorted by name in {@link ChildNameComparator} order, in a
+ * representation that stays compact for very large directories.
+ *
+ * Most children live in an immutable base which front-codes their names in blocks of
+ * {@link Base#BLOCK_SIZE} and keeps their ids in a primitive array. Children added or removed since
+ * the base was built are kept in sorted overlays, which are merged into a new base once they grow
+ * past a fraction of it.
+ *
+ * Reads never block. Like the iterators of concurrent collections, a read may or may not reflect
+ * modifications made while it is in progress. Modifications must be serialized externally.
+ */
+@ThreadSafe
+final class CompactChildListing {
+  private static final ChildNameComparator COMPARATOR = ChildNameComparator.INSTANCE;
+  /** The overlays are merged into the base once they exceed 1/COMPACTION_RATIO of its size. */
+  private static final int COMPACTION_RATIO = 8;
+  /** Overlays up to this size are never merged. */
+  private static final int MIN_COMPACTION_SIZE = 64;
+  /** The approximate heap usage of an overlay entry, excluding the characters of its name. */
+  private static final int OVERLAY_ENTRY_BYTES = 96;
+  /** The approximate heap usage of an empty listing. */
+  private static final int LISTING_BYTES = 256;
+
+  private volatile State mState;
+  private volatile int mSize;
+  private volatile int mOverlaySize;
+  private volatile long mWeight;
+
+  /**
+   * Creates an empty listing.
+   */
+  CompactChildListing() {
+    this(Collections.emptySortedMap());
+  }
+
+  /**
+   * @param children a map from child name to child id
+   */
+  CompactChildListing(SortedMap<String, Long> children) {
+    Base.Builder builder = new Base.Builder();
+    children.forEach(builder::add);
+    setBase(builder.build());
+  }
+
+  /**
+   * Adds a child, replacing any child with the same name.
+   *
+   * @param name the child name
+   * @param id the child id
+   * @return whether the listing did not already contain a child with the name
+   */
+  boolean put(String name, long id) {
+    State state = mState;
+    boolean existed;
+    if (state.mAdded.put(name, id) != null) {
+      existed = true;
+    } else {
+      addToOverlay(name, 1);
+      if (state.mRemoved.remove(name)) {
+        addToOverlay(name, -1);
+        existed = false;
+      } else {
+        existed = state.mBase.contains(name);
+      }
+    }
+    if (!existed) {
+      mSize++;
+    }
+    compactIfNecessary();
+    return !existed;
+  }
+
+  /**
+   * Removes a child.
+   *
+   * @param name the child name
+   * @return whether the listing contained a child with the name
+   */
+  boolean remove(String name) {
+    State state = mState;
+    // Hide the base entry before dropping any overlay entry so that readers never see the base
+    // entry reappear.
+    boolean hidden = state.mBase.contains(name) && state.mRemoved.add(name);
+    if (hidden) {
+      addToOverlay(name, 1);
+    }
+    boolean unadded = state.mAdded.remove(name) != null;
+    if (unadded) {
+      addToOverlay(name, -1);
+    }
+    boolean existed = hidden || unadded;
+    if (existed) {
+      mSize--;
+    }
+    compactIfNecessary();
+    return existed;
+  }
+
+  /**
+   * @param startAfter the name to list after, or null to list all children
+   * @return a live view of the ids of the children named after startAfter, in name order
+   */
+  Collection<Long> childIds(@Nullable String startAfter) {
+    return new AbstractCollection<Long>() {
+      @Override
+      public Iterator<Long> iterator() {
+        Cursor cursor = new Cursor(mState, startAfter);
+        return new Iterator<Long>() {
+          private boolean mAdvanced;
+          private boolean mHasNext;
+
+          @Override
+          public boolean hasNext() {
+            if (!mAdvanced) {
+              mHasNext = cursor.next();
+              mAdvanced = true;
+            }
+            return mHasNext;
+          }
+
+          @Override
+          public Long next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            mAdvanced = false;
+            return cursor.mId;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        if (startAfter == null) {
+          return mSize;
+        }
+        int size = 0;
+        Cursor cursor = new Cursor(mState, startAfter);
+        while (cursor.next()) {
+          size++;
+        }
+        return size;
+      }
+    };
+  }
+
+  /**
+   * @return the number of children
+   */
+  int size() {
+    return mSize;
+  }
+
+  /**
+   * @return the approximate number of heap bytes used by the listing
+   */
+  long getWeight() {
+    return mWeight;
+  }
+
+  private void addToOverlay(String name, int count) {
+    mOverlaySize += count;
+    mWeight += count * overlayWeight(name);
+  }
+
+  private void compactIfNecessary() {
+    int overlaySize = mOverlaySize;
+    if (overlaySize <= MIN_COMPACTION_SIZE
+        || overlaySize <= mState.mBase.size() / COMPACTION_RATIO) {
+      return;
+    }
+    Base.Builder builder = new Base.Builder();
+    Cursor cursor = new Cursor(mState, null);
+    while (cursor.next()) {
+      builder.add(cursor.mName, cursor.mId);
+    }
+    setBase(builder.build());
+  }
+
+  private void setBase(Base base) {
+    mState = new State(base);
+    mSize = base.size();
+    mOverlaySize = 0;
+    mWeight = LISTING_BYTES + base.getWeight();
+  }
+
+  private static long overlayWeight(String name) {
+    return OVERLAY_ENTRY_BYTES + 2L * name.length();
+  }
+
+  /**
+   * An immutable base together with the overlays applied on top of it.
+   */
+  private static final class State {
+    private final Base mBase;
+    private final ConcurrentSkipListMap<String, Long> mAdded =
+        new ConcurrentSkipListMap<>(COMPARATOR);
+    // Names of base entries which have been removed. Never contains names in mAdded.
+    private final ConcurrentSkipListSet<String> mRemoved =
+        new ConcurrentSkipListSet<>(COMPARATOR);
+
+    private State(Base base) {
+      mBase = base;
+    }
+  }
+
+  /**
+   * Iterates over the children of a state by merging its base with its overlays.
+   */
+  private static final class Cursor {
+    private final Base.Cursor mBase;
+    private final Iterator<Map.Entry<String, Long>> mAdded;
+    private final Iterator<String> mRemoved;
+    @Nullable
+    private String mBaseName;
+    private long mBaseId;
+    @Nullable
+    private Map.Entry<String, Long> mNextAdded;
+    @Nullable
+    private String mNextRemoved;
+
+    private String mName;
+    private long mId;
+
+    private Cursor(State state, @Nullable String startAfter) {
+      if (startAfter == null) {
+        mBase = state.mBase.cursor(0);
+        mAdded = state.mAdded.entrySet().iterator();
+        mRemoved = state.mRemoved.iterator();
+      } else {
+        mBase = state.mBase.cursor(state.mBase.higherIndex(startAfter));
+        mAdded = state.mAdded.tailMap(startAfter, false).entrySet().iterator();
+        mRemoved = state.mRemoved.tailSet(startAfter, false).iterator();
+      }
+    }
+
+    /**
+     * Moves to the next child.
+     *
+     * @return whether there was a next child
+     */
+    private boolean next() {
+      while (true) {
+        if (mBaseName == null && mBase.hasNext()) {
+          mBase.next();
+          mBaseName = mBase.mName;
+          mBaseId = mBase.id();
+        }
+        if (mNextAdded == null && mAdded.hasNext()) {
+          mNextAdded = mAdded.next();
+        }
+        if (mBaseName == null && mNextAdded == null) {
+          return false;
+        }
+        int cmp = mBaseName == null ? 1
+            : mNextAdded == null ? -1 : COMPARATOR.compare(mBaseName, mNextAdded.getKey());
+        if (cmp >= 0) {
+          // The overlay entry comes first, or replaces the base entry with the same name.
+          mName = mNextAdded.getKey();
+          mId = mNextAdded.getValue();
+          mNextAdded = null;
+          if (cmp == 0) {
+            mBaseName = null;
+          }
+          return true;
+        }
+        String name = mBaseName;
+        mBaseName = null;
+        if (!isRemoved(name)) {
+          mName = name;
+          mId = mBaseId;
+          return true;
+        }
+      }
+    }
+
+    private boolean isRemoved(String name) {
+      while (mNextRemoved != null || mRemoved.hasNext()) {
+        if (mNextRemoved == null) {
+          mNextRemoved = mRemoved.next();
+        }
+        int cmp = COMPARATOR.compare(mNextRemoved, name);
+        if (cmp > 0) {
+          return false;
+        }
+        mNextRemoved = null;
+        if (cmp == 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Immutable sorted children with front-coded names.
+   *
+   * Names are stored as a sequence of (shared prefix length, suffix length, UTF-8 suffix) records,
+   * where the prefix is shared with the previous name. The first name of every block shares no
+   * prefix, so that a lookup can binary search the block heads and decode a single block.
+   */
+  private static final class Base {
+    private static final int BLOCK_SIZE = 16;
+
+    private final byte[] mNames;
+    private final int[] mBlockOffsets;
+    private final long[] mIds;
+
+    private Base(byte[] names, int[] blockOffsets, long[] ids) {
+      mNames = names;
+      mBlockOffsets = blockOffsets;
+      mIds = ids;
+    }
+
+    private int size() {
+      return mIds.length;
+    }
+
+    private long getWeight() {
+      return mNames.length + 4L * mBlockOffsets.length + 8L * mIds.length;
+    }
+
+    /**
+     * @param name a name
+     * @return whether the base contains the name
+     */
+    private boolean contains(String name) {
+      int block = blockFor(name);
+      if (block < 0) {
+        return false;
+      }
+      Cursor cursor = cursor(block * BLOCK_SIZE);
+      int end = Math.min(size(), (block + 1) * BLOCK_SIZE);
+      while (cursor.mIndex + 1 < end) {
+        cursor.next();
+        int cmp = COMPARATOR.compare(cursor.mName, name);
+        if (cmp >= 0) {
+          return cmp == 0;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @param name a name
+     * @return the index of the first entry whose name is greater than the given name
+     */
+    private int higherIndex(String name) {
+      int block = blockFor(name);
+      if (block < 0) {
+        return 0;
+      }
+      Cursor cursor = cursor(block * BLOCK_SIZE);
+      int end = Math.min(size(), (block + 1) * BLOCK_SIZE);
+      while (cursor.mIndex + 1 < end) {
+        cursor.next();
+        if (COMPARATOR.compare(cursor.mName, name) > 0) {
+          return cursor.mIndex;
+        }
+      }
+      return end;
+    }
+
+    /**
+     * @param name a name
+     * @return the last block whose first name is not greater than the given name, or -1 if there
+     *         is no such block
+     */
+    private int blockFor(String name) {
+      int low = 0;
+      int high = mBlockOffsets.length - 1;
+      int block = -1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        if (COMPARATOR.compare(cursor(mid * BLOCK_SIZE).nextName(), name) <= 0) {
+          block = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      return block;
+    }
+
+    /**
+     * @param start the index of the first entry the cursor should return
+     * @return a cursor positioned before the entry at the given index
+     */
+    private Cursor cursor(int start) {
+      return new Cursor(start);
+    }
+
+    private final class Cursor {
+      private int mIndex;
+      private int mPosition;
+      private String mName = "";
+
+      private Cursor(int start) {
+        if (start >= size()) {
+          mIndex = size() - 1;
+          return;
+        }
+        int block = start / BLOCK_SIZE;
+        mIndex = block * BLOCK_SIZE - 1;
+        mPosition = mBlockOffsets[block];
+        while (mIndex + 1 < start) {
+          next();
+        }
+      }
+
+      private boolean hasNext() {
+        return mIndex + 1 < size();
+      }
+
+      private void next() {
+        mName = nextName();
+        mIndex++;
+      }
+
+      /**
+       * Decodes the next name and moves the position past it without moving to the next entry.
+       */
+      private String nextName() {
+        int prefixLength = readVarInt();
+        int suffixLength = readVarInt();
+        String suffix = new String(mNames, mPosition, suffixLength, StandardCharsets.UTF_8);
+        mPosition += suffixLength;
+        return prefixLength == 0 ? suffix : mName.substring(0, prefixLength) + suffix;
+      }
+
+      private long id() {
+        return mIds[mIndex];
+      }
+
+      private int readVarInt() {
+        int result = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = mNames[mPosition++];
+          result |= (b & 0x7F) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+      }
+    }
+
+    /**
+     * Builds a base from entries added in increasing name order.
+     */
+    private static final class Builder {
+      private final ByteArrayOutputStream mNames = new ByteArrayOutputStream();
+      private final IntArrayList mBlockOffsets = new IntArrayList();
+      private final LongArrayList mIds = new LongArrayList();
+      private String mPrevious = "";
+
+      private void add(String name, long id) {
+        int prefixLength = 0;
+        if (mIds.size() % BLOCK_SIZE == 0) {
+          mBlockOffsets.add(mNames.size());
+        } else {
+          int max = Math.min(mPrevious.length(), name.length());
+          while (prefixLength < max
+              && mPrevious.charAt(prefixLength) == name.charAt(prefixLength)) {
+            prefixLength++;
+          }
+          // Don't split a surrogate pair, since half of one can't be encoded as UTF-8.
+          if (prefixLength > 0 && Character.isHighSurrogate(name.charAt(prefixLength - 1))) {
+            prefixLength--;
+          }
+        }
+        byte[] suffix = name.substring(prefixLength).getBytes(StandardCharsets.UTF_8);
+        writeVarInt(prefixLength);
+        writeVarInt(suffix.length);
+        mNames.write(suffix, 0, suffix.length);
+        mIds.add(id);
+        mPrevious = name;
+      }
+
+      private Base build() {
+        return new Base(mNames.toByteArray(), mBlockOffsets.toIntArray(), mIds.toLongArray());
+      }
+
+      private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+          mNames.write((value & 0x7F) | 0x80);
+          value >>>= 7;
+        }
+        mNames.write(value);
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+/**
+ * Decides which entries a {@link Cache} keeps when it needs to evict.
+ *
+ * The cache always runs CLOCK: entries accessed since the eviction thread last passed them are
+ * skipped. A policy refines this by deciding whether newly loaded entries start out referenced,
+ * and by estimating how often each key is accessed. Unreferenced entries accessed more than once
+ * recently are kept for as long as the eviction thread can find enough other entries to evict.
+ *
+ * Implementations must be thread-safe, since accesses are recorded from any thread reading the
+ * cache while the eviction thread ranks candidates.
+ *
+ * @param <K> the cache key type
+ */
+public interface EvictionPolicy<K> {
+  /**
+   * Records an access to a key, whether or not it was served from the cache.
+   *
+   * @param key the accessed key
+   */
+  void recordAccess(K key);
+
+  /**
+   * @param key a key just loaded from the backing store
+   * @return whether the loaded entry should start out referenced, protecting it from the next
+   *         eviction pass
+   */
+  boolean referenceOnLoad(K key);
+
+  /**
+   * @param key a key
+   * @return an estimate of how many times the key has been accessed recently, or 0 if the policy
+   *         does not track access frequencies
+   */
+  int frequency(K key);
+
+  /**
+   * @return the type of the policy
+   */
+  EvictionPolicyType getType();
+
+  /**
+   * @param type the policy type
+   * @param maxSize the maximum size of the cache the policy is used for
+   * @param <K> the cache key type
+   * @return a new eviction policy of the given type
+   */
+  static <K> EvictionPolicy<K> create(EvictionPolicyType type, int maxSize) {
+    switch (type) {
+      case CLOCK:
+        return new ClockEvictionPolicy<>();
+      case TINY_LFU:
+        return new TinyLfuEvictionPolicy<>(maxSize);
+      default:
+        throw new IllegalArgumentException("Unknown eviction policy type: " + type);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+/**
+ * Eviction policies supported by {@link Cache}.
+ */
+public enum EvictionPolicyType {
+  /** Evicts entries which have not been accessed since the eviction thread last passed them. */
+  CLOCK,
+  /** CLOCK with an approximate access frequency filter deciding which entries to evict. */
+  TINY_LFU
+}
@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A count-min sketch of 4-bit counters estimating how often keys have been accessed recently.
+ *
+ * Each long in the table holds sixteen counters. A key maps to four counters, one per hash
+ * function, and its estimate is the minimum of them. Once the number of recorded accesses reaches
+ * ten times the cache size, every counter is halved so that old popularity fades.
+ *
+ * Updates are not synchronized. Concurrent increments of the same counters may be lost, which only
+ * makes the estimates slightly less accurate, and keeps recording an access cheap on the cache hit
+ * path.
+ */
+@ThreadSafe
+final class FrequencySketch {
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int SAMPLE_RATIO = 10;
+  /** The largest value a counter can hold. */
+  static final int MAX_FREQUENCY = 15;
+
+  private final long[] mTable;
+  private final int mTableMask;
+  private final int mSampleSize;
+  private int mSize;
+
+  /**
+   * @param maxSize the maximum number of entries in the cache whose accesses are counted
+   */
+  FrequencySketch(int maxSize) {
+    Preconditions.checkArgument(maxSize > 0, "maxSize must be positive");
+    int tableSize = Integer.highestOneBit(Math.min(maxSize, 1 << 30));
+    if (tableSize < maxSize) {
+      tableSize <<= 1;
+    }
+    mTable = new long[tableSize];
+    mTableMask = tableSize - 1;
+    mSampleSize = (int) Math.min((long) SAMPLE_RATIO * maxSize, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Records an access to the key with the given hash code.
+   *
+   * @param hashCode the hash code of the accessed key
+   */
+  void increment(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++mSize >= mSampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * @param hashCode the hash code of a key
+   * @return the estimated number of recent accesses to the key, at most {@link #MAX_FREQUENCY}
+   */
+  int frequency(int hashCode) {
+    int hash = spread(hashCode);
+    int start = (hash & 3) << 2;
+    int frequency = MAX_FREQUENCY;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int offset = (start + i) << 2;
+      int count = (int) ((mTable[indexOf(hash, i)] >>> offset) & MAX_FREQUENCY);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Halves every counter.
+   */
+  void reset() {
+    for (int i = 0; i < mTable.length; i++) {
+      mTable[i] = (mTable[i] >>> 1) & RESET_MASK;
+    }
+    mSize /= 2;
+  }
+
+  /**
+   * @param index the table index
+   * @param counter which of the sixteen counters in the long to increment
+   * @return whether the counter was incremented, false if it was already saturated
+   */
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = ((long) MAX_FREQUENCY) << offset;
+    long value = mTable[index];
+    if ((value & mask) != mask) {
+      mTable[index] = value + (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  private int indexOf(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return ((int) h) & mTableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
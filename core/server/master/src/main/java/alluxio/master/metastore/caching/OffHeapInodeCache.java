@@ -0,0 +1,237 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import alluxio.master.file.meta.MutableInode;
+import alluxio.proto.meta.InodeMeta;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of serialized inodes kept in direct memory.
+ *
+ * Inodes are appended as (id, length, bytes) records to a ring of fixed-size segments. When the
+ * ring wraps around, the oldest segment is reused and the records still indexed in it are dropped,
+ * so eviction is FIFO at segment granularity. Overwritten records become garbage which is reclaimed
+ * when their segment is reused. The only on-heap state is a primitive index from inode id to
+ * record address, so the cache can hold tens of millions of inodes at little GC cost.
+ */
+@ThreadSafe
+public final class OffHeapInodeCache implements Closeable {
+  private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+  private static final long NO_ADDRESS = -1;
+
+  private final int mSegmentSize;
+  private final ReadWriteLock mLock = new ReentrantReadWriteLock();
+
+  /** Segments are allocated on first use so that an unused cache does not hold direct memory. */
+  @GuardedBy("mLock")
+  private final ByteBuffer[] mSegments;
+  /** The number of bytes written to each segment. */
+  @GuardedBy("mLock")
+  private final int[] mSegmentEnds;
+  /** Maps inode id to the address of its latest record, (segment << 32 | offset). */
+  @GuardedBy("mLock")
+  private final Long2LongOpenHashMap mIndex = new Long2LongOpenHashMap();
+  @GuardedBy("mLock")
+  private int mCurrentSegment;
+
+  /**
+   * @param capacity the maximum number of bytes of direct memory to use
+   * @param segmentSize the size of each segment; records larger than this are not cached
+   */
+  public OffHeapInodeCache(long capacity, int segmentSize) {
+    Preconditions.checkArgument(segmentSize > HEADER_BYTES, "segment size %s is too small",
+        segmentSize);
+    long segments = capacity / segmentSize;
+    Preconditions.checkArgument(segments >= 2 && segments <= Integer.MAX_VALUE,
+        "Off-heap inode cache capacity %s must hold at least two segments of %s bytes", capacity,
+        segmentSize);
+    mSegmentSize = segmentSize;
+    mSegments = new ByteBuffer[(int) segments];
+    mSegmentEnds = new int[(int) segments];
+    mIndex.defaultReturnValue(NO_ADDRESS);
+  }
+
+  /**
+   * @param id an inode id
+   * @return the cached inode, or empty if the inode is not cached
+   */
+  public Optional<MutableInode<?>> get(long id) {
+    byte[] bytes;
+    Lock lock = mLock.readLock();
+    lock.lock();
+    try {
+      long address = mIndex.get(id);
+      if (address == NO_ADDRESS) {
+        return Optional.empty();
+      }
+      ByteBuffer segment = mSegments[(int) (address >>> 32)].duplicate();
+      int offset = (int) address;
+      bytes = new byte[segment.getInt(offset + Long.BYTES)];
+      segment.position(offset + HEADER_BYTES);
+      segment.get(bytes);
+    } finally {
+      lock.unlock();
+    }
+    try {
+      return Optional.of(MutableInode.fromProto(InodeMeta.Inode.parseFrom(bytes)));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * @param id an inode id
+   * @return whether the inode is cached
+   */
+  public boolean contains(long id) {
+    Lock lock = mLock.readLock();
+    lock.lock();
+    try {
+      return mIndex.containsKey(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Caches the given inode, replacing any previously cached version of it.
+   *
+   * @param inode the inode to cache
+   */
+  public void put(MutableInode<?> inode) {
+    byte[] bytes = inode.toProto().toByteArray();
+    int recordSize = HEADER_BYTES + bytes.length;
+    Lock lock = mLock.writeLock();
+    lock.lock();
+    try {
+      if (recordSize > mSegmentSize) {
+        mIndex.remove(inode.getId());
+        return;
+      }
+      if (mSegments[mCurrentSegment] == null
+          || mSegmentEnds[mCurrentSegment] + recordSize > mSegmentSize) {
+        advanceSegment();
+      }
+      ByteBuffer segment = mSegments[mCurrentSegment].duplicate();
+      int offset = mSegmentEnds[mCurrentSegment];
+      segment.position(offset);
+      segment.putLong(inode.getId());
+      segment.putInt(bytes.length);
+      segment.put(bytes);
+      mSegmentEnds[mCurrentSegment] = offset + recordSize;
+      mIndex.put(inode.getId(), ((long) mCurrentSegment << 32) | offset);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @param id the id of the inode to remove from the cache
+   */
+  public void remove(long id) {
+    Lock lock = mLock.writeLock();
+    lock.lock();
+    try {
+      mIndex.remove(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes all inodes from the cache.
+   */
+  public void clear() {
+    Lock lock = mLock.writeLock();
+    lock.lock();
+    try {
+      mIndex.clear();
+      mIndex.trim();
+      for (int i = 0; i < mSegmentEnds.length; i++) {
+        mSegmentEnds[i] = 0;
+      }
+      mCurrentSegment = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of cached inodes
+   */
+  public int size() {
+    Lock lock = mLock.readLock();
+    lock.lock();
+    try {
+      return mIndex.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves to the next segment of the ring, dropping the records which are still indexed in it.
+   */
+  @GuardedBy("mLock")
+  private void advanceSegment() {
+    if (mSegments[mCurrentSegment] != null) {
+      mCurrentSegment = (mCurrentSegment + 1) % mSegments.length;
+    }
+    ByteBuffer segment = mSegments[mCurrentSegment];
+    if (segment == null) {
+      mSegments[mCurrentSegment] = ByteBuffer.allocateDirect(mSegmentSize);
+    } else {
+      int offset = 0;
+      int end = mSegmentEnds[mCurrentSegment];
+      while (offset < end) {
+        long id = segment.getLong(offset);
+        long address = ((long) mCurrentSegment << 32) | offset;
+        if (mIndex.get(id) == address) {
+          mIndex.remove(id);
+        }
+        offset += HEADER_BYTES + segment.getInt(offset + Long.BYTES);
+      }
+    }
+    mSegmentEnds[mCurrentSegment] = 0;
+  }
+
+  @Override
+  public void close() {
+    Lock lock = mLock.writeLock();
+    lock.lock();
+    try {
+      clear();
+      for (int i = 0; i < mSegments.length; i++) {
+        if (mSegments[i] != null) {
+          BufferUtils.cleanDirectBuffer(mSegments[i]);
+          mSegments[i] = null;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
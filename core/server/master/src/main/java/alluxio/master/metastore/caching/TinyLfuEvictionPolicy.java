@@ -0,0 +1,58 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * CLOCK eviction guided by a TinyLFU frequency filter.
+ *
+ * Accesses are counted in a {@link FrequencySketch} which ages periodically, so the estimates
+ * reflect recent popularity. An entry loaded for the first time starts out unreferenced, which
+ * keeps one-off scans such as recursive listings from pushing the working set out of the cache.
+ * When evicting, entries which were accessed repeatedly survive even after losing their reference
+ * bit, so the entries loaded by a scan are evicted before the working set.
+ *
+ * @param <K> the cache key type
+ */
+@ThreadSafe
+public final class TinyLfuEvictionPolicy<K> implements EvictionPolicy<K> {
+  private final FrequencySketch mSketch;
+
+  /**
+   * @param maxSize the maximum size of the cache the policy is used for
+   */
+  public TinyLfuEvictionPolicy(int maxSize) {
+    mSketch = new FrequencySketch(maxSize);
+  }
+
+  @Override
+  public void recordAccess(K key) {
+    mSketch.increment(key.hashCode());
+  }
+
+  @Override
+  public boolean referenceOnLoad(K key) {
+    // The load itself has already been recorded, so anything above one has been seen before.
+    return mSketch.frequency(key.hashCode()) > 1;
+  }
+
+  @Override
+  public int frequency(K key) {
+    return mSketch.frequency(key.hashCode());
+  }
+
+  @Override
+  public EvictionPolicyType getType() {
+    return EvictionPolicyType.TINY_LFU;
+  }
+}
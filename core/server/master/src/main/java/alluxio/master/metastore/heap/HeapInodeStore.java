@@ -22,6 +22,7 @@ import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.checkpoint.CheckpointName;
 import alluxio.master.journal.checkpoint.CheckpointOutputStream;
 import alluxio.master.journal.checkpoint.CheckpointType;
+import alluxio.master.metastore.ChildNameComparator;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOption;
 import alluxio.proto.meta.InodeMeta;
@@ -33,9 +34,11 @@ import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -46,8 +49,8 @@ import javax.annotation.concurrent.ThreadSafe;
 public class HeapInodeStore implements InodeStore {
   private final Map<Long, MutableInode<?>> mInodes = new ConcurrentHashMap<>();
   // Map from inode id to ids of children of that inode. The inner maps are ordered by child name.
-  private final TwoKeyConcurrentMap<Long, String, Long, Map<String, Long>> mEdges =
-      new TwoKeyConcurrentMap<>(() -> new ConcurrentHashMap<>(4));
+  private final TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>> mEdges =
+      new TwoKeyConcurrentMap<>(() -> new ConcurrentSkipListMap<>(ChildNameComparator.INSTANCE));
 
   @Override
   public void remove(Long inodeId) {
@@ -76,12 +79,12 @@ public class HeapInodeStore implements InodeStore {
 
   @Override
   public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
-    return children(inodeId).values();
+    return children(inodeId, option).values();
   }
 
   @Override
   public Iterable<? extends Inode> getChildren(Long inodeId, ReadOption option) {
-    return children(inodeId).values().stream()
+    return children(inodeId, option).values().stream()
         .map(this::get)
         .filter(Optional::isPresent)
         .map(Optional::get)
@@ -122,8 +125,14 @@ public class HeapInodeStore implements InodeStore {
     mEdges.clear();
   }
 
-  private Map<String, Long> children(long id) {
-    return mEdges.getOrDefault(id, Collections.emptyMap());
+  private NavigableMap<String, Long> children(long id) {
+    return mEdges.getOrDefault(id, Collections.emptyNavigableMap());
+  }
+
+  private NavigableMap<String, Long> children(long id, ReadOption option) {
+    NavigableMap<String, Long> children = children(id);
+    return option.getStartAfter() == null ? children
+        : children.tailMap(option.getStartAfter(), false);
   }
 
   @Override
@@ -27,28 +27,36 @@ import com.google.common.primitives.Longs;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
-import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
-import org.rocksdb.HashLinkedListMemTableConfig;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Snapshot;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -60,6 +68,8 @@ public class RocksInodeStore implements InodeStore {
   private static final String INODES_DB_NAME = "inodes";
   private static final String INODES_COLUMN = "inodes";
   private static final String EDGES_COLUMN = "edges";
+  /** The number of child ids read from RocksDB at a time when iterating over children. */
+  private static final int CHILD_ID_BATCH_SIZE = 1024;
 
   // These are fields instead of constants because they depend on the call to RocksDB.loadLibrary().
   private final WriteOptions mDisableWAL;
@@ -81,19 +91,12 @@ public class RocksInodeStore implements InodeStore {
     mReadPrefixSameAsStart = new ReadOptions().setPrefixSameAsStart(true);
     String dbPath = PathUtils.concatPath(baseDir, INODES_DB_NAME);
     String backupPath = PathUtils.concatPath(baseDir, INODES_DB_NAME + "-backup");
-    ColumnFamilyOptions cfOpts = new ColumnFamilyOptions()
-        .setMemTableConfig(new HashLinkedListMemTableConfig())
-        .setCompressionType(CompressionType.NO_COMPRESSION)
-        .useFixedLengthPrefixExtractor(Longs.BYTES); // We always search using the initial long key
+    // We always search using the initial long key: the inode id, or the parent id of an edge.
+    ColumnFamilyOptions cfOpts = RocksOptionsFactory.createColumnFamilyOptions(Longs.BYTES);
     List<ColumnFamilyDescriptor> columns = Arrays.asList(
         new ColumnFamilyDescriptor(INODES_COLUMN.getBytes(), cfOpts),
         new ColumnFamilyDescriptor(EDGES_COLUMN.getBytes(), cfOpts));
-    DBOptions dbOpts = new DBOptions()
-        // Concurrent memtable write is not supported for hash linked list memtable
-        .setAllowConcurrentMemtableWrite(false)
-        .setMaxOpenFiles(-1)
-        .setCreateIfMissing(true)
-        .setCreateMissingColumnFamilies(true);
+    DBOptions dbOpts = RocksOptionsFactory.createDbOptions(INODES_DB_NAME);
     mRocksStore = new RocksStore(dbPath, backupPath, columns, dbOpts,
         Arrays.asList(mInodesColumn, mEdgesColumn));
   }
@@ -165,17 +168,41 @@ public class RocksInodeStore implements InodeStore {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The inodes are fetched with a single multi-get.
+   */
   @Override
-  public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
-    List<Long> ids = new ArrayList<>();
-    try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
-      iter.seek(Longs.toByteArray(inodeId));
-      while (iter.isValid()) {
-        ids.add(Longs.fromByteArray(iter.value()));
-        iter.next();
+  public Map<Long, MutableInode<?>> getMutables(Collection<Long> ids) {
+    Map<Long, MutableInode<?>> inodes = new HashMap<>();
+    if (ids.isEmpty()) {
+      return inodes;
+    }
+    List<byte[]> keys = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      keys.add(Longs.toByteArray(id));
+    }
+    try {
+      // The result map is keyed by the given key arrays, which hash by identity.
+      Map<byte[], byte[]> values =
+          db().multiGet(Collections.nCopies(keys.size(), mInodesColumn.get()), keys);
+      for (byte[] key : keys) {
+        byte[] inode = values.get(key);
+        if (inode != null) {
+          inodes.put(Longs.fromByteArray(key),
+              MutableInode.fromProto(InodeMeta.Inode.parseFrom(inode)));
+        }
       }
+      return inodes;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
     }
-    return ids;
+  }
+
+  @Override
+  public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
+    return () -> new ChildIdIterator(inodeId, option.getStartAfter());
   }
 
   @Override
@@ -204,6 +231,61 @@ public class RocksInodeStore implements InodeStore {
     });
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Each edge key depends on the id found for the previous component, so edges are read one at a
+   * time. The inodes along the path are then fetched together with a single multi-get. All reads
+   * use the same snapshot so that the result is a consistent view of the store.
+   */
+  @Override
+  public List<MutableInode<?>> resolvePathMutable(long inodeId, List<String> names,
+      ReadOption option) {
+    List<MutableInode<?>> inodes = new ArrayList<>(names.size());
+    if (names.isEmpty()) {
+      return inodes;
+    }
+    Snapshot snapshot = db().getSnapshot();
+    try (ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot)) {
+      List<byte[]> inodeKeys = new ArrayList<>(names.size());
+      long parentId = inodeId;
+      for (String name : names) {
+        byte[] childId =
+            db().get(mEdgesColumn.get(), readOptions, RocksUtils.toByteArray(parentId, name));
+        if (childId == null) {
+          break;
+        }
+        inodeKeys.add(childId);
+        parentId = Longs.fromByteArray(childId);
+      }
+      if (inodeKeys.isEmpty()) {
+        return inodes;
+      }
+      // The result map is keyed by the given key arrays, which hash by identity.
+      Map<byte[], byte[]> values = db().multiGet(readOptions,
+          Collections.nCopies(inodeKeys.size(), mInodesColumn.get()), inodeKeys);
+      for (byte[] key : inodeKeys) {
+        byte[] inode = values.get(key);
+        if (inode == null) {
+          LOG.warn("Found edge to inode {} while resolving path, but the inode does not exist",
+              Longs.fromByteArray(key));
+          break;
+        }
+        inodes.add(MutableInode.fromProto(InodeMeta.Inode.parseFrom(inode)));
+      }
+      return inodes;
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    } finally {
+      db().releaseSnapshot(snapshot);
+    }
+  }
+
+  @Override
+  public boolean supportsBatchPathResolution() {
+    return true;
+  }
+
   @Override
   public boolean hasChildren(InodeDirectoryView inode, ReadOption option) {
     try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
@@ -219,7 +301,8 @@ public class RocksInodeStore implements InodeStore {
       iter.seekToFirst();
       while (iter.isValid()) {
         long parentId = RocksUtils.readLong(iter.key(), 0);
-        String childName = new String(iter.key(), Longs.BYTES, iter.key().length - Longs.BYTES);
+        String childName = new String(iter.key(), Longs.BYTES, iter.key().length - Longs.BYTES,
+            StandardCharsets.UTF_8);
         long childId = Longs.fromByteArray(iter.value());
         edges.add(new EdgeEntry(parentId, childName, childId));
         iter.next();
@@ -361,8 +444,8 @@ public class RocksInodeStore implements InodeStore {
         byte[] name = new byte[key.length - Longs.BYTES];
         System.arraycopy(key, 0, id, 0, Longs.BYTES);
         System.arraycopy(key, Longs.BYTES, name, 0, key.length - Longs.BYTES);
-        sb.append(String.format("<%s,%s>->%s%n", Longs.fromByteArray(id), new String(name),
-            Longs.fromByteArray(edgeIter.value())));
+        sb.append(String.format("<%s,%s>->%s%n", Longs.fromByteArray(id),
+            new String(name, StandardCharsets.UTF_8), Longs.fromByteArray(edgeIter.value())));
         edgeIter.next();
       }
     }
@@ -409,4 +492,61 @@ public class RocksInodeStore implements InodeStore {
       }
     }
   }
+
+  /**
+   * Iterates over the ids of a directory's children in name order. Child ids are read from
+   * RocksDB in batches, re-seeking past the last key read for each batch, so that no RocksDB
+   * iterator is held open between calls and large directories are never materialized at once.
+   */
+  @NotThreadSafe
+  private class ChildIdIterator implements Iterator<Long> {
+    private final ArrayDeque<Long> mBatch = new ArrayDeque<>(CHILD_ID_BATCH_SIZE);
+    /** The key to seek to for the next batch. */
+    private byte[] mSeekKey;
+    /** Whether the seek key itself has already been returned or should be excluded. */
+    private boolean mSkipSeekKey;
+    private boolean mExhausted = false;
+
+    /**
+     * @param inodeId the directory to list
+     * @param startAfter the child name to start after, or null to start from the first child
+     */
+    ChildIdIterator(long inodeId, @Nullable String startAfter) {
+      mSeekKey = startAfter == null ? Longs.toByteArray(inodeId)
+          : RocksUtils.toByteArray(inodeId, startAfter);
+      mSkipSeekKey = startAfter != null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (mBatch.isEmpty() && !mExhausted) {
+        readBatch();
+      }
+      return !mBatch.isEmpty();
+    }
+
+    @Override
+    public Long next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return mBatch.poll();
+    }
+
+    private void readBatch() {
+      try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
+        iter.seek(mSeekKey);
+        if (mSkipSeekKey && iter.isValid() && Arrays.equals(iter.key(), mSeekKey)) {
+          iter.next();
+        }
+        while (iter.isValid() && mBatch.size() < CHILD_ID_BATCH_SIZE) {
+          mBatch.add(Longs.fromByteArray(iter.value()));
+          mSeekKey = iter.key();
+          iter.next();
+        }
+        mSkipSeekKey = true;
+        mExhausted = !iter.isValid();
+      }
+    }
+  }
 }
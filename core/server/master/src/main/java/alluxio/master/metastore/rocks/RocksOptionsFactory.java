@@ -0,0 +1,143 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.rocks;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.collect.ImmutableMap;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.HashLinkedListMemTableConfig;
+import org.rocksdb.LRUCache;
+import org.rocksdb.Statistics;
+import org.rocksdb.StatsLevel;
+import org.rocksdb.TickerType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Creates the RocksDB options used by the rocks metastores.
+ *
+ * Every column family is keyed by a fixed-length id prefix, which is used as the prefix extractor
+ * and covered by a bloom filter together with the whole keys. All column families of all stores
+ * share a single LRU block cache, which also holds their index and filter blocks so that those
+ * count against the configured memory. If enabled, statistics are reported as master metrics
+ * tagged with the name of the store.
+ *
+ * The block cache and statistics live for the lifetime of the process, since stores are reopened
+ * when the metastore is cleared and metric gauges outlive any single store.
+ */
+@ThreadSafe
+public final class RocksOptionsFactory {
+  /** The tickers reported as metrics. */
+  private static final Map<MetricKey, TickerType> TICKER_METRICS =
+      ImmutableMap.<MetricKey, TickerType>builder()
+          .put(MetricKey.MASTER_ROCKS_BLOCK_CACHE_HITS, TickerType.BLOCK_CACHE_HIT)
+          .put(MetricKey.MASTER_ROCKS_BLOCK_CACHE_MISSES, TickerType.BLOCK_CACHE_MISS)
+          .put(MetricKey.MASTER_ROCKS_BLOOM_FILTER_USEFUL, TickerType.BLOOM_FILTER_USEFUL)
+          .put(MetricKey.MASTER_ROCKS_BLOOM_FILTER_PREFIX_USEFUL,
+              TickerType.BLOOM_FILTER_PREFIX_USEFUL)
+          .put(MetricKey.MASTER_ROCKS_MEMTABLE_HITS, TickerType.MEMTABLE_HIT)
+          .put(MetricKey.MASTER_ROCKS_BYTES_READ, TickerType.BYTES_READ)
+          .build();
+  private static final Map<String, Statistics> STATISTICS = new ConcurrentHashMap<>();
+
+  @GuardedBy("RocksOptionsFactory.class")
+  @Nullable
+  private static Cache sBlockCache;
+
+  private RocksOptionsFactory() {} // prevent instantiation
+
+  /**
+   * Creates options for a column family whose keys all start with a fixed-length id.
+   *
+   * @param prefixLength the length of the id prefix in bytes
+   * @return the column family options
+   */
+  public static ColumnFamilyOptions createColumnFamilyOptions(int prefixLength) {
+    BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    Cache blockCache = getBlockCache();
+    if (blockCache == null) {
+      tableConfig.setNoBlockCache(true);
+    } else {
+      boolean cacheIndexAndFilters = ServerConfiguration.getBoolean(
+          PropertyKey.MASTER_METASTORE_ROCKS_CACHE_INDEX_AND_FILTER_BLOCKS);
+      tableConfig.setBlockCache(blockCache)
+          .setCacheIndexAndFilterBlocks(cacheIndexAndFilters)
+          .setPinL0FilterAndIndexBlocksInCache(cacheIndexAndFilters);
+    }
+    int bitsPerKey =
+        ServerConfiguration.getInt(PropertyKey.MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY);
+    if (bitsPerKey > 0) {
+      tableConfig.setFilter(new BloomFilter(bitsPerKey, false));
+    }
+    return new ColumnFamilyOptions()
+        .setMemTableConfig(new HashLinkedListMemTableConfig())
+        .setCompressionType(CompressionType.NO_COMPRESSION)
+        .useFixedLengthPrefixExtractor(prefixLength)
+        .setTableFormatConfig(tableConfig);
+  }
+
+  /**
+   * Creates database options, registering metrics for the database's statistics if enabled.
+   *
+   * @param storeName the name of the store, used to tag its metrics
+   * @return the database options
+   */
+  public static DBOptions createDbOptions(String storeName) {
+    DBOptions dbOpts = new DBOptions()
+        // Concurrent memtable write is not supported for hash linked list memtable
+        .setAllowConcurrentMemtableWrite(false)
+        .setMaxOpenFiles(-1)
+        .setCreateIfMissing(true)
+        .setCreateMissingColumnFamilies(true);
+    if (ServerConfiguration.getBoolean(PropertyKey.MASTER_METASTORE_ROCKS_STATISTICS_ENABLED)) {
+      dbOpts.setStatistics(getStatistics(storeName));
+    }
+    return dbOpts;
+  }
+
+  private static synchronized Cache getBlockCache() {
+    if (sBlockCache == null) {
+      long size = ServerConfiguration.getBytes(PropertyKey.MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE);
+      if (size <= 0) {
+        return null;
+      }
+      sBlockCache = new LRUCache(size);
+    }
+    return sBlockCache;
+  }
+
+  private static Statistics getStatistics(String storeName) {
+    return STATISTICS.computeIfAbsent(storeName, name -> {
+      Statistics statistics = new Statistics();
+      statistics.setStatsLevel(StatsLevel.EXCEPT_DETAILED_TIMERS);
+      TICKER_METRICS.forEach((key, ticker) -> MetricsSystem.registerGaugeIfAbsent(
+          Metric.getMetricNameWithTags(key.getName(), "Store", name),
+          () -> statistics.getTickerCount(ticker)));
+      return statistics;
+    });
+  }
+}
@@ -12,6 +12,8 @@
 package alluxio.master.metastore.rocks;
 
 import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.checkpoint.CheckpointOutputStream;
 import alluxio.master.journal.checkpoint.CheckpointType;
@@ -44,7 +46,9 @@ import javax.annotation.concurrent.ThreadSafe;
  * Class for managing a rocksdb database. This class handles common functionality such as
  * initializing the database and performing database backup/restore.
  *
- * Thread safety is achieved by synchronizing all public methods.
+ * Thread safety is achieved by synchronizing all public methods. Writing a checkpoint only holds
+ * the lock while RocksDB hard-links a consistent view of the database; the view is then archived
+ * without blocking other users of the database.
  */
 @ThreadSafe
 public final class RocksStore implements Closeable {
@@ -54,6 +58,13 @@ public final class RocksStore implements Closeable {
   private final String mDbCheckpointPath;
   private final Collection<ColumnFamilyDescriptor> mColumnFamilyDescriptors;
   private final DBOptions mDbOpts;
+  /** The gzip compression level for checkpoint tarballs. */
+  private final int mCheckpointCompressionLevel;
+  /**
+   * Serializes use of the checkpoint directory. When held together with the store's monitor, it
+   * must be acquired first.
+   */
+  private final Object mCheckpointLock = new Object();
 
   private RocksDB mDb;
   private Checkpoint mCheckpoint;
@@ -76,6 +87,13 @@ public final class RocksStore implements Closeable {
     mColumnFamilyDescriptors = columnFamilyDescriptors;
     mDbOpts = dbOpts;
     mColumnHandles = columnHandles;
+    mCheckpointCompressionLevel =
+        ServerConfiguration.getInt(PropertyKey.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL);
+    Preconditions.checkArgument(
+        mCheckpointCompressionLevel >= -1 && mCheckpointCompressionLevel <= 9,
+        "%s must be between -1 and 9, but is %s",
+        PropertyKey.Name.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL,
+        mCheckpointCompressionLevel);
     try {
       resetDb();
     } catch (RocksDBException e) {
@@ -94,11 +112,15 @@ public final class RocksStore implements Closeable {
   /**
    * Clears and re-initializes the database.
    */
-  public synchronized void clear() {
-    try {
-      resetDb();
-    } catch (RocksDBException e) {
-      throw new RuntimeException(e);
+  public void clear() {
+    synchronized (mCheckpointLock) {
+      synchronized (this) {
+        try {
+          resetDb();
+        } catch (RocksDBException e) {
+          throw new RuntimeException(e);
+        }
+      }
     }
   }
 
@@ -156,24 +178,34 @@ public final class RocksStore implements Closeable {
    *
    * @param output the stream to write to
    */
-  public synchronized void writeToCheckpoint(OutputStream output)
-      throws IOException, InterruptedException {
-    LOG.info("Creating rocksdb checkpoint at {}", mDbCheckpointPath);
-    long startNano = System.nanoTime();
-
-    CheckpointOutputStream out = new CheckpointOutputStream(output, CheckpointType.ROCKS);
-    try {
-      // createCheckpoint requires that the directory not already exist.
-      FileUtils.deletePathRecursively(mDbCheckpointPath);
-      mCheckpoint.createCheckpoint(mDbCheckpointPath);
-    } catch (RocksDBException e) {
-      throw new IOException(e);
+  public void writeToCheckpoint(OutputStream output) throws IOException, InterruptedException {
+    synchronized (mCheckpointLock) {
+      LOG.info("Creating rocksdb checkpoint at {}", mDbCheckpointPath);
+      long startNano = System.nanoTime();
+
+      synchronized (this) {
+        try {
+          // createCheckpoint requires that the directory not already exist.
+          FileUtils.deletePathRecursively(mDbCheckpointPath);
+          mCheckpoint.createCheckpoint(mDbCheckpointPath);
+        } catch (RocksDBException e) {
+          throw new IOException(e);
+        }
+      }
+      // The checkpoint consists of hard links to immutable files, so the database can keep
+      // serving reads and writes while the tarball is written.
+      LOG.info("Checkpoint complete in {}ms, creating tarball",
+          (System.nanoTime() - startNano) / Constants.MS_NANO);
+      try {
+        CheckpointOutputStream out = new CheckpointOutputStream(output, CheckpointType.ROCKS);
+        TarUtils.writeTarGz(Paths.get(mDbCheckpointPath), out, mCheckpointCompressionLevel);
+      } finally {
+        // Checkpoint is no longer needed, delete to save space.
+        FileUtils.deletePathRecursively(mDbCheckpointPath);
+      }
+      LOG.info("Completed rocksdb checkpoint in {}ms",
+          (System.nanoTime() - startNano) / Constants.MS_NANO);
     }
-    LOG.info("Checkpoint complete, creating tarball");
-    TarUtils.writeTarGz(Paths.get(mDbCheckpointPath), out);
-    LOG.info("Completed rocksdb checkpoint in {}ms", (System.nanoTime() - startNano) / 1_000_000);
-    // Checkpoint is no longer needed, delete to save space.
-    FileUtils.deletePathRecursively(mDbCheckpointPath);
   }
 
   /**
@@ -181,21 +213,25 @@ public final class RocksStore implements Closeable {
    *
    * @param input the checkpoint stream to restore from
    */
-  public synchronized void restoreFromCheckpoint(CheckpointInputStream input) throws IOException {
-    LOG.info("Restoring rocksdb from checkpoint");
-    long startNano = System.nanoTime();
-    Preconditions.checkState(input.getType() == CheckpointType.ROCKS,
-        "Unexpected checkpoint type in RocksStore: " + input.getType());
-    stopDb();
-    FileUtils.deletePathRecursively(mDbPath);
-    TarUtils.readTarGz(Paths.get(mDbPath), input);
-    try {
-      createDb();
-    } catch (RocksDBException e) {
-      throw new IOException(e);
+  public void restoreFromCheckpoint(CheckpointInputStream input) throws IOException {
+    synchronized (mCheckpointLock) {
+      synchronized (this) {
+        LOG.info("Restoring rocksdb from checkpoint");
+        long startNano = System.nanoTime();
+        Preconditions.checkState(input.getType() == CheckpointType.ROCKS,
+            "Unexpected checkpoint type in RocksStore: " + input.getType());
+        stopDb();
+        FileUtils.deletePathRecursively(mDbPath);
+        TarUtils.readTarGz(Paths.get(mDbPath), input);
+        try {
+          createDb();
+        } catch (RocksDBException e) {
+          throw new IOException(e);
+        }
+        LOG.info("Restored rocksdb checkpoint in {}ms",
+            (System.nanoTime() - startNano) / Constants.MS_NANO);
+      }
     }
-    LOG.info("Restored rocksdb checkpoint in {}ms",
-        (System.nanoTime() - startNano) / Constants.MS_NANO);
   }
 
   @Override
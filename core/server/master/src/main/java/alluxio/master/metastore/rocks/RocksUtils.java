@@ -15,6 +15,8 @@ import alluxio.util.io.PathUtils;
 
 import com.google.common.primitives.Longs;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Convenience methods for working with RocksDB.
  */
@@ -54,10 +56,10 @@ public final class RocksUtils {
   /**
    * @param n a long value
    * @param str a string value
-   * @return a byte array formed by writing the bytes of n followed by the bytes of str
+   * @return a byte array formed by writing the bytes of n followed by the UTF-8 bytes of str
    */
   public static byte[] toByteArray(long n, String str) {
-    byte[] strBytes = str.getBytes();
+    byte[] strBytes = str.getBytes(StandardCharsets.UTF_8);
 
     byte[] key = new byte[Longs.BYTES + strBytes.length];
     for (int i = Longs.BYTES - 1; i >= 0; i--) {
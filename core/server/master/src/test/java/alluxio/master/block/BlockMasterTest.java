@@ -155,6 +155,48 @@ public class BlockMasterTest {
         mBlockMaster.getUsedBytesOnTiers());
   }
 
+  @Test
+  public void countBytesAfterUpdates() throws Exception {
+    long worker1 = mBlockMaster.getWorkerId(NET_ADDRESS_1);
+    long worker2 = mBlockMaster.getWorkerId(NET_ADDRESS_2);
+    mBlockMaster.workerRegister(worker1, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+        ImmutableMap.of("MEM", 0L), NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE,
+        RegisterWorkerPOptions.getDefaultInstance());
+    mBlockMaster.workerRegister(worker2, Arrays.asList("MEM", "SSD"),
+        ImmutableMap.of("MEM", 10L, "SSD", 20L), ImmutableMap.of("MEM", 1L, "SSD", 2L),
+        NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE, RegisterWorkerPOptions.getDefaultInstance());
+
+    // Committing a block and heartbeating update the totals.
+    mBlockMaster.commitBlock(worker1, 50L, "MEM", "MEM", 1L, 50L);
+    mBlockMaster.workerHeartbeat(worker2, ImmutableMap.of("MEM", 10L, "SSD", 40L),
+        ImmutableMap.of("MEM", 5L, "SSD", 6L), NO_BLOCKS, NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE,
+        mMetrics);
+    assertEquals(150L, mBlockMaster.getCapacityBytes());
+    assertEquals(61L, mBlockMaster.getUsedBytes());
+    assertEquals(ImmutableMap.of("MEM", 110L, "SSD", 40L), mBlockMaster.getTotalBytesOnTiers());
+    assertEquals(ImmutableMap.of("MEM", 55L, "SSD", 6L), mBlockMaster.getUsedBytesOnTiers());
+
+    // Lost workers are no longer counted.
+    mClock.setTimeMs(System.currentTimeMillis() + Constants.HOUR_MS);
+    mBlockMaster.workerHeartbeat(worker1, null, ImmutableMap.of("MEM", 50L), NO_BLOCKS,
+        NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE, mMetrics);
+    HeartbeatScheduler.execute(HeartbeatContext.MASTER_LOST_WORKER_DETECTION);
+    assertEquals(0L, mBlockMaster.getCapacityBytes());
+    assertEquals(0L, mBlockMaster.getUsedBytes());
+    assertEquals(ImmutableMap.of(), mBlockMaster.getTotalBytesOnTiers());
+    assertEquals(ImmutableMap.of(), mBlockMaster.getUsedBytesOnTiers());
+
+    // A re-registered worker is counted again.
+    mBlockMaster.getWorkerId(NET_ADDRESS_2);
+    mBlockMaster.workerRegister(worker2, Arrays.asList("MEM"), ImmutableMap.of("MEM", 30L),
+        ImmutableMap.of("MEM", 3L), NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE,
+        RegisterWorkerPOptions.getDefaultInstance());
+    assertEquals(30L, mBlockMaster.getCapacityBytes());
+    assertEquals(3L, mBlockMaster.getUsedBytes());
+    assertEquals(ImmutableMap.of("MEM", 30L), mBlockMaster.getTotalBytesOnTiers());
+    assertEquals(ImmutableMap.of("MEM", 3L), mBlockMaster.getUsedBytesOnTiers());
+  }
+
   @Test
   public void detectLostWorkers() throws Exception {
     // Register a worker.
@@ -24,6 +24,9 @@ import alluxio.wire.WorkerNetAddress;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -96,6 +99,34 @@ public final class MasterWorkerInfoTest {
     assertEquals(newBlocks, mInfo.getBlocks());
   }
 
+  /**
+   * Tests that {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, Set)} copies a
+   * primitive block set, and reports no removed blocks on the first registration.
+   */
+  @Test
+  public void registerWithPrimitiveSet() {
+    MasterWorkerInfo info = new MasterWorkerInfo(1, new WorkerNetAddress());
+    LongSet blocks = new LongOpenHashSet(new long[] {1L, 2L, 3L});
+    LongSet removedBlocks = info.register(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES,
+        TOTAL_BYTES_ON_TIERS, USED_BYTES_ON_TIERS, blocks);
+    assertTrue(removedBlocks.isEmpty());
+    blocks.remove(1L);
+    assertEquals(new LongOpenHashSet(new long[] {1L, 2L, 3L}), info.getBlocks());
+  }
+
+  /**
+   * Tests that re-registering with a primitive block set reports exactly the blocks the worker no
+   * longer has, and keeps the blocks it still has.
+   */
+  @Test
+  public void registerAgainWithPrimitiveSet() {
+    mInfo.addBlock(4L);
+    LongSet removedBlocks = mInfo.register(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES,
+        TOTAL_BYTES_ON_TIERS, USED_BYTES_ON_TIERS, new LongOpenHashSet(new long[] {2L, 5L}));
+    assertEquals(new LongOpenHashSet(new long[] {1L, 4L}), removedBlocks);
+    assertEquals(new LongOpenHashSet(new long[] {2L, 5L}), mInfo.getBlocks());
+  }
+
   /**
    * Tests that an exception is thrown when trying to use the
    * {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, Set)} method with a
@@ -126,6 +157,37 @@ public final class MasterWorkerInfoTest {
     // remove block
     mInfo.removeBlock(3L);
     assertFalse(mInfo.getBlocks().contains(3L));
+    // remove a block which is not on the worker
+    mInfo.removeBlock(10L);
+    assertEquals(NEW_BLOCKS, mInfo.getBlocks());
+  }
+
+  /**
+   * Tests that {@link MasterWorkerInfo#getBlocks()} returns a copy of the blocks.
+   */
+  @Test
+  public void getBlocksReturnsCopy() {
+    LongSet blocks = mInfo.getBlocks();
+    blocks.add(3L);
+    blocks.remove(1L);
+    assertEquals(NEW_BLOCKS, mInfo.getBlocks());
+  }
+
+  /**
+   * Tests the block sets after the blocks added and removed by a heartbeat are applied.
+   */
+  @Test
+  public void heartbeatBlockDiff() {
+    mInfo.updateToRemovedBlock(true, 1L);
+    mInfo.updateToRemovedBlock(true, 2L);
+    // the heartbeat reports 1 as removed and 3 as added
+    mInfo.removeBlock(1L);
+    mInfo.addBlock(3L);
+    assertEquals(new LongOpenHashSet(new long[] {2L, 3L}), mInfo.getBlocks());
+    assertEquals(new LongArrayList(new long[] {2L}), mInfo.getToRemoveBlocks());
+    // cancel the removal of 2
+    mInfo.updateToRemovedBlock(false, 2L);
+    assertTrue(mInfo.getToRemoveBlocks().isEmpty());
   }
 
   /**
@@ -160,6 +222,10 @@ public final class MasterWorkerInfoTest {
     mInfo.updateToRemovedBlock(true, 1L);
     mInfo.removeBlock(1L);
     assertTrue(mInfo.getToRemoveBlocks().isEmpty());
+    // removing a block twice lists it once
+    mInfo.updateToRemovedBlock(true, 2L);
+    mInfo.updateToRemovedBlock(true, 2L);
+    assertEquals(new LongArrayList(new long[] {2L}), mInfo.getToRemoveBlocks());
   }
 
   /**
@@ -185,4 +251,27 @@ public final class MasterWorkerInfoTest {
     assertEquals(Constants.KB * 3L, mInfo.getUsedBytes());
     assertEquals(Constants.KB * 2L, (long) mInfo.getUsedBytesOnTiers().get("MEM"));
   }
+
+  /**
+   * Tests that {@link MasterWorkerInfo#setClusterCapacity(ClusterCapacity)} counts the worker's
+   * storage, and its later changes, in the cluster totals.
+   */
+  @Test
+  public void clusterCapacity() {
+    ClusterCapacity capacity = new ClusterCapacity();
+    mInfo.setClusterCapacity(capacity);
+    assertEquals(Constants.KB * 6L, capacity.getCapacityBytes());
+    assertEquals(Constants.KB * 2L, capacity.getUsedBytes());
+
+    mInfo.updateUsedBytes("MEM", Constants.KB * 2L);
+    mInfo.updateCapacityBytes(ImmutableMap.of("MEM", Constants.KB * 4L));
+    assertEquals(Constants.KB * 4L, capacity.getCapacityBytes());
+    assertEquals(Constants.KB * 3L, capacity.getUsedBytes());
+    assertEquals(ImmutableMap.of("MEM", Constants.KB * 4L), capacity.getTotalBytesOnTiers());
+
+    mInfo.setClusterCapacity(null);
+    assertEquals(0L, capacity.getCapacityBytes());
+    assertEquals(0L, capacity.getUsedBytes());
+    assertTrue(capacity.getTotalBytesOnTiers().isEmpty());
+  }
 }
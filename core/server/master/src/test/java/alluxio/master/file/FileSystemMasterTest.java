@@ -39,6 +39,7 @@ import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.UnexpectedAlluxioException;
+import alluxio.exception.status.InvalidArgumentException;
 import alluxio.grpc.Command;
 import alluxio.grpc.CommandType;
 import alluxio.grpc.CompleteFilePOptions;
@@ -1046,6 +1047,42 @@ public final class FileSystemMasterTest {
     }
   }
 
+  @Test
+  public void listStatusInBatches() throws Exception {
+    final int files = 10;
+    for (int i = files - 1; i >= 0; i--) {
+      createFileWithSingleBlock(NESTED_URI.join("file" + String.format("%05d", i)));
+    }
+    List<String> paths = new ArrayList<>();
+    String startAfter = "";
+    List<FileInfo> batch;
+    do {
+      batch = mFileSystemMaster.listStatus(NESTED_URI, ListStatusContext.mergeFrom(
+          ListStatusPOptions.newBuilder().setLoadMetadataType(LoadMetadataPType.NEVER)
+              .setStartAfter(startAfter).setBatchSize(3)));
+      assertTrue(batch.size() <= 3);
+      for (FileInfo info : batch) {
+        paths.add(info.getPath());
+        startAfter = info.getName();
+      }
+    } while (batch.size() == 3);
+    assertEquals(files, paths.size());
+    for (int i = 0; i < files; i++) {
+      assertEquals(NESTED_URI.join("file" + String.format("%05d", i)).toString(), paths.get(i));
+    }
+
+    // A later batch of a file listing does not repeat the file.
+    AlluxioURI file = NESTED_URI.join("file00000");
+    assertEquals(1, mFileSystemMaster.listStatus(file, ListStatusContext.mergeFrom(
+        ListStatusPOptions.newBuilder().setBatchSize(1))).size());
+    assertEquals(0, mFileSystemMaster.listStatus(file, ListStatusContext.mergeFrom(
+        ListStatusPOptions.newBuilder().setBatchSize(1).setStartAfter("file00000"))).size());
+
+    mThrown.expect(InvalidArgumentException.class);
+    mFileSystemMaster.listStatus(NESTED_URI, ListStatusContext.mergeFrom(
+        ListStatusPOptions.newBuilder().setRecursive(true).setBatchSize(3)));
+  }
+
   @Test
   public void listStatusRecursive() throws Exception {
     final int files = 10;
@@ -2607,6 +2644,42 @@ public final class FileSystemMasterTest {
     assertEquals("valid", listing.get(0).getName());
   }
 
+  /**
+   * Tests that a recursive sync over many directories, which syncs children in parallel, picks up
+   * changes in every directory.
+   */
+  @Test
+  public void syncManyDirectories() throws Exception {
+    int numDirs = 20;
+    int numFiles = 5;
+    for (int i = 0; i < numDirs; i++) {
+      for (int j = 0; j < numFiles; j++) {
+        FileUtils.createFile(Paths.get(mUnderFS, "sync", "dir" + i, "file" + j).toString());
+      }
+    }
+    ListStatusContext context = ListStatusContext.mergeFrom(ListStatusPOptions.newBuilder()
+        .setLoadMetadataType(LoadMetadataPType.ALWAYS).setRecursive(true)
+        .setCommonOptions(FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(0)));
+    assertEquals(numDirs * (numFiles + 1),
+        mFileSystemMaster.listStatus(new AlluxioURI("/sync"), context).size());
+
+    // Remove a file from every even directory and add one to every odd directory.
+    for (int i = 0; i < numDirs; i++) {
+      if (i % 2 == 0) {
+        FileUtils.delete(Paths.get(mUnderFS, "sync", "dir" + i, "file0").toString());
+      } else {
+        FileUtils.createFile(Paths.get(mUnderFS, "sync", "dir" + i, "new").toString());
+      }
+    }
+    List<FileInfo> listing = mFileSystemMaster.listStatus(new AlluxioURI("/sync"), context);
+    assertEquals(numDirs * (numFiles + 1), listing.size());
+    Set<String> paths = listing.stream().map(FileInfo::getPath).collect(Collectors.toSet());
+    for (int i = 0; i < numDirs; i++) {
+      assertEquals(i % 2 != 0, paths.contains("/sync/dir" + i + "/file0"));
+      assertEquals(i % 2 != 0, paths.contains("/sync/dir" + i + "/new"));
+    }
+  }
+
   @Test
   public void propagatePersisted() throws Exception {
     AlluxioURI nestedFile = new AlluxioURI("/nested1/nested2/file");
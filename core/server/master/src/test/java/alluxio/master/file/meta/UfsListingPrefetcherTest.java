@@ -0,0 +1,99 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.master.file.contexts.MountContext;
+import alluxio.master.file.meta.options.MountInfo;
+import alluxio.underfs.UfsManager;
+import alluxio.underfs.UfsStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.ListOptions;
+import alluxio.util.IdUtils;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link UfsListingPrefetcher}.
+ */
+public final class UfsListingPrefetcherTest {
+  private static final String ROOT_UFS = "/ufs";
+
+  private MountTable mMountTable;
+  private UnderFileSystem mUfs;
+  private UnderFileSystem mFallbackUfs;
+
+  @Before
+  public void before() throws Exception {
+    mUfs = mock(UnderFileSystem.class);
+    when(mUfs.listStatus(anyString(), any(ListOptions.class))).thenReturn(new UfsStatus[0]);
+    when(mUfs.resolveUri(any(AlluxioURI.class), anyString())).thenAnswer(
+        invocation -> ((AlluxioURI) invocation.getArguments()[0])
+            .join((String) invocation.getArguments()[1]));
+    mFallbackUfs = mock(UnderFileSystem.class);
+    when(mFallbackUfs.listStatus(anyString(), any(ListOptions.class)))
+        .thenReturn(new UfsStatus[0]);
+    UfsManager ufsManager = mock(UfsManager.class);
+    when(ufsManager.get(anyLong()))
+        .thenReturn(new UfsManager.UfsClient(() -> mUfs, new AlluxioURI(ROOT_UFS)));
+    mMountTable = new MountTable(ufsManager,
+        new MountInfo(new AlluxioURI(MountTable.ROOT), new AlluxioURI(ROOT_UFS),
+            IdUtils.ROOT_MOUNT_ID, MountContext.defaults().getOptions().build()));
+  }
+
+  @Test
+  public void completedListingsDoNotHoldPermits() throws Exception {
+    try (UfsListingPrefetcher prefetcher = new UfsListingPrefetcher(mMountTable,
+        MoreExecutors.newDirectExecutorService(), 1, 4)) {
+      prefetcher.prefetch(new AlluxioURI("/a"));
+      // The listing of /a has completed, so /b is prefetched although /a was not taken
+      prefetcher.prefetch(new AlluxioURI("/b"));
+      listStatus(prefetcher, "/a");
+      listStatus(prefetcher, "/b");
+    }
+    verify(mUfs, times(2)).listStatus(anyString(), any(ListOptions.class));
+    verify(mFallbackUfs, never()).listStatus(anyString(), any(ListOptions.class));
+  }
+
+  @Test
+  public void boundsHeldListings() throws Exception {
+    try (UfsListingPrefetcher prefetcher = new UfsListingPrefetcher(mMountTable,
+        MoreExecutors.newDirectExecutorService(), 4, 1)) {
+      prefetcher.prefetch(new AlluxioURI("/a"));
+      prefetcher.prefetch(new AlluxioURI("/b"));
+      listStatus(prefetcher, "/b");
+      verify(mFallbackUfs).listStatus(eq(ROOT_UFS + "/b"), any(ListOptions.class));
+      listStatus(prefetcher, "/a");
+      // Taking /a frees its slot
+      prefetcher.prefetch(new AlluxioURI("/c"));
+      listStatus(prefetcher, "/c");
+    }
+    verify(mUfs, times(2)).listStatus(anyString(), any(ListOptions.class));
+    verify(mFallbackUfs, times(1)).listStatus(anyString(), any(ListOptions.class));
+  }
+
+  private void listStatus(UfsListingPrefetcher prefetcher, String path) throws Exception {
+    prefetcher.listStatus(new AlluxioURI(path), mFallbackUfs, new AlluxioURI(ROOT_UFS + path));
+  }
+}
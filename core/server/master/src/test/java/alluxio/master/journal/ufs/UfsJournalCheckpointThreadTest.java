@@ -110,6 +110,42 @@ public final class UfsJournalCheckpointThreadTest {
     Assert.assertEquals(10, Iterators.size(it));
   }
 
+  /**
+   * The checkpoint thread keeps the latest checkpoint as a base until the logs after it are large
+   * enough relative to it.
+   */
+  @Test
+  public void skipCheckpointForSmallLogs() throws Exception {
+    ServerConfiguration.set(PropertyKey.MASTER_JOURNAL_CHECKPOINT_PERIOD_ENTRIES, "2");
+    ServerConfiguration.set(PropertyKey.MASTER_JOURNAL_CHECKPOINT_LOG_SIZE_RATIO, "1000");
+    buildCompletedLog(0, 10);
+    MockMaster mockMaster = new MockMaster();
+    UfsJournalCheckpointThread checkpointThread =
+        new UfsJournalCheckpointThread(mockMaster, mJournal, Collections::emptySet);
+    checkpointThread.start();
+    // Without a base checkpoint, the first checkpoint is always written.
+    CommonUtils.waitFor("checkpoint", () -> {
+      try {
+        UfsJournalFile checkpoint = UfsJournalSnapshot.getSnapshot(mJournal).getLatestCheckpoint();
+        return checkpoint != null && checkpoint.getEnd() == 10;
+      } catch (IOException e) {
+        return false;
+      }
+    }, WaitForOptions.defaults().setTimeoutMs(20000));
+
+    buildCompletedLog(10, 20);
+    CommonUtils.waitFor("entries replayed",
+        () -> Iterators.size(mockMaster.getJournalEntryIterator()) == 20,
+        WaitForOptions.defaults().setTimeoutMs(20000));
+    checkpointThread.awaitTermination(true);
+    UfsJournalSnapshot snapshot = UfsJournalSnapshot.getSnapshot(mJournal);
+    Assert.assertEquals(1, snapshot.getCheckpoints().size());
+    Assert.assertEquals(10, snapshot.getLatestCheckpoint().getEnd());
+    // The sizes are not looked up again while the thread idles.
+    Mockito.verify(mUfs, Mockito.atMost(1))
+        .getFileStatus(snapshot.getLatestCheckpoint().getLocation().toString());
+  }
+
   /**
    * Builds complete log.
    */
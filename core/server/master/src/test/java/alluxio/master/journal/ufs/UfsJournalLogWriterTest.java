@@ -197,6 +197,53 @@ public final class UfsJournalLogWriterTest {
     }
   }
 
+  /**
+   * Writes journal entries as batch frames and reads them back as individual entries.
+   */
+  @Test
+  public void writeBatchFrames() throws Exception {
+    Mockito.when(mUfs.supportsFlush()).thenReturn(true);
+    ServerConfiguration.set(PropertyKey.MASTER_JOURNAL_BATCH_FRAMING_ENABLED, "true");
+
+    long startSN = 0x20;
+    UfsJournalLogWriter writer = new UfsJournalLogWriter(mJournal, startSN);
+    long nextSN = writeJournalEntries(writer, startSN, 7);
+    writer.flush();
+    nextSN = writeJournalEntries(writer, nextSN, 3);
+    // The unflushed entries are framed when the writer is closed.
+    writer.close();
+
+    UfsJournalSnapshot snapshot = UfsJournalSnapshot.getSnapshot(mJournal);
+    Assert.assertEquals(1, snapshot.getLogs().size());
+    Assert.assertEquals(UfsJournalFile.encodeLogFileLocation(mJournal, 0x20, 0x2a),
+        snapshot.getLogs().get(0).getLocation());
+    checkJournalEntries(startSN, nextSN);
+  }
+
+  /**
+   * Tests that a batch frame which failed to be written is rewritten during recovery.
+   */
+  @Test
+  public void recoverBatchFramesFromUfsFailure() throws Exception {
+    Mockito.when(mUfs.supportsFlush()).thenReturn(true);
+    ServerConfiguration.set(PropertyKey.MASTER_JOURNAL_BATCH_FRAMING_ENABLED, "true");
+
+    long startSN = 0x10;
+    UfsJournalLogWriter writer = new UfsJournalLogWriter(mJournal, startSN);
+    long nextSN = writeJournalEntries(writer, startSN, 5);
+    writer.flush();
+    nextSN = writeJournalEntries(writer, nextSN, 5);
+    DataOutputStream badOut = createMockDataOutputStream(writer);
+    Mockito.doThrow(new IOException(INJECTED_IO_ERROR_MESSAGE)).when(badOut)
+        .write(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+    tryFlushAndExpectToFail(writer);
+    // UfsJournalLogWriter will perform recovery before flushing.
+    writer.flush();
+    writer.close();
+
+    checkJournalEntries(startSN, nextSN);
+  }
+
   /**
    * Tests that (1) {@link UfsJournalLogWriter#mJournalOutputStream} is reset when an exception
    * is thrown, and (2) the {@link UfsJournalLogWriter} recovers during the next write. It should
@@ -0,0 +1,72 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link ChildNameComparator}.
+ */
+public final class ChildNameComparatorTest {
+  @Test
+  public void orderLikeUtf8Bytes() {
+    Random random = new Random(0);
+    List<String> names = new ArrayList<>(Arrays.asList("", "a", "ab",
+        "a\u00e9", "a\ue000", // BMP characters above ASCII and above the surrogates
+        "a\ud83d\ude00", "\uffff", "\ud800\udc00")); // supplementary and the last BMP characters
+    for (int i = 0; i < 300; i++) {
+      StringBuilder name = new StringBuilder();
+      for (int j = random.nextInt(4); j >= 0; j--) {
+        name.appendCodePoint(randomCodePoint(random));
+      }
+      names.add(name.toString());
+    }
+    for (String a : names) {
+      for (String b : names) {
+        assertEquals(a + " vs " + b, Integer.signum(compareUtf8(a, b)),
+            Integer.signum(ChildNameComparator.INSTANCE.compare(a, b)));
+      }
+    }
+  }
+
+  private static int randomCodePoint(Random random) {
+    switch (random.nextInt(4)) {
+      case 0:
+        return 'a' + random.nextInt(3);
+      case 1:
+        return 0xD000 + random.nextInt(0x800); // below the surrogates
+      case 2:
+        return 0xE000 + random.nextInt(0x2000);
+      default:
+        return 0x10000 + random.nextInt(0x1000);
+    }
+  }
+
+  private static int compareUtf8(String a, String b) {
+    byte[] x = a.getBytes(StandardCharsets.UTF_8);
+    byte[] y = b.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < Math.min(x.length, y.length); i++) {
+      if (x[i] != y[i]) {
+        return (x[i] & 0xFF) - (y[i] & 0xFF);
+      }
+    }
+    return x.length - y.length;
+  }
+}
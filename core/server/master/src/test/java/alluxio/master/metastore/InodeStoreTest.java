@@ -46,8 +46,11 @@ import org.junit.runners.Parameterized.Parameters;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.function.Function;
 
 @RunWith(Parameterized.class)
@@ -172,6 +175,61 @@ public class InodeStoreTest {
     assertEquals(9, Iterables.size(mStore.getChildren(mRoot)));
   }
 
+  @Test
+  public void listChildrenInNameOrder() {
+    writeInode(mRoot);
+    int numChildren = 1500;
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < numChildren; i++) {
+      order.add(i);
+    }
+    Collections.shuffle(order, new Random(0));
+    for (int i : order) {
+      MutableInodeFile file = inodeFile(i + 1, 0, String.format("file%04d", i));
+      writeInode(file);
+      writeEdge(mRoot, file);
+    }
+    List<String> names = new ArrayList<>();
+    mStore.getChildren(mRoot).forEach(child -> names.add(child.getName()));
+    assertEquals(numChildren, names.size());
+    for (int i = 0; i < numChildren; i++) {
+      assertEquals(String.format("file%04d", i), names.get(i));
+    }
+
+    List<Long> ids = new ArrayList<>();
+    mStore.getChildIds(mRoot.getId(), ReadOption.newBuilder().setStartAfter("file0999").build())
+        .forEach(ids::add);
+    assertEquals(numChildren - 1000, ids.size());
+    assertEquals("file1000", mStore.get(ids.get(0)).get().getName());
+    assertEquals(0, Iterables.size(mStore.getChildIds(mRoot.getId(),
+        ReadOption.newBuilder().setStartAfter("file9999").build())));
+  }
+
+  @Test
+  public void listChildrenInUtf8Order() {
+    // In UTF-16 order, the supplementary character would come before U+E000.
+    List<String> expected =
+        Arrays.asList("ab", "a\u00e9", "a\ue000", "a\ud83d\ude00"); // e-acute, U+E000, emoji
+    writeInode(mRoot);
+    for (int i = expected.size() - 1; i >= 0; i--) {
+      MutableInodeFile file = inodeFile(i + 1, 0, expected.get(i));
+      writeInode(file);
+      writeEdge(mRoot, file);
+    }
+    List<String> names = new ArrayList<>();
+    mStore.getChildren(mRoot).forEach(child -> names.add(child.getName()));
+    assertEquals(expected, names);
+    for (int i = 0; i < expected.size(); i++) {
+      List<Long> ids = new ArrayList<>();
+      mStore.getChildIds(mRoot.getId(),
+          ReadOption.newBuilder().setStartAfter(expected.get(i)).build()).forEach(ids::add);
+      assertEquals(expected.size() - i - 1, ids.size());
+      if (!ids.isEmpty()) {
+        assertEquals(expected.get(i + 1), mStore.get(ids.get(0)).get().getName());
+      }
+    }
+  }
+
   @Test
   public void repeatedAddRemoveAndList() {
     MutableInodeFile child = inodeFile(1, 0, "child");
@@ -243,6 +301,54 @@ public class InodeStoreTest {
         Iterables.size(mStore.getChildren(mStore.get(middleDir - 1).get().asDirectory())));
   }
 
+  @Test
+  public void resolvePath() {
+    writeInode(mRoot);
+    MutableInodeDirectory curr = mRoot;
+    List<String> names = new ArrayList<>();
+    // Nest deeper than the cache size so that caching stores must consult the backing store.
+    for (int i = 1; i <= 2 * CACHE_SIZE; i++) {
+      MutableInodeDirectory dir = inodeDir(i, curr.getId(), "dir" + i);
+      writeInode(dir);
+      writeEdge(curr, dir);
+      names.add(dir.getName());
+      curr = dir;
+    }
+    List<Inode> resolved = mStore.resolvePath(mRoot.getId(), names, ReadOption.defaults());
+    assertEquals(names.size(), resolved.size());
+    for (int i = 0; i < names.size(); i++) {
+      assertEquals(i + 1, resolved.get(i).getId());
+      assertEquals(names.get(i), resolved.get(i).getName());
+    }
+
+    // Resolution stops at the first missing component.
+    List<String> missing = new ArrayList<>(names);
+    missing.set(CACHE_SIZE, "missing");
+    resolved = mStore.resolvePath(mRoot.getId(), missing, ReadOption.defaults());
+    assertEquals(CACHE_SIZE, resolved.size());
+
+    // Resolution reflects removals.
+    Inode removed = mStore.get(CACHE_SIZE / 2).get();
+    removeParentEdge(removed);
+    resolved = mStore.resolvePath(mRoot.getId(), names, ReadOption.defaults());
+    assertEquals(CACHE_SIZE / 2 - 1, resolved.size());
+    assertEquals(Collections.emptyList(),
+        mStore.resolvePath(mRoot.getId(), Collections.emptyList(), ReadOption.defaults()));
+  }
+
+  @Test
+  public void getMutables() {
+    writeInode(mRoot);
+    for (int i = 1; i <= 2 * CACHE_SIZE; i++) {
+      writeInode(inodeDir(i, mRoot.getId(), "dir" + i));
+    }
+    Map<Long, MutableInode<?>> inodes = mStore.getMutables(Arrays.asList(1L, 2L, -1L));
+    assertEquals(2, inodes.size());
+    assertEquals("dir1", inodes.get(1L).getName());
+    assertEquals("dir2", inodes.get(2L).getName());
+    assertTrue(mStore.getMutables(Collections.emptyList()).isEmpty());
+  }
+
   private void writeInode(MutableInode<?> inode) {
     try (LockResource lr = mLockManager.lockInode(inode, LockMode.WRITE)) {
       mStore.writeInode(inode);
@@ -0,0 +1,98 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import static org.junit.Assert.assertTrue;
+
+import alluxio.metrics.MetricKey;
+import alluxio.util.CommonUtils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for the eviction policies of {@link Cache}.
+ */
+public final class CacheEvictionPolicyTest {
+  private static final int MAX_SIZE = 100;
+  private static final int HIGH_WATER_MARK = 90;
+  private static final int HOT_KEYS = 30;
+
+  @Test
+  public void tinyLfuResistsScans() throws Exception {
+    TestCache cache = new TestCache(EvictionPolicyType.TINY_LFU);
+    try {
+      for (int i = 0; i < 5; i++) {
+        for (long key = 0; key < HOT_KEYS; key++) {
+          cache.get(key);
+        }
+      }
+      // Let the eviction thread catch up whenever it is woken, so that every scanned key is cached.
+      for (long key = 1000; key < 2000; key++) {
+        cache.get(key);
+        CommonUtils.waitFor("eviction to the low water mark",
+            () -> cache.mMap.size() < HIGH_WATER_MARK);
+      }
+      int hotCached = 0;
+      for (long key = 0; key < HOT_KEYS; key++) {
+        if (cache.mMap.containsKey(key)) {
+          hotCached++;
+        }
+      }
+      assertTrue("Only " + hotCached + " hot keys survived the scan",
+          hotCached >= HOT_KEYS * 3 / 4);
+    } finally {
+      cache.close();
+    }
+  }
+
+  private static final class TestCache extends Cache<Long, Long> {
+    private final Map<Long, Long> mBackingStore = new ConcurrentHashMap<>();
+
+    TestCache(EvictionPolicyType policy) {
+      super(CacheConfiguration.newBuilder().setMaxSize(MAX_SIZE).setHighWaterMark(HIGH_WATER_MARK)
+          .setLowWaterMark(60).setEvictBatchSize(10).setEvictionPolicy(policy).build(),
+          "test-cache-" + policy, MetricKey.MASTER_INODE_CACHE_SIZE);
+    }
+
+    @Override
+    protected Optional<Long> load(Long key) {
+      return Optional.of(mBackingStore.getOrDefault(key, key));
+    }
+
+    @Override
+    protected void writeToBackingStore(Long key, Long value) {
+      mBackingStore.put(key, value);
+    }
+
+    @Override
+    protected void removeFromBackingStore(Long key) {
+      mBackingStore.remove(key);
+    }
+
+    @Override
+    protected void flushEntries(List<Entry> candidates) {
+      for (Entry entry : candidates) {
+        if (entry.mValue == null) {
+          mBackingStore.remove(entry.mKey);
+        } else {
+          mBackingStore.put(entry.mKey, entry.mValue);
+        }
+        entry.mDirty = false;
+      }
+    }
+  }
+}
@@ -14,10 +14,14 @@ package alluxio.master.metastore.caching;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -46,7 +50,9 @@ import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -57,6 +63,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class CachingInodeStoreMockedBackingStoreTest {
   private static final long CACHE_SIZE = 20;
+  // Roughly the weight of CACHE_SIZE empty directory listings.
+  private static final long LISTING_CACHE_SIZE = CACHE_SIZE * 320;
   private static final long TEST_INODE_ID = 5;
   private static final MutableInodeDirectory TEST_INODE_DIR =
       MutableInodeDirectory.create(TEST_INODE_ID, 0, "name", CreateDirectoryContext.defaults());
@@ -67,7 +75,9 @@ public class CachingInodeStoreMockedBackingStoreTest {
   @Rule
   public ConfigurationRule mConf = new ConfigurationRule(
       ImmutableMap.of(PropertyKey.MASTER_METASTORE_INODE_CACHE_MAX_SIZE, Long.toString(CACHE_SIZE),
-          PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE, "5"),
+          PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE, "5",
+          PropertyKey.MASTER_METASTORE_INODE_CACHE_LISTING_MAX_SIZE,
+          Long.toString(LISTING_CACHE_SIZE)),
       ServerConfiguration.global());
 
   @Before
@@ -203,6 +213,44 @@ public class CachingInodeStoreMockedBackingStoreTest {
     verify(mBackingStore, Mockito.atLeastOnce()).getMutable(anyLong(), any(ReadOption.class));
   }
 
+  @Test
+  public void offHeapCacheServesEvictedInodes() throws Exception {
+    mStore.close();
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE, "1MB",
+        PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE, "64KB"),
+        ServerConfiguration.global()).toResource()) {
+      mBackingStore = spy(new HeapInodeStore());
+      mStore = new CachingInodeStore(mBackingStore, new InodeLockManager());
+    }
+    mStore.writeNewInode(TEST_INODE_DIR);
+
+    for (int id = 100; id < 100 + CACHE_SIZE * 2; id++) {
+      MutableInodeFile child =
+          MutableInodeFile.create(id, TEST_INODE_ID, "child" + id, 0, CreateFileContext.defaults());
+      mStore.writeNewInode(child);
+      mStore.addChild(TEST_INODE_ID, child);
+    }
+    for (int id = 100; id < 100 + CACHE_SIZE * 2; id++) {
+      assertTrue(mStore.getChild(TEST_INODE_DIR, "child" + id).isPresent());
+    }
+    verify(mBackingStore, times(0)).getMutable(anyLong(), any(ReadOption.class));
+  }
+
+  @Test
+  public void offHeapSegmentSizeMustFitInInt() throws Exception {
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SIZE, "16GB",
+        PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE, "4GB"),
+        ServerConfiguration.global()).toResource()) {
+      new CachingInodeStore(new HeapInodeStore(), new InodeLockManager());
+      fail("Expected the off-heap segment size to be rejected");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains(
+          PropertyKey.MASTER_METASTORE_INODE_CACHE_OFFHEAP_SEGMENT_SIZE.getName()));
+    }
+  }
+
   @Test
   public void edgeIndexTest() throws Exception {
     // Run many concurrent operations, then check that the edge cache's indices are accurate.
@@ -261,6 +309,37 @@ public class CachingInodeStoreMockedBackingStoreTest {
     assertFalse(mStore.mListingCache.getCachedChildIds(TEST_INODE_ID).isPresent());
   }
 
+  @Test
+  public void listingCacheSkipsOversizedListing() throws Exception {
+    MutableInodeDirectory bigDir = createInodeDir(1, 0);
+    for (int i = 10; i < 1010; i++) {
+      mStore.addChild(bigDir.getId(), createInodeDir(i, bigDir.getId()));
+    }
+    mStore.mListingCache.clear();
+    // The listing is still served, but it is too heavy to admit into the listing cache.
+    assertEquals(1000, Iterables.size(mStore.getChildIds(bigDir.getId())));
+    assertFalse(mStore.mListingCache.getCachedChildIds(bigDir.getId()).isPresent());
+  }
+
+  @Test
+  public void pagedListingReadsFromCursor() throws Exception {
+    MutableInodeDirectory bigDir = createInodeDir(1, 0);
+    for (int i = 1000; i < 2000; i++) {
+      mStore.addChild(bigDir.getId(), createInodeDir(i, bigDir.getId()));
+    }
+    mStore.mListingCache.clear();
+    ReadOption option = ReadOption.newBuilder().setStartAfter("1499").build();
+    List<Long> page = new ArrayList<>();
+    Iterables.limit(mStore.getChildIds(bigDir.getId(), option), 10).forEach(page::add);
+    assertEquals(10, page.size());
+    for (int i = 0; i < page.size(); i++) {
+      assertEquals(Integer.toString(1500 + i), mStore.get(page.get(i)).get().getName());
+    }
+    // The page is read from the cursor, and does not load the directory into the listing cache.
+    verify(mBackingStore).getChildIds(eq(bigDir.getId()), eq(option));
+    assertFalse(mStore.mListingCache.getCachedChildIds(bigDir.getId()).isPresent());
+  }
+
   @Test(timeout = 10000)
   public void listingCacheAddRemoveEdges() throws Exception {
     // Perform operations including adding and removing many files within a directory. This test has
@@ -299,6 +378,37 @@ public class CachingInodeStoreMockedBackingStoreTest {
     assertEquals(CACHE_SIZE / 2, Iterables.size(mBackingStore.getChildren(0L)));
   }
 
+  @Test
+  public void resolvePathCachesBackingStoreResults() throws Exception {
+    doReturn(true).when(mBackingStore).supportsBatchPathResolution();
+    List<String> names = new ArrayList<>();
+    long parentId = TEST_INODE_ID;
+    for (long inodeId = 10; inodeId < 15; inodeId++) {
+      MutableInodeDirectory dir = createInodeDir(inodeId, parentId);
+      mStore.addChild(parentId, dir);
+      names.add(dir.getName());
+      parentId = inodeId;
+    }
+    mStore.mEdgeCache.flush();
+    mStore.mInodeCache.flush();
+    // Drop the clean inodes from the second component on, as eviction would.
+    for (long inodeId = 11; inodeId < 15; inodeId++) {
+      mStore.mInodeCache.mMap.remove(inodeId);
+    }
+
+    for (int i = 0; i < 2; i++) {
+      List<Inode> resolved = mStore.resolvePath(TEST_INODE_ID, names, ReadOption.defaults());
+      assertEquals(names.size(), resolved.size());
+      assertEquals(14, resolved.get(names.size() - 1).getId());
+    }
+    // Only the uncached inodes are read, in one batch, after which they are served from the cache.
+    verify(mBackingStore, times(1)).getMutables(eq(Arrays.asList(11L, 12L, 13L, 14L)));
+    verify(mBackingStore, never()).getChildId(anyLong(), anyString(), any(ReadOption.class));
+    for (long inodeId = 11; inodeId < 15; inodeId++) {
+      assertTrue(mStore.mInodeCache.isCached(inodeId));
+    }
+  }
+
   private MutableInodeDirectory createInodeDir(long id, long parentId) {
     MutableInodeDirectory dir = MutableInodeDirectory.create(id, parentId, Long.toString(id),
         CreateDirectoryContext.defaults());
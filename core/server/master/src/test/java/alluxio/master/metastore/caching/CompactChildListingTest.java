@@ -0,0 +1,109 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for {@link CompactChildListing}.
+ */
+public final class CompactChildListingTest {
+  @Test
+  public void empty() {
+    CompactChildListing listing = new CompactChildListing();
+    assertEquals(0, listing.size());
+    assertTrue(listing.childIds(null).isEmpty());
+    assertTrue(listing.childIds("a").isEmpty());
+    assertFalse(listing.remove("a"));
+  }
+
+  @Test
+  public void loadAndList() {
+    NavigableMap<String, Long> children = new TreeMap<>();
+    for (int i = 0; i < 1000; i++) {
+      children.put(String.format("dt=2020-01-%04d", i), (long) i);
+    }
+    CompactChildListing listing = new CompactChildListing(children);
+    assertEquals(1000, listing.size());
+    assertEquals(new ArrayList<>(children.values()), new ArrayList<>(listing.childIds(null)));
+    for (String startAfter : ImmutableList.of("", "a", "dt=2020-01-0016", "dt=2020-01-00165",
+        "dt=2020-01-0999", "z")) {
+      assertEquals(new ArrayList<>(children.tailMap(startAfter, false).values()),
+          new ArrayList<>(listing.childIds(startAfter)));
+    }
+  }
+
+  @Test
+  public void frontCodingIsCompact() {
+    NavigableMap<String, Long> children = new TreeMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      children.put(String.format("partition_date=2020-01-01/part-%06d", i), (long) i);
+    }
+    CompactChildListing listing = new CompactChildListing(children);
+    // Names are 37 characters long, but share most of their prefix with their predecessor.
+    assertTrue(listing.getWeight() < 100_000 * 24);
+  }
+
+  @Test
+  public void unicodeNames() {
+    NavigableMap<String, Long> children = new TreeMap<>();
+    String[] names = {"a", "a😀", "a😁", "a", "été", "ét"};
+    for (int i = 0; i < names.length; i++) {
+      children.put(names[i], (long) i);
+    }
+    CompactChildListing listing = new CompactChildListing(children);
+    assertEquals(new ArrayList<>(children.values()), new ArrayList<>(listing.childIds(null)));
+    assertEquals(new ArrayList<>(children.tailMap("a😀", false).values()),
+        new ArrayList<>(listing.childIds("a😀")));
+  }
+
+  @Test
+  public void randomModifications() {
+    Random random = new Random(0);
+    NavigableMap<String, Long> expected = new TreeMap<>();
+    for (int i = 0; i < 500; i++) {
+      expected.put("file" + random.nextInt(2000), random.nextLong());
+    }
+    CompactChildListing listing = new CompactChildListing(expected);
+    for (int i = 0; i < 20_000; i++) {
+      String name = "file" + random.nextInt(2000);
+      if (random.nextBoolean()) {
+        long id = random.nextLong();
+        assertEquals(!expected.containsKey(name), listing.put(name, id));
+        expected.put(name, id);
+      } else {
+        assertEquals(expected.containsKey(name), listing.remove(name));
+        expected.remove(name);
+      }
+      assertEquals(expected.size(), listing.size());
+      if (i % 1000 == 0) {
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(listing.childIds(null)));
+        String startAfter = "file" + random.nextInt(2000);
+        assertEquals(new ArrayList<>(expected.tailMap(startAfter, false).values()),
+            new ArrayList<>(listing.childIds(startAfter)));
+        assertEquals(expected.tailMap(startAfter, false).size(),
+            listing.childIds(startAfter).size());
+      }
+    }
+    assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(listing.childIds(null)));
+  }
+}
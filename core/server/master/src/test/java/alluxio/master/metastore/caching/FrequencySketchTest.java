@@ -0,0 +1,78 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FrequencySketch}.
+ */
+public final class FrequencySketchTest {
+  @Test
+  public void countAccesses() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 5; i++) {
+      sketch.increment(1);
+    }
+    sketch.increment(2);
+    assertEquals(5, sketch.frequency(1));
+    assertEquals(1, sketch.frequency(2));
+    assertEquals(0, sketch.frequency(3));
+  }
+
+  @Test
+  public void saturate() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 100; i++) {
+      sketch.increment(1);
+    }
+    assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(1));
+  }
+
+  @Test
+  public void reset() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 8; i++) {
+      sketch.increment(1);
+    }
+    sketch.reset();
+    assertEquals(4, sketch.frequency(1));
+  }
+
+  @Test
+  public void agesAfterSampleSize() {
+    int maxSize = 16;
+    FrequencySketch sketch = new FrequencySketch(maxSize);
+    for (int i = 0; i < 10; i++) {
+      sketch.increment(-1);
+    }
+    // Record enough distinct accesses to trigger at least one reset.
+    for (int i = 0; i < 20 * maxSize; i++) {
+      sketch.increment(i);
+    }
+    assertTrue(sketch.frequency(-1) < 10);
+  }
+
+  @Test
+  public void tinyLfuReferencesRepeatedLoads() {
+    TinyLfuEvictionPolicy<Long> policy = new TinyLfuEvictionPolicy<>(1024);
+    policy.recordAccess(1L);
+    assertFalse(policy.referenceOnLoad(1L));
+    policy.recordAccess(1L);
+    assertTrue(policy.referenceOnLoad(1L));
+    assertTrue(policy.frequency(1L) > policy.frequency(2L));
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.master.file.meta.MutableInode;
+import alluxio.master.file.meta.MutableInodeDirectory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link OffHeapInodeCache}.
+ */
+public final class OffHeapInodeCacheTest {
+  private static final int SEGMENT_SIZE = 1024;
+
+  private OffHeapInodeCache mCache;
+
+  @Before
+  public void before() {
+    mCache = new OffHeapInodeCache(4 * SEGMENT_SIZE, SEGMENT_SIZE);
+  }
+
+  @After
+  public void after() {
+    mCache.close();
+  }
+
+  @Test
+  public void putGet() {
+    MutableInodeDirectory dir = dir(1, "dir");
+    mCache.put(dir);
+    assertTrue(mCache.contains(1));
+    assertEquals(dir, mCache.get(1).get());
+    assertEquals("dir", mCache.get(1).get().getName());
+    assertFalse(mCache.get(2).isPresent());
+  }
+
+  @Test
+  public void overwrite() {
+    mCache.put(dir(1, "old"));
+    mCache.put(dir(1, "new"));
+    assertEquals("new", mCache.get(1).get().getName());
+    assertEquals(1, mCache.size());
+  }
+
+  @Test
+  public void remove() {
+    mCache.put(dir(1, "dir"));
+    mCache.remove(1);
+    assertFalse(mCache.get(1).isPresent());
+    assertEquals(0, mCache.size());
+  }
+
+  @Test
+  public void evictsOldestSegment() {
+    int count = 1000;
+    for (int id = 0; id < count; id++) {
+      mCache.put(dir(id, "dir" + id));
+    }
+    // The newest inodes are cached, the oldest have been evicted with their segments.
+    assertTrue(mCache.size() < count);
+    for (int id = count - 10; id < count; id++) {
+      MutableInode<?> inode = mCache.get(id).get();
+      assertEquals("dir" + id, inode.getName());
+    }
+    assertFalse(mCache.get(0).isPresent());
+  }
+
+  @Test
+  public void oversizedInodeIsNotCached() {
+    mCache.put(dir(1, "dir"));
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < SEGMENT_SIZE; i++) {
+      name.append('a');
+    }
+    mCache.put(dir(1, name.toString()));
+    assertFalse(mCache.get(1).isPresent());
+  }
+
+  @Test
+  public void clear() {
+    for (int id = 0; id < 100; id++) {
+      mCache.put(dir(id, "dir" + id));
+    }
+    mCache.clear();
+    assertEquals(0, mCache.size());
+    mCache.put(dir(1, "dir"));
+    assertEquals("dir", mCache.get(1).get().getName());
+  }
+
+  private static MutableInodeDirectory dir(long id, String name) {
+    return MutableInodeDirectory.create(id, 0, name, CreateDirectoryContext.defaults());
+  }
+}
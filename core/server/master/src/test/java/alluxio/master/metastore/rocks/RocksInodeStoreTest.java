@@ -14,15 +14,23 @@ package alluxio.master.metastore.rocks;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
+import alluxio.ConfigurationRule;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.master.file.contexts.CreateDirectoryContext;
 import alluxio.master.file.meta.MutableInodeDirectory;
 import alluxio.master.metastore.InodeStore.WriteBatch;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.Closeable;
 import java.io.IOException;
 
 public class RocksInodeStoreTest {
@@ -52,4 +60,19 @@ public class RocksInodeStoreTest {
     assertEquals("dir", store.get(1).get().getName());
     assertThat(store.toStringEntries(), containsString("name=dir"));
   }
+
+  @Test
+  public void reportsStatistics() throws Exception {
+    RocksInodeStore store;
+    try (Closeable c = new ConfigurationRule(
+        PropertyKey.MASTER_METASTORE_ROCKS_STATISTICS_ENABLED, "true",
+        ServerConfiguration.global()).toResource()) {
+      store = new RocksInodeStore(mFolder.newFolder().getAbsolutePath());
+    }
+    store.writeInode(MutableInodeDirectory.create(1, 0, "dir", CreateDirectoryContext.defaults()));
+    assertEquals("dir", store.get(1).get().getName());
+    String name = Metric.getMetricNameWithTags(MetricKey.MASTER_ROCKS_MEMTABLE_HITS.getName(),
+        "Store", "inodes");
+    assertTrue((long) MetricsSystem.METRIC_REGISTRY.getGauges().get(name).getValue() > 0);
+  }
 }
@@ -12,12 +12,18 @@
 package alluxio.master.metastore.rocks;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import alluxio.ConfigurationRule;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 
 import com.google.common.primitives.Longs;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
@@ -30,14 +36,24 @@ import org.rocksdb.WriteOptions;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class RocksStoreTest {
   @Rule
   public TemporaryFolder mFolder = new TemporaryFolder();
 
+  @Rule
+  public ExpectedException mThrown = ExpectedException.none();
+
   @Test
   public void backupRestore() throws Exception {
     ColumnFamilyOptions cfOpts = new ColumnFamilyOptions()
@@ -77,4 +93,76 @@ public class RocksStoreTest {
       assertArrayEquals("b".getBytes(), db.get(testColumn.get(), ("a" + i).getBytes()));
     }
   }
+
+  @Test
+  public void writeWhileArchivingCheckpoint() throws Exception {
+    ColumnFamilyOptions cfOpts = new ColumnFamilyOptions()
+        .setMemTableConfig(new HashLinkedListMemTableConfig())
+        .setCompressionType(CompressionType.NO_COMPRESSION)
+        .useFixedLengthPrefixExtractor(Longs.BYTES);
+    DBOptions dbOpts = new DBOptions()
+        .setAllowConcurrentMemtableWrite(false)
+        .setMaxOpenFiles(-1)
+        .setCreateIfMissing(true)
+        .setCreateMissingColumnFamilies(true);
+    List<ColumnFamilyDescriptor> columnDescriptors =
+        Arrays.asList(new ColumnFamilyDescriptor("test".getBytes(), cfOpts));
+    String dbDir = mFolder.newFolder("rocks").getAbsolutePath();
+    String backupsDir = mFolder.newFolder("rocks-backups").getAbsolutePath();
+    AtomicReference<ColumnFamilyHandle> testColumn = new AtomicReference<>();
+    RocksStore store =
+        new RocksStore(dbDir, backupsDir, columnDescriptors, dbOpts, Arrays.asList(testColumn));
+    WriteOptions writeOptions = new WriteOptions().setDisableWAL(true);
+    store.getDb().put(testColumn.get(), writeOptions, "before".getBytes(), "b".getBytes());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    AtomicBoolean wroteConcurrently = new AtomicBoolean(false);
+    // Writes to the database while the checkpoint tarball is being streamed out.
+    OutputStream out = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        if (!wroteConcurrently.get()) {
+          try {
+            executor.submit(() -> {
+              store.getDb().put(testColumn.get(), writeOptions, "after".getBytes(),
+                  "b".getBytes());
+              return null;
+            }).get(30, TimeUnit.SECONDS);
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+          wroteConcurrently.set(true);
+        }
+        super.write(b, off, len);
+      }
+    };
+    try {
+      store.writeToCheckpoint(out);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertTrue(wroteConcurrently.get());
+
+    String newDbDir = mFolder.newFolder("rocks-new").getAbsolutePath();
+    RocksStore restored =
+        new RocksStore(newDbDir, backupsDir, columnDescriptors, dbOpts, Arrays.asList(testColumn));
+    restored.restoreFromCheckpoint(new CheckpointInputStream(
+        new ByteArrayInputStream(((ByteArrayOutputStream) out).toByteArray())));
+    assertArrayEquals("b".getBytes(), restored.getDb().get(testColumn.get(), "before".getBytes()));
+    // The write happened after the checkpoint was taken, so it is not part of it.
+    assertNull(restored.getDb().get(testColumn.get(), "after".getBytes()));
+  }
+
+  @Test
+  public void rejectsInvalidCompressionLevel() throws Exception {
+    try (Closeable c = new ConfigurationRule(
+        PropertyKey.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL, "10",
+        ServerConfiguration.global()).toResource()) {
+      mThrown.expect(IllegalArgumentException.class);
+      mThrown.expectMessage(PropertyKey.Name.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL);
+      new RocksStore(mFolder.newFolder("rocks").getAbsolutePath(),
+          mFolder.newFolder("rocks-backups").getAbsolutePath(), Collections.emptyList(),
+          new DBOptions(), Collections.emptyList());
+    }
+  }
 }
@@ -0,0 +1,183 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A striped, lossy buffer of block access events. Readers record accesses without taking any
+ * lock; the buffered events are handed to a {@link Consumer} in batches by whichever thread finds
+ * a stripe full, or by an explicit {@link #drain()}.
+ *
+ * Each stripe is a bounded ring. A thread picks its stripe from its thread id, claims a slot with
+ * a CAS on the stripe tail and publishes the event by setting the slot flag. When a stripe is
+ * full the event is dropped: access events only drive recency and frequency heuristics, so losing
+ * a few under heavy contention is preferable to blocking the read path.
+ */
+@ThreadSafe
+public final class BlockAccessBuffer {
+  /**
+   * Receives the buffered access events.
+   */
+  public interface Consumer {
+    /**
+     * Handles a single access event.
+     *
+     * @param sessionId the id of the session that accessed the block
+     * @param blockId the id of the accessed block
+     */
+    void accept(long sessionId, long blockId);
+  }
+
+  private final Stripe[] mStripes;
+  private final int mStripeMask;
+  private final Consumer mConsumer;
+  /** Serializes delivery to the consumer. */
+  private final ReentrantLock mDrainLock = new ReentrantLock();
+
+  /**
+   * Creates a new instance of {@link BlockAccessBuffer}.
+   *
+   * @param stripes the number of stripes, rounded up to a power of two
+   * @param capacity the number of events each stripe holds, rounded up to a power of two
+   * @param consumer the consumer of the buffered events
+   */
+  public BlockAccessBuffer(int stripes, int capacity, Consumer consumer) {
+    Preconditions.checkArgument(stripes > 0, "stripes must be positive");
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+    int numStripes = ceilingPowerOfTwo(stripes);
+    mStripes = new Stripe[numStripes];
+    for (int i = 0; i < numStripes; i++) {
+      mStripes[i] = new Stripe(ceilingPowerOfTwo(capacity));
+    }
+    mStripeMask = numStripes - 1;
+    mConsumer = Preconditions.checkNotNull(consumer, "consumer");
+  }
+
+  /**
+   * Records an access event. This never blocks; if the stripe of the calling thread is full, the
+   * buffer is drained opportunistically and the event may be dropped.
+   *
+   * @param sessionId the id of the session that accessed the block
+   * @param blockId the id of the accessed block
+   */
+  public void record(long sessionId, long blockId) {
+    Stripe stripe = mStripes[(int) Thread.currentThread().getId() & mStripeMask];
+    if (!stripe.offer(sessionId, blockId) || stripe.isFull()) {
+      tryDrain();
+    }
+  }
+
+  /**
+   * Delivers all published events to the consumer, waiting for a concurrent drain to finish.
+   */
+  public void drain() {
+    mDrainLock.lock();
+    try {
+      drainStripes();
+    } finally {
+      mDrainLock.unlock();
+    }
+  }
+
+  /**
+   * Delivers all published events to the consumer unless another thread is already doing so.
+   */
+  private void tryDrain() {
+    if (mDrainLock.tryLock()) {
+      try {
+        drainStripes();
+      } finally {
+        mDrainLock.unlock();
+      }
+    }
+  }
+
+  private void drainStripes() {
+    for (Stripe stripe : mStripes) {
+      stripe.drainTo(mConsumer);
+    }
+  }
+
+  private static int ceilingPowerOfTwo(int n) {
+    return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  /**
+   * A bounded multi-producer, single-consumer ring of access events.
+   */
+  private static final class Stripe {
+    private final int mMask;
+    private final AtomicLongArray mSessionIds;
+    private final AtomicLongArray mBlockIds;
+    /** Non-zero when the slot holds an event that has not been consumed yet. */
+    private final AtomicIntegerArray mPublished;
+    /** The next position to be claimed by a producer. */
+    private final AtomicLong mTail = new AtomicLong();
+    /** The next position to be consumed; only advanced while holding the drain lock. */
+    private final AtomicLong mHead = new AtomicLong();
+
+    Stripe(int capacity) {
+      mMask = capacity - 1;
+      mSessionIds = new AtomicLongArray(capacity);
+      mBlockIds = new AtomicLongArray(capacity);
+      mPublished = new AtomicIntegerArray(capacity);
+    }
+
+    boolean offer(long sessionId, long blockId) {
+      long tail;
+      do {
+        tail = mTail.get();
+        if (tail - mHead.get() > mMask) {
+          return false;
+        }
+      } while (!mTail.compareAndSet(tail, tail + 1));
+      int index = (int) tail & mMask;
+      mSessionIds.lazySet(index, sessionId);
+      mBlockIds.lazySet(index, blockId);
+      mPublished.lazySet(index, 1);
+      return true;
+    }
+
+    boolean isFull() {
+      return mTail.get() - mHead.get() > mMask;
+    }
+
+    void drainTo(Consumer consumer) {
+      long head = mHead.get();
+      long tail = mTail.get();
+      try {
+        while (head < tail) {
+          int index = (int) head & mMask;
+          if (mPublished.get(index) == 0) {
+            // The producer that claimed this slot has not published it yet; pick it up next time.
+            break;
+          }
+          long sessionId = mSessionIds.get(index);
+          long blockId = mBlockIds.get(index);
+          mPublished.lazySet(index, 0);
+          head++;
+          consumer.accept(sessionId, blockId);
+        }
+      } finally {
+        mHead.lazySet(head);
+      }
+    }
+  }
+}
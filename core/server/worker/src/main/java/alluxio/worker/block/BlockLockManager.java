@@ -19,29 +19,36 @@ import alluxio.exception.InvalidWorkerStateException;
 import alluxio.resource.LockResource;
 import alluxio.resource.ResourcePool;
 
-import com.google.common.base.Objects;
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * The bookkeeping is split into {@link #NUM_SHARDS} shards, each guarded by its own lock. The
+ * block lock of a block lives in the shard chosen by the block id, and the record of a lock id
+ * lives in the shard chosen by the lock id, so no operation holds more than one shard lock at a
+ * time. The lock ids held by each session are tracked in a concurrent map which is updated
+ * atomically per session.
  */
 @ThreadSafe
 public final class BlockLockManager {
@@ -50,6 +57,9 @@ public final class BlockLockManager {
   /** Invalid lock ID. */
   public static final long INVALID_LOCK_ID = -1;
 
+  /** The number of shards, must be a power of two. */
+  private static final int NUM_SHARDS = 64;
+
   /** The unique id of each lock. */
   private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
 
@@ -65,25 +75,25 @@ public final class BlockLockManager {
     }
   };
 
-  /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
-
-  /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
+  /** The shards holding block locks and lock records. */
+  private final Shard[] mShards = new Shard[NUM_SHARDS];
 
-  /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
-
-  /** Lock to guard metadata operations. */
-  private final ReentrantReadWriteLock mSharedMapsLock = new ReentrantReadWriteLock();
+  /**
+   * A map from a session id to all the locks hold by this session. A set is only read or modified
+   * inside the atomic {@link ConcurrentHashMap} operations on its session, and is removed from the
+   * map once it becomes empty.
+   */
+  private final ConcurrentHashMap<Long, LongSet> mSessionIdToLockIdsMap =
+      new ConcurrentHashMap<>();
 
   /**
    * Constructs a new {@link BlockLockManager}.
    */
-  public BlockLockManager() {}
+  public BlockLockManager() {
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      mShards[i] = new Shard();
+    }
+  }
 
   /**
    * Locks a block. Note that even if this block does not exist, a lock id is still returned.
@@ -114,15 +124,19 @@ public final class BlockLockManager {
     lock.lock();
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-        mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
-        Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-        if (sessionLockIds == null) {
-          mSessionIdToLockIdsMap.put(sessionId, Sets.newHashSet(lockId));
-        } else {
-          sessionLockIds.add(lockId);
+      Shard shard = shardForLock(lockId);
+      // The record is published inside the session's atomic update, so that a concurrent
+      // cleanupSession either sees both the session entry and the record, or neither.
+      mSessionIdToLockIdsMap.compute(sessionId, (id, lockIds) -> {
+        if (lockIds == null) {
+          lockIds = new LongOpenHashSet();
         }
-      }
+        try (LockResource r = new LockResource(shard.mLock)) {
+          shard.mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
+        }
+        lockIds.add(lockId);
+        return lockIds;
+      });
       return lockId;
     } catch (RuntimeException e) {
       // If an unexpected exception occurs, we should release the lock to be conservative.
@@ -137,19 +151,13 @@ public final class BlockLockManager {
    * @return whether the specified session holds a lock on the specified block
    */
   private boolean sessionHoldsLock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLocks == null) {
-        return false;
-      }
-      for (Long lockId : sessionLocks) {
-        LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
-        if (lockRecord.getBlockId() == blockId) {
-          return true;
-        }
+    for (long lockId : getSessionLockIds(sessionId)) {
+      LockRecord lockRecord = getRecord(lockId);
+      if (lockRecord != null && lockRecord.getBlockId() == blockId) {
+        return true;
       }
-      return false;
     }
+    return false;
   }
 
   /**
@@ -161,13 +169,14 @@ public final class BlockLockManager {
    * @return the block lock
    */
   private ClientRWLock getBlockLock(long blockId) {
-    // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
+    Shard shard = shardForBlock(blockId);
+    // Loop until we either find the block lock in the shard, or successfully acquire a new
     // block lock from the lock pool.
     while (true) {
       ClientRWLock blockLock;
       // Check whether a lock has already been allocated for the block id.
-      try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-        blockLock = mLocks.get(blockId);
+      try (LockResource r = new LockResource(shard.mLock)) {
+        blockLock = shard.mLocks.get(blockId);
         if (blockLock != null) {
           blockLock.addReference();
           return blockLock;
@@ -179,13 +188,14 @@ public final class BlockLockManager {
       // allocated to another thread, in which case we could just use that lock.
       blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
       if (blockLock != null) {
-        try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
+        try (LockResource r = new LockResource(shard.mLock)) {
           // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
+          ClientRWLock existingLock = shard.mLocks.get(blockId);
+          if (existingLock != null) {
             mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
+            blockLock = existingLock;
           } else {
-            mLocks.put(blockId, blockLock);
+            shard.mLocks.put(blockId, blockLock);
           }
           blockLock.addReference();
           return blockLock;
@@ -201,23 +211,16 @@ public final class BlockLockManager {
    * @return whether the lock corresponding the lock ID has been successfully unlocked
    */
   public boolean unlockBlockNoException(long lockId) {
-    Lock lock;
     LockRecord record;
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        return false;
-      }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      sessionLockIds.remove(lockId);
-      if (sessionLockIds.isEmpty()) {
-        mSessionIdToLockIdsMap.remove(sessionId);
-      }
+    Shard shard = shardForLock(lockId);
+    try (LockResource r = new LockResource(shard.mLock)) {
+      record = shard.mLockIdToRecordMap.remove(lockId);
+    }
+    if (record == null) {
+      return false;
     }
-    unlock(lock, record.getBlockId());
+    removeSessionLockId(record.getSessionId(), lockId);
+    unlock(record.getLock(), record.getBlockId());
     return true;
   }
 
@@ -243,30 +246,15 @@ public final class BlockLockManager {
    */
   // TODO(bin): Temporary, remove me later.
   public boolean unlockBlock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return false;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          // TODO(peis): Should this be a check failure?
-          return false;
-        }
-        if (blockId == record.getBlockId()) {
-          mLockIdToRecordMap.remove(lockId);
-          sessionLockIds.remove(lockId);
-          if (sessionLockIds.isEmpty()) {
-            mSessionIdToLockIdsMap.remove(sessionId);
-          }
-          Lock lock = record.getLock();
-          unlock(lock, blockId);
-          return true;
-        }
+    for (long lockId : getSessionLockIds(sessionId)) {
+      LockRecord record = getRecord(lockId);
+      // The record may be gone if the lock was released concurrently
+      if (record != null && blockId == record.getBlockId()
+          && unlockBlockNoException(lockId)) {
+        return true;
       }
-      return false;
     }
+    return false;
   }
 
   /**
@@ -281,20 +269,18 @@ public final class BlockLockManager {
    */
   public void validateLock(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = getRecord(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
@@ -304,22 +290,24 @@ public final class BlockLockManager {
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return;
+    LongSet sessionLockIds = mSessionIdToLockIdsMap.remove(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    LongIterator it = sessionLockIds.iterator();
+    while (it.hasNext()) {
+      long lockId = it.nextLong();
+      LockRecord record;
+      Shard shard = shardForLock(lockId);
+      try (LockResource r = new LockResource(shard.mLock)) {
+        record = shard.mLockIdToRecordMap.remove(lockId);
       }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-          continue;
-        }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+      if (record == null) {
+        // The lock was released concurrently
+        LOG.debug(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
+        continue;
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
+      unlock(record.getLock(), record.getBlockId());
     }
   }
 
@@ -329,13 +317,15 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
+    Set<Long> set = new HashSet<>();
+    for (Shard shard : mShards) {
+      try (LockResource r = new LockResource(shard.mLock)) {
+        for (LockRecord lockRecord : shard.mLockIdToRecordMap.values()) {
+          set.add(lockRecord.getBlockId());
+        }
       }
-      return set;
     }
+    return set;
   }
 
   /**
@@ -357,20 +347,66 @@ public final class BlockLockManager {
    * @param blockId the block id for which to potentially release the block lock
    */
   private void releaseBlockLockIfUnused(long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      ClientRWLock lock = mLocks.get(blockId);
+    Shard shard = shardForBlock(blockId);
+    try (LockResource r = new LockResource(shard.mLock)) {
+      ClientRWLock lock = shard.mLocks.get(blockId);
       if (lock == null) {
         // Someone else probably released the block lock already.
         return;
       }
       // If we were the last worker with a reference to the lock, clean it up.
       if (lock.dropReference() == 0) {
-        mLocks.remove(blockId);
+        shard.mLocks.remove(blockId);
         mLockPool.release(lock);
       }
     }
   }
 
+  /**
+   * @param lockId the lock id
+   * @return the record of the lock id, or null if there is none
+   */
+  private LockRecord getRecord(long lockId) {
+    Shard shard = shardForLock(lockId);
+    try (LockResource r = new LockResource(shard.mLock)) {
+      return shard.mLockIdToRecordMap.get(lockId);
+    }
+  }
+
+  /**
+   * @param sessionId the session id
+   * @return a snapshot of the lock ids held by the session
+   */
+  private long[] getSessionLockIds(long sessionId) {
+    long[][] lockIds = {new long[0]};
+    mSessionIdToLockIdsMap.computeIfPresent(sessionId, (id, set) -> {
+      lockIds[0] = set.toLongArray();
+      return set;
+    });
+    return lockIds[0];
+  }
+
+  /**
+   * Removes a lock id from the locks held by a session.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id
+   */
+  private void removeSessionLockId(long sessionId, long lockId) {
+    mSessionIdToLockIdsMap.computeIfPresent(sessionId, (id, lockIds) -> {
+      lockIds.remove(lockId);
+      return lockIds.isEmpty() ? null : lockIds;
+    });
+  }
+
+  private Shard shardForBlock(long blockId) {
+    return mShards[(int) HashCommon.mix(blockId) & (NUM_SHARDS - 1)];
+  }
+
+  private Shard shardForLock(long lockId) {
+    return mShards[(int) lockId & (NUM_SHARDS - 1)];
+  }
+
   /**
    * Checks the internal state of the manager to make sure invariants hold.
    *
@@ -378,31 +414,38 @@ public final class BlockLockManager {
    * state is encountered.
    */
   public void validate() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
+    for (Shard shard : mShards) {
+      shard.mLock.lock();
+    }
+    try {
       // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+      Long2IntOpenHashMap blockLockReferenceCounts = new Long2IntOpenHashMap();
+      Long2ObjectOpenHashMap<LockRecord> records = new Long2ObjectOpenHashMap<>();
+      for (Shard shard : mShards) {
+        records.putAll(shard.mLockIdToRecordMap);
+        for (LockRecord record : shard.mLockIdToRecordMap.values()) {
+          blockLockReferenceCounts.addTo(record.getBlockId(), 1);
+        }
       }
 
       // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
+      for (Shard shard : mShards) {
+        for (Long2ObjectMap.Entry<ClientRWLock> entry : shard.mLocks.long2ObjectEntrySet()) {
+          long blockId = entry.getLongKey();
+          int recordCount = blockLockReferenceCounts.get(blockId);
+          int referenceCount = entry.getValue().getReferenceCount();
+          if (recordCount != referenceCount) {
+            throw new IllegalStateException("There are " + recordCount + " lock records for block"
+                + " id " + blockId + ", but the reference count is " + referenceCount);
+          }
         }
       }
 
       // Check that if a lock id is mapped to by a session id, the lock record for that lock id
       // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
-        for (Long lockId : entry.getValue()) {
-          LockRecord record = mLockIdToRecordMap.get(lockId);
+      for (Map.Entry<Long, LongSet> entry : mSessionIdToLockIdsMap.entrySet()) {
+        for (long lockId : getSessionLockIds(entry.getKey())) {
+          LockRecord record = records.get(lockId);
           if (record.getSessionId() != entry.getKey()) {
             throw new IllegalStateException("The session id map contains lock id " + lockId
                 + "under session id " + entry.getKey() + ", but the record for that lock id ("
@@ -410,9 +453,29 @@ public final class BlockLockManager {
           }
         }
       }
+    } finally {
+      for (Shard shard : mShards) {
+        shard.mLock.unlock();
+      }
     }
   }
 
+  /**
+   * A shard of the lock bookkeeping.
+   */
+  private static final class Shard {
+    private final ReentrantLock mLock = new ReentrantLock();
+
+    /** A map from block id to the read write lock used to guard that block. */
+    @GuardedBy("mLock")
+    private final Long2ObjectOpenHashMap<ClientRWLock> mLocks = new Long2ObjectOpenHashMap<>();
+
+    /** A map from a lock id to the lock record of it. */
+    @GuardedBy("mLock")
+    private final Long2ObjectOpenHashMap<LockRecord> mLockIdToRecordMap =
+        new Long2ObjectOpenHashMap<>();
+  }
+
   /**
    * Inner class to keep record of a lock.
    */
@@ -161,7 +161,9 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
     mBlockStore.registerBlockStoreEventListener(mHeartbeatReporter);
     mBlockStore.registerBlockStoreEventListener(mMetricsReporter);
     mUfsManager = ufsManager;
-    mUnderFileSystemBlockStore = new UnderFileSystemBlockStore(mBlockStore, ufsManager);
+    mUnderFileSystemBlockStore = mResourceCloser.register(
+        new UnderFileSystemBlockStore(mBlockStore, ufsManager,
+            (sessionId, blockId) -> commitBlock(sessionId, blockId, false)));
 
     Metrics.registerGauges(this);
   }
@@ -536,7 +538,9 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
       throws BlockAlreadyExistsException, IOException, WorkerOutOfSpaceException {
     try {
       mUnderFileSystemBlockStore.closeReaderOrWriter(sessionId, blockId);
-      if (mBlockStore.getTempBlockMeta(sessionId, blockId) != null) {
+      // A block cached in the background is committed once its data has been written.
+      if (!mUnderFileSystemBlockStore.isCachingInBackground(blockId)
+          && mBlockStore.getTempBlockMeta(sessionId, blockId) != null) {
         try {
           commitBlock(sessionId, blockId, false);
         } catch (BlockDoesNotExistException e) {
@@ -57,6 +57,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -102,7 +103,18 @@ public class TieredBlockStore implements BlockStore {
   private final Allocator mAllocator;
   private final Evictor mEvictor;
 
-  private final List<BlockStoreEventListener> mBlockStoreEventListeners = new ArrayList<>();
+  /**
+   * Listeners are thread safe on their own, so events are delivered without holding a shared
+   * monitor. Copy-on-write keeps iteration lock free; registration only happens at startup.
+   */
+  private final List<BlockStoreEventListener> mBlockStoreEventListeners =
+      new CopyOnWriteArrayList<>();
+
+  /** Buffers block access events so that reads do not notify the listeners one by one. */
+  private final BlockAccessBuffer mAccessBuffer = new BlockAccessBuffer(
+      4 * Runtime.getRuntime().availableProcessors(),
+      ServerConfiguration.getInt(PropertyKey.WORKER_TIERED_STORE_ACCESS_BUFFER_SIZE),
+      this::notifyAccessBlock);
 
   /** A set of pinned inodes fetched from the master. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
@@ -267,10 +279,8 @@ public class TieredBlockStore implements BlockStore {
       IOException {
     LOG.debug("commitBlock: sessionId={}, blockId={}", sessionId, blockId);
     BlockStoreLocation loc = commitBlockInternal(sessionId, blockId, pinOnCreate);
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onCommitBlock(sessionId, blockId, loc);
-      }
+    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+      listener.onCommitBlock(sessionId, blockId, loc);
     }
   }
 
@@ -279,10 +289,8 @@ public class TieredBlockStore implements BlockStore {
       BlockDoesNotExistException, InvalidWorkerStateException, IOException {
     LOG.debug("abortBlock: sessionId={}, blockId={}", sessionId, blockId);
     abortBlockInternal(sessionId, blockId);
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onAbortBlock(sessionId, blockId);
-      }
+    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+      listener.onAbortBlock(sessionId, blockId);
     }
   }
 
@@ -323,11 +331,9 @@ public class TieredBlockStore implements BlockStore {
     while (retryPolicy.attempt()) {
       MoveBlockResult result = moveBlockInternal(sessionId, blockId, oldLocation, newLocation);
       if (result.getSuccess()) {
-        synchronized (mBlockStoreEventListeners) {
-          for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-            listener.onMoveBlockByClient(sessionId, blockId, result.getSrcLocation(),
-                result.getDstLocation());
-          }
+        for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+          listener.onMoveBlockByClient(sessionId, blockId, result.getSrcLocation(),
+              result.getDstLocation());
         }
         return;
       }
@@ -349,10 +355,10 @@ public class TieredBlockStore implements BlockStore {
       throws InvalidWorkerStateException, BlockDoesNotExistException, IOException {
     LOG.debug("removeBlock: sessionId={}, blockId={}, location={}", sessionId, blockId, location);
     removeBlockInternal(sessionId, blockId, location);
-    synchronized (mBlockStoreEventListeners) {
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        listener.onRemoveBlockByClient(sessionId, blockId);
-      }
+    // Deliver pending accesses first so listeners do not resurrect the removed block
+    mAccessBuffer.drain();
+    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+      listener.onRemoveBlockByClient(sessionId, blockId);
     }
   }
 
@@ -366,7 +372,22 @@ public class TieredBlockStore implements BlockStore {
     if (!hasBlock) {
       throw new BlockDoesNotExistException(ExceptionMessage.NO_BLOCK_ID_FOUND, blockId);
     }
-    synchronized (mBlockStoreEventListeners) {
+    mAccessBuffer.record(sessionId, blockId);
+  }
+
+  /**
+   * Delivers a buffered access event to the listeners, unless the block has been removed or lost
+   * since it was accessed. Holding the metadata read lock orders the delivery before the removal
+   * of the block, so listeners never see an access after the block is gone.
+   *
+   * @param sessionId the id of the session that accessed the block
+   * @param blockId the id of the accessed block
+   */
+  private void notifyAccessBlock(long sessionId, long blockId) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
+      if (!mMetaManager.hasBlockMeta(blockId)) {
+        return;
+      }
       for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
         listener.onAccessBlock(sessionId, blockId);
       }
@@ -416,6 +437,8 @@ public class TieredBlockStore implements BlockStore {
   public BlockStoreMeta getBlockStoreMeta() {
     // Removed DEBUG logging because this is very noisy
     // LOG.debug("getBlockStoreMeta:");
+    // Called periodically by the heartbeat, which bounds how stale the access metrics can get
+    mAccessBuffer.drain();
     BlockStoreMeta storeMeta;
     try (LockResource r = new LockResource(mMetadataReadLock)) {
       storeMeta = mMetaManager.getBlockStoreMeta();
@@ -437,9 +460,7 @@ public class TieredBlockStore implements BlockStore {
   @Override
   public void registerBlockStoreEventListener(BlockStoreEventListener listener) {
     LOG.debug("registerBlockStoreEventListener: listener={}", listener);
-    synchronized (mBlockStoreEventListeners) {
-      mBlockStoreEventListeners.add(listener);
-    }
+    mBlockStoreEventListeners.add(listener);
   }
 
   /**
@@ -652,6 +673,8 @@ public class TieredBlockStore implements BlockStore {
   private void freeSpaceInternal(long sessionId, long availableBytes, BlockStoreLocation location,
       Evictor.Mode mode) throws WorkerOutOfSpaceException, IOException {
     EvictionPlan plan;
+    // Bring the evictor up to date with the buffered accesses before it picks victims
+    mAccessBuffer.drain();
     // NOTE:change the read lock to the write lock due to the endless-loop issue [ALLUXIO-3089]
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
       plan = mEvictor.freeSpaceWithView(availableBytes, location, getUpdatedView(), mode);
@@ -675,10 +698,8 @@ public class TieredBlockStore implements BlockStore {
         LOG.info("Failed to evict blockId {}, it could be already deleted", blockInfo.getFirst());
         continue;
       }
-      synchronized (mBlockStoreEventListeners) {
-        for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-          listener.onRemoveBlockByWorker(sessionId, blockInfo.getFirst());
-        }
+      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+        listener.onRemoveBlockByWorker(sessionId, blockInfo.getFirst());
       }
     }
     // 2. transfer blocks among tiers.
@@ -717,11 +738,9 @@ public class TieredBlockStore implements BlockStore {
           continue;
         }
         if (moveResult.getSuccess()) {
-          synchronized (mBlockStoreEventListeners) {
-            for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-              listener.onMoveBlockByWorker(sessionId, blockId, moveResult.getSrcLocation(),
-                  newLocation);
-            }
+          for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+            listener.onMoveBlockByWorker(sessionId, blockId, moveResult.getSrcLocation(),
+                newLocation);
           }
         }
       }
@@ -932,11 +951,9 @@ public class TieredBlockStore implements BlockStore {
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
       String tierAlias = dir.getParentTier().getTierAlias();
       dir.getParentTier().removeStorageDir(dir);
-      synchronized (mBlockStoreEventListeners) {
-        for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-          dir.getBlockIds().forEach(listener::onBlockLost);
-          listener.onStorageLost(tierAlias, dir.getDirPath());
-        }
+      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+        dir.getBlockIds().forEach(listener::onBlockLost);
+        listener.onStorageLost(tierAlias, dir.getDirPath());
       }
     }
   }
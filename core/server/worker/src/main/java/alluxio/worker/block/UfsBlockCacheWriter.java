@@ -0,0 +1,365 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.exception.BlockDoesNotExistException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.executor.ExecutorServiceFactories;
+import alluxio.worker.block.io.BlockWriter;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Writes data read from the UFS to local storage in the background, so that UFS readers do not
+ * wait for local writes or for the evictions needed to make space for them.
+ *
+ * The data of each block is written in order by at most one thread at a time. The number of bytes
+ * waiting to be written across all blocks is bounded. When accepting more data for a block would
+ * exceed the bound, caching of that block is abandoned instead of blocking the reader.
+ *
+ * Once a reader completes a fill, the temp block belongs to the background stage, which commits it
+ * after writing all of its data, or aborts it if the fill was abandoned.
+ */
+@ThreadSafe
+public final class UfsBlockCacheWriter {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsBlockCacheWriter.class);
+
+  private static final Counter BYTES_WRITTEN =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_CACHE_WRITE_BYTES.getName());
+  private static final Counter DROPPED_BLOCKS =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_CACHE_WRITE_DROPPED_BLOCKS.getName());
+  private static final Counter FAILED_BLOCKS =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_CACHE_WRITE_FAILED_BLOCKS.getName());
+
+  /** How long closing waits for the queued data to be written before abandoning it. */
+  private static final long CLOSE_TIMEOUT_MS = 10 * Constants.SECOND_MS;
+
+  private final ExecutorService mExecutor;
+  private final long mMaxPendingBytes;
+  private final long mCloseTimeoutMs;
+  private final BlockCommitter mCommitter;
+  private final AtomicLong mPendingBytes = new AtomicLong();
+  /** The ids of the blocks whose temp block is owned by a fill. */
+  private final Set<Long> mBlocks = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param numThreads the number of threads writing to local storage
+   * @param maxPendingBytes the maximum number of bytes waiting to be written
+   * @param committer the committer of blocks whose data has been written
+   */
+  public UfsBlockCacheWriter(int numThreads, long maxPendingBytes, BlockCommitter committer) {
+    this(ExecutorServiceFactories.fixedThreadPool("ufs-block-cache-writer", numThreads).create(),
+        maxPendingBytes, committer, CLOSE_TIMEOUT_MS);
+  }
+
+  /**
+   * @param executor the executor to write to local storage with
+   * @param maxPendingBytes the maximum number of bytes waiting to be written
+   * @param committer the committer of blocks whose data has been written
+   * @param closeTimeoutMs how long closing waits for the queued data to be written
+   */
+  @VisibleForTesting
+  UfsBlockCacheWriter(ExecutorService executor, long maxPendingBytes, BlockCommitter committer,
+      long closeTimeoutMs) {
+    mExecutor = executor;
+    mMaxPendingBytes = maxPendingBytes;
+    mCloseTimeoutMs = closeTimeoutMs;
+    mCommitter = committer;
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.WORKER_UFS_CACHE_WRITE_PENDING_BYTES.getName(),
+        mPendingBytes::get);
+  }
+
+  /**
+   * Starts caching a block in the background.
+   *
+   * @param blockStore the local block store
+   * @param sessionId the id of the session caching the block
+   * @param blockId the id of the block
+   * @param writer the writer of the temp block, which is closed by the fill and must not be used
+   *        by the caller afterwards
+   * @return a handle to write the data of the block with
+   */
+  public BlockCacheFill open(BlockStore blockStore, long sessionId, long blockId,
+      BlockWriter writer) {
+    mBlocks.add(blockId);
+    return new BlockCacheFill(blockStore, sessionId, blockId, writer);
+  }
+
+  /**
+   * @param blockId the id of a block
+   * @return whether the temp block of the block is owned by a fill which has not committed or
+   *         aborted it yet
+   */
+  public boolean isCaching(long blockId) {
+    return mBlocks.contains(blockId);
+  }
+
+  /**
+   * @return the number of bytes waiting to be written
+   */
+  @VisibleForTesting
+  long getPendingBytes() {
+    return mPendingBytes.get();
+  }
+
+  /**
+   * Stops the background writers. Queued data is given a bounded time to be written. After that,
+   * blocks which are still being cached are abandoned, and the temp blocks of the blocks whose
+   * writes never ran are aborted by the calling thread.
+   */
+  public void close() {
+    mExecutor.shutdown();
+    try {
+      if (mExecutor.awaitTermination(mCloseTimeoutMs, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (Runnable task : mExecutor.shutdownNow()) {
+      if (task instanceof DrainTask) {
+        ((DrainTask) task).mFill.abandon();
+      }
+    }
+  }
+
+  private boolean reserve(long bytes) {
+    while (true) {
+      long pending = mPendingBytes.get();
+      if (pending + bytes > mMaxPendingBytes) {
+        return false;
+      }
+      if (mPendingBytes.compareAndSet(pending, pending + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Commits a temp block once all of its data has been written.
+   */
+  @FunctionalInterface
+  public interface BlockCommitter {
+    /**
+     * @param sessionId the id of the session which created the temp block
+     * @param blockId the id of the block
+     */
+    void commit(long sessionId, long blockId) throws Exception;
+  }
+
+  /**
+   * Background writes of a single block. Data is accepted from one reader thread.
+   */
+  public final class BlockCacheFill {
+    private final BlockStore mBlockStore;
+    private final long mSessionId;
+    private final long mBlockId;
+    private final BlockWriter mWriter;
+
+    @GuardedBy("this")
+    private final Queue<byte[]> mChunks = new ArrayDeque<>();
+    /** Whether a task writing the queued chunks is scheduled or running. */
+    @GuardedBy("this")
+    private boolean mDraining;
+    /** Whether the reader has handed over the temp block, after which no more data is queued. */
+    @GuardedBy("this")
+    private boolean mCompleted;
+    /** Once set, no more data is accepted or written. */
+    private volatile boolean mAbandoned;
+
+    private BlockCacheFill(BlockStore blockStore, long sessionId, long blockId,
+        BlockWriter writer) {
+      mBlockStore = blockStore;
+      mSessionId = sessionId;
+      mBlockId = blockId;
+      mWriter = writer;
+    }
+
+    /**
+     * Queues the next chunk of the block to be written. The chunk must not be modified afterwards.
+     *
+     * @param chunk the data following the previously written chunk
+     * @return whether the chunk was accepted; once a chunk is rejected, the fill is abandoned
+     */
+    public boolean write(byte[] chunk) {
+      if (mAbandoned) {
+        return false;
+      }
+      if (!reserve(chunk.length)) {
+        mAbandoned = true;
+        DROPPED_BLOCKS.inc();
+        LOG.debug("Abandoned caching block {} since {} bytes are already waiting to be cached",
+            mBlockId, mPendingBytes.get());
+        return false;
+      }
+      boolean schedule;
+      synchronized (this) {
+        mChunks.add(chunk);
+        schedule = !mDraining;
+        mDraining = true;
+      }
+      return !schedule || scheduleDrain();
+    }
+
+    /**
+     * @return whether the fill has been abandoned
+     */
+    public boolean isAbandoned() {
+      return mAbandoned;
+    }
+
+    /**
+     * Abandons the fill. Queued data which has not been written yet is discarded.
+     */
+    public void cancel() {
+      mAbandoned = true;
+    }
+
+    /**
+     * Hands the temp block over to the background stage without waiting for it. Once the queued
+     * data is written, the block writer is closed and the block is committed, or aborted if the
+     * fill has been abandoned. No more data may be written afterwards.
+     */
+    public void complete() {
+      boolean schedule;
+      synchronized (this) {
+        mCompleted = true;
+        schedule = !mDraining;
+        mDraining = true;
+      }
+      if (schedule) {
+        scheduleDrain();
+      }
+    }
+
+    /**
+     * @return whether the drain was scheduled; otherwise the fill is abandoned and drained inline
+     */
+    private boolean scheduleDrain() {
+      try {
+        mExecutor.execute(new DrainTask(this));
+        return true;
+      } catch (RejectedExecutionException e) {
+        mAbandoned = true;
+        drain();
+        return false;
+      }
+    }
+
+    /**
+     * Abandons the fill and releases what its queued data holds, from a thread other than the
+     * background writers. Must only be called for a fill whose drain was scheduled but never ran.
+     */
+    private void abandon() {
+      mAbandoned = true;
+      drain();
+    }
+
+    private void drain() {
+      while (true) {
+        byte[] chunk;
+        synchronized (this) {
+          chunk = mChunks.poll();
+          if (chunk == null) {
+            if (!mCompleted) {
+              mDraining = false;
+              return;
+            }
+            // mDraining stays set, so the block is only closed once.
+            break;
+          }
+        }
+        try {
+          if (!mAbandoned) {
+            mBlockStore.requestSpace(mSessionId, mBlockId, chunk.length);
+            mWriter.append(ByteBuffer.wrap(chunk));
+            BYTES_WRITTEN.inc(chunk.length);
+          }
+        } catch (Exception e) {
+          if (!mAbandoned) {
+            mAbandoned = true;
+            FAILED_BLOCKS.inc();
+            LOG.warn("Failed to cache data read from UFS for block {}: {}", mBlockId,
+                e.getMessage());
+          }
+        } finally {
+          mPendingBytes.addAndGet(-chunk.length);
+        }
+      }
+      closeBlock();
+    }
+
+    private void closeBlock() {
+      try {
+        try {
+          mWriter.close();
+        } catch (Exception e) {
+          mAbandoned = true;
+          LOG.warn("Failed to close the writer of block {}: {}", mBlockId, e.getMessage());
+        }
+        if (!mAbandoned) {
+          try {
+            mCommitter.commit(mSessionId, mBlockId);
+            return;
+          } catch (Exception e) {
+            FAILED_BLOCKS.inc();
+            LOG.warn("Failed to commit block {} cached from UFS: {}", mBlockId, e.getMessage());
+          }
+        }
+        try {
+          mBlockStore.abortBlock(mSessionId, mBlockId);
+        } catch (BlockDoesNotExistException e) {
+          // The session may have expired, or a failed commit may have already removed the block.
+          LOG.debug("Block {} does not exist when being aborted.", mBlockId);
+        } catch (Exception e) {
+          LOG.warn("Failed to abort block {} cached from UFS: {}", mBlockId, e.getMessage());
+        }
+      } finally {
+        mBlocks.remove(mBlockId);
+      }
+    }
+  }
+
+  /**
+   * Writes the queued data of a fill. Tasks which never ran are recognized when closing.
+   */
+  private static final class DrainTask implements Runnable {
+    private final BlockCacheFill mFill;
+
+    private DrainTask(BlockCacheFill fill) {
+      mFill = fill;
+    }
+
+    @Override
+    public void run() {
+      mFill.drain();
+    }
+  }
+}
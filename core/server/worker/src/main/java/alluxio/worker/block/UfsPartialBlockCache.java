@@ -0,0 +1,392 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.io.FileUtils;
+import alluxio.util.io.PathUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of ranges of UFS blocks, for reads which don't read a whole block from its start and so
+ * can't be cached as a block in the {@link BlockStore}.
+ *
+ * Blocks are divided into fixed size pages. The pages of a block which are cached are tracked in a
+ * bitmap, and their data is stored at the same offsets in a sparse local file. When the cache is
+ * over capacity, whole blocks are evicted in least recently used order.
+ *
+ * Cached ranges are not invalidated when the UFS file changes, in the same way as the UFS input
+ * streams cached by {@link UfsInputStreamManager}.
+ */
+@ThreadSafe
+public final class UfsPartialBlockCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsPartialBlockCache.class);
+
+  private static final Counter BYTES_READ =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_PARTIAL_CACHE_BYTES_READ.getName());
+  private static final Counter BYTES_WRITTEN =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_PARTIAL_CACHE_BYTES_WRITTEN.getName());
+
+  /** The suffix of the files storing cached pages, used to recognize them on startup. */
+  private static final String FILE_SUFFIX = ".ufspages";
+  private static final Pattern FILE_NAME =
+      Pattern.compile("-?\\d+-\\d+" + Pattern.quote(FILE_SUFFIX));
+
+  private final String mDir;
+  private final int mPageSize;
+  private final long mCapacity;
+  /** Used to name cache files, so that a new file never reuses the path of an evicted one. */
+  private final AtomicLong mNextFileId = new AtomicLong();
+  /** The number of bytes of cached pages, updated while holding the lock of their block. */
+  private final AtomicLong mSize = new AtomicLong();
+  /** Cached blocks in access order. */
+  @GuardedBy("this")
+  private final LinkedHashMap<Long, PartialBlock> mBlocks = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * @param dir the directory to store cached pages in; page files left in it by a previous cache
+   *        are deleted, and any other file in it fails the creation of the cache
+   * @param pageSize the page size in bytes
+   * @param capacity the maximum number of bytes to cache
+   */
+  public UfsPartialBlockCache(String dir, int pageSize, long capacity) throws IOException {
+    Preconditions.checkArgument(pageSize > 0, "page size must be positive");
+    mDir = dir;
+    mPageSize = pageSize;
+    mCapacity = capacity;
+    if (FileUtils.exists(dir)) {
+      deletePageFiles(dir);
+    } else {
+      FileUtils.createDir(dir);
+    }
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.WORKER_UFS_PARTIAL_CACHE_SIZE.getName(),
+        mSize::get);
+  }
+
+  /**
+   * Deletes the page files left in a directory by a previous cache. The directory is only cleaned
+   * if it holds nothing else, so that a misconfigured directory is never wiped.
+   *
+   * @param dir the directory
+   */
+  private static void deletePageFiles(String dir) throws IOException {
+    List<Path> pageFiles = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(dir))) {
+      for (Path path : stream) {
+        if (!Files.isRegularFile(path)
+            || !FILE_NAME.matcher(path.getFileName().toString()).matches()) {
+          throw new IOException(String.format(
+              "Directory %s of the partial block cache contains %s, which is not a cached page "
+                  + "file. Configure an empty or dedicated directory.", dir, path));
+        }
+        pageFiles.add(path);
+      }
+    }
+    for (Path path : pageFiles) {
+      Files.delete(path);
+    }
+  }
+
+  /**
+   * Appends the cached data of a block starting at the given offset to a buffer. Data is copied up
+   * to the first page which is not cached.
+   *
+   * @param blockId the block id
+   * @param offset the offset within the block to read from
+   * @param length the maximum number of bytes to read
+   * @param buf the buffer to append the data to
+   * @return the number of bytes appended, which is 0 if the data at the offset is not cached
+   */
+  public int read(long blockId, long offset, int length, ByteBuf buf) throws IOException {
+    PartialBlock block = getBlock(blockId);
+    if (block == null) {
+      return 0;
+    }
+    synchronized (block) {
+      int cached = (int) Math.min(length, block.cachedLength(offset));
+      if (cached <= 0) {
+        return 0;
+      }
+      int read = buf.writeBytes(block.mChannel, offset, cached);
+      BYTES_READ.inc(read);
+      return read;
+    }
+  }
+
+  /**
+   * Reads a range of a block if the whole range is cached.
+   *
+   * @param blockId the block id
+   * @param offset the offset within the block to read from
+   * @param data the array to read into, starting at index 0
+   * @param length the number of bytes to read
+   * @return whether the range was cached and has been read
+   */
+  public boolean read(long blockId, long offset, byte[] data, int length) throws IOException {
+    PartialBlock block = getBlock(blockId);
+    if (block == null) {
+      return false;
+    }
+    synchronized (block) {
+      if (block.cachedLength(offset) < length) {
+        return false;
+      }
+      ByteBuffer dst = ByteBuffer.wrap(data, 0, length);
+      while (dst.hasRemaining()) {
+        if (block.mChannel.read(dst, offset + dst.position()) < 0) {
+          return false;
+        }
+      }
+      BYTES_READ.inc(length);
+      return true;
+    }
+  }
+
+  /**
+   * Creates a writer for caching the data of a block as it is read. Writers are not thread safe,
+   * so each reader of the block should use its own writer.
+   *
+   * @param blockId the block id
+   * @param blockSize the size of the block
+   * @return the writer
+   */
+  public RangeWriter openWriter(long blockId, long blockSize) {
+    return new RangeWriter(blockId, blockSize);
+  }
+
+  /**
+   * @return the number of bytes of cached pages
+   */
+  public long size() {
+    return mSize.get();
+  }
+
+  @Override
+  public void close() {
+    List<PartialBlock> blocks;
+    synchronized (this) {
+      blocks = new ArrayList<>(mBlocks.values());
+      mBlocks.clear();
+    }
+    blocks.forEach(PartialBlock::close);
+  }
+
+  @Nullable
+  private synchronized PartialBlock getBlock(long blockId) {
+    return mBlocks.get(blockId);
+  }
+
+  private synchronized PartialBlock getOrCreateBlock(long blockId, long blockSize)
+      throws IOException {
+    PartialBlock block = mBlocks.get(blockId);
+    if (block == null || block.mBlockSize != blockSize) {
+      if (block != null) {
+        mBlocks.remove(blockId);
+        block.close();
+      }
+      block = new PartialBlock(blockId, blockSize);
+      mBlocks.put(blockId, block);
+    }
+    return block;
+  }
+
+  private boolean hasPage(long blockId, int page) {
+    PartialBlock block = getBlock(blockId);
+    if (block == null) {
+      return false;
+    }
+    synchronized (block) {
+      return block.mPages.get(page);
+    }
+  }
+
+  private void putPage(long blockId, long blockSize, int page, byte[] data, int length)
+      throws IOException {
+    PartialBlock block = getOrCreateBlock(blockId, blockSize);
+    synchronized (block) {
+      if (block.mClosed || block.mPages.get(page)) {
+        return;
+      }
+      ByteBuffer src = ByteBuffer.wrap(data, 0, length);
+      long pos = (long) page * mPageSize;
+      while (src.hasRemaining()) {
+        block.mChannel.write(src, pos + src.position());
+      }
+      block.mPages.set(page);
+      block.mCachedBytes += length;
+      mSize.addAndGet(length);
+      BYTES_WRITTEN.inc(length);
+    }
+    evictIfNecessary(block);
+  }
+
+  /**
+   * Evicts least recently used blocks until the cache is within its capacity.
+   *
+   * @param keep a block which should not be evicted unless it is the only one
+   */
+  private void evictIfNecessary(PartialBlock keep) {
+    List<PartialBlock> evicted = new ArrayList<>();
+    synchronized (this) {
+      long size = mSize.get();
+      Iterator<Map.Entry<Long, PartialBlock>> it = mBlocks.entrySet().iterator();
+      while (size > mCapacity && it.hasNext()) {
+        PartialBlock block = it.next().getValue();
+        if (block == keep && mBlocks.size() > 1) {
+          continue;
+        }
+        it.remove();
+        evicted.add(block);
+        size -= block.mCachedBytes;
+      }
+    }
+    evicted.forEach(PartialBlock::close);
+  }
+
+  /**
+   * The cached pages of a block. Fields are guarded by the object's monitor.
+   */
+  private final class PartialBlock {
+    private final long mBlockId;
+    private final long mBlockSize;
+    private final BitSet mPages = new BitSet();
+    private final String mPath;
+    private final RandomAccessFile mFile;
+    private final FileChannel mChannel;
+    private long mCachedBytes;
+    private boolean mClosed;
+
+    private PartialBlock(long blockId, long blockSize) throws IOException {
+      mBlockId = blockId;
+      mBlockSize = blockSize;
+      mPath = PathUtils.concatPath(mDir,
+          String.format("%d-%d%s", blockId, mNextFileId.getAndIncrement(), FILE_SUFFIX));
+      mFile = new RandomAccessFile(mPath, "rw");
+      mChannel = mFile.getChannel();
+    }
+
+    /**
+     * @param offset an offset within the block
+     * @return the number of bytes from the offset which are cached
+     */
+    private long cachedLength(long offset) {
+      if (mClosed || offset >= mBlockSize) {
+        return 0;
+      }
+      int firstPage = (int) (offset / mPageSize);
+      int missing = mPages.nextClearBit(firstPage);
+      return Math.min((long) missing * mPageSize, mBlockSize) - offset;
+    }
+
+    private synchronized void close() {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
+      mSize.addAndGet(-mCachedBytes);
+      mCachedBytes = 0;
+      mPages.clear();
+      try {
+        mFile.close();
+        FileUtils.delete(mPath);
+      } catch (IOException e) {
+        LOG.warn("Failed to remove cached ranges of block {}: {}", mBlockId, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Caches the data of a block as it is read. Data is cached in whole pages, so it is buffered
+   * until a page is complete. Data which doesn't continue from the previous write restarts the
+   * buffering, and only the pages which are completely covered by sequential writes are cached.
+   */
+  @NotThreadSafe
+  public final class RangeWriter {
+    private final long mBlockId;
+    private final long mBlockSize;
+    @Nullable
+    private byte[] mPage;
+    /** The number of bytes buffered in mPage. */
+    private int mFilled;
+    /** The offset within the block that the next write is expected at. */
+    private long mNextOffset = -1;
+
+    private RangeWriter(long blockId, long blockSize) {
+      mBlockId = blockId;
+      mBlockSize = blockSize;
+    }
+
+    /**
+     * @param offset the offset within the block of the data
+     * @param data the data, which is consumed
+     */
+    public void write(long offset, ByteBuffer data) throws IOException {
+      if (offset != mNextOffset) {
+        mFilled = 0;
+        mNextOffset = offset;
+      }
+      while (data.hasRemaining()) {
+        int pageOffset = (int) (mNextOffset % mPageSize);
+        int page = (int) (mNextOffset / mPageSize);
+        int pageLength = (int) Math.min(mPageSize, mBlockSize - (long) page * mPageSize);
+        int n;
+        if (mFilled != pageOffset || (mFilled == 0 && hasPage(mBlockId, page))) {
+          // Skip the rest of a page which was entered in the middle or is already cached.
+          mFilled = 0;
+          n = Math.min(data.remaining(), pageLength - pageOffset);
+          data.position(data.position() + n);
+        } else {
+          if (mPage == null) {
+            mPage = new byte[mPageSize];
+          }
+          n = Math.min(data.remaining(), pageLength - mFilled);
+          data.get(mPage, mFilled, n);
+          mFilled += n;
+          if (mFilled == pageLength) {
+            putPage(mBlockId, mBlockSize, page, mPage, pageLength);
+            mFilled = 0;
+          }
+        }
+        mNextOffset += n;
+      }
+    }
+  }
+}
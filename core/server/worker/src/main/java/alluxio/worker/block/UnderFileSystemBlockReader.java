@@ -12,6 +12,7 @@
 package alluxio.worker.block;
 
 import alluxio.AlluxioURI;
+import alluxio.Seekable;
 import alluxio.conf.ServerConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.StorageTierAssoc;
@@ -27,6 +28,7 @@ import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.OpenOptions;
 import alluxio.util.IdUtils;
+import alluxio.util.io.BufferUtils;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
 import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
@@ -41,6 +43,7 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -67,6 +70,20 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   private AlluxioURI mUfsMountPointUri;
   /** The block writer to write the block to Alluxio. */
   private BlockWriter mBlockWriter;
+  /** The background stage to write the block with, or null to write in the reading thread. */
+  @Nullable
+  private final UfsBlockCacheWriter mCacheWriter;
+  /** The background writes of the block, set together with mBlockWriter when writing async. */
+  @Nullable
+  private UfsBlockCacheWriter.BlockCacheFill mCacheFill;
+  /** The number of bytes handed to mCacheFill. */
+  private long mCacheFillPos;
+  /** The cache of block ranges read from UFS, or null if ranges are not cached. */
+  @Nullable
+  private final UfsPartialBlockCache mPartialCache;
+  /** The writer to cache ranges of the block with, created on first use. */
+  @Nullable
+  private UfsPartialBlockCache.RangeWriter mPartialCacheWriter;
   /** If set, the reader is closed and should not be used afterwards. */
   private boolean mClosed;
   /** The manager for different ufs. */
@@ -76,13 +93,15 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   /** The ufs client resource. */
   private CloseableResource<UnderFileSystem> mUfsResource;
 
+  /** The position within the block of the next byte returned by {@link #transferTo}. */
+  private long mInStreamPos;
+
   /**
-   * The position of mUnderFileSystemInputStream (if not null) is blockStart + mInStreamPos.
-   * When mUnderFileSystemInputStream is not set, this is set to -1 (an invalid state) when
-   * mUnderFileSystemInputStream is null. Check mUnderFileSystemInputStream directly to see whether
-   * that is valid instead of relying on this invalid state of the position to be safe.
+   * The position of mUnderFileSystemInputStream (if not null) is blockStart + mUfsStreamPos.
+   * The stream is opened lazily on the first read which is not served by the partial cache, so
+   * this is -1 while mUnderFileSystemInputStream is null.
    */
-  private long mInStreamPos;
+  private long mUfsStreamPos;
 
   /**
    * Creates an instance of {@link UnderFileSystemBlockReader} and initializes it with a reading
@@ -98,8 +117,30 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   public static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
       BlockStore localBlockStore, UfsManager ufsManager, UfsInputStreamManager ufsInstreamManager)
       throws IOException {
-    UnderFileSystemBlockReader ufsBlockReader =
-        new UnderFileSystemBlockReader(blockMeta, localBlockStore, ufsManager, ufsInstreamManager);
+    return create(blockMeta, offset, localBlockStore, ufsManager, ufsInstreamManager, null,
+        null);
+  }
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockReader} and initializes it with a reading
+   * offset.
+   *
+   * @param blockMeta the block meta
+   * @param offset the position within the block to start the read
+   * @param localBlockStore the Local block store
+   * @param ufsManager the manager of ufs
+   * @param ufsInstreamManager the manager of ufs instreams
+   * @param cacheWriter the background stage to cache the block with, or null to cache the block
+   *        in the reading thread
+   * @param partialCache the cache of block ranges read from UFS, or null to not cache ranges
+   * @return the block reader
+   */
+  public static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
+      BlockStore localBlockStore, UfsManager ufsManager, UfsInputStreamManager ufsInstreamManager,
+      @Nullable UfsBlockCacheWriter cacheWriter, @Nullable UfsPartialBlockCache partialCache)
+      throws IOException {
+    UnderFileSystemBlockReader ufsBlockReader = new UnderFileSystemBlockReader(blockMeta,
+        localBlockStore, ufsManager, ufsInstreamManager, cacheWriter, partialCache);
     ufsBlockReader.init(offset);
     return ufsBlockReader;
   }
@@ -111,15 +152,21 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    * @param localBlockStore the Local block store
    * @param ufsManager the manager of ufs
    * @param ufsInstreamManager the manager of ufs instreams
+   * @param cacheWriter the background stage to cache the block with, or null
+   * @param partialCache the cache of block ranges read from UFS, or null
    */
   private UnderFileSystemBlockReader(UnderFileSystemBlockMeta blockMeta, BlockStore localBlockStore,
-      UfsManager ufsManager, UfsInputStreamManager ufsInstreamManager) throws IOException {
+      UfsManager ufsManager, UfsInputStreamManager ufsInstreamManager,
+      @Nullable UfsBlockCacheWriter cacheWriter, @Nullable UfsPartialBlockCache partialCache)
+      throws IOException {
     mInitialBlockSize = ServerConfiguration.getBytes(PropertyKey.WORKER_FILE_BUFFER_SIZE);
     mBlockMeta = blockMeta;
     mLocalBlockStore = localBlockStore;
-    mInStreamPos = -1;
+    mUfsStreamPos = -1;
     mUfsManager = ufsManager;
     mUfsInstreamManager = ufsInstreamManager;
+    mCacheWriter = cacheWriter;
+    mPartialCache = partialCache;
     UfsManager.UfsClient ufsClient = mUfsManager.get(mBlockMeta.getMountId());
     mUfsResource = ufsClient.acquireUfsResource();
     mUfsMountPointUri = ufsClient.getUfsMountPointUri();
@@ -131,7 +178,7 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    * @param offset the position within the block to start the read
    */
   private void init(long offset) throws IOException {
-    updateUnderFileSystemInputStream(offset);
+    mInStreamPos = offset;
     updateBlockWriter(offset);
   }
 
@@ -148,7 +195,6 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   @Override
   public ByteBuffer read(long offset, long length) throws IOException {
     Preconditions.checkState(!mClosed);
-    updateUnderFileSystemInputStream(offset);
     updateBlockWriter(offset);
 
     long bytesToRead = Math.min(length, mBlockMeta.getBlockSize() - offset);
@@ -156,6 +202,14 @@ public final class UnderFileSystemBlockReader implements BlockReader {
       return ByteBuffer.allocate(0);
     }
     byte[] data = new byte[(int) bytesToRead];
+    boolean cacheRange = shouldCacheRange();
+    if (cacheRange
+        && mPartialCache.read(mBlockMeta.getBlockId(), offset, data, (int) bytesToRead)) {
+      mInStreamPos = offset + bytesToRead;
+      return ByteBuffer.wrap(data);
+    }
+    updateUnderFileSystemInputStream(offset);
+    mInStreamPos = offset;
     int bytesRead = 0;
     Preconditions.checkNotNull(mUnderFileSystemInputStream, "mUnderFileSystemInputStream");
     while (bytesRead < bytesToRead) {
@@ -171,20 +225,26 @@ public final class UnderFileSystemBlockReader implements BlockReader {
       bytesRead += read;
     }
     mInStreamPos += bytesRead;
+    mUfsStreamPos = mInStreamPos;
 
     // We should always read the number of bytes as expected since the UFS file length (hence block
     // size) should be always accurate.
     Preconditions
         .checkState(bytesRead == bytesToRead, PreconditionMessage.NOT_ENOUGH_BYTES_READ.toString(),
             bytesRead, bytesToRead, mBlockMeta.getUnderFileSystemPath());
-    if (mBlockWriter != null && mBlockWriter.getPosition() < mInStreamPos) {
+    if (shouldCache() && getCachePosition() < mInStreamPos) {
       try {
-        Preconditions.checkState(mBlockWriter.getPosition() >= offset);
-        mLocalBlockStore.requestSpace(mBlockMeta.getSessionId(), mBlockMeta.getBlockId(),
-            mInStreamPos - mBlockWriter.getPosition());
-        ByteBuffer buffer = ByteBuffer.wrap(data, (int) (mBlockWriter.getPosition() - offset),
-            (int) (mInStreamPos - mBlockWriter.getPosition()));
-        mBlockWriter.append(buffer.duplicate());
+        long cachePos = getCachePosition();
+        Preconditions.checkState(cachePos >= offset);
+        ByteBuffer buffer = ByteBuffer.wrap(data, (int) (cachePos - offset),
+            (int) (mInStreamPos - cachePos));
+        if (mCacheFill != null) {
+          writeToCacheFill(BufferUtils.newByteArrayFromByteBuffer(buffer));
+        } else {
+          mLocalBlockStore.requestSpace(mBlockMeta.getSessionId(), mBlockMeta.getBlockId(),
+              mInStreamPos - cachePos);
+          mBlockWriter.append(buffer.duplicate());
+        }
       } catch (Exception e) {
         LOG.warn("Failed to cache data read from UFS (on read()): {}", e.getMessage());
         try {
@@ -194,6 +254,9 @@ public final class UnderFileSystemBlockReader implements BlockReader {
         }
       }
     }
+    if (cacheRange) {
+      writeToPartialCache(offset, ByteBuffer.wrap(data, 0, bytesRead));
+    }
     return ByteBuffer.wrap(data, 0, bytesRead);
   }
 
@@ -206,34 +269,54 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   @Override
   public int transferTo(ByteBuf buf) throws IOException {
     Preconditions.checkState(!mClosed);
-    if (mUnderFileSystemInputStream == null) {
-      return -1;
-    }
     if (mBlockMeta.getBlockSize() <= mInStreamPos) {
       return -1;
     }
-   // Make a copy of the state to keep track of what we have read in this transferTo call.
+    boolean cacheRange = shouldCacheRange();
+    if (cacheRange) {
+      int cached = mPartialCache.read(mBlockMeta.getBlockId(), mInStreamPos,
+          (int) Math.min(buf.writableBytes(), mBlockMeta.getBlockSize() - mInStreamPos), buf);
+      if (cached > 0) {
+        // The UFS stream is left where it is, and only moved to the read position on a miss.
+        mInStreamPos += cached;
+        return cached;
+      }
+    }
+    // Make a copy of the state to keep track of what we have read in this transferTo call.
     ByteBuf bufCopy = null;
-    if (mBlockWriter != null) {
+    if (shouldCache()) {
       bufCopy = buf.duplicate();
       bufCopy.readerIndex(bufCopy.writerIndex());
     }
     int bytesToRead =
         (int) Math.min(buf.writableBytes(), mBlockMeta.getBlockSize() - mInStreamPos);
+    int startIndex = buf.writerIndex();
+    updateUnderFileSystemInputStream(mInStreamPos);
     int bytesRead = buf.writeBytes(mUnderFileSystemInputStream, bytesToRead);
     if (bytesRead <= 0) {
       return bytesRead;
     }
 
+    if (cacheRange) {
+      writeToPartialCache(mInStreamPos, buf.nioBuffer(startIndex, bytesRead));
+    }
     mInStreamPos += bytesRead;
+    mUfsStreamPos = mInStreamPos;
 
     if (mBlockWriter != null && bufCopy != null) {
       try {
         bufCopy.writerIndex(buf.writerIndex());
-        while (bufCopy.readableBytes() > 0) {
-          mLocalBlockStore.requestSpace(mBlockMeta.getSessionId(), mBlockMeta.getBlockId(),
-              mInStreamPos - mBlockWriter.getPosition());
-          mBlockWriter.append(bufCopy);
+        if (mCacheFill != null) {
+          // The buffer is handed to the client once this returns, so cache a copy of the data.
+          byte[] chunk = new byte[bufCopy.readableBytes()];
+          bufCopy.readBytes(chunk);
+          writeToCacheFill(chunk);
+        } else {
+          while (bufCopy.readableBytes() > 0) {
+            mLocalBlockStore.requestSpace(mBlockMeta.getSessionId(), mBlockMeta.getBlockId(),
+                mInStreamPos - mBlockWriter.getPosition());
+            mBlockWriter.append(bufCopy);
+          }
         }
       } catch (Exception e) {
         LOG.warn("Failed to cache data read from UFS (on transferTo()): {}", e.getMessage());
@@ -258,6 +341,12 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     try {
       // This aborts the block if the block is not fully read.
       updateBlockWriter(mBlockMeta.getBlockSize());
+      if (mCacheFill != null) {
+        // The background stage commits the block once all of its data has been written.
+        mCacheFill.complete();
+        mCacheFill = null;
+        mBlockWriter = null;
+      }
 
       if (mUnderFileSystemInputStream != null) {
         mUfsInstreamManager.release(mUnderFileSystemInputStream);
@@ -287,15 +376,22 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   }
 
   /**
-   * Updates the UFS input stream given an offset to read.
+   * Updates the UFS input stream given an offset to read. An open stream at a different position
+   * is moved with a seek if it supports one, and reopened otherwise.
    *
    * @param offset the read offset within the block
    */
   private void updateUnderFileSystemInputStream(long offset) throws IOException {
-    if ((mUnderFileSystemInputStream != null) && offset != mInStreamPos) {
+    if ((mUnderFileSystemInputStream != null) && offset != mUfsStreamPos) {
+      if (mUnderFileSystemInputStream instanceof Seekable
+          && offset < mBlockMeta.getBlockSize()) {
+        ((Seekable) mUnderFileSystemInputStream).seek(mBlockMeta.getOffset() + offset);
+        mUfsStreamPos = offset;
+        return;
+      }
       mUfsInstreamManager.release(mUnderFileSystemInputStream);
       mUnderFileSystemInputStream = null;
-      mInStreamPos = -1;
+      mUfsStreamPos = -1;
     }
 
     if (mUnderFileSystemInputStream == null && offset < mBlockMeta.getBlockSize()) {
@@ -303,7 +399,7 @@ public final class UnderFileSystemBlockReader implements BlockReader {
       mUnderFileSystemInputStream = mUfsInstreamManager.acquire(ufs,
           mBlockMeta.getUnderFileSystemPath(), IdUtils.fileIdFromBlockId(mBlockMeta.getBlockId()),
           OpenOptions.defaults().setOffset(mBlockMeta.getOffset() + offset));
-      mInStreamPos = offset;
+      mUfsStreamPos = offset;
     }
   }
 
@@ -314,6 +410,14 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     if (mBlockWriter == null) {
       return;
     }
+    if (mCacheFill != null) {
+      // The background stage closes the block writer and aborts the block once its writes stop.
+      mCacheFill.cancel();
+      mCacheFill.complete();
+      mCacheFill = null;
+      mBlockWriter = null;
+      return;
+    }
     try {
       mBlockWriter.close();
       mBlockWriter = null;
@@ -329,6 +433,59 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     }
   }
 
+  /**
+   * @return whether data which is read should be written to the block writer
+   */
+  private boolean shouldCache() {
+    return mBlockWriter != null && (mCacheFill == null || !mCacheFill.isAbandoned());
+  }
+
+  /**
+   * @return the position in the block up to which data has been handed to the block writer
+   */
+  private long getCachePosition() {
+    return mCacheFill != null ? mCacheFillPos : mBlockWriter.getPosition();
+  }
+
+  /**
+   * Hands the next chunk of the block to the background stage. If the stage rejects it, the block
+   * is not cached, and the block is aborted in the background when the reader is closed.
+   *
+   * @param chunk the data following the data already handed to the stage
+   */
+  private void writeToCacheFill(byte[] chunk) {
+    if (mCacheFill.write(chunk)) {
+      mCacheFillPos += chunk.length;
+    }
+  }
+
+  /**
+   * @return whether ranges of the block should be read from and written to the partial cache,
+   *         which is only used when the whole block is not being cached
+   */
+  private boolean shouldCacheRange() {
+    return mPartialCache != null && mBlockWriter == null && !mBlockMeta.isNoCache();
+  }
+
+  /**
+   * Caches a range of the block read from UFS. Failures only cost the caching of the range.
+   *
+   * @param offset the offset of the data within the block
+   * @param data the data
+   */
+  private void writeToPartialCache(long offset, ByteBuffer data) {
+    try {
+      if (mPartialCacheWriter == null) {
+        mPartialCacheWriter =
+            mPartialCache.openWriter(mBlockMeta.getBlockId(), mBlockMeta.getBlockSize());
+      }
+      mPartialCacheWriter.write(offset, data);
+    } catch (IOException e) {
+      LOG.warn("Failed to cache range of block {} read from UFS: {}", mBlockMeta.getBlockId(),
+          e.getMessage());
+    }
+  }
+
   /**
    * Updates the block writer given an offset to read. If the offset is beyond the current
    * position of the block writer, the block writer will be aborted.
@@ -336,7 +493,7 @@ public final class UnderFileSystemBlockReader implements BlockReader {
    * @param offset the read offset
    */
   private void updateBlockWriter(long offset) throws IOException {
-    if (mBlockWriter != null && offset > mBlockWriter.getPosition()) {
+    if (mBlockWriter != null && offset > getCachePosition()) {
       cancelBlockWriter();
     }
     try {
@@ -346,6 +503,11 @@ public final class UnderFileSystemBlockReader implements BlockReader {
             mInitialBlockSize);
         mBlockWriter = mLocalBlockStore.getBlockWriter(
             mBlockMeta.getSessionId(), mBlockMeta.getBlockId());
+        if (mCacheWriter != null) {
+          mCacheFill = mCacheWriter.open(mLocalBlockStore, mBlockMeta.getSessionId(),
+              mBlockMeta.getBlockId(), mBlockWriter);
+          mCacheFillPos = 0;
+        }
       }
     } catch (BlockAlreadyExistsException e) {
       // This can happen when there are concurrent UFS readers who are all trying to cache to block.
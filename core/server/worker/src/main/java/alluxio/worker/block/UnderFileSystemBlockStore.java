@@ -11,6 +11,8 @@
 
 package alluxio.worker.block;
 
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
@@ -24,9 +26,11 @@ import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,6 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -47,7 +52,7 @@ import javax.annotation.concurrent.GuardedBy;
  * If the client is lost before releasing or cleaning up the session, the session cleaner will
  * clean the data.
  */
-public final class UnderFileSystemBlockStore implements SessionCleanable {
+public final class UnderFileSystemBlockStore implements SessionCleanable, Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(UnderFileSystemBlockStore.class);
 
   /**
@@ -78,16 +83,59 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
   /** The manager for all ufs instream. */
   private final UfsInputStreamManager mUfsInstreamManager;
 
+  /** The background stage caching data read from the UFS, or null if caching is synchronous. */
+  @Nullable
+  private final UfsBlockCacheWriter mCacheWriter;
+
+  /** The cache of block ranges read from UFS, or null if ranges are not cached. */
+  @Nullable
+  private final UfsPartialBlockCache mPartialCache;
+
   /**
    * Creates an instance of {@link UnderFileSystemBlockStore}.
    *
    * @param localBlockStore the local block store
    * @param ufsManager the file manager
+   * @param committer the committer of blocks cached in the background
    */
-  public UnderFileSystemBlockStore(BlockStore localBlockStore, UfsManager ufsManager) {
+  public UnderFileSystemBlockStore(BlockStore localBlockStore, UfsManager ufsManager,
+      UfsBlockCacheWriter.BlockCommitter committer) {
     mLocalBlockStore = localBlockStore;
     mUfsManager = ufsManager;
     mUfsInstreamManager = new UfsInputStreamManager();
+    if (ServerConfiguration.getBoolean(PropertyKey.WORKER_UFS_BLOCK_CACHE_WRITE_ASYNC_ENABLED)) {
+      mCacheWriter = new UfsBlockCacheWriter(
+          ServerConfiguration.getInt(PropertyKey.WORKER_UFS_BLOCK_CACHE_WRITE_THREADS),
+          ServerConfiguration.getBytes(PropertyKey.WORKER_UFS_BLOCK_CACHE_WRITE_MAX_PENDING_BYTES),
+          committer);
+    } else {
+      mCacheWriter = null;
+    }
+    mPartialCache = createPartialCache();
+  }
+
+  /**
+   * @return the cache of block ranges read from UFS, or null if it is disabled or can't be created
+   */
+  @Nullable
+  private static UfsPartialBlockCache createPartialCache() {
+    long capacity = ServerConfiguration.getBytes(PropertyKey.WORKER_UFS_BLOCK_PARTIAL_CACHE_SIZE);
+    if (capacity <= 0) {
+      return null;
+    }
+    long pageSize =
+        ServerConfiguration.getBytes(PropertyKey.WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE);
+    Preconditions.checkArgument(pageSize > 0 && pageSize <= Integer.MAX_VALUE,
+        "%s must be between 1 and %s bytes, but is %s",
+        PropertyKey.Name.WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE, Integer.MAX_VALUE, pageSize);
+    String dir = ServerConfiguration.get(PropertyKey.WORKER_UFS_BLOCK_PARTIAL_CACHE_DIR);
+    try {
+      return new UfsPartialBlockCache(dir, (int) pageSize, capacity);
+    } catch (IOException e) {
+      LOG.warn("Failed to create the cache of UFS block ranges in {}, ranges will not be "
+          + "cached: {}", dir, e.getMessage());
+      return null;
+    }
   }
 
   /**
@@ -155,6 +203,15 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
     blockInfo.closeReaderOrWriter();
   }
 
+  /**
+   * @param blockId the block ID
+   * @return whether the temp block of the block is being cached in the background, in which case
+   *         it is committed or aborted by the background stage rather than by the caller
+   */
+  public boolean isCachingInBackground(long blockId) {
+    return mCacheWriter != null && mCacheWriter.isCaching(blockId);
+  }
+
   /**
    * Releases the access token of this block by removing this (sessionId, blockId) pair from the
    * store.
@@ -240,11 +297,21 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
     }
     BlockReader reader =
         UnderFileSystemBlockReader.create(blockInfo.getMeta(), offset, mLocalBlockStore,
-            mUfsManager, mUfsInstreamManager);
+            mUfsManager, mUfsInstreamManager, mCacheWriter, mPartialCache);
     blockInfo.setBlockReader(reader);
     return reader;
   }
 
+  @Override
+  public void close() {
+    if (mCacheWriter != null) {
+      mCacheWriter.close();
+    }
+    if (mPartialCache != null) {
+      mPartialCache.close();
+    }
+  }
+
   /**
    * Gets the {@link UnderFileSystemBlockMeta} for a session ID and block ID pair.
    *
@@ -23,19 +23,19 @@ import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.StorageTierView;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Iterators;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This class is used to evict blocks by LRFU. LRFU evict blocks with minimum CRF, where CRF of a
@@ -47,20 +47,37 @@ import javax.annotation.concurrent.NotThreadSafe;
  * combines LRU and LFU, it evicts blocks with small frequency or large recency. When
  * {@link #mStepFactor} is close to 0, LRFU is close to LFU. Conversely, LRFU is close to LRU
  * when {@link #mStepFactor} is close to 1.
+ *
+ * All CRFs decay by the same factor as logic time advances, so their order never changes between
+ * accesses. Instead of decaying every CRF before each eviction pass, each block is kept in a
+ * min-heap under the time-invariant score ln(CRF(t)) + t * {@link #mLogDecayPerStep}, where t is
+ * the logic time the CRF was last updated at. An access updates only the score of the accessed
+ * block, and an eviction pass visits candidates in ascending order of CRF in O(k log k) for the k
+ * candidates it actually looks at.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class LRFUEvictor extends AbstractEvictor {
-  /** Map from block id to the last updated logic time count. */
-  private final Map<Long, Long> mBlockIdToLastUpdateTime = new ConcurrentHashMap<>();
-  // Map from block id to the CRF value of the block
-  private final Map<Long, Double> mBlockIdToCRFValue = new ConcurrentHashMap<>();
   /** In the range of [0, 1]. Closer to 0, LRFU closer to LFU. Closer to 1, LRFU closer to LRU. */
   private final double mStepFactor;
   /** The attenuation factor is in the range of [2, INF]. */
   private final double mAttenuationFactor;
+  /** How much ln(CRF) of a block decays per logic time unit. */
+  private final double mLogDecayPerStep;
+
+  private final Object mLock = new Object();
 
   /** Logic time count. */
-  private AtomicLong mLogicTimeCount = new AtomicLong(0L);
+  @GuardedBy("mLock")
+  private long mLogicTimeCount = 0L;
+  /** Blocks ordered by their time-invariant CRF score. */
+  @GuardedBy("mLock")
+  private final ScoreHeap mHeap = new ScoreHeap();
+  /** Whether an eviction pass is iterating over {@link #mHeap}. */
+  @GuardedBy("mLock")
+  private boolean mEvicting = false;
+  /** Blocks removed during an eviction pass, applied to {@link #mHeap} when the pass ends. */
+  @GuardedBy("mLock")
+  private final LongArrayList mDeferredRemovals = new LongArrayList();
 
   /**
    * Creates a new instance of {@link LRFUEvictor}.
@@ -77,66 +94,59 @@ public final class LRFUEvictor extends AbstractEvictor {
         "Step factor should be in the range of [0.0, 1.0]");
     Preconditions.checkArgument(mAttenuationFactor >= 2.0,
         "Attenuation factor should be no less than 2.0");
+    mLogDecayPerStep = mStepFactor * Math.log(mAttenuationFactor);
 
-    // Preloading blocks
-    for (StorageTierView tier : mMetadataView.getTierViews()) {
-      for (StorageDirView dir : tier.getDirViews()) {
-        for (BlockMeta block : ((StorageDirEvictorView) dir).getEvictableBlocks()) {
-          mBlockIdToLastUpdateTime.put(block.getBlockId(), 0L);
-          mBlockIdToCRFValue.put(block.getBlockId(), 0.0);
+    // Preloading blocks, their CRF is 0
+    synchronized (mLock) {
+      for (StorageTierView tier : mMetadataView.getTierViews()) {
+        for (StorageDirView dir : tier.getDirViews()) {
+          for (BlockMeta block : ((StorageDirEvictorView) dir).getEvictableBlocks()) {
+            mHeap.set(block.getBlockId(), Double.NEGATIVE_INFINITY);
+          }
         }
       }
     }
   }
 
-  /**
-   * Calculates weight of an access, which is the function value of
-   * F(t) = pow (1.0 / {@link #mAttenuationFactor}, t * {@link #mStepFactor}).
-   *
-   * @param logicTimeInterval time interval since that access to current
-   * @return Function value of F(t)
-   */
-  private double calculateAccessWeight(long logicTimeInterval) {
-    return Math.pow(1.0 / mAttenuationFactor, logicTimeInterval * mStepFactor);
-  }
-
   @Nullable
   @Override
   public EvictionPlan freeSpaceWithView(long bytesToBeAvailable, BlockStoreLocation location,
       BlockMetadataEvictorView view, Mode mode) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      updateCRFValue();
+    synchronized (mLock) {
       mMetadataView = view;
+      mEvicting = true;
+      try {
+        List<BlockTransferInfo> toMove = new ArrayList<>();
+        List<Pair<Long, BlockStoreLocation>> toEvict = new ArrayList<>();
+        EvictionPlan plan = new EvictionPlan(toMove, toEvict);
+        StorageDirEvictorView candidateDir
+            = cascadingEvict(bytesToBeAvailable, location, plan, mode);
 
-      List<BlockTransferInfo> toMove = new ArrayList<>();
-      List<Pair<Long, BlockStoreLocation>> toEvict = new ArrayList<>();
-      EvictionPlan plan = new EvictionPlan(toMove, toEvict);
-      StorageDirEvictorView candidateDir
-          = cascadingEvict(bytesToBeAvailable, location, plan, mode);
+        mMetadataView.clearBlockMarks();
+        if (candidateDir == null) {
+          return null;
+        }
 
-      mMetadataView.clearBlockMarks();
-      if (candidateDir == null) {
-        return null;
+        return plan;
+      } finally {
+        mEvicting = false;
+        for (int i = 0; i < mDeferredRemovals.size(); i++) {
+          mHeap.remove(mDeferredRemovals.getLong(i));
+        }
+        mDeferredRemovals.clear();
       }
-
-      return plan;
     }
   }
 
-  @Override
-  protected Iterator<Long> getBlockIterator() {
-    return Iterators.transform(getSortedCRF().iterator(), Entry::getKey);
-  }
-
   /**
-   * Sorts all blocks in ascending order of CRF.
+   * {@inheritDoc}
    *
-   * @return the sorted CRF of all blocks
+   * The returned iterator reads {@link #mHeap} in place, so it must only be used while holding
+   * {@link #mLock} during an eviction pass.
    */
-  private List<Map.Entry<Long, Double>> getSortedCRF() {
-    List<Map.Entry<Long, Double>> sortedCRF = new ArrayList<>(mBlockIdToCRFValue.entrySet());
-    sortedCRF.sort(Comparator.comparingDouble(Entry::getValue));
-    return sortedCRF;
+  @Override
+  protected Iterator<Long> getBlockIterator() {
+    return mHeap.sortedIterator();
   }
 
   @Override
@@ -166,67 +176,215 @@ public final class LRFUEvictor extends AbstractEvictor {
 
   @Override
   protected void onRemoveBlockFromIterator(long blockId) {
-    mBlockIdToLastUpdateTime.remove(blockId);
-    mBlockIdToCRFValue.remove(blockId);
+    // Only called from cascadingEvict, which already holds mLock
+    mDeferredRemovals.add(blockId);
   }
 
   /**
-   * This function is used to update CRF of all the blocks according to current logic time. When
-   * some block is accessed in some time, only CRF of that block itself will be updated to current
-   * time, other blocks who are not accessed recently will only be updated until
-   * {@link #freeSpaceWithView(long, BlockStoreLocation, BlockMetadataEvictorView)} is called
-   * because blocks need to be sorted in the increasing order of CRF. When this function is called,
-   * {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} need to be locked in case
-   * of the changing of values.
+   * Updates the score of a block when it is accessed or committed. If the block is updated at the
+   * first time, CRF of the block will be set to 1.0, otherwise the CRF of the block will be set to
+   * {1.0 + old CRF * F(current time - last update time)}. In terms of scores this is
+   * score = current time * {@link #mLogDecayPerStep} + ln(1.0 + exp(old score - that product)).
+   *
+   * @param blockId id of the block to be accessed or committed
    */
-  private void updateCRFValue() {
-    long currentLogicTime = mLogicTimeCount.get();
-    for (Entry<Long, Double> entry : mBlockIdToCRFValue.entrySet()) {
-      long blockId = entry.getKey();
-      double crfValue = entry.getValue();
-      mBlockIdToCRFValue.put(blockId, crfValue
-          * calculateAccessWeight(currentLogicTime - mBlockIdToLastUpdateTime.get(blockId)));
-      mBlockIdToLastUpdateTime.put(blockId, currentLogicTime);
+  private void updateOnAccessAndCommit(long blockId) {
+    synchronized (mLock) {
+      long currentLogicTime = ++mLogicTimeCount;
+      double base = currentLogicTime * mLogDecayPerStep;
+      int index = mHeap.indexOf(blockId);
+      double score = base;
+      if (index >= 0) {
+        // CRF(currentLogicTime)=CRF(lastUpdateTime)*F(currentLogicTime-lastUpdateTime)+F(0)
+        score += Math.log1p(Math.exp(mHeap.scoreAt(index) - base));
+      }
+      mHeap.set(blockId, score);
     }
   }
 
   /**
-   * Updates {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} when block is
-   * accessed or committed. Only CRF of the accessed or committed block will be updated, CRF
-   * of other blocks will be lazily updated (only when {@link #updateCRFValue()} is called).
-   * If the block is updated at the first time, CRF of the block will be set to 1.0, otherwise
-   * the CRF of the block will be set to {1.0 + old CRF * F(current time - last update time)}.
+   * Removes the score of a block when the block is removed.
    *
-   * @param blockId id of the block to be accessed or committed
+   * @param blockId id of the block to be removed
    */
-  private void updateOnAccessAndCommit(long blockId) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      long currentLogicTime = mLogicTimeCount.incrementAndGet();
-      // update CRF value
-      // CRF(currentLogicTime)=CRF(lastUpdateTime)*F(currentLogicTime-lastUpdateTime)+F(0)
-      if (mBlockIdToCRFValue.containsKey(blockId)) {
-        mBlockIdToCRFValue.put(blockId, mBlockIdToCRFValue.get(blockId)
-            * calculateAccessWeight(currentLogicTime - mBlockIdToLastUpdateTime.get(blockId))
-            + 1.0);
+  private void updateOnRemoveBlock(long blockId) {
+    synchronized (mLock) {
+      mLogicTimeCount++;
+      if (mEvicting) {
+        mDeferredRemovals.add(blockId);
       } else {
-        mBlockIdToCRFValue.put(blockId, 1.0);
+        mHeap.remove(blockId);
       }
-      // update currentLogicTime to lastUpdateTime
-      mBlockIdToLastUpdateTime.put(blockId, currentLogicTime);
     }
   }
 
   /**
-   * Updates {@link #mBlockIdToLastUpdateTime} and {@link #mBlockIdToCRFValue} when block is
-   * removed.
-   *
-   * @param blockId id of the block to be removed
+   * An indexed binary min-heap of block ids keyed by score. The position of every block is
+   * tracked so that the score of any block can be updated or removed in O(log n). Access is
+   * guarded by {@link LRFUEvictor#mLock}.
    */
-  private void updateOnRemoveBlock(long blockId) {
-    synchronized (mBlockIdToLastUpdateTime) {
-      mLogicTimeCount.incrementAndGet();
-      mBlockIdToCRFValue.remove(blockId);
-      mBlockIdToLastUpdateTime.remove(blockId);
+  private static final class ScoreHeap {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] mBlockIds = new long[INITIAL_CAPACITY];
+    private double[] mScores = new double[INITIAL_CAPACITY];
+    private int mSize = 0;
+    /** Map from block id to its position in the heap arrays. */
+    private final Long2IntOpenHashMap mPositions = new Long2IntOpenHashMap();
+
+    ScoreHeap() {
+      mPositions.defaultReturnValue(-1);
+    }
+
+    /**
+     * @param blockId the block id
+     * @return the position of the block in the heap, or -1 if it is absent
+     */
+    int indexOf(long blockId) {
+      return mPositions.get(blockId);
+    }
+
+    /**
+     * @param index a position in the heap
+     * @return the score at that position
+     */
+    double scoreAt(int index) {
+      return mScores[index];
+    }
+
+    /**
+     * Adds a block or updates its score.
+     *
+     * @param blockId the block id
+     * @param score the new score
+     */
+    void set(long blockId, double score) {
+      int index = mPositions.get(blockId);
+      if (index < 0) {
+        if (mSize == mBlockIds.length) {
+          mBlockIds = Arrays.copyOf(mBlockIds, mSize * 2);
+          mScores = Arrays.copyOf(mScores, mSize * 2);
+        }
+        index = mSize++;
+        mBlockIds[index] = blockId;
+        mScores[index] = score;
+        mPositions.put(blockId, index);
+        siftUp(index);
+        return;
+      }
+      double oldScore = mScores[index];
+      mScores[index] = score;
+      if (score < oldScore) {
+        siftUp(index);
+      } else {
+        siftDown(index);
+      }
+    }
+
+    /**
+     * Removes a block if it is present.
+     *
+     * @param blockId the block id
+     */
+    void remove(long blockId) {
+      int index = mPositions.remove(blockId);
+      if (index < 0) {
+        return;
+      }
+      int last = --mSize;
+      if (index == last) {
+        return;
+      }
+      move(last, index);
+      siftDown(index);
+      siftUp(index);
+    }
+
+    /**
+     * @return an iterator over the block ids in ascending order of score, which does not modify
+     *         the heap
+     */
+    Iterator<Long> sortedIterator() {
+      return new Iterator<Long>() {
+        /** Positions whose parents have been returned, ordered by score. */
+        private final PriorityQueue<Integer> mFrontier =
+            new PriorityQueue<>((a, b) -> Double.compare(mScores[a], mScores[b]));
+
+        {
+          if (mSize > 0) {
+            mFrontier.add(0);
+          }
+        }
+
+        @Override
+        public boolean hasNext() {
+          return !mFrontier.isEmpty();
+        }
+
+        @Override
+        public Long next() {
+          if (mFrontier.isEmpty()) {
+            throw new NoSuchElementException();
+          }
+          int index = mFrontier.poll();
+          int child = 2 * index + 1;
+          if (child < mSize) {
+            mFrontier.add(child);
+          }
+          if (child + 1 < mSize) {
+            mFrontier.add(child + 1);
+          }
+          return mBlockIds[index];
+        }
+
+        @Override
+        public void remove() {
+          // The evictor defers removals until the eviction pass ends, see
+          // onRemoveBlockFromIterator
+        }
+      };
+    }
+
+    private void siftUp(int index) {
+      long blockId = mBlockIds[index];
+      double score = mScores[index];
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (mScores[parent] <= score) {
+          break;
+        }
+        move(parent, index);
+        index = parent;
+      }
+      place(blockId, score, index);
+    }
+
+    private void siftDown(int index) {
+      long blockId = mBlockIds[index];
+      double score = mScores[index];
+      int half = mSize >>> 1;
+      while (index < half) {
+        int child = 2 * index + 1;
+        if (child + 1 < mSize && mScores[child + 1] < mScores[child]) {
+          child++;
+        }
+        if (score <= mScores[child]) {
+          break;
+        }
+        move(child, index);
+        index = child;
+      }
+      place(blockId, score, index);
+    }
+
+    private void move(int from, int to) {
+      place(mBlockIds[from], mScores[from], to);
+    }
+
+    private void place(long blockId, double score, int index) {
+      mBlockIds[index] = blockId;
+      mScores[index] = score;
+      mPositions.put(blockId, index);
     }
   }
 }
@@ -25,6 +25,7 @@ import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.MetricInfo;
 import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.MappedByteBuf;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.retry.RetryPolicy;
@@ -34,14 +35,17 @@ import alluxio.worker.block.BlockLockManager;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.UnderFileSystemBlockReader;
 import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.LocalFileBlockReader;
 
 import com.google.common.base.Preconditions;
 import io.grpc.stub.StreamObserver;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.ExecutorService;
 
@@ -58,6 +62,8 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
   private static final Logger LOG = LoggerFactory.getLogger(BlockReadHandler.class);
   private static final long UFS_BLOCK_OPEN_TIMEOUT_MS =
       ServerConfiguration.getMs(PropertyKey.WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS);
+  private static final boolean MMAP_ENABLED =
+      ServerConfiguration.getBoolean(PropertyKey.WORKER_NETWORK_READER_MMAP_ENABLED);
 
   /** The Block Worker. */
   private final BlockWorker mWorker;
@@ -105,6 +111,9 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
       openBlock(context, response);
       BlockReader blockReader = context.getBlockReader();
       Preconditions.checkState(blockReader != null);
+      if (MMAP_ENABLED && blockReader instanceof LocalFileBlockReader) {
+        return getMappedDataBuffer((LocalFileBlockReader) blockReader, offset, len);
+      }
       ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(len, len);
       try {
         while (buf.writableBytes() > 0 && blockReader.transferTo(buf) != -1) {
@@ -116,6 +125,26 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
       }
     }
 
+    /**
+     * Returns a memory-mapped slice of a local block file, so that the data is sent without
+     * being copied into an intermediate buffer. The mapping is released together with the
+     * returned buffer.
+     *
+     * @param blockReader the reader of the local block file
+     * @param offset the offset in the block to read from
+     * @param len the maximum number of bytes to read
+     * @return a {@link DataBuffer} of at most len bytes, which is empty at the end of the block
+     */
+    private DataBuffer getMappedDataBuffer(LocalFileBlockReader blockReader, long offset, int len)
+        throws Exception {
+      long bytesToRead = Math.min(len, blockReader.getLength() - offset);
+      if (bytesToRead <= 0) {
+        return new NettyDataBuffer(Unpooled.EMPTY_BUFFER);
+      }
+      MappedByteBuffer mappedBuffer = blockReader.read(offset, bytesToRead);
+      return new NettyDataBuffer(new MappedByteBuf(mappedBuffer));
+    }
+
     /**
      * Opens the block if it is not open.
      *
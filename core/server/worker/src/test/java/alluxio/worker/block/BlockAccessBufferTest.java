@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for {@link BlockAccessBuffer}.
+ */
+public final class BlockAccessBufferTest {
+  /**
+   * Tests that recorded events are delivered in order on an explicit drain.
+   */
+  @Test
+  public void drainDeliversInOrder() {
+    List<Long> blockIds = new ArrayList<>();
+    BlockAccessBuffer buffer = new BlockAccessBuffer(1, 16, (sessionId, blockId) -> {
+      assertEquals(blockId + 100, sessionId);
+      blockIds.add(blockId);
+    });
+    for (long i = 0; i < 5; i++) {
+      buffer.record(i + 100, i);
+    }
+    assertTrue(blockIds.isEmpty());
+    buffer.drain();
+    assertEquals(5, blockIds.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, (long) blockIds.get(i));
+    }
+    buffer.drain();
+    assertEquals(5, blockIds.size());
+  }
+
+  /**
+   * Tests that a full stripe is drained by the recording thread.
+   */
+  @Test
+  public void fullStripeDrainsInBatch() {
+    List<Long> blockIds = new ArrayList<>();
+    BlockAccessBuffer buffer = new BlockAccessBuffer(1, 4, (sessionId, blockId) -> {
+      blockIds.add(blockId);
+    });
+    for (long i = 0; i < 3; i++) {
+      buffer.record(1, i);
+    }
+    assertTrue(blockIds.isEmpty());
+    buffer.record(1, 3);
+    assertEquals(4, blockIds.size());
+    // The ring is reusable once drained
+    for (long i = 4; i < 8; i++) {
+      buffer.record(1, i);
+    }
+    assertEquals(8, blockIds.size());
+    assertEquals(7, (long) blockIds.get(7));
+  }
+
+  /**
+   * Tests that concurrent producers lose no events when the consumer keeps up.
+   */
+  @Test
+  public void concurrentRecord() throws Exception {
+    final int threads = 8;
+    final int eventsPerThread = 10000;
+    ConcurrentLinkedQueue<Long> delivered = new ConcurrentLinkedQueue<>();
+    AtomicLong sum = new AtomicLong();
+    BlockAccessBuffer buffer = new BlockAccessBuffer(4, 1 << 20, (sessionId, blockId) -> {
+      delivered.add(blockId);
+      sum.addAndGet(blockId);
+    });
+    CountDownLatch done = new CountDownLatch(threads);
+    for (int t = 0; t < threads; t++) {
+      new Thread(() -> {
+        for (long i = 1; i <= eventsPerThread; i++) {
+          buffer.record(1, i);
+        }
+        done.countDown();
+      }).start();
+    }
+    done.await();
+    buffer.drain();
+    assertEquals(threads * eventsPerThread, delivered.size());
+    assertEquals((long) threads * eventsPerThread * (eventsPerThread + 1) / 2, sum.get());
+  }
+}
@@ -11,6 +11,7 @@
 
 package alluxio.worker.block;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -216,6 +217,33 @@ public final class BlockLockManagerTest {
     lockExpectingHang(manager, TEST_BLOCK_ID);
   }
 
+  /**
+   * Tests that cleaning up a session releases its locks on all blocks while another session keeps
+   * its own locks.
+   */
+  @Test(timeout = 10000)
+  public void cleanupSessionAcrossBlocks() throws Exception {
+    BlockLockManager manager = new BlockLockManager();
+    int numBlocks = 200;
+    List<Long> otherLockIds = new ArrayList<>();
+    for (long blockId = 0; blockId < numBlocks; blockId++) {
+      manager.lockBlock(1, blockId, BlockLockType.READ);
+      otherLockIds.add(manager.lockBlock(2, blockId, BlockLockType.READ));
+    }
+    manager.cleanupSession(1);
+    manager.validate();
+    assertEquals(numBlocks, manager.getLockedBlocks().size());
+    for (long blockId = 0; blockId < numBlocks; blockId++) {
+      assertTrue(manager.unlockBlock(2, blockId));
+      assertFalse(manager.unlockBlock(1, blockId));
+    }
+    assertTrue(manager.getLockedBlocks().isEmpty());
+    for (long lockId : otherLockIds) {
+      assertFalse(manager.unlockBlockNoException(lockId));
+    }
+    manager.validate();
+  }
+
   /**
    * Tests that block locks are returned to the pool when they are no longer in use.
    */
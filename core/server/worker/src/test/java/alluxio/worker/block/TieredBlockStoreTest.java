@@ -307,6 +307,24 @@ public final class TieredBlockStoreTest {
     assertFalse(FileUtils.exists(BlockMeta.commitPath(mTestDir1, BLOCK_ID2)));
   }
 
+  @Test
+  public void dropsBufferedAccessOfLostBlock() throws Exception {
+    TieredBlockStoreTestUtils.cache(SESSION_ID1, BLOCK_ID1, BLOCK_SIZE, mTestDir1, mMetaManager,
+        mEvictor);
+    List<Long> accessed = new ArrayList<>();
+    mBlockStore.registerBlockStoreEventListener(new AbstractBlockStoreEventListener() {
+      @Override
+      public void onAccessBlock(long sessionId, long blockId) {
+        accessed.add(blockId);
+      }
+    });
+    mBlockStore.accessBlock(SESSION_ID1, BLOCK_ID1);
+    mBlockStore.removeDir(mTestDir1);
+    // Draining the buffered access must not notify listeners of the lost block.
+    mBlockStore.getBlockStoreMeta();
+    assertTrue(accessed.isEmpty());
+  }
+
   /**
    * Tests the {@link TieredBlockStore#freeSpace(long, long, BlockStoreLocation)} method.
    */
@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public final class UfsPartialBlockCacheTest {
+  private static final int PAGE_SIZE = 64;
+  private static final long BLOCK_SIZE = PAGE_SIZE * 4;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private UfsPartialBlockCache mCache;
+
+  @Before
+  public void before() throws Exception {
+    mCache = new UfsPartialBlockCache(mFolder.newFolder().getAbsolutePath(), PAGE_SIZE,
+        BLOCK_SIZE * 2);
+  }
+
+  @After
+  public void after() {
+    mCache.close();
+  }
+
+  @Test
+  public void deletesPagesOfPreviousCache() throws Exception {
+    File dir = mFolder.newFolder();
+    // A cache which is not closed, as when the worker crashes, leaves its page files behind.
+    UfsPartialBlockCache cache =
+        new UfsPartialBlockCache(dir.getAbsolutePath(), PAGE_SIZE, BLOCK_SIZE);
+    cache.openWriter(1, BLOCK_SIZE).write(0, BufferUtils.getIncreasingByteBuffer(PAGE_SIZE));
+    Assert.assertEquals(1, dir.list().length);
+
+    new UfsPartialBlockCache(dir.getAbsolutePath(), PAGE_SIZE, BLOCK_SIZE).close();
+    Assert.assertEquals(0, dir.list().length);
+    cache.close();
+  }
+
+  @Test
+  public void refusesDirectoryWithOtherFiles() throws Exception {
+    File dir = mFolder.newFolder();
+    File other = new File(dir, "other");
+    Assert.assertTrue(other.createNewFile());
+    try {
+      new UfsPartialBlockCache(dir.getAbsolutePath(), PAGE_SIZE, BLOCK_SIZE);
+      Assert.fail("Expected the cache to refuse a directory with unknown files");
+    } catch (IOException e) {
+      // expected
+    }
+    Assert.assertTrue(other.exists());
+  }
+
+  @Test
+  public void cachesWholePages() throws Exception {
+    UfsPartialBlockCache.RangeWriter writer = mCache.openWriter(1, BLOCK_SIZE);
+    writer.write(PAGE_SIZE / 2, BufferUtils.getIncreasingByteBuffer(PAGE_SIZE / 2, PAGE_SIZE * 2));
+    // Only the page written from its start is cached.
+    Assert.assertEquals(PAGE_SIZE, mCache.size());
+    byte[] data = new byte[PAGE_SIZE];
+    Assert.assertFalse(mCache.read(1, 0, data, PAGE_SIZE));
+    Assert.assertTrue(mCache.read(1, PAGE_SIZE, data, PAGE_SIZE));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(PAGE_SIZE, PAGE_SIZE, data));
+    Assert.assertFalse(mCache.read(1, PAGE_SIZE, new byte[PAGE_SIZE * 2], PAGE_SIZE * 2));
+  }
+
+  @Test
+  public void cachesLastPartialPage() throws Exception {
+    long blockSize = PAGE_SIZE + PAGE_SIZE / 2;
+    UfsPartialBlockCache.RangeWriter writer = mCache.openWriter(1, blockSize);
+    writer.write(0, BufferUtils.getIncreasingByteBuffer(PAGE_SIZE));
+    writer.write(PAGE_SIZE, BufferUtils.getIncreasingByteBuffer(PAGE_SIZE, PAGE_SIZE / 2));
+    Assert.assertEquals(blockSize, mCache.size());
+    ByteBuf buf = Unpooled.buffer(PAGE_SIZE * 2);
+    Assert.assertEquals(blockSize - 1, mCache.read(1, 1, PAGE_SIZE * 2, buf));
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(1, (int) blockSize - 1,
+        buf.nioBuffer()));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedBlock() throws Exception {
+    writeBlock(1);
+    writeBlock(2);
+    // Accessing block 1 makes block 2 the least recently used.
+    Assert.assertTrue(mCache.read(1, 0, new byte[PAGE_SIZE], PAGE_SIZE));
+    writeBlock(3);
+    Assert.assertEquals(BLOCK_SIZE * 2, mCache.size());
+    Assert.assertTrue(mCache.read(1, 0, new byte[PAGE_SIZE], PAGE_SIZE));
+    Assert.assertFalse(mCache.read(2, 0, new byte[PAGE_SIZE], PAGE_SIZE));
+    Assert.assertTrue(mCache.read(3, 0, new byte[PAGE_SIZE], PAGE_SIZE));
+  }
+
+  private void writeBlock(long blockId) throws Exception {
+    ByteBuffer data = BufferUtils.getIncreasingByteBuffer((int) BLOCK_SIZE);
+    mCache.openWriter(blockId, BLOCK_SIZE).write(0, data);
+  }
+}
@@ -17,9 +17,13 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import alluxio.AlluxioTestDirectory;
 import alluxio.AlluxioURI;
+import alluxio.Constants;
 import alluxio.conf.ServerConfiguration;
 import alluxio.ConfigurationRule;
 import alluxio.conf.PropertyKey;
@@ -29,21 +33,28 @@ import alluxio.underfs.UfsManager;
 import alluxio.underfs.UfsManager.UfsClient;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.CommonUtils;
 import alluxio.util.io.BufferUtils;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public final class UnderFileSystemBlockReaderTest {
   private static final long TEST_BLOCK_SIZE = 1024;
@@ -56,6 +67,9 @@ public final class UnderFileSystemBlockReaderTest {
   private UfsManager mUfsManager;
   private UfsInputStreamManager mUfsInstreamManager;
   private Protocol.OpenUfsBlockOptions mOpenUfsBlockOptions;
+  private UfsBlockCacheWriter mCacheWriter;
+  private UfsPartialBlockCache mPartialCache;
+  private String mTestFilePath;
 
   /** Rule to create a new temporary folder during each test. */
   @Rule
@@ -79,9 +93,10 @@ public final class UnderFileSystemBlockReaderTest {
   @Before
   public void before() throws Exception {
     String ufsFolder = ServerConfiguration.get(PropertyKey.MASTER_MOUNT_TABLE_ROOT_UFS);
-    String testFilePath = File.createTempFile("temp", null, new File(ufsFolder)).getAbsolutePath();
+    mTestFilePath = File.createTempFile("temp", null, new File(ufsFolder)).getAbsolutePath();
     byte[] buffer = BufferUtils.getIncreasingByteArray((int) TEST_BLOCK_SIZE * 2);
-    BufferUtils.writeBufferToFile(testFilePath, buffer);
+    BufferUtils.writeBufferToFile(mTestFilePath, buffer);
+    String testFilePath = mTestFilePath;
 
     mAlluxioBlockStore = new TieredBlockStore();
     mUfsManager = mock(UfsManager.class);
@@ -99,9 +114,23 @@ public final class UnderFileSystemBlockReaderTest {
         new UnderFileSystemBlockMeta(SESSION_ID, BLOCK_ID, mOpenUfsBlockOptions);
   }
 
+  @After
+  public void after() {
+    if (mCacheWriter != null) {
+      mCacheWriter.close();
+    }
+    if (mPartialCache != null) {
+      mPartialCache.close();
+    }
+  }
+
   private void checkTempBlock(long start, long length) throws Exception {
     Assert.assertNotNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
     mAlluxioBlockStore.commitBlock(SESSION_ID, BLOCK_ID, false);
+    checkBlock(start, length);
+  }
+
+  private void checkBlock(long start, long length) throws Exception {
     long lockId = mAlluxioBlockStore.lockBlock(SESSION_ID, BLOCK_ID);
     BlockReader reader = mAlluxioBlockStore.getBlockReader(SESSION_ID, BLOCK_ID, lockId);
     Assert.assertEquals(length, reader.getLength());
@@ -110,6 +139,16 @@ public final class UnderFileSystemBlockReaderTest {
     reader.close();
   }
 
+  private UfsBlockCacheWriter createCacheWriter(ExecutorService executor, long maxPendingBytes) {
+    return new UfsBlockCacheWriter(executor, maxPendingBytes,
+        (sessionId, blockId) -> mAlluxioBlockStore.commitBlock(sessionId, blockId, false),
+        Constants.SECOND_MS);
+  }
+
+  private void waitForCacheWriter() throws Exception {
+    CommonUtils.waitFor("block to be cached", () -> !mCacheWriter.isCaching(BLOCK_ID));
+  }
+
   @Test
   public void readFullBlock() throws Exception {
     mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, mAlluxioBlockStore,
@@ -235,4 +274,211 @@ public final class UnderFileSystemBlockReaderTest {
     // partial block should not be cached
     Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
   }
+
+  @Test
+  public void readFullBlockAsyncCache() throws Exception {
+    mCacheWriter = createCacheWriter(Executors.newFixedThreadPool(2), TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, mAlluxioBlockStore,
+        mUfsManager, mUfsInstreamManager, mCacheWriter, null);
+    ByteBuffer buffer = mReader.read(0, TEST_BLOCK_SIZE / 2);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE / 2, buffer));
+    buffer = mReader.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 2);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 2,
+        (int) TEST_BLOCK_SIZE / 2, buffer));
+    mReader.close();
+    waitForCacheWriter();
+    Assert.assertEquals(0, mCacheWriter.getPendingBytes());
+    checkBlock(0, TEST_BLOCK_SIZE);
+  }
+
+  @Test
+  public void transferFullBlockAsyncCache() throws Exception {
+    mCacheWriter = createCacheWriter(Executors.newFixedThreadPool(2), TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, mAlluxioBlockStore,
+        mUfsManager, mUfsInstreamManager, mCacheWriter, null);
+    ByteBuf buf =
+        PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE * 2, (int) TEST_BLOCK_SIZE * 2);
+    try {
+      while (buf.writableBytes() > 0 && mReader.transferTo(buf) != -1) {
+      }
+      Assert.assertTrue(BufferUtils
+          .equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buf.nioBuffer()));
+      mReader.close();
+    } finally {
+      buf.release();
+    }
+    waitForCacheWriter();
+    checkBlock(0, TEST_BLOCK_SIZE);
+  }
+
+  @Test
+  public void closeDoesNotWaitForAsyncCache() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.execute(() -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    mCacheWriter = createCacheWriter(executor, TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, mAlluxioBlockStore,
+        mUfsManager, mUfsInstreamManager, mCacheWriter, null);
+    ByteBuffer buffer = mReader.read(0, TEST_BLOCK_SIZE);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    // The reader is closed while its data is still waiting to be written.
+    mReader.close();
+    Assert.assertTrue(mCacheWriter.isCaching(BLOCK_ID));
+    Assert.assertNotNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
+
+    latch.countDown();
+    waitForCacheWriter();
+    Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
+    checkBlock(0, TEST_BLOCK_SIZE);
+  }
+
+  @Test
+  public void closeAbortsBlocksWaitingToBeCached() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.execute(() -> {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    mCacheWriter = createCacheWriter(executor, TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, mAlluxioBlockStore,
+        mUfsManager, mUfsInstreamManager, mCacheWriter, null);
+    mReader.read(0, TEST_BLOCK_SIZE);
+    mReader.close();
+    Assert.assertEquals(TEST_BLOCK_SIZE, mCacheWriter.getPendingBytes());
+
+    // The writer thread stays blocked, so the queued writes never run.
+    mCacheWriter.close();
+    Assert.assertEquals(0, mCacheWriter.getPendingBytes());
+    Assert.assertFalse(mCacheWriter.isCaching(BLOCK_ID));
+    Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
+    Assert.assertFalse(mAlluxioBlockStore.hasBlockMeta(BLOCK_ID));
+  }
+
+  @Test
+  public void readFullBlockAsyncCacheOverloaded() throws Exception {
+    mCacheWriter = createCacheWriter(Executors.newFixedThreadPool(2), TEST_BLOCK_SIZE / 2);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, mAlluxioBlockStore,
+        mUfsManager, mUfsInstreamManager, mCacheWriter, null);
+    ByteBuffer buffer = mReader.read(0, TEST_BLOCK_SIZE);
+    // The read succeeds, but the block is dropped since it exceeds the pending bytes limit.
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    mReader.close();
+    waitForCacheWriter();
+    Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
+  }
+
+  @Test
+  public void readFullBlockAsyncCacheRequestSpaceError() throws Exception {
+    BlockStore errorThrowingBlockStore = spy(mAlluxioBlockStore);
+    doThrow(new WorkerOutOfSpaceException("Ignored"))
+        .when(errorThrowingBlockStore)
+        .requestSpace(anyLong(), anyLong(), anyLong());
+    mCacheWriter = createCacheWriter(Executors.newFixedThreadPool(2), TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0,
+        errorThrowingBlockStore, mUfsManager, mUfsInstreamManager, mCacheWriter, null);
+    ByteBuffer buffer = mReader.read(0, TEST_BLOCK_SIZE);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    mReader.close();
+    waitForCacheWriter();
+    Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
+  }
+
+  @Test
+  public void readRangePartialCache() throws Exception {
+    mPartialCache = new UfsPartialBlockCache(mFolder.newFolder().getAbsolutePath(),
+        (int) TEST_BLOCK_SIZE / 4, TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, TEST_BLOCK_SIZE / 4,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamManager, null, mPartialCache);
+    ByteBuffer buffer = mReader.read(TEST_BLOCK_SIZE / 4, TEST_BLOCK_SIZE / 2);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 4,
+        (int) TEST_BLOCK_SIZE / 2, buffer));
+    mReader.close();
+    Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
+    Assert.assertEquals(TEST_BLOCK_SIZE / 2, mPartialCache.size());
+
+    // Cached ranges are served from the cache, and the rest of the block from the UFS.
+    BufferUtils.writeBufferToFile(mTestFilePath, new byte[(int) TEST_BLOCK_SIZE * 2]);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, TEST_BLOCK_SIZE / 4,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamManager, null, mPartialCache);
+    buffer = mReader.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 4);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 2,
+        (int) TEST_BLOCK_SIZE / 4, buffer));
+    buffer = mReader.read(TEST_BLOCK_SIZE * 3 / 4, TEST_BLOCK_SIZE / 4);
+    Assert.assertTrue(BufferUtils.equalConstantByteArray((byte) 0, (int) TEST_BLOCK_SIZE / 4,
+        BufferUtils.newByteArrayFromByteBuffer(buffer)));
+    mReader.close();
+  }
+
+  @Test
+  public void transferRangePartialCache() throws Exception {
+    mPartialCache = new UfsPartialBlockCache(mFolder.newFolder().getAbsolutePath(),
+        (int) TEST_BLOCK_SIZE / 4, TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, TEST_BLOCK_SIZE / 8,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamManager, null, mPartialCache);
+    ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE);
+    try {
+      while (buf.writableBytes() > 0 && mReader.transferTo(buf) != -1) {
+      }
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 8,
+          (int) TEST_BLOCK_SIZE * 7 / 8, buf.nioBuffer()));
+      mReader.close();
+    } finally {
+      buf.release();
+    }
+    // Only the pages read from their start are cached.
+    Assert.assertEquals(TEST_BLOCK_SIZE * 3 / 4, mPartialCache.size());
+
+    BufferUtils.writeBufferToFile(mTestFilePath, new byte[(int) TEST_BLOCK_SIZE * 2]);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, TEST_BLOCK_SIZE / 4,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamManager, null, mPartialCache);
+    buf = PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE);
+    try {
+      while (buf.writableBytes() > 0 && mReader.transferTo(buf) != -1) {
+      }
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 4,
+          (int) TEST_BLOCK_SIZE * 3 / 4, buf.nioBuffer()));
+      mReader.close();
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  public void transferCachedRangeWithoutOpeningUfs() throws Exception {
+    mPartialCache = new UfsPartialBlockCache(mFolder.newFolder().getAbsolutePath(),
+        (int) TEST_BLOCK_SIZE / 4, TEST_BLOCK_SIZE);
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, TEST_BLOCK_SIZE / 4,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamManager, null, mPartialCache);
+    mReader.read(TEST_BLOCK_SIZE / 4, TEST_BLOCK_SIZE / 2);
+    mReader.close();
+
+    UfsInputStreamManager instreamManager = spy(new UfsInputStreamManager());
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, TEST_BLOCK_SIZE / 4,
+        mAlluxioBlockStore, mUfsManager, instreamManager, null, mPartialCache);
+    ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE);
+    try {
+      while (buf.writableBytes() > 0 && mReader.transferTo(buf) != -1) {
+      }
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 4,
+          (int) TEST_BLOCK_SIZE * 3 / 4, buf.nioBuffer()));
+      mReader.close();
+    } finally {
+      buf.release();
+    }
+    // The UFS is opened once, at the first byte which is not cached.
+    ArgumentCaptor<OpenOptions> options = ArgumentCaptor.forClass(OpenOptions.class);
+    verify(instreamManager, times(1)).acquire(any(UnderFileSystem.class), anyString(),
+        anyLong(), options.capture());
+    Assert.assertEquals(TEST_BLOCK_SIZE * 7 / 4, options.getValue().getOffset());
+  }
 }
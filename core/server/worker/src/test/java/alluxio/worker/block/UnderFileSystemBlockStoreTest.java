@@ -14,15 +14,22 @@ package alluxio.worker.block;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
+import alluxio.ConfigurationRule;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.underfs.UfsManager;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
+import java.io.Closeable;
+
 public final class UnderFileSystemBlockStoreTest {
   private static final long TEST_BLOCK_SIZE = 1024;
   private static final long BLOCK_ID = 2;
@@ -34,6 +41,9 @@ public final class UnderFileSystemBlockStoreTest {
   @Rule
   public TemporaryFolder mFolder = new TemporaryFolder();
 
+  @Rule
+  public ExpectedException mThrown = ExpectedException.none();
+
   @Before
   public void before() throws Exception {
     mAlluxioBlockStore = Mockito.mock(BlockStore.class);
@@ -46,7 +56,8 @@ public final class UnderFileSystemBlockStoreTest {
   @Test
   public void acquireAccess() throws Exception {
     UnderFileSystemBlockStore blockStore =
-        new UnderFileSystemBlockStore(mAlluxioBlockStore, mUfsManager);
+        new UnderFileSystemBlockStore(mAlluxioBlockStore, mUfsManager, (sessionId, blockId) ->
+            mAlluxioBlockStore.commitBlock(sessionId, blockId, false));
     for (int i = 0; i < 5; i++) {
       assertTrue(blockStore.acquireAccess(i + 1, BLOCK_ID, mOpenUfsBlockOptions));
     }
@@ -57,7 +68,8 @@ public final class UnderFileSystemBlockStoreTest {
   @Test
   public void releaseAccess() throws Exception {
     UnderFileSystemBlockStore blockStore =
-        new UnderFileSystemBlockStore(mAlluxioBlockStore, mUfsManager);
+        new UnderFileSystemBlockStore(mAlluxioBlockStore, mUfsManager, (sessionId, blockId) ->
+            mAlluxioBlockStore.commitBlock(sessionId, blockId, false));
     for (int i = 0; i < 5; i++) {
       assertTrue(blockStore.acquireAccess(i + 1, BLOCK_ID, mOpenUfsBlockOptions));
       blockStore.releaseAccess(i + 1, BLOCK_ID);
@@ -65,4 +77,18 @@ public final class UnderFileSystemBlockStoreTest {
 
     assertTrue(blockStore.acquireAccess(6, BLOCK_ID, mOpenUfsBlockOptions));
   }
+
+  @Test
+  public void rejectsOversizedPartialCachePageSize() throws Exception {
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.WORKER_UFS_BLOCK_PARTIAL_CACHE_SIZE, "1MB",
+        PropertyKey.WORKER_UFS_BLOCK_PARTIAL_CACHE_DIR, mFolder.newFolder().getAbsolutePath(),
+        PropertyKey.WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE, "2GB"),
+        ServerConfiguration.global()).toResource()) {
+      mThrown.expect(IllegalArgumentException.class);
+      mThrown.expectMessage(PropertyKey.Name.WORKER_UFS_BLOCK_PARTIAL_CACHE_PAGE_SIZE);
+      new UnderFileSystemBlockStore(mAlluxioBlockStore, mUfsManager, (sessionId, blockId) ->
+          mAlluxioBlockStore.commitBlock(sessionId, blockId, false));
+    }
+  }
 }
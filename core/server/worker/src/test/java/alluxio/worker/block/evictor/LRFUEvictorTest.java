@@ -323,4 +323,28 @@ public class LRFUEvictorTest {
       }
     }
   }
+
+  /**
+   * Tests that blocks which no longer exist are skipped and dropped during an eviction pass.
+   */
+  @Test
+  public void evictSkipsRemovedBlock() throws Exception {
+    int bottomTierOrdinal = TieredBlockStoreTestUtils
+        .TIER_ORDINAL[TieredBlockStoreTestUtils.TIER_ORDINAL.length - 1];
+    long capacity = TieredBlockStoreTestUtils.TIER_CAPACITY_BYTES[bottomTierOrdinal][0];
+    cache(SESSION_ID, BLOCK_ID, capacity / 2, bottomTierOrdinal, 0);
+    cache(SESSION_ID, BLOCK_ID + 1, capacity / 2, bottomTierOrdinal, 0);
+    access(BLOCK_ID + 1);
+    // remove the block with the minimum CRF without notifying the evictor
+    mMetaManager.removeBlockMeta(mMetaManager.getBlockMeta(BLOCK_ID));
+    BlockStoreLocation location = new BlockStoreLocation(
+        TieredBlockStoreTestUtils.TIER_ALIAS[bottomTierOrdinal], 0);
+    for (int i = 0; i < 2; i++) {
+      EvictionPlan plan = mEvictor.freeSpaceWithView(capacity, location, mMetadataView);
+      assertNotNull(plan);
+      assertTrue(plan.toMove().isEmpty());
+      assertEquals(1, plan.toEvict().size());
+      assertEquals(BLOCK_ID + 1, (long) plan.toEvict().get(0).getFirst());
+    }
+  }
 }
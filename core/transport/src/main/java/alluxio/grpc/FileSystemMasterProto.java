@@ -578,251 +578,252 @@ public final class FileSystemMasterProto {
       "\tsyncPaths\030\001 \003(\0132 .alluxio.grpc.file.Syn" +
       "cPointInfo\"\031\n\027GetSyncPathListPRequest\"E\n" +
       "\023ListStatusPResponse\022.\n\tfileInfos\030\001 \003(\0132" +
-      "\033.alluxio.grpc.file.FileInfo\"\315\001\n\022ListSta" +
+      "\033.alluxio.grpc.file.FileInfo\"\364\001\n\022ListSta" +
       "tusPOptions\022\032\n\022loadDirectChildren\030\001 \001(\010\022" +
       ">\n\020loadMetadataType\030\002 \001(\0162$.alluxio.grpc" +
       ".file.LoadMetadataPType\022H\n\rcommonOptions" +
       "\030\003 \001(\01321.alluxio.grpc.file.FileSystemMas" +
-      "terCommonPOptions\022\021\n\trecursive\030\004 \001(\010\"Z\n\022" +
-      "ListStatusPRequest\022\014\n\004path\030\001 \001(\t\0226\n\007opti" +
-      "ons\030\002 \001(\0132%.alluxio.grpc.file.ListStatus" +
-      "POptions\"\324\001\n\024LoadMetadataPOptions\022\021\n\trec" +
-      "ursive\030\001 \001(\010\022\027\n\017createAncestors\030\002 \001(\010\022F\n" +
-      "\022loadDescendantType\030\003 \001(\0162*.alluxio.grpc" +
-      ".fscommon.LoadDescendantPType\022H\n\rcommonO" +
-      "ptions\030\004 \001(\01321.alluxio.grpc.file.FileSys" +
-      "temMasterCommonPOptions\"\217\001\n\tPAclEntry\022.\n" +
-      "\004type\030\001 \001(\0162 .alluxio.grpc.file.PAclEntr" +
-      "yType\022\017\n\007subject\030\002 \001(\t\022.\n\007actions\030\003 \003(\0162" +
-      "\035.alluxio.grpc.file.PAclAction\022\021\n\tisDefa" +
-      "ult\030\004 \001(\010\"\222\001\n\004PAcl\022\r\n\005owner\030\001 \001(\t\022\023\n\013own" +
-      "ingGroup\030\002 \001(\t\022-\n\007entries\030\003 \003(\0132\034.alluxi" +
-      "o.grpc.file.PAclEntry\022\014\n\004mode\030\004 \001(\005\022\021\n\ti" +
-      "sDefault\030\005 \001(\010\022\026\n\016isDefaultEmpty\030\006 \001(\010\"\235" +
-      "\001\n\rFileBlockInfo\022*\n\tblockInfo\030\001 \001(\0132\027.al" +
-      "luxio.grpc.BlockInfo\022\016\n\006offset\030\002 \001(\003\0224\n\014" +
-      "ufsLocations\030\003 \003(\0132\036.alluxio.grpc.Worker" +
-      "NetAddress\022\032\n\022ufsStringLocations\030\004 \003(\t\"\336" +
-      "\005\n\010FileInfo\022\016\n\006fileId\030\001 \001(\003\022\014\n\004name\030\002 \001(" +
-      "\t\022\014\n\004path\030\003 \001(\t\022\017\n\007ufsPath\030\004 \001(\t\022\016\n\006leng" +
-      "th\030\005 \001(\003\022\026\n\016blockSizeBytes\030\006 \001(\003\022\026\n\016crea" +
-      "tionTimeMs\030\007 \001(\003\022\021\n\tcompleted\030\010 \001(\010\022\016\n\006f" +
-      "older\030\t \001(\010\022\016\n\006pinned\030\n \001(\010\022\021\n\tcacheable" +
-      "\030\013 \001(\010\022\021\n\tpersisted\030\014 \001(\010\022\020\n\010blockIds\030\r " +
-      "\003(\003\022\036\n\026lastModificationTimeMs\030\016 \001(\003\022\013\n\003t" +
-      "tl\030\017 \001(\003\022\r\n\005owner\030\020 \001(\t\022\r\n\005group\030\021 \001(\t\022\014" +
-      "\n\004mode\030\022 \001(\005\022\030\n\020persistenceState\030\023 \001(\t\022\022" +
-      "\n\nmountPoint\030\024 \001(\010\0228\n\016fileBlockInfos\030\025 \003" +
-      "(\0132 .alluxio.grpc.file.FileBlockInfo\022*\n\t" +
-      "ttlAction\030\026 \001(\0162\027.alluxio.grpc.TtlAction" +
-      "\022\017\n\007mountId\030\027 \001(\003\022\033\n\023inAlluxioPercentage" +
-      "\030\030 \001(\005\022\032\n\022inMemoryPercentage\030\031 \001(\005\022\026\n\016uf" +
-      "sFingerprint\030\032 \001(\t\022$\n\003acl\030\033 \001(\0132\027.alluxi" +
-      "o.grpc.file.PAcl\022+\n\ndefaultAcl\030\034 \001(\0132\027.a" +
-      "lluxio.grpc.file.PAcl\022\026\n\016replicationMax\030" +
-      "\035 \001(\005\022\026\n\016replicationMin\030\036 \001(\005\022\030\n\020lastAcc" +
-      "essTimeMs\030\037 \001(\003\"$\n\024GetFilePathPResponse\022" +
-      "\014\n\004path\030\001 \001(\t\"%\n\023GetFilePathPRequest\022\016\n\006" +
-      "fileId\030\001 \001(\003\"\020\n\016MountPResponse\"\364\001\n\rMount" +
-      "POptions\022\020\n\010readOnly\030\001 \001(\010\022D\n\nproperties" +
-      "\030\002 \003(\01320.alluxio.grpc.file.MountPOptions" +
-      ".PropertiesEntry\022\016\n\006shared\030\003 \001(\010\022H\n\rcomm" +
-      "onOptions\030\004 \001(\01321.alluxio.grpc.file.File" +
-      "SystemMasterCommonPOptions\0321\n\017Properties" +
-      "Entry\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028\001\"h\n" +
-      "\rMountPRequest\022\023\n\013alluxioPath\030\001 \001(\t\022\017\n\007u" +
-      "fsPath\030\002 \001(\t\0221\n\007options\030\003 \001(\0132 .alluxio." +
-      "grpc.file.MountPOptions\"\300\001\n\026GetMountTabl" +
-      "ePResponse\022O\n\013mountPoints\030\001 \003(\0132:.alluxi" +
-      "o.grpc.file.GetMountTablePResponse.Mount" +
-      "PointsEntry\032U\n\020MountPointsEntry\022\013\n\003key\030\001" +
-      " \001(\t\0220\n\005value\030\002 \001(\0132!.alluxio.grpc.file." +
-      "MountPointInfo:\0028\001\"\027\n\025GetMountTablePRequ" +
-      "est\"\205\002\n\016MountPointInfo\022\016\n\006ufsUri\030\001 \001(\t\022\017" +
-      "\n\007ufsType\030\002 \001(\t\022\034\n\020ufsCapacityBytes\030\003 \001(" +
-      "\003:\002-1\022\030\n\014ufsUsedBytes\030\004 \001(\003:\002-1\022\020\n\010readO" +
-      "nly\030\005 \001(\010\022E\n\nproperties\030\006 \003(\01321.alluxio." +
-      "grpc.file.MountPointInfo.PropertiesEntry" +
-      "\022\016\n\006shared\030\007 \001(\010\0321\n\017PropertiesEntry\022\013\n\003k" +
-      "ey\030\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028\001\"\\\n\030FileSyste" +
-      "mCommandOptions\022@\n\016persistOptions\030\001 \001(\0132" +
-      "(.alluxio.grpc.file.PersistCommandOption" +
-      "s\"M\n\025PersistCommandOptions\0224\n\014persistFil" +
-      "es\030\001 \003(\0132\036.alluxio.grpc.file.PersistFile" +
-      "\"/\n\013PersistFile\022\016\n\006fileId\030\001 \001(\003\022\020\n\010block" +
-      "Ids\030\002 \003(\003\"\210\001\n\021FileSystemCommand\022.\n\013comma" +
-      "ndType\030\001 \001(\0162\031.alluxio.grpc.CommandType\022" +
-      "C\n\016commandOptions\030\002 \001(\0132+.alluxio.grpc.f" +
-      "ile.FileSystemCommandOptions\"\021\n\017RenamePR" +
-      "esponse\"k\n\016RenamePOptions\022H\n\rcommonOptio" +
-      "ns\030\001 \001(\01321.alluxio.grpc.file.FileSystemM" +
-      "asterCommonPOptions\022\017\n\007persist\030\002 \001(\010\"c\n\016" +
-      "RenamePRequest\022\014\n\004path\030\001 \001(\t\022\017\n\007dstPath\030" +
-      "\002 \001(\t\0222\n\007options\030\003 \001(\0132!.alluxio.grpc.fi" +
-      "le.RenamePOptions\"(\n\026ReverseResolvePRequ" +
-      "est\022\016\n\006ufsUri\030\001 \001(\t\".\n\027ReverseResolvePRe" +
-      "sponse\022\023\n\013alluxioPath\030\001 \001(\t\"\027\n\025SetAttrib" +
-      "utePResponse\"\234\002\n\024SetAttributePOptions\022\016\n" +
-      "\006pinned\030\001 \001(\010\022\021\n\tpersisted\030\002 \001(\010\022\r\n\005owne" +
-      "r\030\003 \001(\t\022\r\n\005group\030\004 \001(\t\022!\n\004mode\030\005 \001(\0132\023.a" +
-      "lluxio.grpc.PMode\022\021\n\trecursive\030\006 \001(\010\022\026\n\016" +
-      "replicationMax\030\007 \001(\005\022\026\n\016replicationMin\030\010" +
-      " \001(\005\022H\n\rcommonOptions\030\t \001(\01321.alluxio.gr" +
-      "pc.file.FileSystemMasterCommonPOptions\022\023" +
-      "\n\013pinnedMedia\030\n \003(\t\"^\n\024SetAttributePRequ" +
-      "est\022\014\n\004path\030\001 \001(\t\0228\n\007options\030\002 \001(\0132\'.all" +
-      "uxio.grpc.file.SetAttributePOptions\"\021\n\017S" +
-      "etAclPResponse\"m\n\016SetAclPOptions\022H\n\rcomm" +
-      "onOptions\030\001 \001(\01321.alluxio.grpc.file.File" +
-      "SystemMasterCommonPOptions\022\021\n\trecursive\030" +
-      "\002 \001(\010\"\262\001\n\016SetAclPRequest\022\014\n\004path\030\001 \001(\t\022/" +
-      "\n\006action\030\002 \001(\0162\037.alluxio.grpc.file.SetAc" +
-      "lAction\022-\n\007entries\030\003 \003(\0132\034.alluxio.grpc." +
-      "file.PAclEntry\0222\n\007options\030\004 \001(\0132!.alluxi" +
-      "o.grpc.file.SetAclPOptions\"#\n!ScheduleAs" +
-      "yncPersistencePResponse\"\211\001\n ScheduleAsyn" +
-      "cPersistencePOptions\022H\n\rcommonOptions\030\001 " +
-      "\001(\01321.alluxio.grpc.file.FileSystemMaster" +
-      "CommonPOptions\022\033\n\023persistenceWaitTime\030\002 " +
-      "\001(\003\"v\n ScheduleAsyncPersistencePRequest\022" +
-      "\014\n\004path\030\001 \001(\t\022D\n\007options\030\002 \001(\01323.alluxio" +
-      ".grpc.file.ScheduleAsyncPersistencePOpti" +
-      "ons\"\024\n\022StartSyncPResponse\"]\n\021StartSyncPO" +
-      "ptions\022H\n\rcommonOptions\030\001 \001(\01321.alluxio." +
-      "grpc.file.FileSystemMasterCommonPOptions" +
-      "\"X\n\021StartSyncPRequest\022\014\n\004path\030\001 \001(\t\0225\n\007o" +
-      "ptions\030\002 \001(\0132$.alluxio.grpc.file.StartSy" +
-      "ncPOptions\"\023\n\021StopSyncPResponse\"\\\n\020StopS" +
-      "yncPOptions\022H\n\rcommonOptions\030\001 \001(\01321.all" +
+      "terCommonPOptions\022\021\n\trecursive\030\004 \001(\010\022\022\n\n" +
+      "startAfter\030\005 \001(\t\022\021\n\tbatchSize\030\006 \001(\005\"Z\n\022L" +
+      "istStatusPRequest\022\014\n\004path\030\001 \001(\t\0226\n\007optio" +
+      "ns\030\002 \001(\0132%.alluxio.grpc.file.ListStatusP" +
+      "Options\"\324\001\n\024LoadMetadataPOptions\022\021\n\trecu" +
+      "rsive\030\001 \001(\010\022\027\n\017createAncestors\030\002 \001(\010\022F\n\022" +
+      "loadDescendantType\030\003 \001(\0162*.alluxio.grpc." +
+      "fscommon.LoadDescendantPType\022H\n\rcommonOp" +
+      "tions\030\004 \001(\01321.alluxio.grpc.file.FileSyst" +
+      "emMasterCommonPOptions\"\217\001\n\tPAclEntry\022.\n\004" +
+      "type\030\001 \001(\0162 .alluxio.grpc.file.PAclEntry" +
+      "Type\022\017\n\007subject\030\002 \001(\t\022.\n\007actions\030\003 \003(\0162\035" +
+      ".alluxio.grpc.file.PAclAction\022\021\n\tisDefau" +
+      "lt\030\004 \001(\010\"\222\001\n\004PAcl\022\r\n\005owner\030\001 \001(\t\022\023\n\013owni" +
+      "ngGroup\030\002 \001(\t\022-\n\007entries\030\003 \003(\0132\034.alluxio" +
+      ".grpc.file.PAclEntry\022\014\n\004mode\030\004 \001(\005\022\021\n\tis" +
+      "Default\030\005 \001(\010\022\026\n\016isDefaultEmpty\030\006 \001(\010\"\235\001" +
+      "\n\rFileBlockInfo\022*\n\tblockInfo\030\001 \001(\0132\027.all" +
+      "uxio.grpc.BlockInfo\022\016\n\006offset\030\002 \001(\003\0224\n\014u" +
+      "fsLocations\030\003 \003(\0132\036.alluxio.grpc.WorkerN" +
+      "etAddress\022\032\n\022ufsStringLocations\030\004 \003(\t\"\336\005" +
+      "\n\010FileInfo\022\016\n\006fileId\030\001 \001(\003\022\014\n\004name\030\002 \001(\t" +
+      "\022\014\n\004path\030\003 \001(\t\022\017\n\007ufsPath\030\004 \001(\t\022\016\n\006lengt" +
+      "h\030\005 \001(\003\022\026\n\016blockSizeBytes\030\006 \001(\003\022\026\n\016creat" +
+      "ionTimeMs\030\007 \001(\003\022\021\n\tcompleted\030\010 \001(\010\022\016\n\006fo" +
+      "lder\030\t \001(\010\022\016\n\006pinned\030\n \001(\010\022\021\n\tcacheable\030" +
+      "\013 \001(\010\022\021\n\tpersisted\030\014 \001(\010\022\020\n\010blockIds\030\r \003" +
+      "(\003\022\036\n\026lastModificationTimeMs\030\016 \001(\003\022\013\n\003tt" +
+      "l\030\017 \001(\003\022\r\n\005owner\030\020 \001(\t\022\r\n\005group\030\021 \001(\t\022\014\n" +
+      "\004mode\030\022 \001(\005\022\030\n\020persistenceState\030\023 \001(\t\022\022\n" +
+      "\nmountPoint\030\024 \001(\010\0228\n\016fileBlockInfos\030\025 \003(" +
+      "\0132 .alluxio.grpc.file.FileBlockInfo\022*\n\tt" +
+      "tlAction\030\026 \001(\0162\027.alluxio.grpc.TtlAction\022" +
+      "\017\n\007mountId\030\027 \001(\003\022\033\n\023inAlluxioPercentage\030" +
+      "\030 \001(\005\022\032\n\022inMemoryPercentage\030\031 \001(\005\022\026\n\016ufs" +
+      "Fingerprint\030\032 \001(\t\022$\n\003acl\030\033 \001(\0132\027.alluxio" +
+      ".grpc.file.PAcl\022+\n\ndefaultAcl\030\034 \001(\0132\027.al" +
+      "luxio.grpc.file.PAcl\022\026\n\016replicationMax\030\035" +
+      " \001(\005\022\026\n\016replicationMin\030\036 \001(\005\022\030\n\020lastAcce" +
+      "ssTimeMs\030\037 \001(\003\"$\n\024GetFilePathPResponse\022\014" +
+      "\n\004path\030\001 \001(\t\"%\n\023GetFilePathPRequest\022\016\n\006f" +
+      "ileId\030\001 \001(\003\"\020\n\016MountPResponse\"\364\001\n\rMountP" +
+      "Options\022\020\n\010readOnly\030\001 \001(\010\022D\n\nproperties\030" +
+      "\002 \003(\01320.alluxio.grpc.file.MountPOptions." +
+      "PropertiesEntry\022\016\n\006shared\030\003 \001(\010\022H\n\rcommo" +
+      "nOptions\030\004 \001(\01321.alluxio.grpc.file.FileS" +
+      "ystemMasterCommonPOptions\0321\n\017PropertiesE" +
+      "ntry\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028\001\"h\n\r" +
+      "MountPRequest\022\023\n\013alluxioPath\030\001 \001(\t\022\017\n\007uf" +
+      "sPath\030\002 \001(\t\0221\n\007options\030\003 \001(\0132 .alluxio.g" +
+      "rpc.file.MountPOptions\"\300\001\n\026GetMountTable" +
+      "PResponse\022O\n\013mountPoints\030\001 \003(\0132:.alluxio" +
+      ".grpc.file.GetMountTablePResponse.MountP" +
+      "ointsEntry\032U\n\020MountPointsEntry\022\013\n\003key\030\001 " +
+      "\001(\t\0220\n\005value\030\002 \001(\0132!.alluxio.grpc.file.M" +
+      "ountPointInfo:\0028\001\"\027\n\025GetMountTablePReque" +
+      "st\"\205\002\n\016MountPointInfo\022\016\n\006ufsUri\030\001 \001(\t\022\017\n" +
+      "\007ufsType\030\002 \001(\t\022\034\n\020ufsCapacityBytes\030\003 \001(\003" +
+      ":\002-1\022\030\n\014ufsUsedBytes\030\004 \001(\003:\002-1\022\020\n\010readOn" +
+      "ly\030\005 \001(\010\022E\n\nproperties\030\006 \003(\01321.alluxio.g" +
+      "rpc.file.MountPointInfo.PropertiesEntry\022" +
+      "\016\n\006shared\030\007 \001(\010\0321\n\017PropertiesEntry\022\013\n\003ke" +
+      "y\030\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028\001\"\\\n\030FileSystem" +
+      "CommandOptions\022@\n\016persistOptions\030\001 \001(\0132(" +
+      ".alluxio.grpc.file.PersistCommandOptions" +
+      "\"M\n\025PersistCommandOptions\0224\n\014persistFile" +
+      "s\030\001 \003(\0132\036.alluxio.grpc.file.PersistFile\"" +
+      "/\n\013PersistFile\022\016\n\006fileId\030\001 \001(\003\022\020\n\010blockI" +
+      "ds\030\002 \003(\003\"\210\001\n\021FileSystemCommand\022.\n\013comman" +
+      "dType\030\001 \001(\0162\031.alluxio.grpc.CommandType\022C" +
+      "\n\016commandOptions\030\002 \001(\0132+.alluxio.grpc.fi" +
+      "le.FileSystemCommandOptions\"\021\n\017RenamePRe" +
+      "sponse\"k\n\016RenamePOptions\022H\n\rcommonOption" +
+      "s\030\001 \001(\01321.alluxio.grpc.file.FileSystemMa" +
+      "sterCommonPOptions\022\017\n\007persist\030\002 \001(\010\"c\n\016R" +
+      "enamePRequest\022\014\n\004path\030\001 \001(\t\022\017\n\007dstPath\030\002" +
+      " \001(\t\0222\n\007options\030\003 \001(\0132!.alluxio.grpc.fil" +
+      "e.RenamePOptions\"(\n\026ReverseResolvePReque" +
+      "st\022\016\n\006ufsUri\030\001 \001(\t\".\n\027ReverseResolvePRes" +
+      "ponse\022\023\n\013alluxioPath\030\001 \001(\t\"\027\n\025SetAttribu" +
+      "tePResponse\"\234\002\n\024SetAttributePOptions\022\016\n\006" +
+      "pinned\030\001 \001(\010\022\021\n\tpersisted\030\002 \001(\010\022\r\n\005owner" +
+      "\030\003 \001(\t\022\r\n\005group\030\004 \001(\t\022!\n\004mode\030\005 \001(\0132\023.al" +
+      "luxio.grpc.PMode\022\021\n\trecursive\030\006 \001(\010\022\026\n\016r" +
+      "eplicationMax\030\007 \001(\005\022\026\n\016replicationMin\030\010 " +
+      "\001(\005\022H\n\rcommonOptions\030\t \001(\01321.alluxio.grp" +
+      "c.file.FileSystemMasterCommonPOptions\022\023\n" +
+      "\013pinnedMedia\030\n \003(\t\"^\n\024SetAttributePReque" +
+      "st\022\014\n\004path\030\001 \001(\t\0228\n\007options\030\002 \001(\0132\'.allu" +
+      "xio.grpc.file.SetAttributePOptions\"\021\n\017Se" +
+      "tAclPResponse\"m\n\016SetAclPOptions\022H\n\rcommo" +
+      "nOptions\030\001 \001(\01321.alluxio.grpc.file.FileS" +
+      "ystemMasterCommonPOptions\022\021\n\trecursive\030\002" +
+      " \001(\010\"\262\001\n\016SetAclPRequest\022\014\n\004path\030\001 \001(\t\022/\n" +
+      "\006action\030\002 \001(\0162\037.alluxio.grpc.file.SetAcl" +
+      "Action\022-\n\007entries\030\003 \003(\0132\034.alluxio.grpc.f" +
+      "ile.PAclEntry\0222\n\007options\030\004 \001(\0132!.alluxio" +
+      ".grpc.file.SetAclPOptions\"#\n!ScheduleAsy" +
+      "ncPersistencePResponse\"\211\001\n ScheduleAsync" +
+      "PersistencePOptions\022H\n\rcommonOptions\030\001 \001" +
+      "(\01321.alluxio.grpc.file.FileSystemMasterC" +
+      "ommonPOptions\022\033\n\023persistenceWaitTime\030\002 \001" +
+      "(\003\"v\n ScheduleAsyncPersistencePRequest\022\014" +
+      "\n\004path\030\001 \001(\t\022D\n\007options\030\002 \001(\01323.alluxio." +
+      "grpc.file.ScheduleAsyncPersistencePOptio" +
+      "ns\"\024\n\022StartSyncPResponse\"]\n\021StartSyncPOp" +
+      "tions\022H\n\rcommonOptions\030\001 \001(\01321.alluxio.g" +
+      "rpc.file.FileSystemMasterCommonPOptions\"" +
+      "X\n\021StartSyncPRequest\022\014\n\004path\030\001 \001(\t\0225\n\007op" +
+      "tions\030\002 \001(\0132$.alluxio.grpc.file.StartSyn" +
+      "cPOptions\"\023\n\021StopSyncPResponse\"\\\n\020StopSy" +
+      "ncPOptions\022H\n\rcommonOptions\030\001 \001(\01321.allu" +
+      "xio.grpc.file.FileSystemMasterCommonPOpt" +
+      "ions\"V\n\020StopSyncPRequest\022\014\n\004path\030\001 \001(\t\0224" +
+      "\n\007options\030\002 \001(\0132#.alluxio.grpc.file.Stop" +
+      "SyncPOptions\"\022\n\020UnmountPResponse\"[\n\017Unmo" +
+      "untPOptions\022H\n\rcommonOptions\030\001 \001(\01321.all" +
       "uxio.grpc.file.FileSystemMasterCommonPOp" +
-      "tions\"V\n\020StopSyncPRequest\022\014\n\004path\030\001 \001(\t\022" +
-      "4\n\007options\030\002 \001(\0132#.alluxio.grpc.file.Sto" +
-      "pSyncPOptions\"\022\n\020UnmountPResponse\"[\n\017Unm" +
-      "ountPOptions\022H\n\rcommonOptions\030\001 \001(\01321.al" +
-      "luxio.grpc.file.FileSystemMasterCommonPO" +
-      "ptions\"[\n\017UnmountPRequest\022\023\n\013alluxioPath" +
-      "\030\001 \001(\t\0223\n\007options\030\002 \001(\0132\".alluxio.grpc.f" +
-      "ile.UnmountPOptions\"L\n\007UfsInfo\022\013\n\003uri\030\001 " +
-      "\001(\t\0224\n\nproperties\030\002 \001(\0132 .alluxio.grpc.f" +
-      "ile.MountPOptions\"]\n\023UpdateMountPRequest" +
-      "\022\023\n\013alluxioPath\030\001 \001(\t\0221\n\007options\030\003 \001(\0132 " +
-      ".alluxio.grpc.file.MountPOptions\"\026\n\024Upda" +
-      "teMountPResponse\"\030\n\026UpdateUfsModePRespon" +
-      "se\"E\n\025UpdateUfsModePOptions\022,\n\007ufsMode\030\001" +
-      " \001(\0162\033.alluxio.grpc.file.UfsPMode\"c\n\025Upd" +
-      "ateUfsModePRequest\022\017\n\007ufsPath\030\001 \001(\t\0229\n\007o" +
-      "ptions\030\002 \001(\0132(.alluxio.grpc.file.UpdateU" +
-      "fsModePOptions\"U\n\034FileSystemHeartbeatPRe" +
-      "sponse\0225\n\007command\030\001 \001(\0132$.alluxio.grpc.f" +
-      "ile.FileSystemCommand\"@\n\033FileSystemHeart" +
-      "beatPOptions\022!\n\031persistedFileFingerprint" +
-      "s\030\001 \003(\t\"\210\001\n\033FileSystemHeartbeatPRequest\022" +
-      "\020\n\010workerId\030\001 \001(\003\022\026\n\016persistedFiles\030\002 \003(" +
-      "\003\022?\n\007options\030\003 \001(\0132..alluxio.grpc.file.F" +
-      "ileSystemHeartbeatPOptions\"E\n\024GetFileInf" +
-      "oPResponse\022-\n\010fileInfo\030\001 \001(\0132\033.alluxio.g" +
-      "rpc.file.FileInfo\"\025\n\023GetFileInfoPOptions" +
-      "\"^\n\023GetFileInfoPRequest\022\016\n\006fileId\030\001 \001(\003\022" +
-      "7\n\007options\030\002 \001(\0132&.alluxio.grpc.file.Get" +
-      "FileInfoPOptions\"2\n\031GetPinnedFileIdsPRes" +
-      "ponse\022\025\n\rpinnedFileIds\030\001 \003(\003\"\032\n\030GetPinne" +
-      "dFileIdsPOptions\"X\n\030GetPinnedFileIdsPReq" +
-      "uest\022<\n\007options\030\001 \001(\0132+.alluxio.grpc.fil" +
-      "e.GetPinnedFileIdsPOptions\"B\n\023GetUfsInfo" +
-      "PResponse\022+\n\007ufsInfo\030\001 \001(\0132\032.alluxio.grp" +
-      "c.file.UfsInfo\"\024\n\022GetUfsInfoPOptions\"]\n\022" +
-      "GetUfsInfoPRequest\022\017\n\007mountId\030\001 \001(\003\0226\n\007o" +
-      "ptions\030\002 \001(\0132%.alluxio.grpc.file.GetUfsI" +
-      "nfoPOptions*h\n\nWritePType\022\016\n\nMUST_CACHE\020" +
-      "\001\022\r\n\tTRY_CACHE\020\002\022\021\n\rCACHE_THROUGH\020\003\022\013\n\007T" +
-      "HROUGH\020\004\022\021\n\rASYNC_THROUGH\020\005\022\010\n\004NONE\020\006*7\n" +
-      "\tReadPType\022\014\n\010NO_CACHE\020\001\022\t\n\005CACHE\020\002\022\021\n\rC" +
-      "ACHE_PROMOTE\020\003*4\n\021LoadMetadataPType\022\t\n\005N" +
-      "EVER\020\000\022\010\n\004ONCE\020\001\022\n\n\006ALWAYS\020\002*N\n\017SyncPoin" +
-      "tStatus\022\030\n\024Not_Initially_Synced\020\000\022\013\n\007Syn" +
-      "cing\020\001\022\024\n\020Initially_Synced\020\002*_\n\rPAclEntr" +
-      "yType\022\t\n\005Owner\020\000\022\r\n\tNamedUser\020\001\022\017\n\013Ownin" +
-      "gGroup\020\002\022\016\n\nNamedGroup\020\003\022\010\n\004Mask\020\004\022\t\n\005Ot" +
-      "her\020\005*.\n\nPAclAction\022\010\n\004Read\020\000\022\t\n\005Write\020\001" +
-      "\022\013\n\007Execute\020\002*W\n\014SetAclAction\022\013\n\007REPLACE" +
-      "\020\000\022\n\n\006MODIFY\020\001\022\n\n\006REMOVE\020\002\022\016\n\nREMOVE_ALL" +
-      "\020\003\022\022\n\016REMOVE_DEFAULT\020\004*8\n\010UfsPMode\022\r\n\tNO" +
-      "_ACCESS\020\001\022\r\n\tREAD_ONLY\020\002\022\016\n\nREAD_WRITE\020\003" +
-      "2\313\021\n\035FileSystemMasterClientService\022m\n\020Ch" +
-      "eckConsistency\022+.alluxio.grpc.file.Check" +
-      "ConsistencyPRequest\032,.alluxio.grpc.file." +
-      "CheckConsistencyPResponse\022a\n\014CompleteFil" +
-      "e\022\'.alluxio.grpc.file.CompleteFilePReque" +
-      "st\032(.alluxio.grpc.file.CompleteFilePResp" +
-      "onse\022j\n\017CreateDirectory\022*.alluxio.grpc.f" +
-      "ile.CreateDirectoryPRequest\032+.alluxio.gr" +
-      "pc.file.CreateDirectoryPResponse\022[\n\nCrea" +
-      "teFile\022%.alluxio.grpc.file.CreateFilePRe" +
-      "quest\032&.alluxio.grpc.file.CreateFilePRes" +
-      "ponse\022I\n\004Free\022\037.alluxio.grpc.file.FreePR" +
-      "equest\032 .alluxio.grpc.file.FreePResponse" +
-      "\022^\n\013GetFilePath\022&.alluxio.grpc.file.GetF" +
-      "ilePathPRequest\032\'.alluxio.grpc.file.GetF" +
-      "ilePathPResponse\022d\n\rGetMountTable\022(.allu" +
-      "xio.grpc.file.GetMountTablePRequest\032).al" +
-      "luxio.grpc.file.GetMountTablePResponse\022j" +
-      "\n\017GetSyncPathList\022*.alluxio.grpc.file.Ge" +
-      "tSyncPathListPRequest\032+.alluxio.grpc.fil" +
-      "e.GetSyncPathListPResponse\022y\n\024GetNewBloc" +
-      "kIdForFile\022/.alluxio.grpc.file.GetNewBlo" +
-      "ckIdForFilePRequest\0320.alluxio.grpc.file." +
-      "GetNewBlockIdForFilePResponse\022X\n\tGetStat" +
-      "us\022$.alluxio.grpc.file.GetStatusPRequest" +
-      "\032%.alluxio.grpc.file.GetStatusPResponse\022" +
-      "]\n\nListStatus\022%.alluxio.grpc.file.ListSt" +
-      "atusPRequest\032&.alluxio.grpc.file.ListSta" +
-      "tusPResponse0\001\022L\n\005Mount\022 .alluxio.grpc.f" +
-      "ile.MountPRequest\032!.alluxio.grpc.file.Mo" +
-      "untPResponse\022O\n\006Remove\022!.alluxio.grpc.fi" +
-      "le.DeletePRequest\032\".alluxio.grpc.file.De" +
-      "letePResponse\022O\n\006Rename\022!.alluxio.grpc.f" +
-      "ile.RenamePRequest\032\".alluxio.grpc.file.R" +
-      "enamePResponse\022g\n\016ReverseResolve\022).allux" +
-      "io.grpc.file.ReverseResolvePRequest\032*.al" +
-      "luxio.grpc.file.ReverseResolvePResponse\022" +
-      "\205\001\n\030ScheduleAsyncPersistence\0223.alluxio.g" +
-      "rpc.file.ScheduleAsyncPersistencePReques" +
-      "t\0324.alluxio.grpc.file.ScheduleAsyncPersi" +
-      "stencePResponse\022O\n\006SetAcl\022!.alluxio.grpc" +
-      ".file.SetAclPRequest\032\".alluxio.grpc.file" +
-      ".SetAclPResponse\022a\n\014SetAttribute\022\'.allux" +
-      "io.grpc.file.SetAttributePRequest\032(.allu" +
-      "xio.grpc.file.SetAttributePResponse\022X\n\tS" +
-      "tartSync\022$.alluxio.grpc.file.StartSyncPR" +
-      "equest\032%.alluxio.grpc.file.StartSyncPRes" +
-      "ponse\022U\n\010StopSync\022#.alluxio.grpc.file.St" +
-      "opSyncPRequest\032$.alluxio.grpc.file.StopS" +
-      "yncPResponse\022R\n\007Unmount\022\".alluxio.grpc.f" +
-      "ile.UnmountPRequest\032#.alluxio.grpc.file." +
-      "UnmountPResponse\022^\n\013UpdateMount\022&.alluxi" +
-      "o.grpc.file.UpdateMountPRequest\032\'.alluxi" +
-      "o.grpc.file.UpdateMountPResponse\022d\n\rUpda" +
-      "teUfsMode\022(.alluxio.grpc.file.UpdateUfsM" +
-      "odePRequest\032).alluxio.grpc.file.UpdateUf" +
-      "sModePResponse2\303\003\n\035FileSystemMasterWorke" +
-      "rService\022v\n\023FileSystemHeartbeat\022..alluxi" +
-      "o.grpc.file.FileSystemHeartbeatPRequest\032" +
-      "/.alluxio.grpc.file.FileSystemHeartbeatP" +
-      "Response\022^\n\013GetFileInfo\022&.alluxio.grpc.f" +
-      "ile.GetFileInfoPRequest\032\'.alluxio.grpc.f" +
-      "ile.GetFileInfoPResponse\022m\n\020GetPinnedFil" +
-      "eIds\022+.alluxio.grpc.file.GetPinnedFileId" +
-      "sPRequest\032,.alluxio.grpc.file.GetPinnedF" +
-      "ileIdsPResponse\022[\n\nGetUfsInfo\022%.alluxio." +
-      "grpc.file.GetUfsInfoPRequest\032&.alluxio.g" +
-      "rpc.file.GetUfsInfoPResponse2\331\001\n\032FileSys" +
-      "temMasterJobService\022^\n\013GetFileInfo\022&.all" +
-      "uxio.grpc.file.GetFileInfoPRequest\032\'.all" +
-      "uxio.grpc.file.GetFileInfoPResponse\022[\n\nG" +
-      "etUfsInfo\022%.alluxio.grpc.file.GetUfsInfo" +
-      "PRequest\032&.alluxio.grpc.file.GetUfsInfoP" +
-      "ResponseB\'\n\014alluxio.grpcB\025FileSystemMast" +
-      "erProtoP\001"
+      "tions\"[\n\017UnmountPRequest\022\023\n\013alluxioPath\030" +
+      "\001 \001(\t\0223\n\007options\030\002 \001(\0132\".alluxio.grpc.fi" +
+      "le.UnmountPOptions\"L\n\007UfsInfo\022\013\n\003uri\030\001 \001" +
+      "(\t\0224\n\nproperties\030\002 \001(\0132 .alluxio.grpc.fi" +
+      "le.MountPOptions\"]\n\023UpdateMountPRequest\022" +
+      "\023\n\013alluxioPath\030\001 \001(\t\0221\n\007options\030\003 \001(\0132 ." +
+      "alluxio.grpc.file.MountPOptions\"\026\n\024Updat" +
+      "eMountPResponse\"\030\n\026UpdateUfsModePRespons" +
+      "e\"E\n\025UpdateUfsModePOptions\022,\n\007ufsMode\030\001 " +
+      "\001(\0162\033.alluxio.grpc.file.UfsPMode\"c\n\025Upda" +
+      "teUfsModePRequest\022\017\n\007ufsPath\030\001 \001(\t\0229\n\007op" +
+      "tions\030\002 \001(\0132(.alluxio.grpc.file.UpdateUf" +
+      "sModePOptions\"U\n\034FileSystemHeartbeatPRes" +
+      "ponse\0225\n\007command\030\001 \001(\0132$.alluxio.grpc.fi" +
+      "le.FileSystemCommand\"@\n\033FileSystemHeartb" +
+      "eatPOptions\022!\n\031persistedFileFingerprints" +
+      "\030\001 \003(\t\"\210\001\n\033FileSystemHeartbeatPRequest\022\020" +
+      "\n\010workerId\030\001 \001(\003\022\026\n\016persistedFiles\030\002 \003(\003" +
+      "\022?\n\007options\030\003 \001(\0132..alluxio.grpc.file.Fi" +
+      "leSystemHeartbeatPOptions\"E\n\024GetFileInfo" +
+      "PResponse\022-\n\010fileInfo\030\001 \001(\0132\033.alluxio.gr" +
+      "pc.file.FileInfo\"\025\n\023GetFileInfoPOptions\"" +
+      "^\n\023GetFileInfoPRequest\022\016\n\006fileId\030\001 \001(\003\0227" +
+      "\n\007options\030\002 \001(\0132&.alluxio.grpc.file.GetF" +
+      "ileInfoPOptions\"2\n\031GetPinnedFileIdsPResp" +
+      "onse\022\025\n\rpinnedFileIds\030\001 \003(\003\"\032\n\030GetPinned" +
+      "FileIdsPOptions\"X\n\030GetPinnedFileIdsPRequ" +
+      "est\022<\n\007options\030\001 \001(\0132+.alluxio.grpc.file" +
+      ".GetPinnedFileIdsPOptions\"B\n\023GetUfsInfoP" +
+      "Response\022+\n\007ufsInfo\030\001 \001(\0132\032.alluxio.grpc" +
+      ".file.UfsInfo\"\024\n\022GetUfsInfoPOptions\"]\n\022G" +
+      "etUfsInfoPRequest\022\017\n\007mountId\030\001 \001(\003\0226\n\007op" +
+      "tions\030\002 \001(\0132%.alluxio.grpc.file.GetUfsIn" +
+      "foPOptions*h\n\nWritePType\022\016\n\nMUST_CACHE\020\001" +
+      "\022\r\n\tTRY_CACHE\020\002\022\021\n\rCACHE_THROUGH\020\003\022\013\n\007TH" +
+      "ROUGH\020\004\022\021\n\rASYNC_THROUGH\020\005\022\010\n\004NONE\020\006*7\n\t" +
+      "ReadPType\022\014\n\010NO_CACHE\020\001\022\t\n\005CACHE\020\002\022\021\n\rCA" +
+      "CHE_PROMOTE\020\003*4\n\021LoadMetadataPType\022\t\n\005NE" +
+      "VER\020\000\022\010\n\004ONCE\020\001\022\n\n\006ALWAYS\020\002*N\n\017SyncPoint" +
+      "Status\022\030\n\024Not_Initially_Synced\020\000\022\013\n\007Sync" +
+      "ing\020\001\022\024\n\020Initially_Synced\020\002*_\n\rPAclEntry" +
+      "Type\022\t\n\005Owner\020\000\022\r\n\tNamedUser\020\001\022\017\n\013Owning" +
+      "Group\020\002\022\016\n\nNamedGroup\020\003\022\010\n\004Mask\020\004\022\t\n\005Oth" +
+      "er\020\005*.\n\nPAclAction\022\010\n\004Read\020\000\022\t\n\005Write\020\001\022" +
+      "\013\n\007Execute\020\002*W\n\014SetAclAction\022\013\n\007REPLACE\020" +
+      "\000\022\n\n\006MODIFY\020\001\022\n\n\006REMOVE\020\002\022\016\n\nREMOVE_ALL\020" +
+      "\003\022\022\n\016REMOVE_DEFAULT\020\004*8\n\010UfsPMode\022\r\n\tNO_" +
+      "ACCESS\020\001\022\r\n\tREAD_ONLY\020\002\022\016\n\nREAD_WRITE\020\0032" +
+      "\313\021\n\035FileSystemMasterClientService\022m\n\020Che" +
+      "ckConsistency\022+.alluxio.grpc.file.CheckC" +
+      "onsistencyPRequest\032,.alluxio.grpc.file.C" +
+      "heckConsistencyPResponse\022a\n\014CompleteFile" +
+      "\022\'.alluxio.grpc.file.CompleteFilePReques" +
+      "t\032(.alluxio.grpc.file.CompleteFilePRespo" +
+      "nse\022j\n\017CreateDirectory\022*.alluxio.grpc.fi" +
+      "le.CreateDirectoryPRequest\032+.alluxio.grp" +
+      "c.file.CreateDirectoryPResponse\022[\n\nCreat" +
+      "eFile\022%.alluxio.grpc.file.CreateFilePReq" +
+      "uest\032&.alluxio.grpc.file.CreateFilePResp" +
+      "onse\022I\n\004Free\022\037.alluxio.grpc.file.FreePRe" +
+      "quest\032 .alluxio.grpc.file.FreePResponse\022" +
+      "^\n\013GetFilePath\022&.alluxio.grpc.file.GetFi" +
+      "lePathPRequest\032\'.alluxio.grpc.file.GetFi" +
+      "lePathPResponse\022d\n\rGetMountTable\022(.allux" +
+      "io.grpc.file.GetMountTablePRequest\032).all" +
+      "uxio.grpc.file.GetMountTablePResponse\022j\n" +
+      "\017GetSyncPathList\022*.alluxio.grpc.file.Get" +
+      "SyncPathListPRequest\032+.alluxio.grpc.file" +
+      ".GetSyncPathListPResponse\022y\n\024GetNewBlock" +
+      "IdForFile\022/.alluxio.grpc.file.GetNewBloc" +
+      "kIdForFilePRequest\0320.alluxio.grpc.file.G" +
+      "etNewBlockIdForFilePResponse\022X\n\tGetStatu" +
+      "s\022$.alluxio.grpc.file.GetStatusPRequest\032" +
+      "%.alluxio.grpc.file.GetStatusPResponse\022]" +
+      "\n\nListStatus\022%.alluxio.grpc.file.ListSta" +
+      "tusPRequest\032&.alluxio.grpc.file.ListStat" +
+      "usPResponse0\001\022L\n\005Mount\022 .alluxio.grpc.fi" +
+      "le.MountPRequest\032!.alluxio.grpc.file.Mou" +
+      "ntPResponse\022O\n\006Remove\022!.alluxio.grpc.fil" +
+      "e.DeletePRequest\032\".alluxio.grpc.file.Del" +
+      "etePResponse\022O\n\006Rename\022!.alluxio.grpc.fi" +
+      "le.RenamePRequest\032\".alluxio.grpc.file.Re" +
+      "namePResponse\022g\n\016ReverseResolve\022).alluxi" +
+      "o.grpc.file.ReverseResolvePRequest\032*.all" +
+      "uxio.grpc.file.ReverseResolvePResponse\022\205" +
+      "\001\n\030ScheduleAsyncPersistence\0223.alluxio.gr" +
+      "pc.file.ScheduleAsyncPersistencePRequest" +
+      "\0324.alluxio.grpc.file.ScheduleAsyncPersis" +
+      "tencePResponse\022O\n\006SetAcl\022!.alluxio.grpc." +
+      "file.SetAclPRequest\032\".alluxio.grpc.file." +
+      "SetAclPResponse\022a\n\014SetAttribute\022\'.alluxi" +
+      "o.grpc.file.SetAttributePRequest\032(.allux" +
+      "io.grpc.file.SetAttributePResponse\022X\n\tSt" +
+      "artSync\022$.alluxio.grpc.file.StartSyncPRe" +
+      "quest\032%.alluxio.grpc.file.StartSyncPResp" +
+      "onse\022U\n\010StopSync\022#.alluxio.grpc.file.Sto" +
+      "pSyncPRequest\032$.alluxio.grpc.file.StopSy" +
+      "ncPResponse\022R\n\007Unmount\022\".alluxio.grpc.fi" +
+      "le.UnmountPRequest\032#.alluxio.grpc.file.U" +
+      "nmountPResponse\022^\n\013UpdateMount\022&.alluxio" +
+      ".grpc.file.UpdateMountPRequest\032\'.alluxio" +
+      ".grpc.file.UpdateMountPResponse\022d\n\rUpdat" +
+      "eUfsMode\022(.alluxio.grpc.file.UpdateUfsMo" +
+      "dePRequest\032).alluxio.grpc.file.UpdateUfs" +
+      "ModePResponse2\303\003\n\035FileSystemMasterWorker" +
+      "Service\022v\n\023FileSystemHeartbeat\022..alluxio" +
+      ".grpc.file.FileSystemHeartbeatPRequest\032/" +
+      ".alluxio.grpc.file.FileSystemHeartbeatPR" +
+      "esponse\022^\n\013GetFileInfo\022&.alluxio.grpc.fi" +
+      "le.GetFileInfoPRequest\032\'.alluxio.grpc.fi" +
+      "le.GetFileInfoPResponse\022m\n\020GetPinnedFile" +
+      "Ids\022+.alluxio.grpc.file.GetPinnedFileIds" +
+      "PRequest\032,.alluxio.grpc.file.GetPinnedFi" +
+      "leIdsPResponse\022[\n\nGetUfsInfo\022%.alluxio.g" +
+      "rpc.file.GetUfsInfoPRequest\032&.alluxio.gr" +
+      "pc.file.GetUfsInfoPResponse2\331\001\n\032FileSyst" +
+      "emMasterJobService\022^\n\013GetFileInfo\022&.allu" +
+      "xio.grpc.file.GetFileInfoPRequest\032\'.allu" +
+      "xio.grpc.file.GetFileInfoPResponse\022[\n\nGe" +
+      "tUfsInfo\022%.alluxio.grpc.file.GetUfsInfoP" +
+      "Request\032&.alluxio.grpc.file.GetUfsInfoPR" +
+      "esponseB\'\n\014alluxio.grpcB\025FileSystemMaste" +
+      "rProtoP\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -1029,7 +1030,7 @@ public final class FileSystemMasterProto {
     internal_static_alluxio_grpc_file_ListStatusPOptions_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_alluxio_grpc_file_ListStatusPOptions_descriptor,
-        new java.lang.String[] { "LoadDirectChildren", "LoadMetadataType", "CommonOptions", "Recursive", });
+        new java.lang.String[] { "LoadDirectChildren", "LoadMetadataType", "CommonOptions", "Recursive", "StartAfter", "BatchSize", });
     internal_static_alluxio_grpc_file_ListStatusPRequest_descriptor =
       getDescriptor().getMessageTypes().get(32);
     internal_static_alluxio_grpc_file_ListStatusPRequest_fieldAccessorTable = new
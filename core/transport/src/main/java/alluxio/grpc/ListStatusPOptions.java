@@ -19,6 +19,8 @@ private static final long serialVersionUID = 0L;
     loadDirectChildren_ = false;
     loadMetadataType_ = 0;
     recursive_ = false;
+    startAfter_ = "";
+    batchSize_ = 0;
   }
 
   @java.lang.Override
@@ -86,6 +88,17 @@ private static final long serialVersionUID = 0L;
             recursive_ = input.readBool();
             break;
           }
+          case 42: {
+            com.google.protobuf.ByteString bs = input.readBytes();
+            bitField0_ |= 0x00000010;
+            startAfter_ = bs;
+            break;
+          }
+          case 48: {
+            bitField0_ |= 0x00000020;
+            batchSize_ = input.readInt32();
+            break;
+          }
         }
       }
     } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -186,6 +199,83 @@ private static final long serialVersionUID = 0L;
     return recursive_;
   }
 
+  public static final int STARTAFTER_FIELD_NUMBER = 5;
+  private volatile java.lang.Object startAfter_;
+  /**
+   * <pre>
+   ** only list directory entries whose names sort after this name, for paging 
+   * </pre>
+   *
+   * <code>optional string startAfter = 5;</code>
+   */
+  public boolean hasStartAfter() {
+    return ((bitField0_ & 0x00000010) == 0x00000010);
+  }
+  /**
+   * <pre>
+   ** only list directory entries whose names sort after this name, for paging 
+   * </pre>
+   *
+   * <code>optional string startAfter = 5;</code>
+   */
+  public java.lang.String getStartAfter() {
+    java.lang.Object ref = startAfter_;
+    if (ref instanceof java.lang.String) {
+      return (java.lang.String) ref;
+    } else {
+      com.google.protobuf.ByteString bs = 
+          (com.google.protobuf.ByteString) ref;
+      java.lang.String s = bs.toStringUtf8();
+      if (bs.isValidUtf8()) {
+        startAfter_ = s;
+      }
+      return s;
+    }
+  }
+  /**
+   * <pre>
+   ** only list directory entries whose names sort after this name, for paging 
+   * </pre>
+   *
+   * <code>optional string startAfter = 5;</code>
+   */
+  public com.google.protobuf.ByteString
+      getStartAfterBytes() {
+    java.lang.Object ref = startAfter_;
+    if (ref instanceof java.lang.String) {
+      com.google.protobuf.ByteString b = 
+          com.google.protobuf.ByteString.copyFromUtf8(
+              (java.lang.String) ref);
+      startAfter_ = b;
+      return b;
+    } else {
+      return (com.google.protobuf.ByteString) ref;
+    }
+  }
+
+  public static final int BATCHSIZE_FIELD_NUMBER = 6;
+  private int batchSize_;
+  /**
+   * <pre>
+   ** the maximum number of directory entries to list, or 0 to list all of them 
+   * </pre>
+   *
+   * <code>optional int32 batchSize = 6;</code>
+   */
+  public boolean hasBatchSize() {
+    return ((bitField0_ & 0x00000020) == 0x00000020);
+  }
+  /**
+   * <pre>
+   ** the maximum number of directory entries to list, or 0 to list all of them 
+   * </pre>
+   *
+   * <code>optional int32 batchSize = 6;</code>
+   */
+  public int getBatchSize() {
+    return batchSize_;
+  }
+
   private byte memoizedIsInitialized = -1;
   public final boolean isInitialized() {
     byte isInitialized = memoizedIsInitialized;
@@ -210,6 +300,12 @@ private static final long serialVersionUID = 0L;
     if (((bitField0_ & 0x00000008) == 0x00000008)) {
       output.writeBool(4, recursive_);
     }
+    if (((bitField0_ & 0x00000010) == 0x00000010)) {
+      com.google.protobuf.GeneratedMessageV3.writeString(output, 5, startAfter_);
+    }
+    if (((bitField0_ & 0x00000020) == 0x00000020)) {
+      output.writeInt32(6, batchSize_);
+    }
     unknownFields.writeTo(output);
   }
 
@@ -234,6 +330,13 @@ private static final long serialVersionUID = 0L;
       size += com.google.protobuf.CodedOutputStream
         .computeBoolSize(4, recursive_);
     }
+    if (((bitField0_ & 0x00000010) == 0x00000010)) {
+      size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, startAfter_);
+    }
+    if (((bitField0_ & 0x00000020) == 0x00000020)) {
+      size += com.google.protobuf.CodedOutputStream
+        .computeInt32Size(6, batchSize_);
+    }
     size += unknownFields.getSerializedSize();
     memoizedSize = size;
     return size;
@@ -269,6 +372,16 @@ private static final long serialVersionUID = 0L;
       result = result && (getRecursive()
           == other.getRecursive());
     }
+    result = result && (hasStartAfter() == other.hasStartAfter());
+    if (hasStartAfter()) {
+      result = result && getStartAfter()
+          .equals(other.getStartAfter());
+    }
+    result = result && (hasBatchSize() == other.hasBatchSize());
+    if (hasBatchSize()) {
+      result = result && (getBatchSize()
+          == other.getBatchSize());
+    }
     result = result && unknownFields.equals(other.unknownFields);
     return result;
   }
@@ -298,6 +411,14 @@ private static final long serialVersionUID = 0L;
       hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
           getRecursive());
     }
+    if (hasStartAfter()) {
+      hash = (37 * hash) + STARTAFTER_FIELD_NUMBER;
+      hash = (53 * hash) + getStartAfter().hashCode();
+    }
+    if (hasBatchSize()) {
+      hash = (37 * hash) + BATCHSIZE_FIELD_NUMBER;
+      hash = (53 * hash) + getBatchSize();
+    }
     hash = (29 * hash) + unknownFields.hashCode();
     memoizedHashCode = hash;
     return hash;
@@ -440,6 +561,10 @@ private static final long serialVersionUID = 0L;
       bitField0_ = (bitField0_ & ~0x00000004);
       recursive_ = false;
       bitField0_ = (bitField0_ & ~0x00000008);
+      startAfter_ = "";
+      bitField0_ = (bitField0_ & ~0x00000010);
+      batchSize_ = 0;
+      bitField0_ = (bitField0_ & ~0x00000020);
       return this;
     }
 
@@ -484,6 +609,14 @@ private static final long serialVersionUID = 0L;
         to_bitField0_ |= 0x00000008;
       }
       result.recursive_ = recursive_;
+      if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+        to_bitField0_ |= 0x00000010;
+      }
+      result.startAfter_ = startAfter_;
+      if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+        to_bitField0_ |= 0x00000020;
+      }
+      result.batchSize_ = batchSize_;
       result.bitField0_ = to_bitField0_;
       onBuilt();
       return result;
@@ -538,6 +671,14 @@ private static final long serialVersionUID = 0L;
       if (other.hasRecursive()) {
         setRecursive(other.getRecursive());
       }
+      if (other.hasStartAfter()) {
+        bitField0_ |= 0x00000010;
+        startAfter_ = other.startAfter_;
+        onChanged();
+      }
+      if (other.hasBatchSize()) {
+        setBatchSize(other.getBatchSize());
+      }
       this.mergeUnknownFields(other.unknownFields);
       onChanged();
       return this;
@@ -799,6 +940,154 @@ private static final long serialVersionUID = 0L;
       onChanged();
       return this;
     }
+
+    private java.lang.Object startAfter_ = "";
+    /**
+     * <pre>
+     ** only list directory entries whose names sort after this name, for paging 
+     * </pre>
+     *
+     * <code>optional string startAfter = 5;</code>
+     */
+    public boolean hasStartAfter() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <pre>
+     ** only list directory entries whose names sort after this name, for paging 
+     * </pre>
+     *
+     * <code>optional string startAfter = 5;</code>
+     */
+    public java.lang.String getStartAfter() {
+      java.lang.Object ref = startAfter_;
+      if (!(ref instanceof java.lang.String)) {
+        com.google.protobuf.ByteString bs =
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          startAfter_ = s;
+        }
+        return s;
+      } else {
+        return (java.lang.String) ref;
+      }
+    }
+    /**
+     * <pre>
+     ** only list directory entries whose names sort after this name, for paging 
+     * </pre>
+     *
+     * <code>optional string startAfter = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getStartAfterBytes() {
+      java.lang.Object ref = startAfter_;
+      if (ref instanceof String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        startAfter_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+    /**
+     * <pre>
+     ** only list directory entries whose names sort after this name, for paging 
+     * </pre>
+     *
+     * <code>optional string startAfter = 5;</code>
+     */
+    public Builder setStartAfter(
+        java.lang.String value) {
+      if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+      startAfter_ = value;
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     ** only list directory entries whose names sort after this name, for paging 
+     * </pre>
+     *
+     * <code>optional string startAfter = 5;</code>
+     */
+    public Builder clearStartAfter() {
+      bitField0_ = (bitField0_ & ~0x00000010);
+      startAfter_ = getDefaultInstance().getStartAfter();
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     ** only list directory entries whose names sort after this name, for paging 
+     * </pre>
+     *
+     * <code>optional string startAfter = 5;</code>
+     */
+    public Builder setStartAfterBytes(
+        com.google.protobuf.ByteString value) {
+      if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+      startAfter_ = value;
+      onChanged();
+      return this;
+    }
+
+    private int batchSize_ ;
+    /**
+     * <pre>
+     ** the maximum number of directory entries to list, or 0 to list all of them 
+     * </pre>
+     *
+     * <code>optional int32 batchSize = 6;</code>
+     */
+    public boolean hasBatchSize() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <pre>
+     ** the maximum number of directory entries to list, or 0 to list all of them 
+     * </pre>
+     *
+     * <code>optional int32 batchSize = 6;</code>
+     */
+    public int getBatchSize() {
+      return batchSize_;
+    }
+    /**
+     * <pre>
+     ** the maximum number of directory entries to list, or 0 to list all of them 
+     * </pre>
+     *
+     * <code>optional int32 batchSize = 6;</code>
+     */
+    public Builder setBatchSize(int value) {
+      bitField0_ |= 0x00000020;
+      batchSize_ = value;
+      onChanged();
+      return this;
+    }
+    /**
+     * <pre>
+     ** the maximum number of directory entries to list, or 0 to list all of them 
+     * </pre>
+     *
+     * <code>optional int32 batchSize = 6;</code>
+     */
+    public Builder clearBatchSize() {
+      bitField0_ = (bitField0_ & ~0x00000020);
+      batchSize_ = 0;
+      onChanged();
+      return this;
+    }
     public final Builder setUnknownFields(
         final com.google.protobuf.UnknownFieldSet unknownFields) {
       return super.setUnknownFields(unknownFields);
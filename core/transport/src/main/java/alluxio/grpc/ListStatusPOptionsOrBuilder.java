@@ -54,4 +54,47 @@ public interface ListStatusPOptionsOrBuilder extends
    * <code>optional bool recursive = 4;</code>
    */
   boolean getRecursive();
+
+  /**
+   * <pre>
+   ** only list directory entries whose names sort after this name, for paging 
+   * </pre>
+   *
+   * <code>optional string startAfter = 5;</code>
+   */
+  boolean hasStartAfter();
+  /**
+   * <pre>
+   ** only list directory entries whose names sort after this name, for paging 
+   * </pre>
+   *
+   * <code>optional string startAfter = 5;</code>
+   */
+  java.lang.String getStartAfter();
+  /**
+   * <pre>
+   ** only list directory entries whose names sort after this name, for paging 
+   * </pre>
+   *
+   * <code>optional string startAfter = 5;</code>
+   */
+  com.google.protobuf.ByteString
+      getStartAfterBytes();
+
+  /**
+   * <pre>
+   ** the maximum number of directory entries to list, or 0 to list all of them 
+   * </pre>
+   *
+   * <code>optional int32 batchSize = 6;</code>
+   */
+  boolean hasBatchSize();
+  /**
+   * <pre>
+   ** the maximum number of directory entries to list, or 0 to list all of them 
+   * </pre>
+   *
+   * <code>optional int32 batchSize = 6;</code>
+   */
+  int getBatchSize();
 }
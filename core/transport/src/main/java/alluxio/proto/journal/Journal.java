@@ -530,10 +530,38 @@ public final class Journal {
      */
     alluxio.proto.journal.Journal.JournalEntryOrBuilder getJournalEntriesOrBuilder(
         int index);
+
+    /**
+     * <pre>
+     * This journal entry is a frame holding a batch of other entries. When a journal entry
+     * contains a batch, all other optional fields must be unset.
+     * </pre>
+     *
+     * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+     */
+    boolean hasBatch();
+    /**
+     * <pre>
+     * This journal entry is a frame holding a batch of other entries. When a journal entry
+     * contains a batch, all other optional fields must be unset.
+     * </pre>
+     *
+     * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+     */
+    alluxio.proto.journal.Journal.JournalEntryBatch getBatch();
+    /**
+     * <pre>
+     * This journal entry is a frame holding a batch of other entries. When a journal entry
+     * contains a batch, all other optional fields must be unset.
+     * </pre>
+     *
+     * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+     */
+    alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder getBatchOrBuilder();
   }
   /**
    * <pre>
-   * next available id: 51
+   * next available id: 52
    * </pre>
    *
    * Protobuf type {@code alluxio.proto.journal.JournalEntry}
@@ -1053,6 +1081,19 @@ public final class Journal {
               bitField0_ |= 0x00800000;
               break;
             }
+            case 410: {
+              alluxio.proto.journal.Journal.JournalEntryBatch.Builder subBuilder = null;
+              if (((bitField1_ & 0x00000010) == 0x00000010)) {
+                subBuilder = batch_.toBuilder();
+              }
+              batch_ = input.readMessage(alluxio.proto.journal.Journal.JournalEntryBatch.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(batch_);
+                batch_ = subBuilder.buildPartial();
+              }
+              bitField1_ |= 0x00000010;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -1892,6 +1933,42 @@ public final class Journal {
       return journalEntries_.get(index);
     }
 
+    public static final int BATCH_FIELD_NUMBER = 51;
+    private alluxio.proto.journal.Journal.JournalEntryBatch batch_;
+    /**
+     * <pre>
+     * This journal entry is a frame holding a batch of other entries. When a journal entry
+     * contains a batch, all other optional fields must be unset.
+     * </pre>
+     *
+     * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+     */
+    public boolean hasBatch() {
+      return ((bitField1_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <pre>
+     * This journal entry is a frame holding a batch of other entries. When a journal entry
+     * contains a batch, all other optional fields must be unset.
+     * </pre>
+     *
+     * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+     */
+    public alluxio.proto.journal.Journal.JournalEntryBatch getBatch() {
+      return batch_ == null ? alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance() : batch_;
+    }
+    /**
+     * <pre>
+     * This journal entry is a frame holding a batch of other entries. When a journal entry
+     * contains a batch, all other optional fields must be unset.
+     * </pre>
+     *
+     * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+     */
+    public alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder getBatchOrBuilder() {
+      return batch_ == null ? alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance() : batch_;
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -2039,6 +2116,9 @@ public final class Journal {
       if (((bitField0_ & 0x00800000) == 0x00800000)) {
         output.writeMessage(50, getRemoveTable());
       }
+      if (((bitField1_ & 0x00000010) == 0x00000010)) {
+        output.writeMessage(51, getBatch());
+      }
       unknownFields.writeTo(output);
     }
 
@@ -2195,6 +2275,10 @@ public final class Journal {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(50, getRemoveTable());
       }
+      if (((bitField1_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(51, getBatch());
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -2393,6 +2477,11 @@ public final class Journal {
       }
       result = result && getJournalEntriesList()
           .equals(other.getJournalEntriesList());
+      result = result && (hasBatch() == other.hasBatch());
+      if (hasBatch()) {
+        result = result && getBatch()
+            .equals(other.getBatch());
+      }
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -2553,6 +2642,10 @@ public final class Journal {
         hash = (37 * hash) + JOURNAL_ENTRIES_FIELD_NUMBER;
         hash = (53 * hash) + getJournalEntriesList().hashCode();
       }
+      if (hasBatch()) {
+        hash = (37 * hash) + BATCH_FIELD_NUMBER;
+        hash = (53 * hash) + getBatch().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -2648,7 +2741,7 @@ public final class Journal {
     }
     /**
      * <pre>
-     * next available id: 51
+     * next available id: 52
      * </pre>
      *
      * Protobuf type {@code alluxio.proto.journal.JournalEntry}
@@ -2718,6 +2811,7 @@ public final class Journal {
           getUpdateInodeDirectoryFieldBuilder();
           getUpdateInodeFileFieldBuilder();
           getJournalEntriesFieldBuilder();
+          getBatchFieldBuilder();
         }
       }
       public Builder clear() {
@@ -2940,6 +3034,12 @@ public final class Journal {
         } else {
           journalEntriesBuilder_.clear();
         }
+        if (batchBuilder_ == null) {
+          batch_ = null;
+        } else {
+          batchBuilder_.clear();
+        }
+        bitField1_ = (bitField1_ & ~0x00000020);
         return this;
       }
 
@@ -3259,6 +3359,14 @@ public final class Journal {
         } else {
           result.journalEntries_ = journalEntriesBuilder_.build();
         }
+        if (((from_bitField1_ & 0x00000020) == 0x00000020)) {
+          to_bitField1_ |= 0x00000010;
+        }
+        if (batchBuilder_ == null) {
+          result.batch_ = batch_;
+        } else {
+          result.batch_ = batchBuilder_.build();
+        }
         result.bitField0_ = to_bitField0_;
         result.bitField1_ = to_bitField1_;
         onBuilt();
@@ -3436,6 +3544,9 @@ public final class Journal {
             }
           }
         }
+        if (other.hasBatch()) {
+          mergeBatch(other.getBatch());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -7976,6 +8087,169 @@ public final class Journal {
         }
         return journalEntriesBuilder_;
       }
+
+      private alluxio.proto.journal.Journal.JournalEntryBatch batch_ = null;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          alluxio.proto.journal.Journal.JournalEntryBatch, alluxio.proto.journal.Journal.JournalEntryBatch.Builder, alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder> batchBuilder_;
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public boolean hasBatch() {
+        return ((bitField1_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public alluxio.proto.journal.Journal.JournalEntryBatch getBatch() {
+        if (batchBuilder_ == null) {
+          return batch_ == null ? alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance() : batch_;
+        } else {
+          return batchBuilder_.getMessage();
+        }
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public Builder setBatch(alluxio.proto.journal.Journal.JournalEntryBatch value) {
+        if (batchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          batch_ = value;
+          onChanged();
+        } else {
+          batchBuilder_.setMessage(value);
+        }
+        bitField1_ |= 0x00000020;
+        return this;
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public Builder setBatch(
+          alluxio.proto.journal.Journal.JournalEntryBatch.Builder builderForValue) {
+        if (batchBuilder_ == null) {
+          batch_ = builderForValue.build();
+          onChanged();
+        } else {
+          batchBuilder_.setMessage(builderForValue.build());
+        }
+        bitField1_ |= 0x00000020;
+        return this;
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public Builder mergeBatch(alluxio.proto.journal.Journal.JournalEntryBatch value) {
+        if (batchBuilder_ == null) {
+          if (((bitField1_ & 0x00000020) == 0x00000020) &&
+              batch_ != null &&
+              batch_ != alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance()) {
+            batch_ =
+              alluxio.proto.journal.Journal.JournalEntryBatch.newBuilder(batch_).mergeFrom(value).buildPartial();
+          } else {
+            batch_ = value;
+          }
+          onChanged();
+        } else {
+          batchBuilder_.mergeFrom(value);
+        }
+        bitField1_ |= 0x00000020;
+        return this;
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public Builder clearBatch() {
+        if (batchBuilder_ == null) {
+          batch_ = null;
+          onChanged();
+        } else {
+          batchBuilder_.clear();
+        }
+        bitField1_ = (bitField1_ & ~0x00000020);
+        return this;
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public alluxio.proto.journal.Journal.JournalEntryBatch.Builder getBatchBuilder() {
+        bitField1_ |= 0x00000020;
+        onChanged();
+        return getBatchFieldBuilder().getBuilder();
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      public alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder getBatchOrBuilder() {
+        if (batchBuilder_ != null) {
+          return batchBuilder_.getMessageOrBuilder();
+        } else {
+          return batch_ == null ?
+              alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance() : batch_;
+        }
+      }
+      /**
+       * <pre>
+       * This journal entry is a frame holding a batch of other entries. When a journal entry
+       * contains a batch, all other optional fields must be unset.
+       * </pre>
+       *
+       * <code>optional .alluxio.proto.journal.JournalEntryBatch batch = 51;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          alluxio.proto.journal.Journal.JournalEntryBatch, alluxio.proto.journal.Journal.JournalEntryBatch.Builder, alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder> 
+          getBatchFieldBuilder() {
+        if (batchBuilder_ == null) {
+          batchBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              alluxio.proto.journal.Journal.JournalEntryBatch, alluxio.proto.journal.Journal.JournalEntryBatch.Builder, alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder>(
+                  getBatch(),
+                  getParentForChildren(),
+                  isClean());
+          batch_ = null;
+        }
+        return batchBuilder_;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return super.setUnknownFields(unknownFields);
@@ -8025,112 +8299,914 @@ public final class Journal {
 
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_alluxio_proto_journal_JournalEntry_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_alluxio_proto_journal_JournalEntry_fieldAccessorTable;
+  public interface JournalEntryBatchOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:alluxio.proto.journal.JournalEntryBatch)
+      com.google.protobuf.MessageOrBuilder {
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+    /**
+     * <code>optional bytes entries = 1;</code>
+     */
+    boolean hasEntries();
+    /**
+     * <code>optional bytes entries = 1;</code>
+     */
+    com.google.protobuf.ByteString getEntries();
+
+    /**
+     * <code>optional bool compressed = 2;</code>
+     */
+    boolean hasCompressed();
+    /**
+     * <code>optional bool compressed = 2;</code>
+     */
+    boolean getCompressed();
+
+    /**
+     * <pre>
+     * CRC32 of the entries bytes as stored.
+     * </pre>
+     *
+     * <code>optional fixed32 checksum = 3;</code>
+     */
+    boolean hasChecksum();
+    /**
+     * <pre>
+     * CRC32 of the entries bytes as stored.
+     * </pre>
+     *
+     * <code>optional fixed32 checksum = 3;</code>
+     */
+    int getChecksum();
+
+    /**
+     * <code>optional int32 entry_count = 4;</code>
+     */
+    boolean hasEntryCount();
+    /**
+     * <code>optional int32 entry_count = 4;</code>
+     */
+    int getEntryCount();
   }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\033proto/journal/journal.proto\022\025alluxio.p" +
-      "roto.journal\032\031proto/journal/block.proto\032" +
-      "\030proto/journal/file.proto\032\030proto/journal" +
-      "/meta.proto\032\031proto/journal/table.proto\"\370" +
-      "\023\n\014JournalEntry\022\027\n\017sequence_number\030\001 \001(\003" +
-      "\022E\n\021active_sync_tx_id\030\" \001(\0132*.alluxio.pr" +
-      "oto.journal.ActiveSyncTxIdEntry\0227\n\tadd_t" +
-      "able\030+ \001(\0132$.alluxio.proto.journal.AddTa" +
-      "bleEntry\022@\n\016add_sync_point\030  \001(\0132(.allux" +
-      "io.proto.journal.AddSyncPointEntry\022B\n\017ad" +
-      "d_mount_point\030\002 \001(\0132).alluxio.proto.jour" +
-      "nal.AddMountPointEntry\022N\n\025async_persist_" +
-      "request\030\020 \001(\0132/.alluxio.proto.journal.As" +
-      "yncPersistRequestEntry\0227\n\tattach_db\030, \001(" +
-      "\0132$.alluxio.proto.journal.AttachDbEntry\022" +
-      "[\n\034block_container_id_generator\030\003 \001(\01325." +
-      "alluxio.proto.journal.BlockContainerIdGe" +
-      "neratorEntry\0229\n\nblock_info\030\004 \001(\0132%.allux" +
-      "io.proto.journal.BlockInfoEntry\022=\n\014clust" +
-      "er_info\030* \001(\0132\'.alluxio.proto.journal.Cl" +
-      "usterInfoEntry\022?\n\rcomplete_file\030\005 \001(\0132(." +
-      "alluxio.proto.journal.CompleteFileEntry\022" +
-      "=\n\014delete_block\030\035 \001(\0132\'.alluxio.proto.jo" +
-      "urnal.DeleteBlockEntry\022;\n\013delete_file\030\006 " +
-      "\001(\0132&.alluxio.proto.journal.DeleteFileEn" +
-      "try\022H\n\022delete_mount_point\030\010 \001(\0132,.alluxi" +
-      "o.proto.journal.DeleteMountPointEntry\0227\n" +
-      "\tdetach_db\030- \001(\0132$.alluxio.proto.journal" +
-      ".DetachDbEntry\022C\n\017inode_directory\030\t \001(\0132" +
-      "*.alluxio.proto.journal.InodeDirectoryEn" +
-      "try\022[\n\034inode_directory_id_generator\030\n \001(" +
-      "\01325.alluxio.proto.journal.InodeDirectory" +
-      "IdGeneratorEntry\0229\n\ninode_file\030\013 \001(\0132%.a" +
-      "lluxio.proto.journal.InodeFileEntry\022[\n\034i" +
-      "node_last_modification_time\030\014 \001(\01325.allu" +
-      "xio.proto.journal.InodeLastModificationT" +
-      "imeEntry\0227\n\tnew_block\030& \001(\0132$.alluxio.pr" +
-      "oto.journal.NewBlockEntry\022C\n\017path_proper" +
-      "ties\030( \001(\0132*.alluxio.proto.journal.PathP" +
-      "ropertiesEntry\022G\n\021persist_directory\030\017 \001(" +
-      "\0132,.alluxio.proto.journal.PersistDirecto" +
-      "ryEntry\022P\n\026remove_path_properties\030) \001(\0132" +
-      "0.alluxio.proto.journal.RemovePathProper" +
-      "tiesEntry\022=\n\014remove_table\0302 \001(\0132\'.alluxi" +
-      "o.proto.journal.RemoveTableEntry\022U\n\031remo" +
-      "ve_transform_job_info\030/ \001(\01322.alluxio.pr" +
-      "oto.journal.RemoveTransformJobInfoEntry\022" +
-      "F\n\021remove_sync_point\030! \001(\0132+.alluxio.pro" +
-      "to.journal.RemoveSyncPointEntry\0222\n\006renam" +
-      "e\030\023 \001(\0132\".alluxio.proto.journal.RenameEn" +
-      "try\0223\n\007set_acl\030\037 \001(\0132\".alluxio.proto.jou" +
-      "rnal.SetAclEntry\022?\n\rset_attribute\030\033 \001(\0132" +
-      "(.alluxio.proto.journal.SetAttributeEntr" +
-      "y\022O\n\026add_transform_job_info\030. \001(\0132/.allu" +
-      "xio.proto.journal.AddTransformJobInfoEnt" +
-      "ry\022T\n\030complete_transform_table\0300 \001(\01322.a" +
-      "lluxio.proto.journal.CompleteTransformTa" +
-      "bleEntry\022L\n\024update_database_info\0301 \001(\0132." +
-      ".alluxio.proto.journal.UpdateDatabaseInf" +
-      "oEntry\022B\n\017update_ufs_mode\030\036 \001(\0132).alluxi" +
-      "o.proto.journal.UpdateUfsModeEntry\022=\n\014up" +
-      "date_inode\030# \001(\0132\'.alluxio.proto.journal" +
-      ".UpdateInodeEntry\022P\n\026update_inode_direct" +
-      "ory\030$ \001(\01320.alluxio.proto.journal.Update" +
-      "InodeDirectoryEntry\022F\n\021update_inode_file" +
-      "\030% \001(\0132+.alluxio.proto.journal.UpdateIno" +
-      "deFileEntry\022<\n\017journal_entries\030\' \003(\0132#.a" +
-      "lluxio.proto.journal.JournalEntryB\027\n\025all" +
-      "uxio.proto.journal"
-    };
-    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
-        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
-          public com.google.protobuf.ExtensionRegistry assignDescriptors(
-              com.google.protobuf.Descriptors.FileDescriptor root) {
-            descriptor = root;
-            return null;
-          }
-        };
-    com.google.protobuf.Descriptors.FileDescriptor
-      .internalBuildGeneratedFileFrom(descriptorData,
-        new com.google.protobuf.Descriptors.FileDescriptor[] {
-          alluxio.proto.journal.Block.getDescriptor(),
-          alluxio.proto.journal.File.getDescriptor(),
-          alluxio.proto.journal.Meta.getDescriptor(),
-          alluxio.proto.journal.Table.getDescriptor(),
-        }, assigner);
+  /**
+   * <pre>
+   * A frame of journal entries written as a single unit. The entries are stored as a serialized
+   * JournalEntry whose journal_entries field holds the batch, optionally deflate-compressed.
+   * </pre>
+   *
+   * Protobuf type {@code alluxio.proto.journal.JournalEntryBatch}
+   */
+  public  static final class JournalEntryBatch extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:alluxio.proto.journal.JournalEntryBatch)
+      JournalEntryBatchOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use JournalEntryBatch.newBuilder() to construct.
+    private JournalEntryBatch(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private JournalEntryBatch() {
+      entries_ = com.google.protobuf.ByteString.EMPTY;
+      compressed_ = false;
+      checksum_ = 0;
+      entryCount_ = 0;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private JournalEntryBatch(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              entries_ = input.readBytes();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              compressed_ = input.readBool();
+              break;
+            }
+            case 29: {
+              bitField0_ |= 0x00000004;
+              checksum_ = input.readFixed32();
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              entryCount_ = input.readInt32();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return alluxio.proto.journal.Journal.internal_static_alluxio_proto_journal_JournalEntryBatch_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return alluxio.proto.journal.Journal.internal_static_alluxio_proto_journal_JournalEntryBatch_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              alluxio.proto.journal.Journal.JournalEntryBatch.class, alluxio.proto.journal.Journal.JournalEntryBatch.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int ENTRIES_FIELD_NUMBER = 1;
+    private com.google.protobuf.ByteString entries_;
+    /**
+     * <code>optional bytes entries = 1;</code>
+     */
+    public boolean hasEntries() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional bytes entries = 1;</code>
+     */
+    public com.google.protobuf.ByteString getEntries() {
+      return entries_;
+    }
+
+    public static final int COMPRESSED_FIELD_NUMBER = 2;
+    private boolean compressed_;
+    /**
+     * <code>optional bool compressed = 2;</code>
+     */
+    public boolean hasCompressed() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional bool compressed = 2;</code>
+     */
+    public boolean getCompressed() {
+      return compressed_;
+    }
+
+    public static final int CHECKSUM_FIELD_NUMBER = 3;
+    private int checksum_;
+    /**
+     * <pre>
+     * CRC32 of the entries bytes as stored.
+     * </pre>
+     *
+     * <code>optional fixed32 checksum = 3;</code>
+     */
+    public boolean hasChecksum() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <pre>
+     * CRC32 of the entries bytes as stored.
+     * </pre>
+     *
+     * <code>optional fixed32 checksum = 3;</code>
+     */
+    public int getChecksum() {
+      return checksum_;
+    }
+
+    public static final int ENTRY_COUNT_FIELD_NUMBER = 4;
+    private int entryCount_;
+    /**
+     * <code>optional int32 entry_count = 4;</code>
+     */
+    public boolean hasEntryCount() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional int32 entry_count = 4;</code>
+     */
+    public int getEntryCount() {
+      return entryCount_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, entries_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBool(2, compressed_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeFixed32(3, checksum_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeInt32(4, entryCount_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, entries_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(2, compressed_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFixed32Size(3, checksum_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(4, entryCount_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof alluxio.proto.journal.Journal.JournalEntryBatch)) {
+        return super.equals(obj);
+      }
+      alluxio.proto.journal.Journal.JournalEntryBatch other = (alluxio.proto.journal.Journal.JournalEntryBatch) obj;
+
+      boolean result = true;
+      result = result && (hasEntries() == other.hasEntries());
+      if (hasEntries()) {
+        result = result && getEntries()
+            .equals(other.getEntries());
+      }
+      result = result && (hasCompressed() == other.hasCompressed());
+      if (hasCompressed()) {
+        result = result && (getCompressed()
+            == other.getCompressed());
+      }
+      result = result && (hasChecksum() == other.hasChecksum());
+      if (hasChecksum()) {
+        result = result && (getChecksum()
+            == other.getChecksum());
+      }
+      result = result && (hasEntryCount() == other.hasEntryCount());
+      if (hasEntryCount()) {
+        result = result && (getEntryCount()
+            == other.getEntryCount());
+      }
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasEntries()) {
+        hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEntries().hashCode();
+      }
+      if (hasCompressed()) {
+        hash = (37 * hash) + COMPRESSED_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getCompressed());
+      }
+      if (hasChecksum()) {
+        hash = (37 * hash) + CHECKSUM_FIELD_NUMBER;
+        hash = (53 * hash) + getChecksum();
+      }
+      if (hasEntryCount()) {
+        hash = (37 * hash) + ENTRY_COUNT_FIELD_NUMBER;
+        hash = (53 * hash) + getEntryCount();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static alluxio.proto.journal.Journal.JournalEntryBatch parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(alluxio.proto.journal.Journal.JournalEntryBatch prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * A frame of journal entries written as a single unit. The entries are stored as a serialized
+     * JournalEntry whose journal_entries field holds the batch, optionally deflate-compressed.
+     * </pre>
+     *
+     * Protobuf type {@code alluxio.proto.journal.JournalEntryBatch}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:alluxio.proto.journal.JournalEntryBatch)
+        alluxio.proto.journal.Journal.JournalEntryBatchOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return alluxio.proto.journal.Journal.internal_static_alluxio_proto_journal_JournalEntryBatch_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return alluxio.proto.journal.Journal.internal_static_alluxio_proto_journal_JournalEntryBatch_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                alluxio.proto.journal.Journal.JournalEntryBatch.class, alluxio.proto.journal.Journal.JournalEntryBatch.Builder.class);
+      }
+
+      // Construct using alluxio.proto.journal.Journal.JournalEntryBatch.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        entries_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        compressed_ = false;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        checksum_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        entryCount_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return alluxio.proto.journal.Journal.internal_static_alluxio_proto_journal_JournalEntryBatch_descriptor;
+      }
+
+      public alluxio.proto.journal.Journal.JournalEntryBatch getDefaultInstanceForType() {
+        return alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance();
+      }
+
+      public alluxio.proto.journal.Journal.JournalEntryBatch build() {
+        alluxio.proto.journal.Journal.JournalEntryBatch result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public alluxio.proto.journal.Journal.JournalEntryBatch buildPartial() {
+        alluxio.proto.journal.Journal.JournalEntryBatch result = new alluxio.proto.journal.Journal.JournalEntryBatch(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.entries_ = entries_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.compressed_ = compressed_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.checksum_ = checksum_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.entryCount_ = entryCount_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof alluxio.proto.journal.Journal.JournalEntryBatch) {
+          return mergeFrom((alluxio.proto.journal.Journal.JournalEntryBatch)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(alluxio.proto.journal.Journal.JournalEntryBatch other) {
+        if (other == alluxio.proto.journal.Journal.JournalEntryBatch.getDefaultInstance()) return this;
+        if (other.hasEntries()) {
+          setEntries(other.getEntries());
+        }
+        if (other.hasCompressed()) {
+          setCompressed(other.getCompressed());
+        }
+        if (other.hasChecksum()) {
+          setChecksum(other.getChecksum());
+        }
+        if (other.hasEntryCount()) {
+          setEntryCount(other.getEntryCount());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        alluxio.proto.journal.Journal.JournalEntryBatch parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (alluxio.proto.journal.Journal.JournalEntryBatch) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.ByteString entries_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes entries = 1;</code>
+       */
+      public boolean hasEntries() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional bytes entries = 1;</code>
+       */
+      public com.google.protobuf.ByteString getEntries() {
+        return entries_;
+      }
+      /**
+       * <code>optional bytes entries = 1;</code>
+       */
+      public Builder setEntries(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        entries_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes entries = 1;</code>
+       */
+      public Builder clearEntries() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        entries_ = getDefaultInstance().getEntries();
+        onChanged();
+        return this;
+      }
+
+      private boolean compressed_ ;
+      /**
+       * <code>optional bool compressed = 2;</code>
+       */
+      public boolean hasCompressed() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional bool compressed = 2;</code>
+       */
+      public boolean getCompressed() {
+        return compressed_;
+      }
+      /**
+       * <code>optional bool compressed = 2;</code>
+       */
+      public Builder setCompressed(boolean value) {
+        bitField0_ |= 0x00000002;
+        compressed_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool compressed = 2;</code>
+       */
+      public Builder clearCompressed() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        compressed_ = false;
+        onChanged();
+        return this;
+      }
+
+      private int checksum_ ;
+      /**
+       * <pre>
+       * CRC32 of the entries bytes as stored.
+       * </pre>
+       *
+       * <code>optional fixed32 checksum = 3;</code>
+       */
+      public boolean hasChecksum() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <pre>
+       * CRC32 of the entries bytes as stored.
+       * </pre>
+       *
+       * <code>optional fixed32 checksum = 3;</code>
+       */
+      public int getChecksum() {
+        return checksum_;
+      }
+      /**
+       * <pre>
+       * CRC32 of the entries bytes as stored.
+       * </pre>
+       *
+       * <code>optional fixed32 checksum = 3;</code>
+       */
+      public Builder setChecksum(int value) {
+        bitField0_ |= 0x00000004;
+        checksum_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * CRC32 of the entries bytes as stored.
+       * </pre>
+       *
+       * <code>optional fixed32 checksum = 3;</code>
+       */
+      public Builder clearChecksum() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        checksum_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int entryCount_ ;
+      /**
+       * <code>optional int32 entry_count = 4;</code>
+       */
+      public boolean hasEntryCount() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional int32 entry_count = 4;</code>
+       */
+      public int getEntryCount() {
+        return entryCount_;
+      }
+      /**
+       * <code>optional int32 entry_count = 4;</code>
+       */
+      public Builder setEntryCount(int value) {
+        bitField0_ |= 0x00000008;
+        entryCount_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 entry_count = 4;</code>
+       */
+      public Builder clearEntryCount() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        entryCount_ = 0;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:alluxio.proto.journal.JournalEntryBatch)
+    }
+
+    // @@protoc_insertion_point(class_scope:alluxio.proto.journal.JournalEntryBatch)
+    private static final alluxio.proto.journal.Journal.JournalEntryBatch DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new alluxio.proto.journal.Journal.JournalEntryBatch();
+    }
+
+    public static alluxio.proto.journal.Journal.JournalEntryBatch getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    @java.lang.Deprecated public static final com.google.protobuf.Parser<JournalEntryBatch>
+        PARSER = new com.google.protobuf.AbstractParser<JournalEntryBatch>() {
+      public JournalEntryBatch parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new JournalEntryBatch(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<JournalEntryBatch> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<JournalEntryBatch> getParserForType() {
+      return PARSER;
+    }
+
+    public alluxio.proto.journal.Journal.JournalEntryBatch getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_alluxio_proto_journal_JournalEntry_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_alluxio_proto_journal_JournalEntry_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_alluxio_proto_journal_JournalEntryBatch_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_alluxio_proto_journal_JournalEntryBatch_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\033proto/journal/journal.proto\022\025alluxio.p" +
+      "roto.journal\032\031proto/journal/block.proto\032" +
+      "\030proto/journal/file.proto\032\030proto/journal" +
+      "/meta.proto\032\031proto/journal/table.proto\"\261" +
+      "\024\n\014JournalEntry\022\027\n\017sequence_number\030\001 \001(\003" +
+      "\022E\n\021active_sync_tx_id\030\" \001(\0132*.alluxio.pr" +
+      "oto.journal.ActiveSyncTxIdEntry\0227\n\tadd_t" +
+      "able\030+ \001(\0132$.alluxio.proto.journal.AddTa" +
+      "bleEntry\022@\n\016add_sync_point\030  \001(\0132(.allux" +
+      "io.proto.journal.AddSyncPointEntry\022B\n\017ad" +
+      "d_mount_point\030\002 \001(\0132).alluxio.proto.jour" +
+      "nal.AddMountPointEntry\022N\n\025async_persist_" +
+      "request\030\020 \001(\0132/.alluxio.proto.journal.As" +
+      "yncPersistRequestEntry\0227\n\tattach_db\030, \001(" +
+      "\0132$.alluxio.proto.journal.AttachDbEntry\022" +
+      "[\n\034block_container_id_generator\030\003 \001(\01325." +
+      "alluxio.proto.journal.BlockContainerIdGe" +
+      "neratorEntry\0229\n\nblock_info\030\004 \001(\0132%.allux" +
+      "io.proto.journal.BlockInfoEntry\022=\n\014clust" +
+      "er_info\030* \001(\0132\'.alluxio.proto.journal.Cl" +
+      "usterInfoEntry\022?\n\rcomplete_file\030\005 \001(\0132(." +
+      "alluxio.proto.journal.CompleteFileEntry\022" +
+      "=\n\014delete_block\030\035 \001(\0132\'.alluxio.proto.jo" +
+      "urnal.DeleteBlockEntry\022;\n\013delete_file\030\006 " +
+      "\001(\0132&.alluxio.proto.journal.DeleteFileEn" +
+      "try\022H\n\022delete_mount_point\030\010 \001(\0132,.alluxi" +
+      "o.proto.journal.DeleteMountPointEntry\0227\n" +
+      "\tdetach_db\030- \001(\0132$.alluxio.proto.journal" +
+      ".DetachDbEntry\022C\n\017inode_directory\030\t \001(\0132" +
+      "*.alluxio.proto.journal.InodeDirectoryEn" +
+      "try\022[\n\034inode_directory_id_generator\030\n \001(" +
+      "\01325.alluxio.proto.journal.InodeDirectory" +
+      "IdGeneratorEntry\0229\n\ninode_file\030\013 \001(\0132%.a" +
+      "lluxio.proto.journal.InodeFileEntry\022[\n\034i" +
+      "node_last_modification_time\030\014 \001(\01325.allu" +
+      "xio.proto.journal.InodeLastModificationT" +
+      "imeEntry\0227\n\tnew_block\030& \001(\0132$.alluxio.pr" +
+      "oto.journal.NewBlockEntry\022C\n\017path_proper" +
+      "ties\030( \001(\0132*.alluxio.proto.journal.PathP" +
+      "ropertiesEntry\022G\n\021persist_directory\030\017 \001(" +
+      "\0132,.alluxio.proto.journal.PersistDirecto" +
+      "ryEntry\022P\n\026remove_path_properties\030) \001(\0132" +
+      "0.alluxio.proto.journal.RemovePathProper" +
+      "tiesEntry\022=\n\014remove_table\0302 \001(\0132\'.alluxi" +
+      "o.proto.journal.RemoveTableEntry\022U\n\031remo" +
+      "ve_transform_job_info\030/ \001(\01322.alluxio.pr" +
+      "oto.journal.RemoveTransformJobInfoEntry\022" +
+      "F\n\021remove_sync_point\030! \001(\0132+.alluxio.pro" +
+      "to.journal.RemoveSyncPointEntry\0222\n\006renam" +
+      "e\030\023 \001(\0132\".alluxio.proto.journal.RenameEn" +
+      "try\0223\n\007set_acl\030\037 \001(\0132\".alluxio.proto.jou" +
+      "rnal.SetAclEntry\022?\n\rset_attribute\030\033 \001(\0132" +
+      "(.alluxio.proto.journal.SetAttributeEntr" +
+      "y\022O\n\026add_transform_job_info\030. \001(\0132/.allu" +
+      "xio.proto.journal.AddTransformJobInfoEnt" +
+      "ry\022T\n\030complete_transform_table\0300 \001(\01322.a" +
+      "lluxio.proto.journal.CompleteTransformTa" +
+      "bleEntry\022L\n\024update_database_info\0301 \001(\0132." +
+      ".alluxio.proto.journal.UpdateDatabaseInf" +
+      "oEntry\022B\n\017update_ufs_mode\030\036 \001(\0132).alluxi" +
+      "o.proto.journal.UpdateUfsModeEntry\022=\n\014up" +
+      "date_inode\030# \001(\0132\'.alluxio.proto.journal" +
+      ".UpdateInodeEntry\022P\n\026update_inode_direct" +
+      "ory\030$ \001(\01320.alluxio.proto.journal.Update" +
+      "InodeDirectoryEntry\022F\n\021update_inode_file" +
+      "\030% \001(\0132+.alluxio.proto.journal.UpdateIno" +
+      "deFileEntry\022<\n\017journal_entries\030\' \003(\0132#.a" +
+      "lluxio.proto.journal.JournalEntry\0227\n\005bat" +
+      "ch\0303 \001(\0132(.alluxio.proto.journal.Journal" +
+      "EntryBatch\"_\n\021JournalEntryBatch\022\017\n\007entri" +
+      "es\030\001 \001(\014\022\022\n\ncompressed\030\002 \001(\010\022\020\n\010checksum" +
+      "\030\003 \001(\007\022\023\n\013entry_count\030\004 \001(\005B\027\n\025alluxio.p" +
+      "roto.journal"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+          alluxio.proto.journal.Block.getDescriptor(),
+          alluxio.proto.journal.File.getDescriptor(),
+          alluxio.proto.journal.Meta.getDescriptor(),
+          alluxio.proto.journal.Table.getDescriptor(),
+        }, assigner);
     internal_static_alluxio_proto_journal_JournalEntry_descriptor =
       getDescriptor().getMessageTypes().get(0);
     internal_static_alluxio_proto_journal_JournalEntry_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_alluxio_proto_journal_JournalEntry_descriptor,
-        new java.lang.String[] { "SequenceNumber", "ActiveSyncTxId", "AddTable", "AddSyncPoint", "AddMountPoint", "AsyncPersistRequest", "AttachDb", "BlockContainerIdGenerator", "BlockInfo", "ClusterInfo", "CompleteFile", "DeleteBlock", "DeleteFile", "DeleteMountPoint", "DetachDb", "InodeDirectory", "InodeDirectoryIdGenerator", "InodeFile", "InodeLastModificationTime", "NewBlock", "PathProperties", "PersistDirectory", "RemovePathProperties", "RemoveTable", "RemoveTransformJobInfo", "RemoveSyncPoint", "Rename", "SetAcl", "SetAttribute", "AddTransformJobInfo", "CompleteTransformTable", "UpdateDatabaseInfo", "UpdateUfsMode", "UpdateInode", "UpdateInodeDirectory", "UpdateInodeFile", "JournalEntries", });
+        new java.lang.String[] { "SequenceNumber", "ActiveSyncTxId", "AddTable", "AddSyncPoint", "AddMountPoint", "AsyncPersistRequest", "AttachDb", "BlockContainerIdGenerator", "BlockInfo", "ClusterInfo", "CompleteFile", "DeleteBlock", "DeleteFile", "DeleteMountPoint", "DetachDb", "InodeDirectory", "InodeDirectoryIdGenerator", "InodeFile", "InodeLastModificationTime", "NewBlock", "PathProperties", "PersistDirectory", "RemovePathProperties", "RemoveTable", "RemoveTransformJobInfo", "RemoveSyncPoint", "Rename", "SetAcl", "SetAttribute", "AddTransformJobInfo", "CompleteTransformTable", "UpdateDatabaseInfo", "UpdateUfsMode", "UpdateInode", "UpdateInodeDirectory", "UpdateInodeFile", "JournalEntries", "Batch", });
+    internal_static_alluxio_proto_journal_JournalEntryBatch_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_alluxio_proto_journal_JournalEntryBatch_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_alluxio_proto_journal_JournalEntryBatch_descriptor,
+        new java.lang.String[] { "Entries", "Compressed", "Checksum", "EntryCount", });
     alluxio.proto.journal.Block.getDescriptor();
     alluxio.proto.journal.File.getDescriptor();
     alluxio.proto.journal.Meta.getDescriptor();
@@ -13,6 +13,7 @@ package alluxio.underfs.cos;
 
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
+import alluxio.underfs.ObjectReadAhead;
 
 import com.qcloud.cos.COSClient;
 import com.qcloud.cos.exception.CosServiceException;
@@ -23,6 +24,7 @@ import org.apache.commons.httpclient.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.BufferedInputStream;
 import java.io.IOException;
@@ -54,6 +56,12 @@ public class COSInputStream extends MultiRangeObjectInputStream {
    */
   private final RetryPolicy mRetryPolicy;
 
+  /**
+   * Whether a range of the object has been opened. Since all ranges share the retry policy, a
+   * missing key is only retried until then.
+   */
+  private volatile boolean mOpened;
+
   /**
    * Creates a new instance of {@link COSInputStream}.
    *
@@ -80,7 +88,24 @@ public class COSInputStream extends MultiRangeObjectInputStream {
    */
   COSInputStream(String bucketName, String key, COSClient client, long position,
       RetryPolicy retryPolicy, long multiRangeChunkSize) throws IOException {
-    super(multiRangeChunkSize);
+    this(bucketName, key, client, position, retryPolicy, multiRangeChunkSize, null);
+  }
+
+  /**
+   * Creates a new instance of {@link COSInputStream}.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for COS
+   * @param position the position to begin reading from
+   * @param retryPolicy retry policy in case the key does not exist
+   * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param readAhead the resources to read ranges ahead with, or null to not read ahead
+   */
+  COSInputStream(String bucketName, String key, COSClient client, long position,
+      RetryPolicy retryPolicy, long multiRangeChunkSize, @Nullable ObjectReadAhead readAhead)
+      throws IOException {
+    super(multiRangeChunkSize, readAhead);
     mBucketName = bucketName;
     mKey = key;
     mCosClient = client;
@@ -90,6 +115,11 @@ public class COSInputStream extends MultiRangeObjectInputStream {
     mContentLength = meta == null ? 0 : meta.getContentLength();
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos)
       throws IOException {
@@ -97,14 +127,15 @@ public class COSInputStream extends MultiRangeObjectInputStream {
     // COS returns entire object if we read past the end
     req.setRange(startPos, endPos < mContentLength ? endPos - 1 : mContentLength - 1);
     CosServiceException lastException = null;
-    while (mRetryPolicy.attempt()) {
+    while (mOpened || mRetryPolicy.attempt()) {
       try {
         COSObject object = mCosClient.getObject(req);
+        mOpened = true;
         return new BufferedInputStream(object.getObjectContent());
       } catch (CosServiceException e) {
         LOG.warn("Attempt {} to open key {} in bucket {} failed with exception : {}",
             mRetryPolicy.getAttemptCount(), mKey, mBucketName, e.toString());
-        if (e.getStatusCode() != HttpStatus.SC_NOT_FOUND) {
+        if (mOpened || e.getStatusCode() != HttpStatus.SC_NOT_FOUND) {
           throw new IOException(e);
         }
         // Key does not exist
@@ -302,7 +302,8 @@ public class COSUnderFileSystem extends ObjectUnderFileSystem {
       RetryPolicy retryPolicy) throws IOException {
     try {
       return new COSInputStream(mBucketNameInternal, key, mClient, options.getOffset(), retryPolicy,
-          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE));
+          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE),
+          getReadAhead());
     } catch (CosClientException e) {
       throw new IOException(e.getMessage());
     }
@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.gcs;
+
+import alluxio.retry.RetryPolicy;
+import alluxio.underfs.MultiRangeObjectInputStream;
+import alluxio.underfs.ObjectReadAhead;
+
+import org.apache.commons.httpclient.HttpStatus;
+import org.jets3t.service.ServiceException;
+import org.jets3t.service.impl.rest.httpclient.GoogleStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for reading an object in GCS with ranged GETs, which reads the ranges following the one
+ * being read ahead in parallel.
+ */
+@NotThreadSafe
+public final class GCSRangeInputStream extends MultiRangeObjectInputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(GCSRangeInputStream.class);
+
+  /** Bucket name of the Alluxio GCS bucket. */
+  private final String mBucketName;
+  /** Key of the file in GCS to read. */
+  private final String mKey;
+  /** The Jets3t client for GCS operations. */
+  private final GoogleStorageService mClient;
+  /** The size of the object in bytes. */
+  private final long mContentLength;
+
+  /**
+   * Creates a stream positioned at the specified position. The object is looked up when the stream
+   * is created, retrying with the given policy in case the key does not exist.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for GCS
+   * @param pos the position to begin reading from
+   * @param retryPolicy retry policy in case the key does not exist
+   * @param multiRangeChunkSize the chunk size to read ranges which were not read ahead with
+   * @param readAhead the resources to read ranges ahead with
+   */
+  GCSRangeInputStream(String bucketName, String key, GoogleStorageService client, long pos,
+      RetryPolicy retryPolicy, long multiRangeChunkSize, ObjectReadAhead readAhead)
+      throws IOException {
+    super(multiRangeChunkSize, readAhead);
+    mBucketName = bucketName;
+    mKey = key;
+    mClient = client;
+    mPos = pos;
+    mContentLength = lookUpContentLength(retryPolicy);
+  }
+
+  /**
+   * @param retryPolicy retry policy in case the key does not exist
+   * @return the length of the object
+   */
+  private long lookUpContentLength(RetryPolicy retryPolicy) throws IOException {
+    ServiceException lastException = null;
+    while (retryPolicy.attempt()) {
+      try {
+        return mClient.getObjectDetails(mBucketName, mKey).getContentLength();
+      } catch (ServiceException e) {
+        LOG.warn("Attempt {} to open key {} in bucket {} failed with exception : {}",
+            retryPolicy.getAttemptCount(), mKey, mBucketName, e.toString());
+        if (e.getResponseCode() != HttpStatus.SC_NOT_FOUND) {
+          throw new IOException(e);
+        }
+        // Key does not exist
+        lastException = e;
+      }
+    }
+    // Failed after retrying key does not exist
+    throw new IOException(lastException);
+  }
+
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
+  @Override
+  protected InputStream createStream(long startPos, long endPos) throws IOException {
+    try {
+      if (startPos == 0 && endPos >= mContentLength) {
+        // Setting the range is redundant and causes an error if the object is 0 length
+        return mClient.getObject(mBucketName, mKey).getDataInputStream();
+      }
+      return mClient.getObject(mBucketName, mKey, null, null, null, null, startPos,
+          Math.min(endPos, mContentLength) - 1).getDataInputStream();
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -15,6 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.retry.RetryPolicy;
+import alluxio.underfs.ObjectReadAhead;
 import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UfsDirectoryStatus;
 import alluxio.underfs.UnderFileSystem;
@@ -355,7 +356,13 @@ public class GCSUnderFileSystem extends ObjectUnderFileSystem {
   }
 
   @Override
-  protected InputStream openObject(String key, OpenOptions options, RetryPolicy retryPolicy) {
+  protected InputStream openObject(String key, OpenOptions options, RetryPolicy retryPolicy)
+      throws IOException {
+    ObjectReadAhead readAhead = getReadAhead();
+    if (readAhead != null) {
+      return new GCSRangeInputStream(mBucketName, key, mClient, options.getOffset(), retryPolicy,
+          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE), readAhead);
+    }
     return new GCSInputStream(mBucketName, key, mClient, options.getOffset(), retryPolicy);
   }
 }
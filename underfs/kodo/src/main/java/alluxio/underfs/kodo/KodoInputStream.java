@@ -14,6 +14,7 @@ package alluxio.underfs.kodo;
 import alluxio.exception.status.NotFoundException;
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
+import alluxio.underfs.ObjectReadAhead;
 
 import com.qiniu.common.QiniuException;
 import org.slf4j.Logger;
@@ -22,6 +23,8 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.annotation.Nullable;
+
 /**
  * A stream for reading a file from Kodo. This input stream returns 0 when calling read with an
  * empty buffer.
@@ -50,6 +53,12 @@ public class KodoInputStream extends MultiRangeObjectInputStream {
    */
   private final RetryPolicy mRetryPolicy;
 
+  /**
+   * Whether a range of the object has been opened. Since all ranges share the retry policy, a
+   * missing key is only retried until then.
+   */
+  private volatile boolean mOpened;
+
   /**
    * Constructor for an input stream to an object in Kodo.
    *
@@ -61,7 +70,23 @@ public class KodoInputStream extends MultiRangeObjectInputStream {
    */
   KodoInputStream(String key, KodoClient kodoClient, long position,
       RetryPolicy retryPolicy, long multiRangeChunkSize) throws QiniuException {
-    super(multiRangeChunkSize);
+    this(key, kodoClient, position, retryPolicy, multiRangeChunkSize, null);
+  }
+
+  /**
+   * Constructor for an input stream to an object in Kodo.
+   *
+   * @param key the key of the object
+   * @param kodoClient the Kodo client
+   * @param position the position to begin reading from
+   * @param retryPolicy retry policy in case the key does not exist
+   * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param readAhead the resources to read ranges ahead with, or null to not read ahead
+   */
+  KodoInputStream(String key, KodoClient kodoClient, long position,
+      RetryPolicy retryPolicy, long multiRangeChunkSize, @Nullable ObjectReadAhead readAhead)
+      throws QiniuException {
+    super(multiRangeChunkSize, readAhead);
     mKey = key;
     mKodoclent = kodoClient;
     mPos = position;
@@ -69,14 +94,24 @@ public class KodoInputStream extends MultiRangeObjectInputStream {
     mContentLength = kodoClient.getFileInfo(key).fsize;
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos)
       throws IOException {
     IOException lastException = null;
-    while (mRetryPolicy.attempt()) {
+    while (mOpened || mRetryPolicy.attempt()) {
       try {
-        return mKodoclent.getObject(mKey, startPos, endPos, mContentLength);
+        InputStream stream = mKodoclent.getObject(mKey, startPos, endPos, mContentLength);
+        mOpened = true;
+        return stream;
       } catch (NotFoundException e) {
+        if (mOpened) {
+          throw e;
+        }
         LOG.warn("Attempt {} to open key {} failed with exception : {}",
             mRetryPolicy.getAttemptCount(), mKey, e.toString());
         // Key does not exist
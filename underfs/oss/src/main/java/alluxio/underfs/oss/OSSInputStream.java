@@ -13,6 +13,7 @@ package alluxio.underfs.oss;
 
 import alluxio.retry.RetryPolicy;
 import alluxio.underfs.MultiRangeObjectInputStream;
+import alluxio.underfs.ObjectReadAhead;
 
 import com.aliyun.oss.OSS;
 import com.google.common.base.Throwables;
@@ -27,6 +28,7 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -55,6 +57,12 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
    */
   private final RetryPolicy mRetryPolicy;
 
+  /**
+   * Whether a range of the object has been opened. Since all ranges share the retry policy, a
+   * missing key is only retried until then.
+   */
+  private volatile boolean mOpened;
+
   /**
    * Creates a new instance of {@link OSSInputStream}.
    *
@@ -81,7 +89,24 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
    */
   OSSInputStream(String bucketName, String key, OSS client, long position,
       RetryPolicy retryPolicy, long multiRangeChunkSize) throws IOException {
-    super(multiRangeChunkSize);
+    this(bucketName, key, client, position, retryPolicy, multiRangeChunkSize, null);
+  }
+
+  /**
+   * Creates a new instance of {@link OSSInputStream}.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for OSS
+   * @param position the position to begin reading from
+   * @param retryPolicy retry policy in case the key does not exist
+   * @param multiRangeChunkSize the chunk size to use on this stream
+   * @param readAhead the resources to read ranges ahead with, or null to not read ahead
+   */
+  OSSInputStream(String bucketName, String key, OSS client, long position,
+      RetryPolicy retryPolicy, long multiRangeChunkSize, @Nullable ObjectReadAhead readAhead)
+      throws IOException {
+    super(multiRangeChunkSize, readAhead);
     mBucketName = bucketName;
     mKey = key;
     mOssClient = client;
@@ -91,6 +116,11 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
     mRetryPolicy = retryPolicy;
   }
 
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
   @Override
   protected InputStream createStream(long startPos, long endPos)
       throws IOException {
@@ -98,15 +128,16 @@ public class OSSInputStream extends MultiRangeObjectInputStream {
     // OSS returns entire object if we read past the end
     req.setRange(startPos, endPos < mContentLength ? endPos - 1 : mContentLength - 1);
     OSSException lastException = null;
-    while (mRetryPolicy.attempt()) {
+    while (mOpened || mRetryPolicy.attempt()) {
       try {
         OSSObject ossObject = mOssClient.getObject(req);
+        mOpened = true;
         return new BufferedInputStream(ossObject.getObjectContent());
       } catch (OSSException e) {
         LOG.warn("Attempt {} to open key {} in bucket {} failed with exception : {}",
             mRetryPolicy.getAttemptCount(), mKey, mBucketName, e.toString());
         LOG.warn("OSSException " + Throwables.getStackTraceAsString(e));
-        if (!e.getErrorCode().equals("NoSuchKey")) {
+        if (mOpened || !e.getErrorCode().equals("NoSuchKey")) {
           throw new IOException(e);
         }
         // Key does not exist
@@ -283,7 +283,8 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
       throws IOException {
     try {
       return new OSSInputStream(mBucketName, key, mClient, options.getOffset(), retryPolicy,
-          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE));
+          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE),
+          getReadAhead());
     } catch (ServiceException e) {
       throw new IOException(e.getMessage());
     }
@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import alluxio.retry.RetryPolicy;
+import alluxio.underfs.MultiRangeObjectInputStream;
+import alluxio.underfs.ObjectReadAhead;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import org.apache.commons.httpclient.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for reading an object in s3 with ranged GETs, which reads the ranges following the one
+ * being read ahead in parallel. The length of the object is taken from the response to the first
+ * GET, so ranges are read ahead once the stream has opened its first range.
+ */
+@NotThreadSafe
+public class S3ARangeInputStream extends MultiRangeObjectInputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(S3ARangeInputStream.class);
+
+  /** Client for operations with s3. */
+  private final AmazonS3 mClient;
+  /** Name of the bucket the object resides in. */
+  private final String mBucketName;
+  /** The path of the object to read. */
+  private final String mKey;
+  /** Retry policy in case the key does not exist, until the first range has been opened. */
+  private final RetryPolicy mRetryPolicy;
+  /** The size of the object in bytes, or -1 until the first range has been opened. */
+  private volatile long mContentLength = -1;
+
+  /**
+   * Creates a stream positioned at the specified position.
+   *
+   * @param bucketName the bucket the object resides in
+   * @param key the path of the object to read
+   * @param client the s3 client to use for operations
+   * @param position the position to begin reading from
+   * @param retryPolicy retry policy in case the key does not exist
+   * @param multiRangeChunkSize the chunk size to read ranges which were not read ahead with
+   * @param readAhead the resources to read ranges ahead with
+   */
+  public S3ARangeInputStream(String bucketName, String key, AmazonS3 client, long position,
+      RetryPolicy retryPolicy, long multiRangeChunkSize, ObjectReadAhead readAhead) {
+    super(multiRangeChunkSize, readAhead);
+    mBucketName = bucketName;
+    mKey = key;
+    mClient = client;
+    mPos = position;
+    mRetryPolicy = retryPolicy;
+  }
+
+  @Override
+  protected long getContentLength() {
+    return mContentLength;
+  }
+
+  @Override
+  protected InputStream createStream(long startPos, long endPos) throws IOException {
+    long contentLength = mContentLength;
+    GetObjectRequest getReq = new GetObjectRequest(mBucketName, mKey);
+    // If the range is the whole object, setting range is redundant and causes an error if the
+    // object is 0 length
+    if (contentLength < 0) {
+      getReq.setRange(startPos, endPos - 1);
+    } else if (startPos > 0 || endPos < contentLength) {
+      getReq.setRange(startPos, Math.min(endPos, contentLength) - 1);
+    }
+    AmazonS3Exception lastException = null;
+    while (mContentLength >= 0 || mRetryPolicy.attempt()) {
+      try {
+        S3Object object = mClient.getObject(getReq);
+        mContentLength = object.getObjectMetadata().getInstanceLength();
+        return object.getObjectContent();
+      } catch (AmazonS3Exception e) {
+        if (contentLength < 0 && startPos == 0
+            && e.getStatusCode() == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+          // The object is 0 length
+          mContentLength = 0;
+          return new ByteArrayInputStream(new byte[0]);
+        }
+        LOG.warn("Attempt {} to open key {} in bucket {} failed with exception : {}",
+            mRetryPolicy.getAttemptCount(), mKey, mBucketName, e.toString());
+        if (mContentLength >= 0 || e.getStatusCode() != HttpStatus.SC_NOT_FOUND) {
+          throw new IOException(e);
+        }
+        // Key does not exist
+        lastException = e;
+      } catch (AmazonClientException e) {
+        throw new IOException(e);
+      }
+    }
+    // Failed after retrying key does not exist
+    throw new IOException(lastException);
+  }
+}
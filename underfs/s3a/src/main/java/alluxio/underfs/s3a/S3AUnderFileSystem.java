@@ -15,6 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.retry.RetryPolicy;
+import alluxio.underfs.ObjectReadAhead;
 import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
@@ -574,7 +575,12 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   protected InputStream openObject(String key, OpenOptions options,
-      RetryPolicy retryPolicy) {
+      RetryPolicy retryPolicy) throws IOException {
+    ObjectReadAhead readAhead = getReadAhead();
+    if (readAhead != null) {
+      return new S3ARangeInputStream(mBucketName, key, mClient, options.getOffset(), retryPolicy,
+          mUfsConf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE), readAhead);
+    }
     return new S3AInputStream(mBucketName, key, mClient, options.getOffset(), retryPolicy);
   }
 }